@@ -0,0 +1,79 @@
+package com.expense.tracker.dto.response;
+
+import com.expense.tracker.enums.TransactionType;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TimeZone;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of a page of transactions, configured as the application
+ * configures its ObjectMapper (ISO dates, UTC)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PagedResponseSerializationBenchmark {
+
+    @Param({"20", "100"})
+    private int pageSize;
+
+    private ObjectWriter writer;
+    private PagedResponse<TransactionResponse> page;
+
+    @Setup
+    public void setUp() {
+        writer = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .timeZone(TimeZone.getTimeZone("UTC"))
+                .build()
+                .writer();
+
+        LocalDateTime now = LocalDateTime.of(2026, 10, 1, 12, 0);
+        List<TransactionResponse> content = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            TransactionResponse response = new TransactionResponse();
+            response.setId((long) i + 1);
+            response.setType(TransactionType.EXPENSE);
+            response.setCategoryId((long) (i % 15) + 1);
+            response.setCategoryName("Category " + (i % 15));
+            response.setAmount(BigDecimal.valueOf(100 + i * 137L, 2));
+            response.setTransactionDate(LocalDate.of(2026, 10, 1 + i % 28));
+            response.setDescription("Groceries at Walmart Supercenter #" + i);
+            response.setPaymentMethod("Credit Card");
+            response.setCreatedAt(now);
+            response.setUpdatedAt(now);
+            content.add(response);
+        }
+        page = new PagedResponse<>(new PageImpl<>(content, PageRequest.of(0, pageSize), 10_000));
+    }
+
+    @Benchmark
+    public byte[] serialize() throws JsonProcessingException {
+        return writer.writeValueAsBytes(page);
+    }
+}
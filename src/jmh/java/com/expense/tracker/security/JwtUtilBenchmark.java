@@ -0,0 +1,54 @@
+package com.expense.tracker.security;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JwtUtil benchmarks: issuing a token (login, register) and validating one (every request)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtUtilBenchmark {
+
+    private JwtUtil jwtUtil;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "secret",
+                "YourVeryLongSecretKeyForJWTTokenGenerationAndValidation123456789ExpenseTracker2024");
+        ReflectionTestUtils.setField(jwtUtil, "expiration", 86400000L);
+        token = jwtUtil.generateToken("benchmark@example.com");
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtil.generateToken("benchmark@example.com");
+    }
+
+    @Benchmark
+    public Boolean validateToken() {
+        return jwtUtil.validateToken(token);
+    }
+
+    @Benchmark
+    public String getEmailFromToken() {
+        return jwtUtil.getEmailFromToken(token);
+    }
+}
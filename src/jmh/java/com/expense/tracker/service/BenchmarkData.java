@@ -0,0 +1,72 @@
+package com.expense.tracker.service;
+
+import com.expense.tracker.enums.CategoryType;
+import com.expense.tracker.enums.TransactionType;
+import com.expense.tracker.model.Category;
+import com.expense.tracker.model.Transaction;
+import com.expense.tracker.model.User;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Deterministic fixtures shared by the service benchmarks
+ */
+final class BenchmarkData {
+
+    static final String[] DESCRIPTIONS = {
+        "Groceries at Walmart Supercenter #1234", "Uber trip to airport", "Netflix monthly subscription",
+        "Starbucks coffee", "Shell fuel station 42", "Amazon Marketplace order 113-2284", "Rent payment October",
+        "Electricity bill - City Power", "Dinner at Olive Garden", "Pharmacy CVS #8812"
+    };
+
+    static final String[] PAYMENT_METHODS = { "Credit Card", "Debit Card", "UPI", "Cash", "Bank Transfer" };
+
+    private BenchmarkData() {
+    }
+
+    static User user() {
+        User user = new User();
+        user.setId(1L);
+        user.setName("Benchmark");
+        user.setEmail("benchmark@example.com");
+        return user;
+    }
+
+    static List<Category> categories(int count) {
+        List<Category> categories = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Category category = new Category("Category " + i, CategoryType.EXPENSE);
+            category.setId((long) i + 1);
+            categories.add(category);
+        }
+        return categories;
+    }
+
+    static List<Transaction> transactions(int count) {
+        Random random = new Random(42);
+        User user = user();
+        List<Category> categories = categories(15);
+        List<Transaction> transactions = new ArrayList<>(count);
+        LocalDateTime now = LocalDateTime.of(2026, 10, 1, 12, 0);
+        for (int i = 0; i < count; i++) {
+            Transaction transaction = new Transaction();
+            transaction.setId((long) i + 1);
+            transaction.setUser(user);
+            transaction.setCategory(categories.get(random.nextInt(categories.size())));
+            transaction.setType(TransactionType.EXPENSE);
+            transaction.setAmount(BigDecimal.valueOf(100 + random.nextInt(1_000_000), 2));
+            transaction.setTransactionDate(LocalDate.of(2026, 10, 1 + random.nextInt(28)));
+            transaction.setDescription(DESCRIPTIONS[random.nextInt(DESCRIPTIONS.length)]);
+            transaction.setPaymentMethod(PAYMENT_METHODS[random.nextInt(PAYMENT_METHODS.length)]);
+            transaction.setCreatedAt(now);
+            transaction.setUpdatedAt(now);
+            transactions.add(transaction);
+        }
+        return transactions;
+    }
+}
@@ -0,0 +1,70 @@
+package com.expense.tracker.service;
+
+import com.expense.tracker.dto.response.BudgetAlertResponse;
+import com.expense.tracker.model.User;
+import com.expense.tracker.repository.BudgetRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * BudgetService.getBudgetAlerts benchmark: the per-budget loop over the aggregated
+ * rows, with the repository answering from memory
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BudgetAlertsBenchmark {
+
+    @Param({"15", "200"})
+    private int budgets;
+
+    private BudgetService budgetService;
+    private User user;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        List<Object[]> rows = new ArrayList<>(budgets);
+        for (int i = 0; i < budgets; i++) {
+            BigDecimal amount = BigDecimal.valueOf(10_000 + random.nextInt(100_000), 2);
+            // Spent between 0% and 150% of the budget, so all alert types occur
+            BigDecimal spent = amount.multiply(BigDecimal.valueOf(random.nextInt(150))).movePointLeft(2);
+            rows.add(new Object[] { (long) i + 1, amount, (long) i + 1, "Category " + i, spent });
+        }
+
+        BudgetRepository budgetRepository = (BudgetRepository) Proxy.newProxyInstance(
+                BudgetRepository.class.getClassLoader(), new Class<?>[] { BudgetRepository.class },
+                (proxy, method, args) -> {
+                    if (method.getName().startsWith("getBudgetsWithSpentAmounts")) {
+                        return rows;
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+        budgetService = new BudgetService(budgetRepository, null, null, null, null, null);
+        user = BenchmarkData.user();
+    }
+
+    @Benchmark
+    public List<BudgetAlertResponse> getBudgetAlerts() {
+        return budgetService.getBudgetAlerts(user);
+    }
+}
@@ -0,0 +1,130 @@
+package com.expense.tracker.service;
+
+import com.expense.tracker.enums.RuleField;
+import com.expense.tracker.enums.RuleMatchType;
+import com.expense.tracker.service.CategorizationMatcher.Rule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * CategorizationMatcher throughput, against evaluating the same rules one by one
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CategorizationMatcherBenchmark {
+
+    private static final int INPUTS = 1024;
+
+    @Param({"10", "100", "1000"})
+    private int rules;
+
+    private List<Rule> ruleList;
+    private Pattern[] linearPatterns;
+    private CategorizationMatcher matcher;
+    private BigDecimal[] amounts;
+    private String[] descriptions;
+    private String[] paymentMethods;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        ruleList = new ArrayList<>(rules);
+        linearPatterns = new Pattern[rules];
+        for (int i = 0; i < rules; i++) {
+            // Mostly keywords, as users write them, with some of every other kind
+            int kind = random.nextInt(10);
+            Rule rule;
+            if (kind < 6) {
+                rule = new Rule(i + 1, RuleMatchType.KEYWORD, RuleField.DESCRIPTION, "merchant" + i, null, null);
+            } else if (kind < 8) {
+                rule = new Rule(i + 1, RuleMatchType.PREFIX, RuleField.DESCRIPTION, "shop " + i, null, null);
+            } else if (kind < 9) {
+                rule = new Rule(i + 1, RuleMatchType.REGEX, RuleField.DESCRIPTION, "order\\s+#?" + i + "\\b", null, null);
+                linearPatterns[i] = Pattern.compile(rule.pattern(), Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE);
+            } else {
+                BigDecimal min = BigDecimal.valueOf(random.nextInt(100_000), 2);
+                rule = new Rule(i + 1, RuleMatchType.AMOUNT_RANGE, null, null, min, min.add(BigDecimal.TEN));
+            }
+            ruleList.add(rule);
+        }
+        matcher = CategorizationMatcher.compile(ruleList);
+
+        amounts = new BigDecimal[INPUTS];
+        descriptions = new String[INPUTS];
+        paymentMethods = new String[INPUTS];
+        for (int i = 0; i < INPUTS; i++) {
+            amounts[i] = BigDecimal.valueOf(random.nextInt(100_000), 2);
+            // About half of the inputs hit a rule somewhere in the list
+            descriptions[i] = random.nextBoolean()
+                    ? "Card purchase at Merchant" + random.nextInt(rules) + " downtown"
+                    : BenchmarkData.DESCRIPTIONS[random.nextInt(BenchmarkData.DESCRIPTIONS.length)];
+            paymentMethods[i] = BenchmarkData.PAYMENT_METHODS[random.nextInt(BenchmarkData.PAYMENT_METHODS.length)];
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(INPUTS)
+    public void compiledMatcher(Blackhole blackhole) {
+        for (int i = 0; i < INPUTS; i++) {
+            blackhole.consume(matcher.match(amounts[i], descriptions[i], paymentMethods[i]));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(INPUTS)
+    public void linearScan(Blackhole blackhole) {
+        for (int i = 0; i < INPUTS; i++) {
+            blackhole.consume(matchLinearly(amounts[i], descriptions[i], paymentMethods[i]));
+        }
+    }
+
+    @Benchmark
+    public CategorizationMatcher compile() {
+        return CategorizationMatcher.compile(ruleList);
+    }
+
+    /**
+     * Evaluates rules in order until one matches, as a straightforward implementation would
+     */
+    private Long matchLinearly(BigDecimal amount, String description, String paymentMethod) {
+        for (int i = 0; i < ruleList.size(); i++) {
+            Rule rule = ruleList.get(i);
+            String text = rule.field() == RuleField.PAYMENT_METHOD ? paymentMethod : description;
+            boolean matches = switch (rule.matchType()) {
+                case KEYWORD -> text != null && text.toLowerCase(Locale.ROOT).contains(rule.pattern());
+                case PREFIX -> text != null && text.toLowerCase(Locale.ROOT).startsWith(rule.pattern());
+                case REGEX -> text != null && linearPatterns[i].matcher(text).find();
+                case AMOUNT_RANGE -> amount != null
+                        && (rule.minAmount() == null || amount.compareTo(rule.minAmount()) >= 0)
+                        && (rule.maxAmount() == null || amount.compareTo(rule.maxAmount()) <= 0);
+            };
+            if (matches) {
+                return rule.categoryId();
+            }
+        }
+        return null;
+    }
+}
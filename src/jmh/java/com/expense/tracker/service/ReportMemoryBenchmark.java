@@ -0,0 +1,148 @@
+package com.expense.tracker.service;
+
+import com.expense.tracker.ExpenseTrackerApplication;
+import com.expense.tracker.model.Transaction;
+import com.expense.tracker.repository.TransactionRepository;
+import jakarta.persistence.EntityManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Memory per 10k rows of the report and export reads, on the application context
+ * with an H2 database. Compare gc.alloc.rate.norm (bytes per operation, from the gc
+ * profiler) of the read-only loads against the same rows loaded as managed entities.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ReportMemoryBenchmark {
+
+    private static final int ROWS = 10_000;
+    private static final LocalDate MONTH = LocalDate.of(2026, 10, 1);
+
+    private ConfigurableApplicationContext context;
+    private TransactionRepository transactionRepository;
+    private SyncService syncService;
+    private EntityManager entityManager;
+    private TransactionTemplate readOnlyTransaction;
+    private TransactionTemplate readWriteTransaction;
+    private Long userId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(ExpenseTrackerApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("test")
+                // Arguments, so they take precedence over the test profile's DEBUG logging
+                .run("--logging.level.com.expense.tracker=WARN", "--logging.level.root=WARN");
+        transactionRepository = context.getBean(TransactionRepository.class);
+        syncService = context.getBean(SyncService.class);
+        entityManager = context.getBean(EntityManager.class);
+        PlatformTransactionManager transactionManager = context.getBean(PlatformTransactionManager.class);
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+        readWriteTransaction = new TransactionTemplate(transactionManager);
+
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        jdbcTemplate.update("""
+            INSERT INTO users (name, email, password, is_active, created_at, updated_at)
+            VALUES ('Benchmark', 'benchmark@example.com', 'not-a-hash', TRUE, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)
+            """);
+        userId = jdbcTemplate.queryForObject("SELECT id FROM users WHERE email = 'benchmark@example.com'", Long.class);
+        List<Long> categoryIds = jdbcTemplate.queryForList(
+                "SELECT id FROM categories WHERE user_id IS NULL AND type = 'EXPENSE'", Long.class);
+
+        Random random = new Random(42);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> rows = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            rows.add(new Object[] {
+                userId,
+                categoryIds.get(random.nextInt(categoryIds.size())),
+                BigDecimal.valueOf(100 + random.nextInt(1_000_000), 2),
+                Date.valueOf(MONTH.plusDays(random.nextInt(28))),
+                BenchmarkData.DESCRIPTIONS[random.nextInt(BenchmarkData.DESCRIPTIONS.length)],
+                BenchmarkData.PAYMENT_METHODS[random.nextInt(BenchmarkData.PAYMENT_METHODS.length)],
+                now,
+                now
+            });
+        }
+        jdbcTemplate.batchUpdate("""
+            INSERT INTO transactions (user_id, category_id, type, amount, transaction_date, description,
+                                      payment_method, is_deleted, created_at, updated_at)
+            VALUES (?, ?, 'EXPENSE', ?, ?, ?, ?, FALSE, ?, ?)
+            """, rows);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    /**
+     * The top expenses query, read-only as reports load it
+     */
+    @Benchmark
+    public List<Transaction> topExpensesReadOnly() {
+        return readOnlyTransaction.execute(status -> transactionRepository.getTopExpensesBetween(
+                userId, MONTH, MONTH.plusMonths(1), PageRequest.of(0, ROWS)));
+    }
+
+    /**
+     * The same rows loaded as managed entities in a read-write transaction, keeping dirty-checking snapshots
+     */
+    @Benchmark
+    public List<Transaction> topExpensesManaged() {
+        return readWriteTransaction.execute(status -> entityManager.createQuery("""
+                SELECT t FROM Transaction t JOIN FETCH t.category
+                WHERE t.user.id = :userId AND t.isDeleted = false AND t.type = 'EXPENSE'
+                AND t.transactionDate >= :fromDate AND t.transactionDate < :toDate
+                ORDER BY t.amount DESC
+                """, Transaction.class)
+                .setParameter("userId", userId)
+                .setParameter("fromDate", MONTH)
+                .setParameter("toDate", MONTH.plusMonths(1))
+                .setMaxResults(ROWS)
+                .getResultList());
+    }
+
+    /**
+     * The delta-sync export of all rows, streamed to nowhere
+     */
+    @Benchmark
+    public void syncExport() throws IOException {
+        syncService.writeChanges(userId, null, OutputStream.nullOutputStream());
+    }
+}
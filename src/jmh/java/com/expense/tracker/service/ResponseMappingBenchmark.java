@@ -0,0 +1,97 @@
+package com.expense.tracker.service;
+
+import com.expense.tracker.dto.response.CategoryWiseResponse.CategoryExpenseData;
+import com.expense.tracker.dto.response.PagedResponse;
+import com.expense.tracker.dto.response.TopExpensesResponse;
+import com.expense.tracker.dto.response.TransactionResponse;
+import com.expense.tracker.model.Transaction;
+import com.expense.tracker.model.User;
+import com.expense.tracker.repository.TransactionRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Response mapping benchmarks: a page of transactions listed by TransactionService and
+ * the top expenses of ReportService, with the repository answering from memory, and
+ * the category-wise report's percentage computation
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResponseMappingBenchmark {
+
+    // Up to the top expenses limit of 50
+    @Param({"10", "50"})
+    private int rows;
+
+    private TransactionService transactionService;
+    private ReportService reportService;
+    private User user;
+    private List<Transaction> transactions;
+    private BigDecimal[] categoryTotals;
+    private BigDecimal totalExpenses;
+
+    @Setup
+    public void setUp() {
+        transactions = BenchmarkData.transactions(rows);
+        TransactionRepository transactionRepository = (TransactionRepository) Proxy.newProxyInstance(
+                TransactionRepository.class.getClassLoader(), new Class<?>[] { TransactionRepository.class },
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "findTransactionsWithFilters" ->
+                            new PageImpl<>(transactions, (Pageable) args[args.length - 1], transactions.size());
+                    case "getTopExpenses", "getTopExpensesBetween" -> transactions;
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+        // An unfiltered listing without archived rows touches no other collaborator
+        transactionService = new TransactionService(transactionRepository, null, null, null, null, null, null, null, null);
+        reportService = new ReportService(transactionRepository);
+        user = BenchmarkData.user();
+
+        categoryTotals = new BigDecimal[rows];
+        totalExpenses = BigDecimal.ZERO;
+        for (int i = 0; i < rows; i++) {
+            categoryTotals[i] = transactions.get(i).getAmount();
+            totalExpenses = totalExpenses.add(categoryTotals[i]);
+        }
+    }
+
+    @Benchmark
+    public PagedResponse<TransactionResponse> transactionServiceGetTransactions() {
+        return transactionService.getTransactions(null, null, null, null, null, null, null,
+                null, null, 0, rows, user);
+    }
+
+    @Benchmark
+    public TopExpensesResponse reportServiceGetTopExpenses() {
+        return reportService.getTopExpenses(user, rows, 10, 2026);
+    }
+
+    @Benchmark
+    public List<CategoryExpenseData> categoryExpensePercentages() {
+        List<CategoryExpenseData> categories = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            categories.add(new CategoryExpenseData((long) i, "Category " + i, categoryTotals[i], 1L, totalExpenses));
+        }
+        return categories;
+    }
+}
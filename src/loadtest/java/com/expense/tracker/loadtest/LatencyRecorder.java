@@ -0,0 +1,56 @@
+package com.expense.tracker.loadtest;
+
+import java.util.Arrays;
+
+/**
+ * Latencies of one endpoint as seen by one worker; merged once the run is over
+ */
+final class LatencyRecorder {
+
+    private long[] latencies = new long[1024];
+    private int count;
+    private int errors;
+
+    void record(long latencyNanos, boolean success) {
+        if (count == latencies.length) {
+            latencies = Arrays.copyOf(latencies, count * 2);
+        }
+        latencies[count++] = latencyNanos;
+        if (!success) {
+            errors++;
+        }
+    }
+
+    void addAll(LatencyRecorder other) {
+        if (count + other.count > latencies.length) {
+            latencies = Arrays.copyOf(latencies, Math.max(latencies.length * 2, count + other.count));
+        }
+        System.arraycopy(other.latencies, 0, latencies, count, other.count);
+        count += other.count;
+        errors += other.errors;
+    }
+
+    int count() {
+        return count;
+    }
+
+    int errors() {
+        return errors;
+    }
+
+    /**
+     * Latency percentiles in milliseconds (nearest rank), in the order asked for
+     */
+    double[] percentilesMillis(double... percentiles) {
+        long[] sorted = Arrays.copyOf(latencies, count);
+        Arrays.sort(sorted);
+        double[] result = new double[percentiles.length];
+        for (int i = 0; i < percentiles.length; i++) {
+            if (count > 0) {
+                int rank = (int) Math.ceil(percentiles[i] / 100 * count);
+                result[i] = sorted[Math.max(rank, 1) - 1] / 1_000_000.0;
+            }
+        }
+        return result;
+    }
+}
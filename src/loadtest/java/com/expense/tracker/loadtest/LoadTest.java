@@ -0,0 +1,292 @@
+package com.expense.tracker.loadtest;
+
+import com.expense.tracker.ExpenseTrackerApplication;
+import com.expense.tracker.config.SyntheticDataProperties;
+import com.expense.tracker.loadtest.LoadTestReport.EndpointResult;
+import com.expense.tracker.loadtest.LoadTestReport.Result;
+import com.expense.tracker.security.JwtUtil;
+import com.expense.tracker.service.SyntheticDataGenerator;
+import com.expense.tracker.service.SyntheticDataGenerator.GenerationResult;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * HTTP load test
+ *
+ * Boots the application on a random port (H2 with the test profile by default),
+ * seeds users with SyntheticDataGenerator, then has a pool of workers call a
+ * weighted mix of endpoints over localhost as fast as the server answers. Reports
+ * throughput and p50/p95/p99 latency per endpoint, writes them as JSON and compares
+ * them with a baseline recorded earlier (loadtest.baseline).
+ *
+ * Run with mvn -P loadtest verify; settings are the loadtest.* system properties below.
+ * Each worker is a thread playing one client at a time.
+ */
+public final class LoadTest {
+
+    /**
+     * Endpoints in the mix, by their key in loadtest.mix
+     */
+    enum Endpoint {
+        LOGIN("login"),
+        CREATE_TRANSACTION("create"),
+        LIST_TRANSACTIONS("list"),
+        DASHBOARD_REPORT("report"),
+        BUDGET_ALERTS("alerts");
+
+        private final String key;
+
+        Endpoint(String key) {
+            this.key = key;
+        }
+
+        static Endpoint of(String key) {
+            for (Endpoint endpoint : values()) {
+                if (endpoint.key.equals(key)) {
+                    return endpoint;
+                }
+            }
+            throw new IllegalArgumentException("Unknown endpoint in loadtest.mix: " + key);
+        }
+    }
+
+    private final int users = Integer.getInteger("loadtest.users", 50);
+    private final int months = Integer.getInteger("loadtest.months", 12);
+    private final int transactionsPerMonth = Integer.getInteger("loadtest.transactions-per-month", 20);
+    private final int workers = Integer.getInteger("loadtest.workers", 4);
+    private final int warmupSeconds = Integer.getInteger("loadtest.warmup-seconds", 10);
+    private final int durationSeconds = Integer.getInteger("loadtest.duration-seconds", 30);
+    private final long seed = Long.getLong("loadtest.seed", 42L);
+    private final String mix = System.getProperty("loadtest.mix", "login=1,create=2,list=4,report=2,alerts=1");
+    private final String profile = System.getProperty("loadtest.profile", "test");
+    private final String jwtSecret = System.getProperty("loadtest.jwt-secret");
+    private final Path resultPath = Path.of(System.getProperty("loadtest.result", "target/loadtest-result.json"));
+    private final Path baselinePath = Path.of(System.getProperty("loadtest.baseline", "src/loadtest/baseline.json"));
+    private final double maxRegression = Double.parseDouble(System.getProperty("loadtest.max-regression", "0.5"));
+    private final boolean failOnRegression = Boolean.getBoolean("loadtest.fail-on-regression");
+    private final boolean updateBaseline = Boolean.getBoolean("loadtest.update-baseline");
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    private String baseUrl;
+    private String password;
+    private List<String> emails;
+    private List<Long> expenseCategoryIds;
+    private Map<String, String> tokens;
+    private Endpoint[] weightedEndpoints;
+
+    public static void main(String[] args) throws Exception {
+        System.exit(new LoadTest().run() ? 0 : 1);
+    }
+
+    private boolean run() throws Exception {
+        if (jwtSecret == null || jwtSecret.isBlank()) {
+            System.out.println("Set loadtest.jwt-secret (the loadtest Maven profile does)");
+            return false;
+        }
+        weightedEndpoints = parseMix(mix);
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(ExpenseTrackerApplication.class)
+                .profiles(profile)
+                .run("--server.port=0", "--jwt.secret=" + jwtSecret,
+                        "--logging.level.root=WARN", "--logging.level.com.expense.tracker=WARN");
+        try {
+            baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+
+            SyntheticDataProperties data = new SyntheticDataProperties();
+            data.setUsers(users);
+            data.setMonthsOfHistory(months);
+            data.setTransactionsPerMonth(transactionsPerMonth);
+            data.setSeed(seed);
+            GenerationResult generated = context.getBean(SyntheticDataGenerator.class).generate(data);
+            System.out.printf("Seeded %d users, %d transactions and %d budgets in %d ms%n", generated.users(),
+                    generated.transactions(), generated.budgets(), generated.elapsedMillis());
+
+            password = data.getPassword();
+            emails = new ArrayList<>(users);
+            for (int i = 0; i < users; i++) {
+                emails.add(data.emailOf(i));
+            }
+            expenseCategoryIds = context.getBean(JdbcTemplate.class).queryForList(
+                    "SELECT id FROM categories WHERE user_id IS NULL AND type = 'EXPENSE'", Long.class);
+            JwtUtil jwtUtil = context.getBean(JwtUtil.class);
+            tokens = new HashMap<>();
+            emails.forEach(email -> tokens.put(email, jwtUtil.generateToken(email)));
+
+            Result result = drive();
+            LoadTestReport.print(result);
+            LoadTestReport.write(result, resultPath);
+            System.out.println("\nResults written to " + resultPath);
+
+            if (updateBaseline) {
+                long errors = result.endpoints().values().stream().mapToLong(EndpointResult::errors).sum();
+                if (errors > 0) {
+                    // An overloaded run measures queueing, not the endpoints; lower loadtest.workers
+                    System.out.println("Not updating the baseline: the run had " + errors + " errors");
+                    return false;
+                }
+                LoadTestReport.write(result, baselinePath);
+                System.out.println("Baseline updated: " + baselinePath);
+                return true;
+            }
+            if (!Files.exists(baselinePath)) {
+                System.out.println("No baseline at " + baselinePath);
+                return true;
+            }
+            boolean regressed = LoadTestReport.compare(result, LoadTestReport.read(baselinePath), maxRegression);
+            return !(regressed && failOnRegression);
+        } finally {
+            context.close();
+        }
+    }
+
+    private Result drive() throws Exception {
+        long start = System.nanoTime();
+        long measureFrom = start + Duration.ofSeconds(warmupSeconds).toNanos();
+        long end = measureFrom + Duration.ofSeconds(durationSeconds).toNanos();
+        System.out.printf("Running %d workers: %ds warmup, %ds measured, mix %s%n",
+                workers, warmupSeconds, durationSeconds, mix);
+
+        ExecutorService executor = Executors.newFixedThreadPool(workers);
+        List<Future<Map<Endpoint, LatencyRecorder>>> futures = new ArrayList<>();
+        for (int i = 0; i < workers; i++) {
+            Random random = new Random(seed + i);
+            futures.add(executor.submit(() -> work(random, measureFrom, end)));
+        }
+        Map<Endpoint, LatencyRecorder> merged = new EnumMap<>(Endpoint.class);
+        for (Future<Map<Endpoint, LatencyRecorder>> future : futures) {
+            future.get().forEach((endpoint, recorder) ->
+                    merged.computeIfAbsent(endpoint, e -> new LatencyRecorder()).addAll(recorder));
+        }
+        executor.shutdown();
+
+        Map<String, EndpointResult> endpoints = new LinkedHashMap<>();
+        merged.forEach((endpoint, recorder) -> {
+            double[] percentiles = recorder.percentilesMillis(50, 95, 99);
+            endpoints.put(endpoint.key, new EndpointResult(recorder.count(), recorder.errors(),
+                    round((double) recorder.count() / durationSeconds), round(percentiles[0]),
+                    round(percentiles[1]), round(percentiles[2])));
+        });
+
+        Map<String, Object> settings = new LinkedHashMap<>();
+        settings.put("profile", profile);
+        settings.put("java", Runtime.version().feature());
+        settings.put("processors", Runtime.getRuntime().availableProcessors());
+        settings.put("users", users);
+        settings.put("months", months);
+        settings.put("transactionsPerMonth", transactionsPerMonth);
+        settings.put("workers", workers);
+        settings.put("durationSeconds", durationSeconds);
+        settings.put("mix", mix);
+        return new Result(settings, endpoints);
+    }
+
+    /**
+     * One worker: call endpoints back to back until the end, recording only after the warmup
+     */
+    private Map<Endpoint, LatencyRecorder> work(Random random, long measureFrom, long end) {
+        Map<Endpoint, LatencyRecorder> recorders = new EnumMap<>(Endpoint.class);
+        long now;
+        while ((now = System.nanoTime()) < end) {
+            Endpoint endpoint = weightedEndpoints[random.nextInt(weightedEndpoints.length)];
+            String email = emails.get(random.nextInt(emails.size()));
+            HttpRequest request = request(endpoint, email, random);
+            boolean success;
+            try {
+                int status = httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                success = status >= 200 && status < 300;
+            } catch (IOException e) {
+                success = false;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            if (now >= measureFrom) {
+                recorders.computeIfAbsent(endpoint, e -> new LatencyRecorder()).record(System.nanoTime() - now, success);
+            }
+        }
+        return recorders;
+    }
+
+    private HttpRequest request(Endpoint endpoint, String email, Random random) {
+        LocalDate today = LocalDate.now();
+        return switch (endpoint) {
+            case LOGIN -> post("/api/auth/login", null,
+                    "{\"email\":\"" + email + "\",\"password\":\"" + password + "\"}");
+            case CREATE_TRANSACTION -> post("/api/transactions", tokens.get(email), String.format(
+                    "{\"type\":\"EXPENSE\",\"categoryId\":%d,\"amount\":%d.%02d,\"transactionDate\":\"%s\","
+                            + "\"description\":\"Load test purchase %d\",\"paymentMethod\":\"Credit Card\"}",
+                    expenseCategoryIds.get(random.nextInt(expenseCategoryIds.size())),
+                    1 + random.nextInt(5000), random.nextInt(100), today, random.nextInt(1_000_000)));
+            case LIST_TRANSACTIONS -> get("/api/transactions?page=0&size=20", tokens.get(email));
+            case DASHBOARD_REPORT -> get("/api/reports/category-wise?month=" + today.getMonthValue()
+                    + "&year=" + today.getYear(), tokens.get(email));
+            case BUDGET_ALERTS -> get("/api/budgets/alerts", tokens.get(email));
+        };
+    }
+
+    private HttpRequest get(String path, String token) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Authorization", "Bearer " + token)
+                .timeout(Duration.ofSeconds(30))
+                .GET()
+                .build();
+    }
+
+    private HttpRequest post(String path, String token, String body) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Content-Type", "application/json")
+                .timeout(Duration.ofSeconds(30))
+                .POST(HttpRequest.BodyPublishers.ofString(body));
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder.build();
+    }
+
+    /**
+     * "login=1,create=2" as an array with each endpoint repeated by its weight
+     */
+    private static Endpoint[] parseMix(String mix) {
+        List<Endpoint> weighted = new ArrayList<>();
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split("=");
+            Endpoint endpoint = Endpoint.of(parts[0].trim());
+            int weight = parts.length > 1 ? Integer.parseInt(parts[1].trim()) : 1;
+            for (int i = 0; i < weight; i++) {
+                weighted.add(endpoint);
+            }
+        }
+        if (weighted.isEmpty()) {
+            throw new IllegalArgumentException("loadtest.mix selects no endpoints");
+        }
+        return weighted.toArray(new Endpoint[0]);
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+}
@@ -0,0 +1,85 @@
+package com.expense.tracker.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+/**
+ * Load test results: per-endpoint throughput and latency percentiles, written as JSON
+ * and compared against the checked-in baseline
+ */
+final class LoadTestReport {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    /**
+     * Results of one endpoint; latencies in milliseconds, throughput in requests per second
+     */
+    record EndpointResult(long requests, long errors, double throughput, double p50Ms, double p95Ms, double p99Ms) {
+    }
+
+    /**
+     * Results of a run and the settings it ran with
+     */
+    record Result(Map<String, Object> settings, Map<String, EndpointResult> endpoints) {
+    }
+
+    private LoadTestReport() {
+    }
+
+    static void write(Result result, Path path) throws IOException {
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        OBJECT_MAPPER.writeValue(path.toFile(), result);
+    }
+
+    static Result read(Path path) throws IOException {
+        return OBJECT_MAPPER.readValue(path.toFile(), Result.class);
+    }
+
+    static void print(Result result) {
+        System.out.printf("%n%-10s %9s %7s %10s %9s %9s %9s%n",
+                "endpoint", "requests", "errors", "req/s", "p50 ms", "p95 ms", "p99 ms");
+        result.endpoints().forEach((endpoint, r) -> System.out.printf("%-10s %9d %7d %10.1f %9.2f %9.2f %9.2f%n",
+                endpoint, r.requests(), r.errors(), r.throughput(), r.p50Ms(), r.p95Ms(), r.p99Ms()));
+    }
+
+    /**
+     * Print each endpoint against the baseline; returns whether any p95 latency grew, or
+     * throughput fell, by more than maxRegression (a fraction), or errors appeared
+     */
+    static boolean compare(Result result, Result baseline, double maxRegression) {
+        if (!result.settings().equals(baseline.settings())) {
+            System.out.println("Note: baseline settings differ " + baseline.settings());
+        }
+        System.out.printf("%n%-10s %12s %12s %8s %12s %12s %8s%n",
+                "endpoint", "base p95", "p95", "change", "base req/s", "req/s", "change");
+        boolean regressed = false;
+        for (Map.Entry<String, EndpointResult> entry : baseline.endpoints().entrySet()) {
+            EndpointResult base = entry.getValue();
+            EndpointResult current = result.endpoints().get(entry.getKey());
+            if (current == null) {
+                continue;
+            }
+            double latencyChange = change(base.p95Ms(), current.p95Ms());
+            double throughputChange = change(base.throughput(), current.throughput());
+            boolean endpointRegressed = latencyChange > maxRegression || -throughputChange > maxRegression
+                    || (current.errors() > 0 && base.errors() == 0);
+            regressed |= endpointRegressed;
+            System.out.printf("%-10s %12.2f %12.2f %+7.0f%% %12.1f %12.1f %+7.0f%%%s%n",
+                    entry.getKey(), base.p95Ms(), current.p95Ms(), latencyChange * 100,
+                    base.throughput(), current.throughput(), throughputChange * 100,
+                    endpointRegressed ? "  REGRESSED" : "");
+        }
+        return regressed;
+    }
+
+    private static double change(double before, double after) {
+        return before == 0 ? 0 : (after - before) / before;
+    }
+}
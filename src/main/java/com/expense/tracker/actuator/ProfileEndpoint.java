@@ -0,0 +1,95 @@
+package com.expense.tracker.actuator;
+
+import com.expense.tracker.dto.response.ProfileSummaryResponse;
+import com.expense.tracker.service.ProfilingService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.boot.actuate.endpoint.web.annotation.WebEndpoint;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Profile Actuator Endpoint (/actuator/profile)
+ *
+ * Records this node with Java Flight Recorder for ?seconds= (bounded by
+ * profiling.max-duration) and returns the .jfr file; /actuator/profile/summary returns
+ * the hottest application methods and allocation sites instead. The request waits for
+ * the recording; a second one meanwhile gets 429. Only users listed in security.operators
+ * may use it (see SecurityConfig); not exposed unless added to
+ * management.endpoints.web.exposure.include, and like /actuator/shards best exposed only
+ * on a management port that operators can reach.
+ */
+@Component
+@WebEndpoint(id = "profile")
+@RequiredArgsConstructor
+public class ProfileEndpoint {
+
+    private static final String SUMMARY = "summary";
+
+    private final ProfilingService profilingService;
+
+    @ReadOperation(produces = "application/octet-stream")
+    public WebEndpointResponse<Resource> recording(@Nullable Integer seconds) {
+        try {
+            Path file = profilingService.record(profilingService.duration(seconds));
+            return new WebEndpointResponse<>(new TemporaryFileResource(file));
+        } catch (IllegalStateException e) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_TOO_MANY_REQUESTS);
+        }
+    }
+
+    @ReadOperation
+    public WebEndpointResponse<ProfileSummaryResponse> summary(@Selector String view, @Nullable Integer seconds) {
+        if (!SUMMARY.equals(view)) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+        }
+        try {
+            return new WebEndpointResponse<>(profilingService.summarize(profilingService.duration(seconds)));
+        } catch (IllegalStateException e) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_TOO_MANY_REQUESTS);
+        }
+    }
+
+    /**
+     * A recording streamed from disk and deleted once the response has been written
+     */
+    private static final class TemporaryFileResource extends FileSystemResource {
+
+        private final Path file;
+
+        TemporaryFileResource(Path file) {
+            super(file);
+            this.file = file;
+        }
+
+        @Override
+        public boolean isFile() {
+            // Streamed through getInputStream, so the file is deleted when done
+            return false;
+        }
+
+        @Override
+        public InputStream getInputStream() throws IOException {
+            return new FilterInputStream(super.getInputStream()) {
+                @Override
+                public void close() throws IOException {
+                    try {
+                        super.close();
+                    } finally {
+                        Files.deleteIfExists(file);
+                    }
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.expense.tracker.actuator;
+
+import com.expense.tracker.dto.response.ShardStatisticsResponse;
+import com.expense.tracker.service.ShardStatisticsService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * Shards Actuator Endpoint (/actuator/shards)
+ *
+ * Admin view of the system-wide totals and those of each shard. Not exposed unless
+ * added to management.endpoints.web.exposure.include, and then only to users listed in
+ * security.operators (see SecurityConfig); expose it on a separate management port
+ * (management.server.port) that only operators can reach.
+ */
+@Component
+@Endpoint(id = "shards")
+@RequiredArgsConstructor
+public class ShardsEndpoint {
+
+    private final ShardStatisticsService shardStatisticsService;
+
+    @ReadOperation
+    public ShardStatisticsResponse statistics() {
+        return shardStatisticsService.getStatistics();
+    }
+}
@@ -0,0 +1,36 @@
+package com.expense.tracker.actuator;
+
+import com.expense.tracker.dto.response.SlowQueryLogResponse;
+import com.expense.tracker.service.SlowQueryLog;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * Slow Queries Actuator Endpoint (/actuator/slowqueries)
+ *
+ * Admin view of the slowest repository statements with their plans, and the latest slow
+ * executions; DELETE clears both. Not exposed unless added to
+ * management.endpoints.web.exposure.include, and then only to users listed in
+ * security.operators (see SecurityConfig); like /actuator/shards, expose it only on a
+ * management port that operators can reach.
+ */
+@Component
+@Endpoint(id = "slowqueries")
+@RequiredArgsConstructor
+public class SlowQueriesEndpoint {
+
+    private final SlowQueryLog slowQueryLog;
+
+    @ReadOperation
+    public SlowQueryLogResponse slowQueries() {
+        return slowQueryLog.snapshot();
+    }
+
+    @DeleteOperation
+    public void clear() {
+        slowQueryLog.clear();
+    }
+}
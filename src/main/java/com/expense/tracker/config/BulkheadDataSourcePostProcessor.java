@@ -0,0 +1,95 @@
+package com.expense.tracker.config;
+
+import com.expense.tracker.service.Bulkhead;
+import com.expense.tracker.service.Bulkheads;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.aop.framework.Advised;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Bulkhead DataSource Post Processor
+ *
+ * Puts the application's DataSource behind the database bulkheads: getConnection takes
+ * a permit of the bulkhead of the shard it routes to (or of the global database; failing
+ * with 503 after bulkhead.database.max-wait, well before Hikari's own 30s connection
+ * timeout) and closing the connection gives that same permit back. Wraps the existing
+ * proxy when the DataSource is proxied already (see SlowQueryDataSourcePostProcessor),
+ * otherwise a class-based proxy, so beans injecting the routing DataSource types keep working.
+ */
+@Component
+public class BulkheadDataSourcePostProcessor implements BeanPostProcessor {
+
+    private final ObjectProvider<Bulkheads> bulkheads;
+
+    public BulkheadDataSourcePostProcessor(ObjectProvider<Bulkheads> bulkheads) {
+        this.bulkheads = bulkheads;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (!"dataSource".equals(beanName) || !(bean instanceof DataSource)) {
+            return bean;
+        }
+        Bulkheads bulkheads = this.bulkheads.getObject();
+        if (bulkheads.database() == null) {
+            return bean;
+        }
+        MethodInterceptor advice = invocation -> {
+            if (!"getConnection".equals(invocation.getMethod().getName())) {
+                return invocation.proceed();
+            }
+            // Null for a shard that is not configured, which the routing DataSource rejects
+            Bulkhead bulkhead = bulkheads.currentDatabase();
+            if (bulkhead == null) {
+                return invocation.proceed();
+            }
+            bulkhead.acquire();
+            try {
+                return permitted((Connection) invocation.proceed(), bulkhead);
+            } catch (Throwable e) {
+                bulkhead.release();
+                throw e;
+            }
+        };
+        if (bean instanceof Advised advised && !advised.isFrozen()) {
+            advised.addAdvice(0, advice);
+            return bean;
+        }
+        ProxyFactory proxyFactory = new ProxyFactory(bean);
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAdvice(advice);
+        return proxyFactory.getProxy(bean.getClass().getClassLoader());
+    }
+
+    /**
+     * The connection, releasing its permit on the first close
+     */
+    private static Connection permitted(Connection connection, Bulkhead bulkhead) {
+        AtomicBoolean released = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[] { Connection.class },
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "equals" -> proxy == args[0];
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    default -> {
+                        try {
+                            yield method.invoke(connection, args);
+                        } catch (InvocationTargetException e) {
+                            throw e.getTargetException();
+                        } finally {
+                            if ("close".equals(method.getName()) && released.compareAndSet(false, true)) {
+                                bulkhead.release();
+                            }
+                        }
+                    }
+                });
+    }
+}
@@ -0,0 +1,37 @@
+package com.expense.tracker.config;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Bulkhead Properties (bulkhead.*)
+ *
+ * Limits on the work running at once against each downstream (see Bulkheads); a
+ * max-concurrent of 0 turns a limit off.
+ */
+@Component
+@ConfigurationProperties(prefix = "bulkhead")
+@Data
+public class BulkheadProperties {
+
+    // Connections held at once from the DataSource, and from each shard's pool with sharding;
+    // at most the pool size (Hikari's default is 10)
+    private Limit database = new Limit(10, Duration.ofSeconds(5));
+
+    // BCrypt hashes computed at once; CPU-bound, so about the number of cores, never fewer than 2
+    private Limit passwordHashing = new Limit(Math.max(2, Runtime.getRuntime().availableProcessors()), Duration.ofSeconds(10));
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Limit {
+        private int maxConcurrent;
+        // How long a caller waits for a permit before getting 503
+        private Duration maxWait;
+    }
+}
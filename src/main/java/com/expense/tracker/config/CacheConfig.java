@@ -1,6 +1,9 @@
 package com.expense.tracker.config;
 
+import com.expense.tracker.metrics.MeteredCache;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
@@ -8,6 +11,8 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
 
+import java.util.List;
+
 /**
  * Cache Configuration
  * 
@@ -20,11 +25,19 @@ import org.springframework.context.annotation.Primary;
 public class CacheConfig {
 
     /**
-     * In-memory Cache Manager for development
+     * In-memory Cache Manager for development, its caches counting hits and misses
      */
     @Bean
     @Primary
-    public CacheManager cacheManager() {
-        return new ConcurrentMapCacheManager("monthlyReports", "categoryReports", "budgetAlerts", "userProfiles");
+    public CacheManager cacheManager(MeterRegistry meterRegistry) {
+        ConcurrentMapCacheManager cacheManager = new ConcurrentMapCacheManager() {
+            @Override
+            protected Cache createConcurrentMapCache(String name) {
+                return new MeteredCache(super.createConcurrentMapCache(name), "cacheManager", meterRegistry);
+            }
+        };
+        cacheManager.setCacheNames(List.of("monthlyReports", "categoryReports", "categoryWiseReports",
+                "trendsReports", "budgetAlerts", "userProfiles"));
+        return cacheManager;
     }
 }
@@ -0,0 +1,40 @@
+package com.expense.tracker.config;
+
+import com.expense.tracker.metrics.SqlQueryCounter;
+import com.expense.tracker.metrics.TimingJackson2HttpMessageConverter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+/**
+ * Metrics Configuration
+ *
+ * Service method latencies and query counts are recorded by ServiceMetricsAspect and
+ * cache hits and misses by the caches of CacheConfig; everything is exported at
+ * /actuator/prometheus. Distribution settings (percentiles, SLO buckets) live under
+ * management.metrics.distribution.* in application.properties. Per-request
+ * breakdowns are returned as Server-Timing headers (see ServerTimingFilter).
+ */
+@Configuration
+public class MetricsConfig {
+
+    /**
+     * Counts the statements of each service call, unless another statement inspector
+     * is configured through spring.jpa.properties
+     */
+    @Bean
+    public HibernatePropertiesCustomizer sqlQueryCounterCustomizer(SqlQueryCounter sqlQueryCounter) {
+        return properties -> properties.putIfAbsent(AvailableSettings.STATEMENT_INSPECTOR, sqlQueryCounter);
+    }
+
+    /**
+     * Replaces Boot's JSON converter with one that times serialization of captured requests
+     */
+    @Bean
+    public MappingJackson2HttpMessageConverter mappingJackson2HttpMessageConverter(ObjectMapper objectMapper) {
+        return new TimingJackson2HttpMessageConverter(objectMapper);
+    }
+}
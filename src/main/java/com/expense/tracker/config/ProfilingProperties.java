@@ -0,0 +1,30 @@
+package com.expense.tracker.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Profiling Properties (profiling.*)
+ *
+ * Java Flight Recorder recordings taken on demand by /actuator/profile (see ProfilingService).
+ */
+@Component
+@ConfigurationProperties(prefix = "profiling")
+@Data
+public class ProfilingProperties {
+
+    // Recording length when the request does not give one
+    private Duration defaultDuration = Duration.ofSeconds(30);
+
+    // Longest recording a request may ask for
+    private Duration maxDuration = Duration.ofSeconds(120);
+
+    // JFR settings: "default" (about 1% overhead) or "profile" (more detail, about 2%)
+    private String settings = "default";
+
+    // Methods and allocation sites listed in the summary
+    private int top = 20;
+}
@@ -0,0 +1,65 @@
+package com.expense.tracker.config;
+
+import com.expense.tracker.service.ReadYourWritesTracker;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+/**
+ * Read Replica DataSource Configuration
+ *
+ * With datasource.replica.enabled=true, read-only transactions (reports, listings,
+ * category and budget reads) run on a replica pool configured under
+ * datasource.replica.* (Hikari property names, e.g. jdbc-url, username, password,
+ * maximum-pool-size); the primary pool keeps the spring.datasource.* settings.
+ * Without it the single auto-configured pool is used as before.
+ */
+@Configuration
+@ConditionalOnProperty(name = "datasource.replica.enabled", havingValue = "true")
+public class ReadReplicaDataSourceConfig {
+
+    /**
+     * Primary pool, configured like the auto-configured one
+     */
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    /**
+     * Replica pool; its connections are read-only
+     */
+    @Bean
+    @ConfigurationProperties("datasource.replica")
+    public HikariDataSource replicaDataSource() {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName("replica");
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    /**
+     * The DataSource used by JPA and JDBC: routes each transaction once it runs its first statement
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primaryDataSource,
+                                 @Qualifier("replicaDataSource") DataSource replicaDataSource,
+                                 ReadYourWritesTracker readYourWritesTracker) {
+        ReadReplicaRoutingDataSource routingDataSource =
+                new ReadReplicaRoutingDataSource(primaryDataSource, replicaDataSource, readYourWritesTracker);
+        routingDataSource.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+}
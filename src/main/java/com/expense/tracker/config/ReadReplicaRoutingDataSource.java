@@ -0,0 +1,51 @@
+package com.expense.tracker.config;
+
+import com.expense.tracker.service.ReadYourWritesTracker;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Read Replica Routing DataSource
+ *
+ * Sends connections of read-only transactions to the replica pool and everything
+ * else to the primary. Users who wrote within the read-your-writes window keep
+ * reading from the primary; a read-write transaction of an authenticated user
+ * marks them as having written once it commits.
+ *
+ * The routing decision needs the transaction's read-only flag, which is only set
+ * after the transaction manager has opened the connection, so this DataSource must
+ * sit behind a LazyConnectionDataSourceProxy (see ReadReplicaDataSourceConfig).
+ */
+public class ReadReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    enum Route { PRIMARY, REPLICA }
+
+    private final ReadYourWritesTracker readYourWritesTracker;
+
+    public ReadReplicaRoutingDataSource(DataSource primary, DataSource replica, ReadYourWritesTracker readYourWritesTracker) {
+        this.readYourWritesTracker = readYourWritesTracker;
+        setTargetDataSources(Map.of(Route.PRIMARY, primary, Route.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        String user = readYourWritesTracker.currentUser();
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return user != null && readYourWritesTracker.wroteRecently(user) ? Route.PRIMARY : Route.REPLICA;
+        }
+        if (user != null && TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    readYourWritesTracker.recordWrite(user);
+                }
+            });
+        }
+        return Route.PRIMARY;
+    }
+}
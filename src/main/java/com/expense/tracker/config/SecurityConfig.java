@@ -1,8 +1,22 @@
 package com.expense.tracker.config;
 
+import com.expense.tracker.actuator.ProfileEndpoint;
+import com.expense.tracker.actuator.ShardsEndpoint;
+import com.expense.tracker.actuator.SlowQueriesEndpoint;
+import com.expense.tracker.filter.ConditionalGetFilter;
+import com.expense.tracker.filter.IdempotencyFilter;
+import com.expense.tracker.filter.ShardBindingFilter;
+import com.expense.tracker.security.BulkheadPasswordEncoder;
 import com.expense.tracker.security.JwtAuthenticationFilter;
+import com.expense.tracker.security.ScrapeTokenFilter;
 import com.expense.tracker.security.UserDetailsServiceImpl;
+import com.expense.tracker.service.Bulkhead;
+import com.expense.tracker.service.Bulkheads;
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
+import org.springframework.boot.actuate.metrics.MetricsEndpoint;
+import org.springframework.boot.actuate.metrics.export.prometheus.PrometheusScrapeEndpoint;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -39,6 +53,11 @@ public class SecurityConfig {
 
     private final UserDetailsServiceImpl userDetailsService;
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
+    private final IdempotencyFilter idempotencyFilter;
+    private final ConditionalGetFilter conditionalGetFilter;
+    private final ShardBindingFilter shardBindingFilter;
+    private final ScrapeTokenFilter scrapeTokenFilter;
+    private final Bulkheads bulkheads;
 
     /**
      * Configure the security filter chain
@@ -50,6 +69,8 @@ public class SecurityConfig {
                 .cors(cors -> cors.configurationSource(corsConfigurationSource()))
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(auth -> auth
+                        // Streaming responses finish on an async dispatch of an already authorized request
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                         // Public endpoints
                         .requestMatchers(
                                 "/api/auth/**",
@@ -61,6 +82,13 @@ public class SecurityConfig {
                                 "/actuator/health",
                                 "/actuator/info"
                         ).permitAll()
+                        // Admin endpoints, on the application or the management port
+                        .requestMatchers(EndpointRequest.to(SlowQueriesEndpoint.class, ProfileEndpoint.class, ShardsEndpoint.class,
+                                MetricsEndpoint.class))
+                        .hasRole("OPERATOR")
+                        // Prometheus scrapes with security.scrape-token instead of an expiring user token
+                        .requestMatchers(EndpointRequest.to(PrometheusScrapeEndpoint.class))
+                        .hasAnyRole("OPERATOR", "SCRAPER")
                         // All other endpoints require authentication
                         .anyRequest().authenticated()
                 )
@@ -68,6 +96,14 @@ public class SecurityConfig {
                 .headers(headers -> headers.frameOptions(frame -> frame.sameOrigin()))
                 .authenticationProvider(authenticationProvider())
                 .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class)
+                // Authenticates Prometheus on the scrape endpoint before any JWT is looked at
+                .addFilterBefore(scrapeTokenFilter, JwtAuthenticationFilter.class)
+                // Replays stored responses before the JWT filter loads the user from the database
+                .addFilterBefore(idempotencyFilter, JwtAuthenticationFilter.class)
+                // Answers conditional GETs once the caller is authenticated
+                .addFilterAfter(conditionalGetFilter, JwtAuthenticationFilter.class)
+                // Runs the rest of the request on the caller's shard when sharding is enabled
+                .addFilterAfter(shardBindingFilter, ConditionalGetFilter.class)
                 .build();
     }
 
@@ -89,11 +125,13 @@ public class SecurityConfig {
     }
 
     /**
-     * Password encoder using BCrypt with strength 12
+     * Password encoder using BCrypt with strength 12, behind the password hashing bulkhead
      */
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder(12);
+        PasswordEncoder bcrypt = new BCryptPasswordEncoder(12);
+        Bulkhead bulkhead = bulkheads.passwordHashing();
+        return bulkhead != null ? new BulkheadPasswordEncoder(bcrypt, bulkhead) : bcrypt;
     }
 
     /**
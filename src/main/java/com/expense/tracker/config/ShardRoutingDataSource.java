@@ -0,0 +1,58 @@
+package com.expense.tracker.config;
+
+import com.expense.tracker.service.ShardRouter;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Shard Routing DataSource
+ *
+ * Hands out connections of the shard bound to the current thread by ShardRouter,
+ * or of the global database when no shard is bound. A bound shard that is not
+ * configured is an error rather than a silent fallback to the global database.
+ *
+ * The shard is bound before a transaction starts (request filter, job loop,
+ * scatter-gather task), so JPA and JDBC transactions stay on one shard.
+ */
+public class ShardRoutingDataSource extends AbstractRoutingDataSource implements AutoCloseable {
+
+    private final ShardRouter shardRouter;
+    private final Map<String, DataSource> shards;
+
+    public ShardRoutingDataSource(DataSource global, Map<String, DataSource> shards, ShardRouter shardRouter) {
+        this.shardRouter = shardRouter;
+        this.shards = new LinkedHashMap<>(shards);
+        setTargetDataSources(new LinkedHashMap<>(shards));
+        setDefaultTargetDataSource(global);
+        setLenientFallback(false);
+    }
+
+    /**
+     * The pool of one shard, for tools working on two shards at once
+     */
+    public DataSource shard(String shardId) {
+        DataSource dataSource = shards.get(shardId);
+        if (dataSource == null) {
+            throw new IllegalArgumentException("Unknown shard: " + shardId);
+        }
+        return dataSource;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return shardRouter.currentShard();
+    }
+
+    @Override
+    public void close() {
+        for (DataSource dataSource : shards.values()) {
+            if (dataSource instanceof HikariDataSource hikariDataSource) {
+                hikariDataSource.close();
+            }
+        }
+    }
+}
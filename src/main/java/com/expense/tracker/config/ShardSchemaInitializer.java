@@ -0,0 +1,91 @@
+package com.expense.tracker.config;
+
+import com.expense.tracker.service.ShardRowCopier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Shard Schema Initializer (dev/test, H2)
+ *
+ * With sharding.initialize-schema=true, once Hibernate has created the schema and
+ * data.sql has seeded the global database: creates the shard directory there and
+ * gives every shard the same schema, system categories and a table of per-user write
+ * fences (see ShardWriteFence). Each shard then hands
+ * out IDs from its own range, starting at (position + 1) * 10^12, so a user's rows
+ * keep their IDs when moved to another shard.
+ *
+ * On MySQL the shards are set up with db/mysql/shard-directory.sql instead.
+ */
+@Component
+@ConditionalOnProperty(name = {"sharding.enabled", "sharding.initialize-schema"}, havingValue = "true")
+@Slf4j
+public class ShardSchemaInitializer implements SmartInitializingSingleton {
+
+    static final long ID_RANGE_SIZE = 1_000_000_000_000L;
+
+    private final DataSource globalDataSource;
+    private final ShardRoutingDataSource shards;
+    private final ShardingProperties properties;
+
+    public ShardSchemaInitializer(@Qualifier("globalDataSource") DataSource globalDataSource,
+                                  ShardRoutingDataSource shards,
+                                  ShardingProperties properties) {
+        this.globalDataSource = globalDataSource;
+        this.shards = shards;
+        this.properties = properties;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        JdbcTemplate global = new JdbcTemplate(globalDataSource);
+        List<String> ddl = global.query("SCRIPT NODATA", (rs, rowNum) -> rs.getString(1)).stream()
+                .filter(statement -> !statement.startsWith("--") && !statement.startsWith("CREATE USER"))
+                .toList();
+
+        int position = 0;
+        for (String shardId : properties.getShards().keySet()) {
+            JdbcTemplate shard = new JdbcTemplate(shards.shard(shardId));
+            ddl.forEach(shard::execute);
+            ShardRowCopier.copy(global, shard, "categories", "user_id IS NULL", Set.of());
+            ShardRowCopier.copy(global, shard, "category_closure",
+                    "descendant_id IN (SELECT id FROM categories WHERE user_id IS NULL)", Set.of());
+            restartIdentities(shard, (position + 1) * ID_RANGE_SIZE);
+            shard.execute("""
+                CREATE TABLE IF NOT EXISTS shard_fences (
+                    user_id BIGINT NOT NULL PRIMARY KEY,
+                    version BIGINT NOT NULL
+                )
+                """);
+            log.info("Initialized schema of shard {}", shardId);
+            position++;
+        }
+
+        global.execute("""
+            CREATE TABLE IF NOT EXISTS shard_directory (
+                user_id BIGINT NOT NULL PRIMARY KEY,
+                shard_id VARCHAR(64) NOT NULL,
+                migrating BOOLEAN NOT NULL DEFAULT FALSE,
+                version BIGINT NOT NULL DEFAULT 0,
+                assigned_at TIMESTAMP NOT NULL
+            )
+            """);
+    }
+
+    private static void restartIdentities(JdbcTemplate shard, long start) {
+        List<String[]> identities = shard.query("""
+            SELECT table_name, column_name FROM information_schema.columns
+            WHERE table_schema = 'PUBLIC' AND is_identity = 'YES' AND table_name <> 'USERS'
+            """, (rs, rowNum) -> new String[] { rs.getString(1), rs.getString(2) });
+        for (String[] identity : identities) {
+            shard.execute("ALTER TABLE " + identity[0] + " ALTER COLUMN " + identity[1] + " RESTART WITH " + start);
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.expense.tracker.config;
+
+import com.expense.tracker.service.ShardRouter;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.task.TaskDecorator;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Sharding DataSource Configuration
+ *
+ * With sharding.enabled=true, per-user data (transactions, budgets, custom categories
+ * and the rest of a user's records) lives on the shard the user is placed on, while
+ * spring.datasource.* is the global database holding the users and the shard
+ * directory. Shards are configured under sharding.shards.<id>.* (see ShardingProperties).
+ */
+@Configuration
+@ConditionalOnProperty(name = "sharding.enabled", havingValue = "true")
+public class ShardingDataSourceConfig {
+
+    /**
+     * Global pool, configured like the auto-configured one
+     */
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource globalDataSource(DataSourceProperties properties,
+                                             @Value("${datasource.replica.enabled:false}") boolean replicaEnabled) {
+        if (replicaEnabled) {
+            throw new IllegalStateException("sharding.enabled and datasource.replica.enabled cannot be combined");
+        }
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("global");
+        return dataSource;
+    }
+
+    /**
+     * The DataSource used by JPA and JDBC: the current thread's shard, else the global database
+     */
+    @Bean
+    @Primary
+    public ShardRoutingDataSource dataSource(@Qualifier("globalDataSource") DataSource globalDataSource,
+                                             ShardingProperties properties,
+                                             ShardRouter shardRouter) {
+        Map<String, DataSource> shards = new LinkedHashMap<>();
+        properties.getShards().forEach((shardId, shard) -> {
+            HikariDataSource dataSource = new HikariDataSource();
+            dataSource.setPoolName("shard-" + shardId);
+            dataSource.setJdbcUrl(shard.getJdbcUrl());
+            dataSource.setUsername(shard.getUsername());
+            dataSource.setPassword(shard.getPassword());
+            dataSource.setMaximumPoolSize(shard.getMaximumPoolSize());
+            dataSource.setMinimumIdle(shard.getMinimumIdle());
+            shards.put(shardId, dataSource);
+        });
+        ShardRoutingDataSource routingDataSource = new ShardRoutingDataSource(globalDataSource, shards, shardRouter);
+        routingDataSource.afterPropertiesSet();
+        return routingDataSource;
+    }
+
+    /**
+     * Carries the request's shard over to async work (streamed sync responses)
+     */
+    @Bean
+    public TaskDecorator shardTaskDecorator(ShardRouter shardRouter) {
+        return task -> {
+            String shardId = shardRouter.currentShard();
+            return shardId == null ? task : () -> shardRouter.runOn(shardId, task);
+        };
+    }
+}
@@ -0,0 +1,49 @@
+package com.expense.tracker.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Sharding Properties (sharding.*)
+ *
+ * The shards holding per-user data, keyed by shard ID, e.g.
+ * sharding.shards.shard-a.jdbc-url=jdbc:mysql://db-a:3306/expense_tracker.
+ * The spring.datasource.* database stays the global one (users, shard directory).
+ */
+@Component
+@ConfigurationProperties(prefix = "sharding")
+@Data
+public class ShardingProperties {
+
+    private boolean enabled = false;
+
+    // Points per shard on the consistent hash ring
+    private int virtualNodes = 128;
+
+    // Create the schema and seed data on H2 shards at startup (dev/test only)
+    private boolean initializeSchema = false;
+
+    // How long a node may keep serving a user from a cached directory entry
+    private Duration directoryCacheTtl = Duration.ofSeconds(30);
+
+    private Duration scatterGatherTimeout = Duration.ofSeconds(30);
+
+    private Map<String, Shard> shards = new LinkedHashMap<>();
+
+    /**
+     * Connection settings of one shard
+     */
+    @Data
+    public static class Shard {
+        private String jdbcUrl;
+        private String username;
+        private String password;
+        private int maximumPoolSize = 10;
+        private int minimumIdle = 2;
+    }
+}
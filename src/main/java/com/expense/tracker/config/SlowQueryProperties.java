@@ -0,0 +1,33 @@
+package com.expense.tracker.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Slow Query Log Properties (slow-query.*)
+ *
+ * Statements of the transaction, budget, category and user repositories taking at
+ * least the threshold (execution plus fetching their rows) are kept by SlowQueryLog
+ * and shown at /actuator/slowqueries.
+ */
+@Component
+@ConfigurationProperties(prefix = "slow-query")
+@Data
+public class SlowQueryProperties {
+
+    private boolean enabled = true;
+
+    private Duration threshold = Duration.ofMillis(200);
+
+    // Distinct statements kept, the slowest first
+    private int top = 50;
+
+    // Latest slow executions kept
+    private int recent = 100;
+
+    // Capture the plan of each kept SELECT (again whenever it gets slower)
+    private boolean explain = true;
+}
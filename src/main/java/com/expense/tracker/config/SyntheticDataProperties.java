@@ -0,0 +1,49 @@
+package com.expense.tracker.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Synthetic Data Properties (generator.*)
+ *
+ * Size and shape of the data written by SyntheticDataGenerator. Users are numbered;
+ * user i gets the email synthetic-user-i@example.com and the same data for the same
+ * seed, so runs with different first-user-index values extend each other.
+ */
+@Component
+@ConfigurationProperties(prefix = "generator")
+@Data
+public class SyntheticDataProperties {
+
+    // Run the generator at startup and exit (see SyntheticDataRunner and the "generate" profile)
+    private boolean enabled = false;
+
+    private int users = 1000;
+
+    private int firstUserIndex = 0;
+
+    // Months of history ending with the current month
+    private int monthsOfHistory = 12;
+
+    // Average day-to-day expenses per user and month, before seasonality and per-user activity
+    private int transactionsPerMonth = 40;
+
+    // Expense categories each user budgets for, every month
+    private int budgetCategories = 5;
+
+    private long seed = 42;
+
+    private int threads = Runtime.getRuntime().availableProcessors();
+
+    private int usersPerChunk = 100;
+
+    private int batchSize = 1000;
+
+    // Password of every generated user
+    private String password = "Password123!";
+
+    public String emailOf(int userIndex) {
+        return "synthetic-user-" + userIndex + "@example.com";
+    }
+}
@@ -0,0 +1,24 @@
+package com.expense.tracker.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Virtual Threads Config
+ *
+ * Refuses to start with spring.threads.virtual.enabled=true on a JVM without virtual
+ * threads (before Java 21), where Spring Boot would silently keep Tomcat's platform
+ * thread pool and the setting would only appear to be in effect.
+ */
+@Configuration
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadsConfig {
+
+    public VirtualThreadsConfig() {
+        int feature = Runtime.version().feature();
+        if (feature < 21) {
+            throw new IllegalStateException("spring.threads.virtual.enabled=true needs Java 21 or later; this JVM is Java "
+                    + feature + " and would serve requests on platform threads");
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package com.expense.tracker.controller;
+
+import com.expense.tracker.dto.request.CategorizationRuleRequest;
+import com.expense.tracker.dto.response.CategorizationRuleResponse;
+import com.expense.tracker.model.User;
+import com.expense.tracker.repository.UserRepository;
+import com.expense.tracker.service.CategorizationRuleService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * Categorization Rule Controller
+ *
+ * RESTful API endpoints for managing the user's auto-categorization rules,
+ * which assign a category to transactions created without one.
+ */
+@RestController
+@RequestMapping("/api/categorization-rules")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Categorization Rules", description = "Auto-categorization rule management endpoints")
+@SecurityRequirement(name = "Bearer Authentication")
+public class CategorizationRuleController {
+
+    private final CategorizationRuleService categorizationRuleService;
+    private final UserRepository userRepository;
+
+    /**
+     * Get all categorization rules
+     */
+    @GetMapping
+    @Operation(
+        summary = "Get all categorization rules",
+        description = "Retrieves the user's categorization rules in evaluation order (lowest priority value first)."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Rules retrieved successfully",
+            content = @Content(schema = @Schema(implementation = CategorizationRuleResponse.class))
+        ),
+        @ApiResponse(responseCode = "401", description = "Unauthorized - Invalid or missing JWT token")
+    })
+    public ResponseEntity<List<CategorizationRuleResponse>> getRules() {
+        User user = getCurrentUser();
+        List<CategorizationRuleResponse> rules = categorizationRuleService.getRules(user.getId());
+        return ResponseEntity.ok(rules);
+    }
+
+    /**
+     * Create categorization rule
+     */
+    @PostMapping
+    @Operation(
+        summary = "Create categorization rule",
+        description = "Creates a keyword, prefix or regex rule on description / payment method, or an amount range rule, that assigns a category."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "201",
+            description = "Rule created successfully",
+            content = @Content(schema = @Schema(implementation = CategorizationRuleResponse.class))
+        ),
+        @ApiResponse(responseCode = "400", description = "Invalid input data"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized - Invalid or missing JWT token"),
+        @ApiResponse(responseCode = "404", description = "Category not found")
+    })
+    public ResponseEntity<CategorizationRuleResponse> createRule(@Valid @RequestBody CategorizationRuleRequest request) {
+        User user = getCurrentUser();
+        CategorizationRuleResponse response = categorizationRuleService.createRule(request, user);
+        return new ResponseEntity<>(response, HttpStatus.CREATED);
+    }
+
+    /**
+     * Update categorization rule
+     */
+    @PutMapping("/{id}")
+    @Operation(
+        summary = "Update categorization rule",
+        description = "Updates an existing categorization rule."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Rule updated successfully",
+            content = @Content(schema = @Schema(implementation = CategorizationRuleResponse.class))
+        ),
+        @ApiResponse(responseCode = "400", description = "Invalid input data"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized - Invalid or missing JWT token"),
+        @ApiResponse(responseCode = "404", description = "Rule or category not found")
+    })
+    public ResponseEntity<CategorizationRuleResponse> updateRule(
+            @PathVariable Long id,
+            @Valid @RequestBody CategorizationRuleRequest request) {
+        User user = getCurrentUser();
+        CategorizationRuleResponse response = categorizationRuleService.updateRule(id, request, user);
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Delete categorization rule
+     */
+    @DeleteMapping("/{id}")
+    @Operation(
+        summary = "Delete categorization rule",
+        description = "Deletes a categorization rule."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Rule deleted successfully"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized - Invalid or missing JWT token"),
+        @ApiResponse(responseCode = "404", description = "Rule not found")
+    })
+    public ResponseEntity<Void> deleteRule(@PathVariable Long id) {
+        User user = getCurrentUser();
+        categorizationRuleService.deleteRule(id, user);
+        return ResponseEntity.ok().build();
+    }
+
+    /**
+     * Get current authenticated user from Security Context
+     */
+    private User getCurrentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()) {
+            throw new org.springframework.security.authentication.AuthenticationCredentialsNotFoundException("User not authenticated");
+        }
+
+        String email = authentication.getName();
+        return userRepository.findByEmailAndIsActiveTrue(email)
+                .orElseThrow(() -> new RuntimeException("User not found: " + email));
+    }
+}
@@ -0,0 +1,147 @@
+package com.expense.tracker.controller;
+
+import com.expense.tracker.dto.request.RecurringTransactionRequest;
+import com.expense.tracker.dto.response.RecurringTransactionResponse;
+import com.expense.tracker.model.User;
+import com.expense.tracker.repository.UserRepository;
+import com.expense.tracker.service.RecurringTransactionService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * Recurring Transaction Controller
+ *
+ * RESTful API endpoints for managing recurring transactions (rent, salary,
+ * subscriptions), which are recorded automatically when due.
+ */
+@RestController
+@RequestMapping("/api/recurring-transactions")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Recurring Transactions", description = "Recurring transaction management endpoints")
+@SecurityRequirement(name = "Bearer Authentication")
+public class RecurringTransactionController {
+
+    private final RecurringTransactionService recurringTransactionService;
+    private final UserRepository userRepository;
+
+    /**
+     * Get all recurring transactions
+     */
+    @GetMapping
+    @Operation(
+        summary = "Get all recurring transactions",
+        description = "Retrieves the user's recurring transactions with their next occurrence date."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Recurring transactions retrieved successfully",
+            content = @Content(schema = @Schema(implementation = RecurringTransactionResponse.class))
+        ),
+        @ApiResponse(responseCode = "401", description = "Unauthorized - Invalid or missing JWT token")
+    })
+    public ResponseEntity<List<RecurringTransactionResponse>> getRecurringTransactions() {
+        User user = getCurrentUser();
+        List<RecurringTransactionResponse> recurringTransactions = recurringTransactionService.getRecurringTransactions(user.getId());
+        return ResponseEntity.ok(recurringTransactions);
+    }
+
+    /**
+     * Create recurring transaction
+     */
+    @PostMapping
+    @Operation(
+        summary = "Create recurring transaction",
+        description = "Creates a transaction that repeats daily, weekly, monthly or yearly (every N periods) from the start date until the optional end date. Due occurrences are recorded as regular transactions."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "201",
+            description = "Recurring transaction created successfully",
+            content = @Content(schema = @Schema(implementation = RecurringTransactionResponse.class))
+        ),
+        @ApiResponse(responseCode = "400", description = "Invalid input data"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized - Invalid or missing JWT token"),
+        @ApiResponse(responseCode = "404", description = "Category not found")
+    })
+    public ResponseEntity<RecurringTransactionResponse> createRecurringTransaction(@Valid @RequestBody RecurringTransactionRequest request) {
+        User user = getCurrentUser();
+        RecurringTransactionResponse response = recurringTransactionService.createRecurringTransaction(request, user);
+        return new ResponseEntity<>(response, HttpStatus.CREATED);
+    }
+
+    /**
+     * Update recurring transaction
+     */
+    @PutMapping("/{id}")
+    @Operation(
+        summary = "Update recurring transaction",
+        description = "Updates a recurring transaction. The schedule can only change before the first occurrence is recorded. Set active to false to pause; resuming skips the occurrences missed while paused."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Recurring transaction updated successfully",
+            content = @Content(schema = @Schema(implementation = RecurringTransactionResponse.class))
+        ),
+        @ApiResponse(responseCode = "400", description = "Invalid input data"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized - Invalid or missing JWT token"),
+        @ApiResponse(responseCode = "404", description = "Recurring transaction or category not found")
+    })
+    public ResponseEntity<RecurringTransactionResponse> updateRecurringTransaction(
+            @PathVariable Long id,
+            @Valid @RequestBody RecurringTransactionRequest request) {
+        User user = getCurrentUser();
+        RecurringTransactionResponse response = recurringTransactionService.updateRecurringTransaction(id, request, user);
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Delete recurring transaction
+     */
+    @DeleteMapping("/{id}")
+    @Operation(
+        summary = "Delete recurring transaction",
+        description = "Deletes a recurring transaction. Transactions already recorded from it are kept."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Recurring transaction deleted successfully"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized - Invalid or missing JWT token"),
+        @ApiResponse(responseCode = "404", description = "Recurring transaction not found")
+    })
+    public ResponseEntity<Void> deleteRecurringTransaction(@PathVariable Long id) {
+        User user = getCurrentUser();
+        recurringTransactionService.deleteRecurringTransaction(id, user);
+        return ResponseEntity.ok().build();
+    }
+
+    /**
+     * Get current authenticated user from Security Context
+     */
+    private User getCurrentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()) {
+            throw new org.springframework.security.authentication.AuthenticationCredentialsNotFoundException("User not authenticated");
+        }
+
+        String email = authentication.getName();
+        return userRepository.findByEmailAndIsActiveTrue(email)
+                .orElseThrow(() -> new RuntimeException("User not found: " + email));
+    }
+}
@@ -69,7 +69,8 @@ public class ReportController {
     @GetMapping("/category-wise")
     @Operation(
         summary = "Get category-wise expense report",
-        description = "Generates a breakdown of expenses by category with amounts, transaction counts, and percentages."
+        description = "Generates a breakdown of expenses by category with amounts, transaction counts, and percentages. "
+            + "With a depth, subcategory expenses are rolled up to their ancestor at that level (0 = top-level categories)."
     )
     @ApiResponses(value = {
         @ApiResponse(
@@ -81,9 +82,10 @@ public class ReportController {
     })
     public ResponseEntity<CategoryWiseResponse> getCategoryWiseReport(
             @RequestParam(required = false) Integer month,
-            @RequestParam(required = false) Integer year) {
+            @RequestParam(required = false) Integer year,
+            @RequestParam(required = false) Integer depth) {
         User user = getCurrentUser();
-        CategoryWiseResponse response = reportService.getCategoryWiseReport(user, month, year);
+        CategoryWiseResponse response = reportService.getCategoryWiseReport(user, month, year, depth);
         return ResponseEntity.ok(response);
     }
 
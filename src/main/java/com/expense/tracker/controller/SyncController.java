@@ -0,0 +1,81 @@
+package com.expense.tracker.controller;
+
+import com.expense.tracker.model.User;
+import com.expense.tracker.repository.UserRepository;
+import com.expense.tracker.service.SyncService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDateTime;
+
+/**
+ * Sync Controller
+ * 
+ * RESTful API endpoint for incremental synchronization of offline clients.
+ */
+@RestController
+@RequestMapping("/api/sync")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Sync", description = "Delta-sync endpoints for offline clients")
+@SecurityRequirement(name = "Bearer Authentication")
+public class SyncController {
+
+    private final SyncService syncService;
+    private final UserRepository userRepository;
+
+    /**
+     * Get changes since the last sync
+     */
+    @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(
+        summary = "Get changes since last sync",
+        description = "Streams transactions, budgets and custom categories created, updated or deleted since the given sync token. " +
+                      "Without a token, returns all active records. The response includes the token to use for the next sync."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Changes streamed successfully"),
+        @ApiResponse(responseCode = "400", description = "Invalid sync token"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized - Invalid or missing JWT token")
+    })
+    public ResponseEntity<StreamingResponseBody> getChanges(
+            @Parameter(description = "Token returned by the previous sync (omit for a full sync)")
+            @RequestParam(required = false) String since) {
+        
+        User user = getCurrentUser();
+        // Parse before streaming so an invalid token is still a clean 400
+        LocalDateTime watermark = syncService.parseToken(since);
+        Long userId = user.getId();
+        
+        StreamingResponseBody body = output -> syncService.writeChanges(userId, watermark, output);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body);
+    }
+
+    /**
+     * Get current authenticated user from Security Context
+     */
+    private User getCurrentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()) {
+            throw new org.springframework.security.authentication.AuthenticationCredentialsNotFoundException("User not authenticated");
+        }
+        
+        String email = authentication.getName();
+        return userRepository.findByEmailAndIsActiveTrue(email)
+                .orElseThrow(() -> new RuntimeException("User not found: " + email));
+    }
+}
@@ -1,12 +1,15 @@
 package com.expense.tracker.controller;
 
+import com.expense.tracker.dto.request.BatchTransactionRequest;
 import com.expense.tracker.dto.request.TransactionRequest;
+import com.expense.tracker.dto.response.ArchiveRestoreResponse;
 import com.expense.tracker.dto.response.PagedResponse;
 import com.expense.tracker.dto.response.TransactionResponse;
 import com.expense.tracker.enums.TransactionType;
 import com.expense.tracker.model.User;
 import com.expense.tracker.repository.UserRepository;
 import com.expense.tracker.security.UserDetailsServiceImpl;
+import com.expense.tracker.service.TransactionArchiveService;
 import com.expense.tracker.service.TransactionService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -27,6 +30,7 @@ import org.springframework.web.bind.annotation.*;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.List;
 
 /**
  * Transaction Controller
@@ -43,6 +47,7 @@ import java.time.LocalDate;
 public class TransactionController {
 
     private final TransactionService transactionService;
+    private final TransactionArchiveService transactionArchiveService;
     private final UserRepository userRepository;
     private final UserDetailsServiceImpl userDetailsService;
 
@@ -52,7 +57,7 @@ public class TransactionController {
     @PostMapping
     @Operation(
         summary = "Create a new transaction",
-        description = "Creates a new income or expense transaction with category, amount, and date. Returns the created transaction."
+        description = "Creates a new income or expense transaction with category, amount, and date. Without a categoryId the category is picked by the user's categorization rules. Returns the created transaction."
     )
     @ApiResponses(value = {
         @ApiResponse(
@@ -62,7 +67,8 @@ public class TransactionController {
         ),
         @ApiResponse(responseCode = "400", description = "Invalid input data or validation errors"),
         @ApiResponse(responseCode = "401", description = "Unauthorized - Invalid or missing JWT token"),
-        @ApiResponse(responseCode = "404", description = "Category not found")
+        @ApiResponse(responseCode = "404", description = "Category not found"),
+        @ApiResponse(responseCode = "409", description = "Same date, amount, description and payment method as an existing transaction, with rejectDuplicate set")
     })
     public ResponseEntity<TransactionResponse> createTransaction(@Valid @RequestBody TransactionRequest request) {
         User user = getCurrentUser();
@@ -70,13 +76,35 @@ public class TransactionController {
         return new ResponseEntity<>(response, HttpStatus.CREATED);
     }
 
+    /**
+     * Create several transactions at once
+     */
+    @PostMapping("/batch")
+    @Operation(
+        summary = "Create transactions in bulk",
+        description = "Creates up to 500 transactions in one call (e.g. an import). Transactions without a categoryId are auto-categorized from the user's categorization rules. The batch is rejected as a whole if any transaction is invalid, or a duplicate that sets rejectDuplicate. Other duplicates are kept and flagged with possibleDuplicate, or left out of the result when skipDuplicates is set."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "201", description = "Transactions created successfully"),
+        @ApiResponse(responseCode = "400", description = "Invalid input data, validation errors or no matching category"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized - Invalid or missing JWT token"),
+        @ApiResponse(responseCode = "409", description = "A transaction with rejectDuplicate set duplicates an existing one")
+    })
+    public ResponseEntity<List<TransactionResponse>> createTransactions(@Valid @RequestBody BatchTransactionRequest request) {
+        User user = getCurrentUser();
+        List<TransactionResponse> response = transactionService.createTransactions(
+            request.getTransactions(), request.isSkipDuplicates(), user
+        );
+        return new ResponseEntity<>(response, HttpStatus.CREATED);
+    }
+
     /**
      * Get all transactions with filtering and pagination
      */
     @GetMapping
     @Operation(
         summary = "Get all transactions",
-        description = "Retrieves user's transactions with optional filtering by type, category, date range, amount range. Supports pagination and sorting."
+        description = "Retrieves user's transactions with optional filtering by type, category, date range, amount range and text search on description / payment method. Supports pagination and sorting. With includeArchived=true, archived transactions matching the filters are included (slower)."
     )
     @ApiResponses(value = {
         @ApiResponse(
@@ -94,19 +122,41 @@ public class TransactionController {
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate toDate,
             @RequestParam(required = false) BigDecimal minAmount,
             @RequestParam(required = false) BigDecimal maxAmount,
+            @RequestParam(required = false) String q,
             @RequestParam(required = false, defaultValue = "transactionDate") String sortBy,
             @RequestParam(required = false, defaultValue = "desc") String sortOrder,
             @RequestParam(required = false, defaultValue = "0") int page,
-            @RequestParam(required = false, defaultValue = "20") int size) {
+            @RequestParam(required = false, defaultValue = "20") int size,
+            @RequestParam(required = false, defaultValue = "false") boolean includeArchived) {
         
         User user = getCurrentUser();
         PagedResponse<TransactionResponse> response = transactionService.getTransactions(
-            type, categoryId, fromDate, toDate, minAmount, maxAmount,
-            sortBy, sortOrder, page, size, user
+            type, categoryId, fromDate, toDate, minAmount, maxAmount, q,
+            sortBy, sortOrder, page, size, includeArchived, user
         );
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Suggest descriptions while typing
+     */
+    @GetMapping("/suggest")
+    @Operation(
+        summary = "Suggest transaction descriptions",
+        description = "Returns descriptions of the user's past transactions that start with the given prefix (case-insensitive), ranked by how often and how recently they were used."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Suggestions retrieved successfully"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized - Invalid or missing JWT token")
+    })
+    public ResponseEntity<List<String>> suggestDescriptions(
+            @RequestParam String prefix,
+            @RequestParam(required = false, defaultValue = "5") int limit) {
+        User user = getCurrentUser();
+        List<String> suggestions = transactionService.suggestDescriptions(prefix, limit, user);
+        return ResponseEntity.ok(suggestions);
+    }
+
     /**
      * Get transaction by ID
      */
@@ -147,6 +197,7 @@ public class TransactionController {
         @ApiResponse(responseCode = "400", description = "Invalid input data"),
         @ApiResponse(responseCode = "401", description = "Unauthorized - Invalid or missing JWT token"),
         @ApiResponse(responseCode = "404", description = "Transaction not found"),
+        @ApiResponse(responseCode = "409", description = "Same date, amount, description and payment method as another transaction, with rejectDuplicate set"),
         @ApiResponse(responseCode = "403", description = "Forbidden - Not authorized to update this transaction")
     })
     public ResponseEntity<TransactionResponse> updateTransaction(
@@ -177,6 +228,30 @@ public class TransactionController {
         return ResponseEntity.ok().build();
     }
 
+    /**
+     * Restore archived transactions
+     */
+    @PostMapping("/archive/restore")
+    @Operation(
+        summary = "Restore archived transactions",
+        description = "Moves the user's archived transactions dated within the range (open-ended when a bound is omitted) back into regular storage with their original IDs. Transactions archived in the same batch just outside the range are restored with them."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Archived transactions restored",
+            content = @Content(schema = @Schema(implementation = ArchiveRestoreResponse.class))
+        ),
+        @ApiResponse(responseCode = "400", description = "Invalid date range, or an archived transaction's category no longer exists"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized - Invalid or missing JWT token")
+    })
+    public ResponseEntity<ArchiveRestoreResponse> restoreArchivedTransactions(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fromDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate toDate) {
+        User user = getCurrentUser();
+        return ResponseEntity.ok(transactionArchiveService.restore(fromDate, toDate, user));
+    }
+
     /**
      * Get current authenticated user from Security Context
      */
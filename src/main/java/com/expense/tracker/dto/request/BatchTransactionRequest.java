@@ -0,0 +1,27 @@
+package com.expense.tracker.dto.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Batch Transaction Request DTO
+ * 
+ * Used for creating (importing) several transactions in one call.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchTransactionRequest {
+    
+    @NotEmpty(message = "At least one transaction is required")
+    @Size(max = 500, message = "A batch must not exceed 500 transactions")
+    private List<@Valid TransactionRequest> transactions;
+    
+    private boolean skipDuplicates; // drop duplicates instead of keeping them flagged (re-imports)
+}
@@ -0,0 +1,44 @@
+package com.expense.tracker.dto.request;
+
+import com.expense.tracker.enums.RuleField;
+import com.expense.tracker.enums.RuleMatchType;
+import jakarta.validation.constraints.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Categorization Rule Request DTO
+ * 
+ * Used for creating and updating auto-categorization rules.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CategorizationRuleRequest {
+    
+    @NotNull(message = "Category ID is required")
+    @Positive(message = "Category ID must be positive")
+    private Long categoryId;
+    
+    @NotNull(message = "Match type is required")
+    private RuleMatchType matchType;
+    
+    private RuleField field; // required for keyword, prefix and regex rules
+    
+    @Size(max = 200, message = "Pattern must not exceed 200 characters")
+    private String pattern; // required for keyword, prefix and regex rules
+    
+    @DecimalMin(value = "0.00", message = "Minimum amount cannot be negative")
+    @Digits(integer = 13, fraction = 2, message = "Minimum amount format is invalid (max 13 digits, 2 decimal places)")
+    private BigDecimal minAmount;
+    
+    @DecimalMin(value = "0.00", message = "Maximum amount cannot be negative")
+    @Digits(integer = 13, fraction = 2, message = "Maximum amount format is invalid (max 13 digits, 2 decimal places)")
+    private BigDecimal maxAmount;
+    
+    @Min(value = 0, message = "Priority cannot be negative")
+    private Integer priority; // lower runs first, default 100
+}
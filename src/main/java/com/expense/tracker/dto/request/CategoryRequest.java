@@ -3,6 +3,7 @@ package com.expense.tracker.dto.request;
 import com.expense.tracker.enums.CategoryType;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
 import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -24,4 +25,7 @@ public class CategoryRequest {
     
     @NotNull(message = "Category type is required")
     private CategoryType type;
+    
+    @Positive(message = "Parent category ID must be positive")
+    private Long parentId; // optional, null for a top-level category
 }
@@ -0,0 +1,54 @@
+package com.expense.tracker.dto.request;
+
+import com.expense.tracker.enums.RecurrenceFrequency;
+import com.expense.tracker.enums.TransactionType;
+import jakarta.validation.constraints.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Recurring Transaction Request DTO
+ * 
+ * Used for creating and updating recurring transactions.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecurringTransactionRequest {
+    
+    @NotNull(message = "Transaction type is required")
+    private TransactionType type;
+    
+    @NotNull(message = "Category ID is required")
+    @Positive(message = "Category ID must be positive")
+    private Long categoryId;
+    
+    @NotNull(message = "Amount is required")
+    @DecimalMin(value = "0.01", message = "Amount must be greater than 0")
+    @Digits(integer = 13, fraction = 2, message = "Amount format is invalid (max 13 digits, 2 decimal places)")
+    private BigDecimal amount;
+    
+    @Size(max = 500, message = "Description must not exceed 500 characters")
+    private String description;
+    
+    @Size(max = 50, message = "Payment method must not exceed 50 characters")
+    private String paymentMethod;
+    
+    @NotNull(message = "Frequency is required")
+    private RecurrenceFrequency frequency;
+    
+    @Min(value = 1, message = "Interval must be at least 1")
+    @Max(value = 366, message = "Interval must not exceed 366")
+    private Integer interval; // default 1
+    
+    @NotNull(message = "Start date is required")
+    private LocalDate startDate;
+    
+    private LocalDate endDate; // optional, last possible occurrence date
+    
+    private Boolean active; // optional, default true; set false to pause
+}
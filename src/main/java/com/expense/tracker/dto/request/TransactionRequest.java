@@ -22,9 +22,8 @@ public class TransactionRequest {
     @NotNull(message = "Transaction type is required")
     private TransactionType type;
     
-    @NotNull(message = "Category ID is required")
     @Positive(message = "Category ID must be positive")
-    private Long categoryId;
+    private Long categoryId; // optional, auto-categorized from the user's rules on create, unchanged on update when omitted
     
     @NotNull(message = "Amount is required")
     @DecimalMin(value = "0.01", message = "Amount must be greater than 0")
@@ -40,4 +39,6 @@ public class TransactionRequest {
     
     @Size(max = 50, message = "Payment method must not exceed 50 characters")
     private String paymentMethod;
+    
+    private Boolean rejectDuplicate; // optional, set to get 409 instead of keeping a copy of an existing transaction
 }
@@ -0,0 +1,19 @@
+package com.expense.tracker.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Archive Restore Response DTO
+ * 
+ * Used to return how many archived transactions were moved back into the database.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ArchiveRestoreResponse {
+    
+    private Integer segmentsRestored;
+    private Integer transactionsRestored;
+}
@@ -0,0 +1,32 @@
+package com.expense.tracker.dto.response;
+
+import com.expense.tracker.enums.RuleField;
+import com.expense.tracker.enums.RuleMatchType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Categorization Rule Response DTO
+ * 
+ * Used to return auto-categorization rule information.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CategorizationRuleResponse {
+    
+    private Long id;
+    private Long categoryId;
+    private String categoryName;
+    private RuleMatchType matchType;
+    private RuleField field;
+    private String pattern;
+    private BigDecimal minAmount;
+    private BigDecimal maxAmount;
+    private Integer priority;
+    private LocalDateTime createdAt;
+}
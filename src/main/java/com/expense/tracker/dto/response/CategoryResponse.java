@@ -19,4 +19,6 @@ public class CategoryResponse {
     private String name;
     private CategoryType type;
     private Boolean isSystemCategory;
+    private Long parentId;
+    private Integer depth;
 }
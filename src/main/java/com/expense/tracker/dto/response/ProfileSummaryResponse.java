@@ -0,0 +1,46 @@
+package com.expense.tracker.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Profile Summary Response DTO
+ *
+ * Used to return the hottest application methods and allocation sites of a recording.
+ * Samples and allocations are attributed to the innermost com.expense.tracker frame
+ * of their stack; percentages are of all samples (or sampled bytes) in the recording.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProfileSummaryResponse {
+
+    private long durationSeconds;
+    private long executionSamples;
+    private long applicationSamples;
+    private List<HotMethod> hotMethods;
+    private long allocatedBytes;
+    private List<AllocationSite> allocations;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class HotMethod {
+        private String method;
+        private long samples;
+        private double percent;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class AllocationSite {
+        private String method;
+        private String objectClass;
+        private long bytes;
+        private double percent;
+    }
+}
@@ -0,0 +1,37 @@
+package com.expense.tracker.dto.response;
+
+import com.expense.tracker.enums.RecurrenceFrequency;
+import com.expense.tracker.enums.TransactionType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Recurring Transaction Response DTO
+ * 
+ * Used to return recurring transaction information including the next due date.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecurringTransactionResponse {
+    
+    private Long id;
+    private TransactionType type;
+    private Long categoryId;
+    private String categoryName;
+    private BigDecimal amount;
+    private String description;
+    private String paymentMethod;
+    private RecurrenceFrequency frequency;
+    private Integer interval;
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private LocalDate nextOccurrenceDate;
+    private Boolean active;
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,38 @@
+package com.expense.tracker.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Shard Statistics Response DTO
+ * 
+ * Used to return system-wide totals gathered from every shard, with the totals of each shard.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ShardStatisticsResponse {
+    
+    private ShardTotals total;
+    private List<ShardTotals> shards;
+    
+    /**
+     * Totals of one shard (or of all of them)
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ShardTotals {
+        private String shardId;
+        private Long users;
+        private Long transactions;
+        private BigDecimal totalIncome;
+        private BigDecimal totalExpense;
+        private Long budgets;
+        private Long customCategories;
+    }
+}
@@ -0,0 +1,58 @@
+package com.expense.tracker.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Slow Query Log Response DTO
+ *
+ * Used to return the slowest distinct repository statements, with their plans, and the
+ * latest slow executions. Bound parameters are described by type only, never by value.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SlowQueryLogResponse {
+
+    private long thresholdMillis;
+    private List<SlowQuery> slowest;
+    private List<SlowExecution> recent;
+
+    /**
+     * One distinct statement (fingerprint) and its slow executions so far
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class SlowQuery {
+        private String fingerprint;
+        private String repository;
+        private String sql;
+        private List<String> parameterTypes;
+        private long executions;
+        private double maxMillis;
+        private double averageMillis;
+        private long maxRows;
+        private LocalDateTime lastSeen;
+        private List<String> plan;
+        private LocalDateTime explainedAt;
+    }
+
+    /**
+     * One slow execution of a statement
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class SlowExecution {
+        private String fingerprint;
+        private String repository;
+        private double millis;
+        private long rows;
+        private LocalDateTime at;
+    }
+}
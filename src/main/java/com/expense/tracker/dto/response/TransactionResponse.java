@@ -27,6 +27,8 @@ public class TransactionResponse {
     private LocalDate transactionDate;
     private String description;
     private String paymentMethod;
+    private Long recurringTransactionId;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+    private boolean possibleDuplicate; // set by create/update when the content matches an existing transaction
 }
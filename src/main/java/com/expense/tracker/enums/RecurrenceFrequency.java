@@ -0,0 +1,17 @@
+package com.expense.tracker.enums;
+
+/**
+ * Recurrence Frequency Enum
+ * 
+ * Defines how often a recurring transaction repeats (multiplied by its interval):
+ * - DAILY: Every day
+ * - WEEKLY: Every week, on the weekday of the start date
+ * - MONTHLY: Every month, on the day of month of the start date (or the month's last day)
+ * - YEARLY: Every year, on the date of the start date
+ */
+public enum RecurrenceFrequency {
+    DAILY,
+    WEEKLY,
+    MONTHLY,
+    YEARLY
+}
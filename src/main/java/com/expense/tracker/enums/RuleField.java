@@ -0,0 +1,13 @@
+package com.expense.tracker.enums;
+
+/**
+ * Categorization Rule Field Enum
+ * 
+ * Defines the transaction text field a categorization rule is matched against:
+ * - DESCRIPTION: Transaction description
+ * - PAYMENT_METHOD: Transaction payment method
+ */
+public enum RuleField {
+    DESCRIPTION,
+    PAYMENT_METHOD
+}
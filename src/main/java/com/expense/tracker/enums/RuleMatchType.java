@@ -0,0 +1,17 @@
+package com.expense.tracker.enums;
+
+/**
+ * Categorization Rule Match Type Enum
+ * 
+ * Defines how an auto-categorization rule matches a transaction:
+ * - KEYWORD: Field contains the pattern (case-insensitive)
+ * - PREFIX: Field starts with the pattern (case-insensitive)
+ * - REGEX: Field matches the regular expression anywhere
+ * - AMOUNT_RANGE: Amount lies within [minAmount, maxAmount]
+ */
+public enum RuleMatchType {
+    KEYWORD,
+    PREFIX,
+    REGEX,
+    AMOUNT_RANGE
+}
@@ -0,0 +1,15 @@
+package com.expense.tracker.enums;
+
+/**
+ * Sync Entity Type Enum
+ * 
+ * Identifies the kind of record reported by the delta-sync API:
+ * - TRANSACTION: Income or expense transaction
+ * - BUDGET: Monthly category budget
+ * - CATEGORY: User's custom category
+ */
+public enum SyncEntityType {
+    TRANSACTION,
+    BUDGET,
+    CATEGORY
+}
@@ -0,0 +1,14 @@
+package com.expense.tracker.exception;
+
+/**
+ * Bulkhead Full Exception
+ *
+ * Thrown when a downstream (database, password hashing) is at its concurrency limit
+ * and no permit freed up within the bulkhead's wait; answered with 503.
+ */
+public class BulkheadFullException extends RuntimeException {
+
+    public BulkheadFullException(String message) {
+        super(message);
+    }
+}
@@ -2,6 +2,7 @@ package com.expense.tracker.exception;
 
 import lombok.Data;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.BadCredentialsException;
@@ -147,11 +148,59 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
     }
 
+    /**
+     * Handle Bulkhead Full Exception (a downstream at its concurrency limit)
+     */
+    @ExceptionHandler(BulkheadFullException.class)
+    public ResponseEntity<ErrorResponse> handleBulkheadFullException(BulkheadFullException ex, WebRequest request) {
+        log.warn("Bulkhead full: {}", ex.getMessage());
+
+        ErrorResponse errorResponse = new ErrorResponse(
+                LocalDateTime.now(),
+                HttpStatus.SERVICE_UNAVAILABLE.value(),
+                "Service Unavailable",
+                ex.getMessage(),
+                new ArrayList<>(),
+                request.getDescription(false).replace("uri=", "")
+        );
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(errorResponse);
+    }
+
+    /**
+     * Handle User Migrating Exception (a write fenced off while the user's data is moved between shards)
+     */
+    @ExceptionHandler(UserMigratingException.class)
+    public ResponseEntity<ErrorResponse> handleUserMigratingException(UserMigratingException ex, WebRequest request) {
+        log.warn("Write fenced off: {}", ex.getMessage());
+
+        ErrorResponse errorResponse = new ErrorResponse(
+                LocalDateTime.now(),
+                HttpStatus.SERVICE_UNAVAILABLE.value(),
+                "Service Unavailable",
+                ex.getMessage(),
+                new ArrayList<>(),
+                request.getDescription(false).replace("uri=", "")
+        );
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "5")
+                .body(errorResponse);
+    }
+
     /**
      * Handle Generic Exception
      */
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ErrorResponse> handleGenericException(Exception ex, WebRequest request) {
+        // The database bulkhead fails getConnection, which Spring and Hibernate wrap
+        for (Throwable cause = ex.getCause(); cause != null; cause = cause.getCause()) {
+            if (cause instanceof BulkheadFullException bulkheadFull) {
+                return handleBulkheadFullException(bulkheadFull, request);
+            }
+        }
         log.error("Internal server error: ", ex);
         
         ErrorResponse errorResponse = new ErrorResponse(
@@ -0,0 +1,14 @@
+package com.expense.tracker.exception;
+
+/**
+ * User Migrating Exception
+ *
+ * Thrown when a write reaches a shard the user's data is being moved away from
+ * (see ShardWriteFence); answered with 503 so the client retries once the move is done.
+ */
+public class UserMigratingException extends RuntimeException {
+
+    public UserMigratingException(String message) {
+        super(message);
+    }
+}
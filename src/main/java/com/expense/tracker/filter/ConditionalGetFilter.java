@@ -0,0 +1,120 @@
+package com.expense.tracker.filter;
+
+import com.expense.tracker.service.DataVersionTracker;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDate;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * Conditional GET Filter
+ *
+ * Adds strong ETags to report, budget and category reads and answers a matching
+ * If-None-Match with 304 Not Modified before the controller runs, so re-polling
+ * dashboards cost neither database queries nor JSON serialization.
+ *
+ * The ETag is derived from the user's data version (bumped by every write to their
+ * transactions, budgets or categories) and today's date, since several of these
+ * endpoints default to the current month.
+ *
+ * With the default in-memory version store a node never sees writes made on another
+ * node and would answer stale 304s, so the filter only runs when the store is shared
+ * (cache.data-versions.store=redis) or the deployment is a single node
+ * (cache.data-versions.single-node=true).
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ConditionalGetFilter extends OncePerRequestFilter {
+
+    private static final List<String> CONDITIONAL_PATHS = List.of("/api/reports", "/api/budgets", "/api/categories");
+
+    private final DataVersionTracker dataVersionTracker;
+
+    @Value("${cache.data-versions.single-node:true}")
+    private boolean singleNode = true;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!"GET".equals(request.getMethod()) || !(singleNode || dataVersionTracker.isShared())) {
+            return true;
+        }
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return CONDITIONAL_PATHS.stream().noneMatch(prefix -> path.equals(prefix) || path.startsWith(prefix + "/"));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            // Not authenticated: let the security chain reject it
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        String email = authentication.getName();
+        String etag = etag(email, dataVersionTracker.getVersion(email), LocalDate.now());
+
+        response.setHeader(HttpHeaders.ETAG, etag);
+        // Per-user data: browsers may keep it, but must revalidate every time
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "private, no-cache");
+
+        if (matches(request.getHeader(HttpHeaders.IF_NONE_MATCH), etag)) {
+            log.debug("Not modified: {} {}", request.getRequestURI(), etag);
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    static String etag(String email, String version, LocalDate today) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256")
+                    .digest((email + "|" + version + "|" + today).getBytes(StandardCharsets.UTF_8));
+            return "\"" + HexFormat.of().formatHex(hash, 0, 16) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * If-None-Match uses weak comparison, so W/ prefixes are ignored
+     */
+    private static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals("*") || tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
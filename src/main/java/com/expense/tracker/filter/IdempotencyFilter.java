@@ -0,0 +1,229 @@
+package com.expense.tracker.filter;
+
+import com.expense.tracker.exception.GlobalExceptionHandler;
+import com.expense.tracker.security.JwtUtil;
+import com.expense.tracker.service.IdempotencyStore;
+import com.expense.tracker.service.IdempotencyStore.IdempotencyRecord;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.Set;
+
+/**
+ * Idempotency Filter
+ *
+ * Honours the Idempotency-Key header on transaction and budget creation. The first
+ * request with a key runs normally and its response is stored; retries with the same
+ * key get the stored response back without reaching the controller or the database.
+ *
+ * Runs before JWT authentication and identifies the caller from the token alone,
+ * since the authentication filter loads the user from the database.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final Set<String> IDEMPOTENT_PATHS = Set.of("/api/transactions", "/api/transactions/batch", "/api/budgets");
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final JwtUtil jwtUtil;
+    private final IdempotencyStore idempotencyStore;
+    private final ObjectMapper objectMapper;
+
+    @Value("${idempotency.ttl:24h}")
+    private Duration ttl = Duration.ofHours(24);
+
+    @Value("${idempotency.in-progress-ttl:60s}")
+    private Duration inProgressTtl = Duration.ofSeconds(60);
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !"POST".equals(request.getMethod())
+                || request.getHeader(IDEMPOTENCY_KEY_HEADER) == null
+                || !IDEMPOTENT_PATHS.contains(request.getRequestURI().substring(request.getContextPath().length()));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+
+        String email = extractEmail(request);
+        if (email == null) {
+            // Not authenticated: let the security chain reject it
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        String idempotencyKey = request.getHeader(IDEMPOTENCY_KEY_HEADER);
+        if (!StringUtils.hasText(idempotencyKey) || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            writeError(response, request, HttpStatus.BAD_REQUEST,
+                "Idempotency-Key must be between 1 and " + MAX_KEY_LENGTH + " characters");
+            return;
+        }
+
+        CachedBodyRequest cachedRequest = new CachedBodyRequest(request);
+        String requestHash = sha256(cachedRequest.body);
+        String key = email + ":" + cachedRequest.getRequestURI() + ":" + idempotencyKey;
+
+        IdempotencyRecord existing = idempotencyStore.putIfAbsent(key, IdempotencyRecord.inProgress(requestHash), inProgressTtl);
+        if (existing != null) {
+            if (!existing.requestHash().equals(requestHash)) {
+                writeError(response, request, HttpStatus.UNPROCESSABLE_ENTITY,
+                    "Idempotency-Key was already used with a different request body");
+            } else if (!existing.isCompleted()) {
+                writeError(response, request, HttpStatus.CONFLICT,
+                    "A request with this Idempotency-Key is still being processed");
+            } else {
+                log.debug("Replaying stored response for Idempotency-Key: {}", idempotencyKey);
+                replay(existing, response);
+            }
+            return;
+        }
+
+        ContentCachingResponseWrapper cachingResponse = new ContentCachingResponseWrapper(response);
+        boolean stored = false;
+        try {
+            filterChain.doFilter(cachedRequest, cachingResponse);
+            // Server errors are not stored so the client can retry them
+            if (cachingResponse.getStatus() < 500) {
+                idempotencyStore.put(key, new IdempotencyRecord(
+                    requestHash,
+                    cachingResponse.getStatus(),
+                    cachingResponse.getContentType(),
+                    cachingResponse.getContentAsByteArray()
+                ), ttl);
+                stored = true;
+            }
+        } finally {
+            if (!stored) {
+                idempotencyStore.remove(key);
+            }
+            cachingResponse.copyBodyToResponse();
+        }
+    }
+
+    private String extractEmail(HttpServletRequest request) {
+        String bearerToken = request.getHeader("Authorization");
+        if (!StringUtils.hasText(bearerToken) || !bearerToken.startsWith("Bearer ")) {
+            return null;
+        }
+        String jwt = bearerToken.substring(7);
+        return jwtUtil.validateToken(jwt) ? jwtUtil.getEmailFromToken(jwt) : null;
+    }
+
+    private void replay(IdempotencyRecord record, HttpServletResponse response) throws IOException {
+        response.setStatus(record.status());
+        if (record.contentType() != null) {
+            response.setContentType(record.contentType());
+        }
+        response.setHeader(REPLAYED_HEADER, "true");
+        response.setContentLength(record.body().length);
+        response.getOutputStream().write(record.body());
+    }
+
+    private void writeError(HttpServletResponse response, HttpServletRequest request,
+                            HttpStatus status, String message) throws IOException {
+        GlobalExceptionHandler.ErrorResponse errorResponse = new GlobalExceptionHandler.ErrorResponse(
+                LocalDateTime.now(),
+                status.value(),
+                status.getReasonPhrase(),
+                message,
+                new ArrayList<>(),
+                request.getRequestURI()
+        );
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), errorResponse);
+    }
+
+    private static String sha256(byte[] body) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(body));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Request wrapper that reads the body up front so it can be hashed and still be read by the controller
+     */
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        CachedBodyRequest(HttpServletRequest request) throws IOException {
+            super(request);
+            this.body = request.getInputStream().readAllBytes();
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream input = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return input.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    throw new UnsupportedOperationException();
+                }
+
+                @Override
+                public int read() {
+                    return input.read();
+                }
+
+                @Override
+                public int read(byte[] buffer, int offset, int length) {
+                    return input.read(buffer, offset, length);
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            return new BufferedReader(new InputStreamReader(getInputStream(), getCharacterEncoding() != null
+                    ? Charset.forName(getCharacterEncoding())
+                    : StandardCharsets.UTF_8));
+        }
+    }
+}
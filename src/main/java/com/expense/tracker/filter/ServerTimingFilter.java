@@ -0,0 +1,75 @@
+package com.expense.tracker.filter;
+
+import com.expense.tracker.metrics.RequestTiming;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Server-Timing Filter
+ *
+ * Breaks a request's time down into JWT authentication, repository calls, cache access
+ * and JSON serialization (see RequestTiming), for a sample of all requests
+ * (server-timing.sample-rate, 0 to 1) and for operators (security.operators) asking for
+ * it with an X-Server-Timing header. The breakdown is returned as a Server-Timing header,
+ * which browser dev tools show next to the request, and logged as one structured line.
+ * Runs ahead of the security filters so the JWT filter's user lookup is included; a
+ * request with the header is therefore captured provisionally and only reported once
+ * the JWT filter has authenticated an operator, so other callers cannot use the header
+ * to read timings or force log lines.
+ *
+ * Phases overlap: the JWT user lookup is also a repository call. Streamed responses
+ * (sync, export) are timed up to the point the stream is handed off and get no header.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@Slf4j
+public class ServerTimingFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "Server-Timing";
+    public static final String REQUEST_HEADER = "X-Server-Timing";
+
+    @Value("${server-timing.sample-rate:0}")
+    private double sampleRate;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+
+        boolean sampled = sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate;
+        if (!sampled && request.getHeader(REQUEST_HEADER) == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        RequestTiming timing = RequestTiming.start(sampled);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            RequestTiming.stop();
+            if (timing.isReported()) {
+                // JSON responses got the header from the message converter; this covers bodyless ones
+                if (!response.isCommitted() && !response.containsHeader(HEADER)) {
+                    response.setHeader(HEADER, timing.toHeader());
+                }
+                log.info("server-timing method={} uri={} status={} async={} {}", request.getMethod(),
+                        request.getRequestURI(), response.getStatus(), request.isAsyncStarted(), timing.toLogFields());
+            }
+        }
+    }
+
+    void setSampleRate(double sampleRate) {
+        this.sampleRate = sampleRate;
+    }
+}
@@ -0,0 +1,109 @@
+package com.expense.tracker.filter;
+
+import com.expense.tracker.exception.GlobalExceptionHandler;
+import com.expense.tracker.service.ShardDirectory;
+import com.expense.tracker.service.ShardDirectory.Assignment;
+import com.expense.tracker.service.ShardRouter;
+import com.expense.tracker.service.ShardWriteFence;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Shard Binding Filter
+ *
+ * With sharding enabled, runs the rest of an authenticated request on the caller's
+ * shard, so the transactions, budgets and categories it reads and writes come from
+ * there. Account endpoints (/api/auth, /api/users) stay on the global database that
+ * holds the users. A user whose data is being moved between shards gets
+ * 503 Service Unavailable until the move is done; writes are also checked against the
+ * directory version the request was routed with (see ShardWriteFence), in case this
+ * node's directory cache has not seen the move yet.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ShardBindingFilter extends OncePerRequestFilter {
+
+    private static final List<String> GLOBAL_PATHS = List.of("/api/auth", "/api/users");
+    private static final String MIGRATION_RETRY_AFTER_SECONDS = "5";
+
+    private final ShardRouter shardRouter;
+    private final ObjectProvider<ShardDirectory> shardDirectory;
+    private final ObjectProvider<ShardWriteFence> shardWriteFence;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!shardRouter.isEnabled()) {
+            return true;
+        }
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return GLOBAL_PATHS.stream().anyMatch(prefix -> path.equals(prefix) || path.startsWith(prefix + "/"));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            // Not authenticated: let the security chain reject it
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        Optional<Assignment> assignment = shardDirectory.getObject().resolve(authentication.getName());
+        if (assignment.isEmpty()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        if (assignment.get().migrating()) {
+            log.debug("User ID {} is being moved between shards, rejecting {}", assignment.get().userId(), request.getRequestURI());
+            writeMigrating(response, request);
+            return;
+        }
+
+        try (ShardRouter.Binding binding = shardRouter.bind(assignment.get().shardId());
+             ShardRouter.Binding fence = shardWriteFence.getObject().bind(assignment.get().userId(), assignment.get().version())) {
+            filterChain.doFilter(request, response);
+        }
+    }
+
+    private void writeMigrating(HttpServletResponse response, HttpServletRequest request) throws IOException {
+        HttpStatus status = HttpStatus.SERVICE_UNAVAILABLE;
+        GlobalExceptionHandler.ErrorResponse errorResponse = new GlobalExceptionHandler.ErrorResponse(
+                LocalDateTime.now(),
+                status.value(),
+                status.getReasonPhrase(),
+                "Your data is being moved, please retry shortly",
+                new ArrayList<>(),
+                request.getRequestURI()
+        );
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, MIGRATION_RETRY_AFTER_SECONDS);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), errorResponse);
+    }
+}
@@ -0,0 +1,198 @@
+package com.expense.tracker.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.UnsynchronizedAppenderBase;
+import ch.qos.logback.core.spi.AppenderAttachable;
+import ch.qos.logback.core.spi.AppenderAttachableImpl;
+
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Async Ring Buffer Appender
+ *
+ * Hands events to the attached appenders (the console) on a background thread through
+ * a bounded queue, so request threads never wait for log I/O. Once no more than
+ * discardingThreshold slots are free (a fifth of the queue by default), INFO and lower
+ * events are dropped and counted instead of blocking the caller, which keeps the last
+ * slots for WARN and ERROR; those wait up to maxBlockTime for space when the queue is
+ * full and are only dropped after that. The count and the queue depth are exported by
+ * LoggingMetrics. Configured in logback-spring.xml.
+ */
+public class AsyncRingBufferAppender extends UnsynchronizedAppenderBase<ILoggingEvent>
+        implements AppenderAttachable<ILoggingEvent> {
+
+    private static final LongAdder DROPPED = new LongAdder();
+    private static final Set<AsyncRingBufferAppender> STARTED = new CopyOnWriteArraySet<>();
+
+    private final AppenderAttachableImpl<ILoggingEvent> appenders = new AppenderAttachableImpl<>();
+    private int queueSize = 8192;
+    private int maxFlushTime = 1000;
+    private int discardingThreshold = -1;
+    private int maxBlockTime = 100;
+    private boolean includeCallerData;
+    private ArrayBlockingQueue<ILoggingEvent> queue;
+    private Thread worker;
+
+    /**
+     * Events dropped by every appender because its queue was full
+     */
+    public static long droppedEvents() {
+        return DROPPED.sum();
+    }
+
+    /**
+     * Events waiting in the queues of every started appender
+     */
+    public static int queuedEvents() {
+        return STARTED.stream().mapToInt(appender -> appender.queue.size()).sum();
+    }
+
+    @Override
+    public void start() {
+        if (isStarted()) {
+            return;
+        }
+        if (queueSize < 1) {
+            addError("queueSize must be positive");
+            return;
+        }
+        if (discardingThreshold < 0) {
+            discardingThreshold = queueSize / 5;
+        }
+        queue = new ArrayBlockingQueue<>(queueSize);
+        worker = new Thread(this::drain, "async-log-" + getName());
+        worker.setDaemon(true);
+        super.start();
+        worker.start();
+        STARTED.add(this);
+    }
+
+    @Override
+    public void stop() {
+        if (!isStarted()) {
+            return;
+        }
+        super.stop();
+        STARTED.remove(this);
+        worker.interrupt();
+        try {
+            // Give the worker time to write what is still queued
+            worker.join(maxFlushTime);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (worker.isAlive()) {
+            addWarn(queue.size() + " queued events were still unwritten after " + maxFlushTime + " ms");
+        }
+        appenders.detachAndStopAllAppenders();
+    }
+
+    @Override
+    protected void append(ILoggingEvent event) {
+        boolean discardable = !event.getLevel().isGreaterOrEqual(Level.WARN);
+        if (discardable && queue.remainingCapacity() <= discardingThreshold) {
+            DROPPED.increment();
+            return;
+        }
+        // Format the message and capture thread and MDC now, while they still hold
+        event.prepareForDeferredProcessing();
+        if (includeCallerData) {
+            event.getCallerData();
+        }
+        if (!(discardable ? queue.offer(event) : offerWaiting(event))) {
+            DROPPED.increment();
+        }
+    }
+
+    private boolean offerWaiting(ILoggingEvent event) {
+        try {
+            return queue.offer(event, maxBlockTime, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void drain() {
+        while (isStarted()) {
+            try {
+                appenders.appendLoopOnAppenders(queue.take());
+            } catch (InterruptedException e) {
+                break;
+            }
+        }
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(maxFlushTime);
+        ILoggingEvent event;
+        while (System.nanoTime() < deadline && (event = queue.poll()) != null) {
+            appenders.appendLoopOnAppenders(event);
+        }
+    }
+
+    public void setQueueSize(int queueSize) {
+        this.queueSize = queueSize;
+    }
+
+    public void setMaxFlushTime(int maxFlushTime) {
+        this.maxFlushTime = maxFlushTime;
+    }
+
+    /**
+     * Free slots below which INFO and lower events are dropped; a fifth of the queue when not set
+     */
+    public void setDiscardingThreshold(int discardingThreshold) {
+        this.discardingThreshold = discardingThreshold;
+    }
+
+    /**
+     * Milliseconds a WARN or ERROR event waits for space in a full queue before it is dropped
+     */
+    public void setMaxBlockTime(int maxBlockTime) {
+        this.maxBlockTime = maxBlockTime;
+    }
+
+    public void setIncludeCallerData(boolean includeCallerData) {
+        this.includeCallerData = includeCallerData;
+    }
+
+    @Override
+    public void addAppender(Appender<ILoggingEvent> appender) {
+        appenders.addAppender(appender);
+    }
+
+    @Override
+    public Iterator<Appender<ILoggingEvent>> iteratorForAppenders() {
+        return appenders.iteratorForAppenders();
+    }
+
+    @Override
+    public Appender<ILoggingEvent> getAppender(String name) {
+        return appenders.getAppender(name);
+    }
+
+    @Override
+    public boolean isAttached(Appender<ILoggingEvent> appender) {
+        return appenders.isAttached(appender);
+    }
+
+    @Override
+    public void detachAndStopAllAppenders() {
+        appenders.detachAndStopAllAppenders();
+    }
+
+    @Override
+    public boolean detachAppender(Appender<ILoggingEvent> appender) {
+        return appenders.detachAppender(appender);
+    }
+
+    @Override
+    public boolean detachAppender(String name) {
+        return appenders.detachAppender(name);
+    }
+}
@@ -0,0 +1,81 @@
+package com.expense.tracker.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.Marker;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Sampling Turbo Filter
+ *
+ * Keeps one in every N INFO events of the configured hot loggers (and the loggers
+ * below them) and counts the rest as sampled out; WARN and ERROR always pass. It
+ * decides before the event is created, so a skipped call formats and allocates
+ * nothing. Configured in logback-spring.xml from logging.sampling.*.
+ */
+public class SamplingTurboFilter extends TurboFilter {
+
+    private static final LongAdder SAMPLED_OUT = new LongAdder();
+
+    private final List<String> loggers = new ArrayList<>();
+    private final Map<String, AtomicLong> counters = new ConcurrentHashMap<>();
+    private int every = 10;
+
+    /**
+     * INFO events skipped by every sampling filter
+     */
+    public static long sampledOutEvents() {
+        return SAMPLED_OUT.sum();
+    }
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        // format is null for isInfoEnabled() checks, which are not events
+        if (every <= 1 || format == null || level != Level.INFO || !isSampled(logger.getName())) {
+            return FilterReply.NEUTRAL;
+        }
+        if (counters.computeIfAbsent(logger.getName(), name -> new AtomicLong()).getAndIncrement() % every == 0) {
+            return FilterReply.NEUTRAL;
+        }
+        SAMPLED_OUT.increment();
+        return FilterReply.DENY;
+    }
+
+    /**
+     * Whether the logger is one of the configured ones or below one of them (not merely
+     * sharing a prefix, as com.example.FooBar does with com.example.Foo)
+     */
+    private boolean isSampled(String name) {
+        for (String logger : loggers) {
+            if (name.startsWith(logger)
+                    && (name.length() == logger.length() || name.charAt(logger.length()) == '.')) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Comma-separated logger names
+     */
+    public void setLoggers(String loggers) {
+        this.loggers.clear();
+        for (String name : loggers.split(",")) {
+            if (!name.isBlank()) {
+                this.loggers.add(name.trim());
+            }
+        }
+    }
+
+    public void setEvery(int every) {
+        this.every = every;
+    }
+}
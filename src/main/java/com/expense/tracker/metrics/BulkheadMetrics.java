@@ -0,0 +1,46 @@
+package com.expense.tracker.metrics;
+
+import com.expense.tracker.service.Bulkhead;
+import com.expense.tracker.service.Bulkheads;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Bulkhead Metrics
+ *
+ * Exports, per bulkhead (tag name=database, database:<shard> or password-hashing), the
+ * callers holding a permit (bulkhead.active), those waiting for one (bulkhead.waiting),
+ * the limit (bulkhead.max) and the callers turned away with 503 (bulkhead.rejected).
+ */
+@Component
+@RequiredArgsConstructor
+public class BulkheadMetrics implements MeterBinder {
+
+    private final Bulkheads bulkheads;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (Bulkhead bulkhead : bulkheads.all()) {
+            Gauge.builder("bulkhead.active", bulkhead, Bulkhead::getActive)
+                    .tag("name", bulkhead.getName())
+                    .description("Callers holding a permit")
+                    .register(registry);
+            Gauge.builder("bulkhead.waiting", bulkhead, Bulkhead::getWaiting)
+                    .tag("name", bulkhead.getName())
+                    .description("Callers waiting for a permit")
+                    .register(registry);
+            Gauge.builder("bulkhead.max", bulkhead, Bulkhead::getMaxConcurrent)
+                    .tag("name", bulkhead.getName())
+                    .description("Permits of the bulkhead")
+                    .register(registry);
+            FunctionCounter.builder("bulkhead.rejected", bulkhead, Bulkhead::getRejected)
+                    .tag("name", bulkhead.getName())
+                    .description("Callers turned away after waiting bulkhead.*.max-wait")
+                    .register(registry);
+        }
+    }
+}
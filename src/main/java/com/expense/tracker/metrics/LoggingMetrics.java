@@ -0,0 +1,38 @@
+package com.expense.tracker.metrics;
+
+import com.expense.tracker.logging.AsyncRingBufferAppender;
+import com.expense.tracker.logging.SamplingTurboFilter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+/**
+ * Logging Metrics
+ *
+ * Exports the log events the logging pipeline did not write (logging.events.dropped,
+ * tagged reason=queue-full or reason=sampled) and the events waiting to be written
+ * (logging.queue.size). Events written per level are exported by Boot as logback.events.
+ */
+@Component
+public class LoggingMetrics implements MeterBinder {
+
+    public static final String DROPPED = "logging.events.dropped";
+    public static final String QUEUE_SIZE = "logging.queue.size";
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder(DROPPED, AsyncRingBufferAppender.class, appender -> AsyncRingBufferAppender.droppedEvents())
+                .tag("reason", "queue-full")
+                .description("Log events dropped because the async appender's queue was full")
+                .register(registry);
+        FunctionCounter.builder(DROPPED, SamplingTurboFilter.class, filter -> SamplingTurboFilter.sampledOutEvents())
+                .tag("reason", "sampled")
+                .description("INFO events of hot loggers skipped by sampling")
+                .register(registry);
+        Gauge.builder(QUEUE_SIZE, AsyncRingBufferAppender::queuedEvents)
+                .description("Log events waiting for the async appender's writer thread")
+                .register(registry);
+    }
+}
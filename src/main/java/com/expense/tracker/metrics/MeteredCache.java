@@ -0,0 +1,147 @@
+package com.expense.tracker.metrics;
+
+import com.expense.tracker.metrics.RequestTiming.Phase;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.cache.Cache;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * Metered Cache
+ *
+ * Counts the hits, misses, puts and evictions of a cache that keeps no statistics of
+ * its own, under Micrometer's cache meter names (cache.gets tagged result=hit|miss,
+ * cache.puts, cache.evictions), so the hit ratio of each cache name is
+ * hits / (hits + misses). Gets and puts also count towards the request's cache time
+ * (RequestTiming); synchronized get-or-load calls are counted but not timed, since
+ * their time is mostly the loader's.
+ */
+public class MeteredCache implements Cache {
+
+    private final Cache delegate;
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter puts;
+    private final Counter evictions;
+
+    public MeteredCache(Cache delegate, String cacheManagerName, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        String[] tags = { "cache", delegate.getName(), "cache.manager", cacheManagerName };
+        this.hits = Counter.builder("cache.gets").tags(tags).tag("result", "hit")
+                .description("Cache lookups that found an entry").register(meterRegistry);
+        this.misses = Counter.builder("cache.gets").tags(tags).tag("result", "miss")
+                .description("Cache lookups that found no entry").register(meterRegistry);
+        this.puts = Counter.builder("cache.puts").tags(tags)
+                .description("Entries added to the cache").register(meterRegistry);
+        this.evictions = Counter.builder("cache.evictions").tags(tags)
+                .description("Entries evicted from the cache").register(meterRegistry);
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return delegate.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        long started = RequestTiming.begin(Phase.CACHE);
+        try {
+            ValueWrapper value = delegate.get(key);
+            (value != null ? hits : misses).increment();
+            return value;
+        } finally {
+            RequestTiming.end(Phase.CACHE, started);
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        // Through get(key), so a cached null still counts as a hit
+        ValueWrapper wrapper = get(key);
+        Object value = wrapper != null ? wrapper.get() : null;
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException("Cached value is not of required type [" + type.getName() + "]: " + value);
+        }
+        return (T) value;
+    }
+
+    @Override
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        boolean[] loaded = { false };
+        T value = delegate.get(key, () -> {
+            loaded[0] = true;
+            return valueLoader.call();
+        });
+        if (loaded[0]) {
+            misses.increment();
+            puts.increment();
+        } else {
+            hits.increment();
+        }
+        return value;
+    }
+
+    @Override
+    public CompletableFuture<?> retrieve(Object key) {
+        return delegate.retrieve(key);
+    }
+
+    @Override
+    public <T> CompletableFuture<T> retrieve(Object key, Supplier<CompletableFuture<T>> valueLoader) {
+        return delegate.retrieve(key, valueLoader);
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        long started = RequestTiming.begin(Phase.CACHE);
+        try {
+            delegate.put(key, value);
+            puts.increment();
+        } finally {
+            RequestTiming.end(Phase.CACHE, started);
+        }
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        ValueWrapper existing = delegate.putIfAbsent(key, value);
+        if (existing == null) {
+            puts.increment();
+        }
+        return existing;
+    }
+
+    @Override
+    public void evict(Object key) {
+        delegate.evict(key);
+        evictions.increment();
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        boolean evicted = delegate.evictIfPresent(key);
+        if (evicted) {
+            evictions.increment();
+        }
+        return evicted;
+    }
+
+    @Override
+    public void clear() {
+        delegate.clear();
+    }
+
+    @Override
+    public boolean invalidate() {
+        return delegate.invalidate();
+    }
+}
@@ -0,0 +1,28 @@
+package com.expense.tracker.metrics;
+
+import com.expense.tracker.metrics.RequestTiming.Phase;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+/**
+ * Repository Timing Aspect
+ *
+ * Adds the time of every Spring Data repository call to the request's RequestTiming
+ * (db phase) when the request is captured; otherwise costs a thread-local lookup.
+ */
+@Aspect
+@Component
+public class RepositoryTimingAspect {
+
+    @Around("this(org.springframework.data.repository.Repository)")
+    public Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+        long started = RequestTiming.begin(Phase.DB);
+        try {
+            return joinPoint.proceed();
+        } finally {
+            RequestTiming.end(Phase.DB, started);
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package com.expense.tracker.metrics;
+
+import java.util.Locale;
+
+/**
+ * Request Timing
+ *
+ * Time spent by the current request in each phase (JWT authentication, repository
+ * calls, cache access, JSON serialization), captured only while ServerTimingFilter has
+ * started it for the request's thread. Nested spans of the same phase (a repository
+ * default method calling a query method) are counted once. A capture started only
+ * provisionally is reported (header and log line) once report() is called for it.
+ */
+public final class RequestTiming {
+
+    /**
+     * Span start of a phase that is not being timed
+     */
+    public static final long NOT_TIMED = -1;
+
+    public enum Phase {
+        AUTH("auth", "JWT authentication"),
+        DB("db", "Repository calls"),
+        CACHE("cache", "Cache gets and puts"),
+        SERIALIZATION("json", "Response serialization");
+
+        private final String metric;
+        private final String description;
+
+        Phase(String metric, String description) {
+            this.metric = metric;
+            this.description = description;
+        }
+    }
+
+    private static final ThreadLocal<RequestTiming> CURRENT = new ThreadLocal<>();
+    private static final Phase[] PHASES = Phase.values();
+
+    private final long startedNanos = System.nanoTime();
+    private final long[] nanos = new long[PHASES.length];
+    private final int[] spans = new int[PHASES.length];
+    private final int[] depth = new int[PHASES.length];
+    private boolean reported;
+
+    private RequestTiming(boolean reported) {
+        this.reported = reported;
+    }
+
+    /**
+     * Start capturing on the current thread, reported right away or only after report()
+     */
+    public static RequestTiming start(boolean reported) {
+        RequestTiming timing = new RequestTiming(reported);
+        CURRENT.set(timing);
+        return timing;
+    }
+
+    /**
+     * Report the current thread's capture, if there is one
+     */
+    public static void report() {
+        RequestTiming timing = CURRENT.get();
+        if (timing != null) {
+            timing.reported = true;
+        }
+    }
+
+    /**
+     * Stop capturing on the current thread
+     */
+    public static void stop() {
+        CURRENT.remove();
+    }
+
+    /**
+     * The current thread's timing, null when the request is not captured
+     */
+    public static RequestTiming current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Begin a span of the phase, returning its start to pass to end()
+     */
+    public static long begin(Phase phase) {
+        RequestTiming timing = CURRENT.get();
+        if (timing == null || timing.depth[phase.ordinal()]++ > 0) {
+            return NOT_TIMED;
+        }
+        return System.nanoTime();
+    }
+
+    /**
+     * End a span begun by begin()
+     */
+    public static void end(Phase phase, long started) {
+        RequestTiming timing = CURRENT.get();
+        if (timing == null) {
+            return;
+        }
+        timing.depth[phase.ordinal()]--;
+        if (started != NOT_TIMED) {
+            timing.add(phase, System.nanoTime() - started);
+        }
+    }
+
+    public boolean isReported() {
+        return reported;
+    }
+
+    public void add(Phase phase, long elapsedNanos) {
+        nanos[phase.ordinal()] += elapsedNanos;
+        spans[phase.ordinal()]++;
+    }
+
+    public double millis(Phase phase) {
+        return nanos[phase.ordinal()] / 1_000_000.0;
+    }
+
+    public int spans(Phase phase) {
+        return spans[phase.ordinal()];
+    }
+
+    public double totalMillis() {
+        return (System.nanoTime() - startedNanos) / 1_000_000.0;
+    }
+
+    /**
+     * Server-Timing header value: every phase and the total so far, e.g.
+     * auth;dur=2.1;desc="JWT authentication", db;dur=8.4;desc="Repository calls (3)", ..., total;dur=14.0
+     */
+    public String toHeader() {
+        StringBuilder header = new StringBuilder();
+        for (Phase phase : PHASES) {
+            header.append(phase.metric).append(";dur=").append(format(millis(phase)))
+                    .append(";desc=\"").append(phase.description);
+            if (spans(phase) > 1) {
+                header.append(" (").append(spans(phase)).append(')');
+            }
+            header.append("\", ");
+        }
+        return header.append("total;dur=").append(format(totalMillis())).toString();
+    }
+
+    /**
+     * Structured key=value form for the log, e.g. auth_ms=2.1 db_ms=8.4 db_calls=3 ... total_ms=14.0
+     */
+    public String toLogFields() {
+        StringBuilder fields = new StringBuilder();
+        for (Phase phase : PHASES) {
+            fields.append(phase.metric).append("_ms=").append(format(millis(phase))).append(' ')
+                    .append(phase.metric).append("_calls=").append(spans(phase)).append(' ');
+        }
+        return fields.append("total_ms=").append(format(totalMillis())).toString();
+    }
+
+    private static String format(double millis) {
+        return String.format(Locale.ROOT, "%.1f", millis);
+    }
+}
@@ -0,0 +1,66 @@
+package com.expense.tracker.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Service Metrics Aspect
+ *
+ * Records every public method call of the core services: its latency as the
+ * service.calls timer (tagged class, method and exception) and the SQL statements it
+ * ran as the service.queries summary. Histogram buckets, percentiles and SLO
+ * boundaries are configured under management.metrics.distribution.*. Runs outside
+ * the caching and transaction advice, so cache hits and commits are part of the
+ * measured call, as callers see it.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+public class ServiceMetricsAspect {
+
+    static final String CALLS = "service.calls";
+    static final String QUERIES = "service.queries";
+
+    private final MeterRegistry meterRegistry;
+    private final SqlQueryCounter sqlQueryCounter;
+
+    @Around("execution(public * com.expense.tracker.service.TransactionService.*(..))"
+            + " || execution(public * com.expense.tracker.service.ReportService.*(..))"
+            + " || execution(public * com.expense.tracker.service.BudgetService.*(..))"
+            + " || execution(public * com.expense.tracker.service.CategoryService.*(..))"
+            + " || execution(public * com.expense.tracker.service.AuthService.*(..))"
+            + " || execution(public * com.expense.tracker.service.UserService.*(..))")
+    public Object record(ProceedingJoinPoint joinPoint) throws Throwable {
+        String className = joinPoint.getSignature().getDeclaringType().getSimpleName();
+        String method = joinPoint.getSignature().getName();
+        long queriesBefore = sqlQueryCounter.current();
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String exception = "none";
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            exception = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            sample.stop(Timer.builder(CALLS)
+                    .description("Service method calls")
+                    .tags("class", className, "method", method, "exception", exception)
+                    .register(meterRegistry));
+            DistributionSummary.builder(QUERIES)
+                    .description("SQL statements run by a service method call")
+                    .baseUnit("statements")
+                    .tags("class", className, "method", method)
+                    .register(meterRegistry)
+                    .record(sqlQueryCounter.current() - queriesBefore);
+        }
+    }
+}
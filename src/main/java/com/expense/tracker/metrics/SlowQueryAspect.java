@@ -0,0 +1,58 @@
+package com.expense.tracker.metrics;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Slow Query Aspect
+ *
+ * Marks the current thread as running a method of the transaction, budget, category or
+ * user repository (e.g. "TransactionRepository.findTransactionsWithFilters"), so the
+ * statements it executes are checked against the slow query threshold and attributed
+ * to it (see SlowQueryDataSourcePostProcessor). A default method calling a query
+ * method is attributed to the query method.
+ */
+@Aspect
+@Component
+@ConditionalOnProperty(name = "slow-query.enabled", havingValue = "true", matchIfMissing = true)
+public class SlowQueryAspect {
+
+    private static final ThreadLocal<String> CURRENT_REPOSITORY = new ThreadLocal<>();
+
+    /**
+     * The repository method running on the current thread, null outside the tracked repositories
+     */
+    public static String currentRepository() {
+        return CURRENT_REPOSITORY.get();
+    }
+
+    @Around("this(com.expense.tracker.repository.TransactionRepository)"
+            + " || this(com.expense.tracker.repository.BudgetRepository)"
+            + " || this(com.expense.tracker.repository.CategoryRepository)"
+            + " || this(com.expense.tracker.repository.UserRepository)")
+    public Object track(ProceedingJoinPoint joinPoint) throws Throwable {
+        String previous = CURRENT_REPOSITORY.get();
+        CURRENT_REPOSITORY.set(repositoryName(joinPoint) + "." + joinPoint.getSignature().getName());
+        try {
+            return joinPoint.proceed();
+        } finally {
+            if (previous == null) {
+                CURRENT_REPOSITORY.remove();
+            } else {
+                CURRENT_REPOSITORY.set(previous);
+            }
+        }
+    }
+
+    private static String repositoryName(ProceedingJoinPoint joinPoint) {
+        for (Class<?> type : joinPoint.getThis().getClass().getInterfaces()) {
+            if (type.getName().startsWith("com.expense.tracker.repository.")) {
+                return type.getSimpleName();
+            }
+        }
+        return joinPoint.getSignature().getDeclaringType().getSimpleName();
+    }
+}
@@ -0,0 +1,245 @@
+package com.expense.tracker.metrics;
+
+import com.expense.tracker.service.SlowQueryLog;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.aop.framework.Advised;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Slow Query DataSource Post Processor
+ *
+ * Wraps the application's DataSource (adding to its proxy when it has one, otherwise a
+ * class-based proxy, so beans injecting the routing DataSource types keep working) to time the statements prepared while a
+ * tracked repository method runs (see SlowQueryAspect), from execution until their
+ * result set is closed, counting the rows read or updated and the types of the bound
+ * parameters. Statements reaching the threshold go to SlowQueryLog; statements from
+ * elsewhere (JdbcTemplate jobs, EXPLAIN itself) are passed through untouched.
+ */
+@Component
+@ConditionalOnProperty(name = "slow-query.enabled", havingValue = "true", matchIfMissing = true)
+public class SlowQueryDataSourcePostProcessor implements BeanPostProcessor {
+
+    private final ObjectProvider<SlowQueryLog> slowQueryLogProvider;
+    private volatile SlowQueryLog slowQueryLog;
+
+    public SlowQueryDataSourcePostProcessor(ObjectProvider<SlowQueryLog> slowQueryLogProvider) {
+        this.slowQueryLogProvider = slowQueryLogProvider;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (!"dataSource".equals(beanName) || !(bean instanceof DataSource)) {
+            return bean;
+        }
+        MethodInterceptor advice = invocation -> {
+            Object result = invocation.proceed();
+            return result instanceof Connection connection && "getConnection".equals(invocation.getMethod().getName())
+                    ? proxy(Connection.class, new ConnectionHandler(connection))
+                    : result;
+        };
+        if (bean instanceof Advised advised && !advised.isFrozen()) {
+            advised.addAdvice(advice);
+            return bean;
+        }
+        ProxyFactory proxyFactory = new ProxyFactory(bean);
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAdvice(advice);
+        return proxyFactory.getProxy(bean.getClass().getClassLoader());
+    }
+
+    private SlowQueryLog slowQueryLog() {
+        SlowQueryLog log = slowQueryLog;
+        if (log == null) {
+            log = slowQueryLog = slowQueryLogProvider.getObject();
+        }
+        return log;
+    }
+
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] { type }, handler));
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+
+    /**
+     * Proxies compare by identity, like the objects they stand for
+     */
+    private static Object identity(Object proxy, Method method, Object[] args) {
+        return switch (method.getName()) {
+            case "equals" -> proxy == args[0];
+            case "hashCode" -> System.identityHashCode(proxy);
+            default -> null;
+        };
+    }
+
+    private class ConnectionHandler implements InvocationHandler {
+
+        private final Connection target;
+
+        ConnectionHandler(Connection target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object identity = identity(proxy, method, args);
+            if (identity != null) {
+                return identity;
+            }
+            Object result = SlowQueryDataSourcePostProcessor.invoke(target, method, args);
+            String repository = SlowQueryAspect.currentRepository();
+            if (repository != null && "prepareStatement".equals(method.getName())
+                    && result instanceof PreparedStatement statement && !(result instanceof CallableStatement)) {
+                return proxy(PreparedStatement.class, new StatementHandler(statement, (String) args[0], repository));
+            }
+            return result;
+        }
+    }
+
+    private class StatementHandler implements InvocationHandler {
+
+        private final PreparedStatement target;
+        private final String sql;
+        private final String repository;
+        // Parameter index to { type, value }
+        private final Map<Integer, Object[]> parameters = new TreeMap<>();
+        private Execution pending;
+
+        StatementHandler(PreparedStatement target, String sql, String repository) {
+            this.target = target;
+            this.sql = sql;
+            this.repository = repository;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object identity = identity(proxy, method, args);
+            if (identity != null) {
+                return identity;
+            }
+            String name = method.getName();
+            if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+                parameters.put(index, new Object[] { parameterType(name, args[1]), args[1] });
+            } else if ("clearParameters".equals(name)) {
+                parameters.clear();
+            } else if (args == null || args.length == 0) {
+                switch (name) {
+                    case "executeQuery" -> {
+                        finishPending();
+                        Execution execution = new Execution();
+                        pending = execution;
+                        ResultSet resultSet = (ResultSet) SlowQueryDataSourcePostProcessor.invoke(target, method, args);
+                        return proxy(ResultSet.class, new ResultSetHandler(resultSet, execution));
+                    }
+                    case "executeUpdate", "executeLargeUpdate", "execute" -> {
+                        Execution execution = new Execution();
+                        Object result = SlowQueryDataSourcePostProcessor.invoke(target, method, args);
+                        execution.rows = result instanceof Number count ? count.longValue() : -1;
+                        execution.finish();
+                        return result;
+                    }
+                    case "executeBatch" -> {
+                        Execution execution = new Execution();
+                        int[] counts = (int[]) SlowQueryDataSourcePostProcessor.invoke(target, method, args);
+                        for (int count : counts) {
+                            execution.rows += Math.max(count, 0);
+                        }
+                        execution.finish();
+                        return counts;
+                    }
+                    case "close" -> finishPending();
+                    default -> {
+                    }
+                }
+            }
+            return SlowQueryDataSourcePostProcessor.invoke(target, method, args);
+        }
+
+        private void finishPending() {
+            if (pending != null) {
+                pending.finish();
+                pending = null;
+            }
+        }
+
+        private static String parameterType(String setter, Object value) {
+            if ("setNull".equals(setter) || value == null) {
+                return "null";
+            }
+            return "setObject".equals(setter) ? value.getClass().getSimpleName() : setter.substring(3);
+        }
+
+        /**
+         * One execution: its start, its row count so far, and the parameters it was bound with
+         */
+        private class Execution {
+            private final long started = System.nanoTime();
+            private final List<Object[]> bound = new ArrayList<>(parameters.values());
+            private long rows;
+            private boolean finished;
+
+            void finish() {
+                if (finished) {
+                    return;
+                }
+                finished = true;
+                long nanos = System.nanoTime() - started;
+                SlowQueryLog log = slowQueryLog();
+                if (log.isSlow(nanos)) {
+                    log.record(repository, sql, bound.stream().map(parameter -> (String) parameter[0]).toList(),
+                            bound.stream().map(parameter -> parameter[1]).toList(), nanos, rows);
+                }
+            }
+        }
+
+        private class ResultSetHandler implements InvocationHandler {
+
+            private final ResultSet target;
+            private final Execution execution;
+
+            ResultSetHandler(ResultSet target, Execution execution) {
+                this.target = target;
+                this.execution = execution;
+            }
+
+            @Override
+            public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+                Object identity = identity(proxy, method, args);
+                if (identity != null) {
+                    return identity;
+                }
+                Object result = SlowQueryDataSourcePostProcessor.invoke(target, method, args);
+                if ("next".equals(method.getName()) && Boolean.TRUE.equals(result)) {
+                    execution.rows++;
+                } else if ("close".equals(method.getName())) {
+                    execution.finish();
+                }
+                return result;
+            }
+        }
+    }
+}
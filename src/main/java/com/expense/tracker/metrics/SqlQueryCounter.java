@@ -0,0 +1,31 @@
+package com.expense.tracker.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.stereotype.Component;
+
+/**
+ * SQL Query Counter
+ *
+ * Counts the statements Hibernate prepares on each thread, so a caller can tell how many
+ * queries a piece of work ran from the difference of two readings. Registered as
+ * Hibernate's statement inspector unless one is configured already (see MetricsConfig);
+ * SQL issued through JdbcTemplate bypasses Hibernate and is not counted.
+ */
+@Component
+public class SqlQueryCounter implements StatementInspector {
+
+    private final ThreadLocal<long[]> count = ThreadLocal.withInitial(() -> new long[1]);
+
+    @Override
+    public String inspect(String sql) {
+        count.get()[0]++;
+        return sql;
+    }
+
+    /**
+     * Statements prepared on the current thread so far
+     */
+    public long current() {
+        return count.get()[0];
+    }
+}
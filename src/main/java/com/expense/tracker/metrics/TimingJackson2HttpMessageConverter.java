@@ -0,0 +1,55 @@
+package com.expense.tracker.metrics;
+
+import com.expense.tracker.filter.ServerTimingFilter;
+import com.expense.tracker.metrics.RequestTiming.Phase;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+
+/**
+ * Timing Jackson Message Converter
+ *
+ * The JSON converter of every @ResponseBody. For a reported request (see
+ * ServerTimingFilter) it serializes into a buffer first, so the serialization time is
+ * known and the Server-Timing header can still be set before the body commits the
+ * response; other requests are written straight through as usual.
+ */
+public class TimingJackson2HttpMessageConverter extends MappingJackson2HttpMessageConverter {
+
+    public TimingJackson2HttpMessageConverter(ObjectMapper objectMapper) {
+        super(objectMapper);
+    }
+
+    @Override
+    protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage) throws IOException {
+        RequestTiming timing = RequestTiming.current();
+        if (timing == null || !timing.isReported()) {
+            super.writeInternal(object, type, outputMessage);
+            return;
+        }
+
+        long started = System.nanoTime();
+        ByteArrayOutputStream body = new ByteArrayOutputStream(1024);
+        super.writeInternal(object, type, new HttpOutputMessage() {
+            @Override
+            public OutputStream getBody() {
+                return body;
+            }
+
+            @Override
+            public HttpHeaders getHeaders() {
+                return outputMessage.getHeaders();
+            }
+        });
+        timing.add(Phase.SERIALIZATION, System.nanoTime() - started);
+
+        outputMessage.getHeaders().set(ServerTimingFilter.HEADER, timing.toHeader());
+        body.writeTo(outputMessage.getBody());
+    }
+}
@@ -20,7 +20,8 @@ import java.time.LocalDateTime;
 @Table(name = "budgets", 
     indexes = {
     @Index(name = "idx_budgets_user_month_year", columnList = "user_id, `month`, `year`"),
-    @Index(name = "idx_budgets_category", columnList = "category_id")
+    @Index(name = "idx_budgets_category", columnList = "category_id"),
+    @Index(name = "idx_budgets_user_updated", columnList = "user_id, updated_at")
     },
     uniqueConstraints = {
         @UniqueConstraint(name = "unique_user_category_month", 
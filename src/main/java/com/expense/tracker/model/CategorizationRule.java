@@ -0,0 +1,72 @@
+package com.expense.tracker.model;
+
+import com.expense.tracker.enums.RuleField;
+import com.expense.tracker.enums.RuleMatchType;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Categorization Rule Entity - Represents a user-defined auto-categorization rule
+ * 
+ * Transactions created without a category are assigned the category of the
+ * best matching rule (lowest priority value wins, then oldest rule).
+ */
+@Entity
+@Table(name = "categorization_rules",
+    indexes = {
+        @Index(name = "idx_categorization_rules_user", columnList = "user_id, priority"),
+        @Index(name = "idx_categorization_rules_category", columnList = "category_id")
+    }
+)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CategorizationRule {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "user_id", nullable = false, foreignKey = @ForeignKey(name = "fk_categorization_rule_user"))
+    private User user;
+    
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "category_id", nullable = false, foreignKey = @ForeignKey(name = "fk_categorization_rule_category"))
+    private Category category;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "match_type", nullable = false)
+    private RuleMatchType matchType;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "field")
+    private RuleField field; // null for amount range rules
+    
+    @Column(name = "pattern", length = 200)
+    private String pattern; // null for amount range rules
+    
+    @Column(name = "min_amount", precision = 15, scale = 2)
+    private BigDecimal minAmount;
+    
+    @Column(name = "max_amount", precision = 15, scale = 2)
+    private BigDecimal maxAmount;
+    
+    @Column(name = "priority", nullable = false)
+    private Integer priority = 100;
+    
+    @Column(name = "created_at", updatable = false)
+    @CreationTimestamp
+    private LocalDateTime createdAt;
+    
+    @Column(name = "updated_at")
+    @UpdateTimestamp
+    private LocalDateTime updatedAt;
+}
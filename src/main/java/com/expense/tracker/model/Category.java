@@ -5,7 +5,9 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -16,12 +18,17 @@ import java.util.List;
  * Categories can be:
  * 1. System categories (predefined, available to all users)
  * 2. Custom categories (created by individual users)
+ * 
+ * Categories form a tree (e.g. Food -> Groceries, Restaurants) through the optional
+ * parent reference; the category_closure table holds the transitive relation.
  */
 @Entity
 @Table(name = "categories", 
     indexes = {
         @Index(name = "idx_user_type", columnList = "user_id, type"),
-        @Index(name = "idx_system_category", columnList = "is_system_category, type")
+        @Index(name = "idx_system_category", columnList = "is_system_category, type"),
+        @Index(name = "idx_category_parent", columnList = "parent_id"),
+        @Index(name = "idx_categories_user_updated", columnList = "user_id, updated_at")
     },
     uniqueConstraints = {
         @UniqueConstraint(name = "unique_user_category", columnNames = {"user_id", "name"})
@@ -50,10 +57,22 @@ public class Category {
     @JoinColumn(name = "user_id", foreignKey = @ForeignKey(name = "fk_category_user"))
     private User user; // null for system categories
     
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "parent_id", foreignKey = @ForeignKey(name = "fk_category_parent"))
+    private Category parent; // null for top-level categories
+    
+    @Column(name = "tree_depth", nullable = false)
+    @ColumnDefault("0")
+    private Integer depth = 0; // 0 for top-level categories
+    
     @Column(name = "created_at", updatable = false)
     @CreationTimestamp
     private LocalDateTime createdAt;
     
+    @Column(name = "updated_at")
+    @UpdateTimestamp
+    private LocalDateTime updatedAt;
+    
     // Relationships
     @OneToMany(mappedBy = "category", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private List<Transaction> transactions;
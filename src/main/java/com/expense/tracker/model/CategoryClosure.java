@@ -0,0 +1,50 @@
+package com.expense.tracker.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+/**
+ * Category Closure Entity - One row per (ancestor, descendant) pair of the category tree
+ * 
+ * Every category has a self row with depth 0, plus one row for each of its ancestors.
+ * Rollups to any level of the hierarchy then need a single indexed join
+ * instead of a recursive query.
+ */
+@Entity
+@Table(name = "category_closure",
+    indexes = {
+        @Index(name = "idx_category_closure_descendant", columnList = "descendant_id, ancestor_id")
+    }
+)
+@IdClass(CategoryClosure.CategoryClosureId.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CategoryClosure {
+    
+    @Id
+    @Column(name = "ancestor_id", nullable = false)
+    private Long ancestorId;
+    
+    @Id
+    @Column(name = "descendant_id", nullable = false)
+    private Long descendantId;
+    
+    @Column(name = "depth", nullable = false)
+    private Integer depth; // distance from ancestor to descendant, 0 for the self row
+    
+    /**
+     * Composite primary key (ancestor_id, descendant_id)
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class CategoryClosureId implements Serializable {
+        private Long ancestorId;
+        private Long descendantId;
+    }
+}
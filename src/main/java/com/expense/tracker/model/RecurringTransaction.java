@@ -0,0 +1,95 @@
+package com.expense.tracker.model;
+
+import com.expense.tracker.enums.RecurrenceFrequency;
+import com.expense.tracker.enums.TransactionType;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Recurring Transaction Entity - Represents a repeating income or expense (rent, salary, subscriptions)
+ * 
+ * The scheduler turns each due occurrence into a regular transaction. Occurrence n
+ * falls on start date + n * interval frequency units; occurrenceCount is the number
+ * of occurrences already materialized (or skipped while paused), and
+ * nextOccurrenceDate the date of the next one (null once the series has ended).
+ */
+@Entity
+@Table(name = "recurring_transactions",
+    indexes = {
+        @Index(name = "idx_recurring_transactions_due", columnList = "is_active, next_occurrence_date"),
+        @Index(name = "idx_recurring_transactions_user", columnList = "user_id"),
+        @Index(name = "idx_recurring_transactions_category", columnList = "category_id")
+    }
+)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecurringTransaction {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "user_id", nullable = false, foreignKey = @ForeignKey(name = "fk_recurring_transaction_user"))
+    private User user;
+    
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "category_id", nullable = false, foreignKey = @ForeignKey(name = "fk_recurring_transaction_category"))
+    private Category category;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "type", nullable = false)
+    private TransactionType type;
+    
+    @Column(name = "amount", nullable = false, precision = 15, scale = 2)
+    private BigDecimal amount;
+    
+    @Column(name = "description", length = 500)
+    private String description;
+    
+    @Column(name = "payment_method", length = 50)
+    private String paymentMethod;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "frequency", nullable = false, length = 20)
+    private RecurrenceFrequency frequency;
+    
+    @Column(name = "repeat_interval", nullable = false)
+    private Integer interval = 1;
+    
+    @Column(name = "start_date", nullable = false)
+    private LocalDate startDate;
+    
+    @Column(name = "end_date")
+    private LocalDate endDate; // null for no end
+    
+    @Column(name = "occurrence_count", nullable = false)
+    private Integer occurrenceCount = 0;
+    
+    @Column(name = "next_occurrence_date")
+    private LocalDate nextOccurrenceDate;
+    
+    @Column(name = "is_active", nullable = false)
+    private Boolean isActive = true;
+    
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+    
+    @Column(name = "created_at", updatable = false)
+    @CreationTimestamp
+    private LocalDateTime createdAt;
+    
+    @Column(name = "updated_at")
+    @UpdateTimestamp
+    private LocalDateTime updatedAt;
+}
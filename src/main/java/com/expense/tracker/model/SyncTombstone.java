@@ -0,0 +1,56 @@
+package com.expense.tracker.model;
+
+import com.expense.tracker.enums.SyncEntityType;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * Sync Tombstone Entity - Records a hard-deleted budget or custom category
+ * 
+ * Transactions are soft-deleted and carry their own updated_at, but budgets and
+ * categories are removed, so the delta-sync API needs a record of the deletion.
+ */
+@Entity
+@Table(name = "sync_tombstones",
+    indexes = {
+        @Index(name = "idx_sync_tombstones_user_deleted", columnList = "user_id, deleted_at"),
+        @Index(name = "idx_sync_tombstones_deleted", columnList = "deleted_at")
+    }
+)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SyncTombstone {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "entity_type", nullable = false, length = 20)
+    private SyncEntityType entityType;
+    
+    @Column(name = "entity_id", nullable = false)
+    private Long entityId;
+    
+    @Column(name = "deleted_at", nullable = false)
+    @CreationTimestamp
+    private LocalDateTime deletedAt;
+    
+    /**
+     * Constructor for recording a deletion
+     */
+    public SyncTombstone(Long userId, SyncEntityType entityType, Long entityId) {
+        this.userId = userId;
+        this.entityType = entityType;
+        this.entityId = entityId;
+    }
+}
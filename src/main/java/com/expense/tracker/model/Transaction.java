@@ -25,7 +25,13 @@ import java.time.LocalDateTime;
     @Index(name = "idx_transactions_user_type_date", columnList = "user_id, type, transaction_date"),
     @Index(name = "idx_transactions_category", columnList = "category_id"),
     @Index(name = "idx_transactions_user_deleted", columnList = "user_id, is_deleted"),
-    @Index(name = "idx_transactions_amount", columnList = "amount")
+    @Index(name = "idx_transactions_amount", columnList = "amount"),
+    @Index(name = "idx_transactions_user_fingerprint", columnList = "user_id, fingerprint"),
+    @Index(name = "idx_transactions_user_updated", columnList = "user_id, updated_at")
+    },
+    uniqueConstraints = {
+    // One transaction per occurrence, however often the scheduler runs
+    @UniqueConstraint(name = "uk_transactions_recurring_occurrence", columnNames = {"recurring_transaction_id", "transaction_date"})
     }
 )
 @Data
@@ -61,6 +67,12 @@ public class Transaction {
     @Column(name = "payment_method", length = 50)
     private String paymentMethod;
     
+    @Column(name = "fingerprint")
+    private Long fingerprint; // content hash used for duplicate detection
+    
+    @Column(name = "recurring_transaction_id")
+    private Long recurringTransactionId; // set when materialized from a recurring transaction
+    
     @Column(name = "created_at", updatable = false)
     @CreationTimestamp
     private LocalDateTime createdAt;
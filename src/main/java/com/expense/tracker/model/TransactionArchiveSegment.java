@@ -0,0 +1,68 @@
+package com.expense.tracker.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Transaction Archive Segment Entity - Indexes one archive file of a user's transactions
+ *
+ * Archived transactions are removed from the transactions table and written to
+ * compressed, write-once segment files; this row records which user and date range
+ * a segment covers so archived reads and restores only open the segments they need.
+ */
+@Entity
+@Table(name = "transaction_archive_segments",
+    indexes = {
+        @Index(name = "idx_transaction_archive_segments_user_dates", columnList = "user_id, from_date, to_date")
+    }
+)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransactionArchiveSegment {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "file_name", nullable = false, unique = true)
+    private String fileName;
+
+    @Column(name = "from_date", nullable = false)
+    private LocalDate fromDate; // earliest transaction date in the segment
+
+    @Column(name = "to_date", nullable = false)
+    private LocalDate toDate; // latest transaction date in the segment
+
+    @Column(name = "row_count", nullable = false)
+    private Integer rowCount;
+
+    @Column(name = "active_row_count")
+    private Integer activeRowCount; // rows not soft-deleted, i.e. listed with includeArchived (null for older segments)
+
+    @Column(name = "archived_at", nullable = false)
+    @CreationTimestamp
+    private LocalDateTime archivedAt;
+
+    /**
+     * Constructor for recording a newly written segment
+     */
+    public TransactionArchiveSegment(Long userId, String fileName, LocalDate fromDate, LocalDate toDate,
+                                     Integer rowCount, Integer activeRowCount) {
+        this.userId = userId;
+        this.fileName = fileName;
+        this.fromDate = fromDate;
+        this.toDate = toDate;
+        this.rowCount = rowCount;
+        this.activeRowCount = activeRowCount;
+    }
+}
@@ -1,11 +1,16 @@
 package com.expense.tracker.repository;
 
 import com.expense.tracker.model.Budget;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -39,7 +44,29 @@ public interface BudgetRepository extends JpaRepository<Budget, Long> {
     List<Budget> findByUserId(Long userId);
     
     /**
-     * Get budgets with spent amounts for alerts calculation
+     * Find user's budgets changed at or after a point in time (all of them when since is null)
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query("""
+        SELECT b FROM Budget b 
+        JOIN FETCH b.category 
+        WHERE b.user.id = :userId 
+        AND (:since IS NULL OR b.updatedAt >= :since)
+        ORDER BY b.updatedAt
+    """)
+    List<Budget> findChangedSince(@Param("userId") Long userId, @Param("since") LocalDateTime since);
+    
+    /**
+     * Get budgets with spent amounts for alerts calculation (spending in subcategories counts towards the budget)
+     */
+    default List<Object[]> getBudgetsWithSpentAmounts(Long userId, int month, int year) {
+        LocalDate fromDate = LocalDate.of(year, month, 1);
+        return getBudgetsWithSpentAmountsBetween(userId, month, year, fromDate, fromDate.plusMonths(1));
+    }
+    
+    /**
+     * Get budgets of a month with spending between two dates (from inclusive, to exclusive).
+     * Filtering on the raw transaction date lets the database range-scan (and prune partitions).
      */
     @Query("""
         SELECT 
@@ -52,13 +79,14 @@ public interface BudgetRepository extends JpaRepository<Budget, Long> {
             b.year
         FROM Budget b 
         JOIN b.category c
+        LEFT JOIN CategoryClosure cc ON cc.ancestorId = c.id
         LEFT JOIN Transaction t ON (
-            t.category.id = c.id 
+            t.category.id = cc.descendantId 
             AND t.user.id = b.user.id 
             AND t.type = 'EXPENSE'
             AND t.isDeleted = false
-            AND MONTH(t.transactionDate) = b.month 
-            AND YEAR(t.transactionDate) = b.year
+            AND t.transactionDate >= :fromDate 
+            AND t.transactionDate < :toDate
         )
         WHERE b.user.id = :userId 
         AND b.month = :month 
@@ -66,7 +94,8 @@ public interface BudgetRepository extends JpaRepository<Budget, Long> {
         GROUP BY b.id, b.budgetAmount, c.id, c.name, b.month, b.year
         ORDER BY c.name
     """)
-    List<Object[]> getBudgetsWithSpentAmounts(@Param("userId") Long userId, @Param("month") int month, @Param("year") int year);
+    List<Object[]> getBudgetsWithSpentAmountsBetween(@Param("userId") Long userId, @Param("month") int month, @Param("year") int year,
+                                                     @Param("fromDate") LocalDate fromDate, @Param("toDate") LocalDate toDate);
     
     /**
      * Check if budget exists for category in month/year
@@ -76,6 +105,15 @@ public interface BudgetRepository extends JpaRepository<Budget, Long> {
     /**
      * Get current month budgets for alerts
      */
+    default List<Object[]> getBudgetAlertsForCurrentMonth(Long userId) {
+        LocalDate fromDate = LocalDate.now().withDayOfMonth(1);
+        return getBudgetAlertsBetween(userId, fromDate.getMonthValue(), fromDate.getYear(), fromDate, fromDate.plusMonths(1));
+    }
+    
+    /**
+     * Get a month's budgets at 80% or more of their amount, with spending between two dates
+     * (from inclusive, to exclusive)
+     */
     @Query("""
         SELECT 
             b.id,
@@ -85,20 +123,22 @@ public interface BudgetRepository extends JpaRepository<Budget, Long> {
             COALESCE(SUM(t.amount), 0) as spentAmount
         FROM Budget b 
         JOIN b.category c
+        LEFT JOIN CategoryClosure cc ON cc.ancestorId = c.id
         LEFT JOIN Transaction t ON (
-            t.category.id = c.id 
+            t.category.id = cc.descendantId 
             AND t.user.id = b.user.id 
             AND t.type = 'EXPENSE'
             AND t.isDeleted = false
-            AND MONTH(t.transactionDate) = MONTH(CURRENT_DATE) 
-            AND YEAR(t.transactionDate) = YEAR(CURRENT_DATE)
+            AND t.transactionDate >= :fromDate 
+            AND t.transactionDate < :toDate
         )
         WHERE b.user.id = :userId 
-        AND b.month = MONTH(CURRENT_DATE)
-        AND b.year = YEAR(CURRENT_DATE)
+        AND b.month = :month
+        AND b.year = :year
         GROUP BY b.id, b.budgetAmount, c.id, c.name
         HAVING (COALESCE(SUM(t.amount), 0) / b.budgetAmount) >= 0.8
         ORDER BY (COALESCE(SUM(t.amount), 0) / b.budgetAmount) DESC
     """)
-    List<Object[]> getBudgetAlertsForCurrentMonth(@Param("userId") Long userId);
+    List<Object[]> getBudgetAlertsBetween(@Param("userId") Long userId, @Param("month") int month, @Param("year") int year,
+                                          @Param("fromDate") LocalDate fromDate, @Param("toDate") LocalDate toDate);
 }
@@ -0,0 +1,43 @@
+package com.expense.tracker.repository;
+
+import com.expense.tracker.model.CategorizationRule;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Categorization Rule Repository
+ * 
+ * Provides data access operations for user-defined auto-categorization rules.
+ */
+@Repository
+public interface CategorizationRuleRepository extends JpaRepository<CategorizationRule, Long> {
+
+    /**
+     * Find all rules of a user with their category, in evaluation order
+     */
+    @Query("""
+        SELECT r FROM CategorizationRule r 
+        JOIN FETCH r.category 
+        WHERE r.user.id = :userId 
+        ORDER BY r.priority ASC, r.id ASC
+    """)
+    List<CategorizationRule> findByUserIdWithCategory(@Param("userId") Long userId);
+    
+    /**
+     * Find rule by ID and user (for update/delete operations)
+     */
+    Optional<CategorizationRule> findByIdAndUserId(Long ruleId, Long userId);
+    
+    /**
+     * Delete all rules that assign a category (used before the category is deleted)
+     */
+    @Modifying
+    @Query("DELETE FROM CategorizationRule r WHERE r.category.id = :categoryId")
+    int deleteByCategoryId(@Param("categoryId") Long categoryId);
+}
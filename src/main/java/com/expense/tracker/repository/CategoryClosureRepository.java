@@ -0,0 +1,55 @@
+package com.expense.tracker.repository;
+
+import com.expense.tracker.model.CategoryClosure;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Category Closure Repository
+ * 
+ * Maintains the closure table of the category hierarchy.
+ */
+@Repository
+public interface CategoryClosureRepository extends JpaRepository<CategoryClosure, CategoryClosure.CategoryClosureId> {
+
+    /**
+     * Find all ancestor rows of a category (including its self row)
+     */
+    List<CategoryClosure> findByDescendantId(Long descendantId);
+    
+    /**
+     * Find all descendant rows of a category (including its self row)
+     */
+    List<CategoryClosure> findByAncestorId(Long ancestorId);
+    
+    /**
+     * Check if a category is an ancestor of (or equal to) another category
+     */
+    boolean existsByAncestorIdAndDescendantId(Long ancestorId, Long descendantId);
+    
+    /**
+     * Check if a category has children
+     */
+    boolean existsByAncestorIdAndDepthGreaterThan(Long ancestorId, Integer depth);
+    
+    /**
+     * Delete the links between a set of ancestors and a set of descendants (used when a subtree is moved).
+     * Clears the persistence context so the links re-inserted afterwards are not merged into deleted rows.
+     */
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("DELETE FROM CategoryClosure cc WHERE cc.ancestorId IN :ancestorIds AND cc.descendantId IN :descendantIds")
+    int deleteLinks(@Param("ancestorIds") Collection<Long> ancestorIds, @Param("descendantIds") Collection<Long> descendantIds);
+    
+    /**
+     * Delete all rows that reference a category
+     */
+    @Modifying
+    @Query("DELETE FROM CategoryClosure cc WHERE cc.ancestorId = :categoryId OR cc.descendantId = :categoryId")
+    int deleteAllForCategory(@Param("categoryId") Long categoryId);
+}
@@ -2,11 +2,17 @@ package com.expense.tracker.repository;
 
 import com.expense.tracker.enums.CategoryType;
 import com.expense.tracker.model.Category;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -91,4 +97,26 @@ public interface CategoryRepository extends JpaRepository<Category, Long> {
      */
     @Query("SELECT COUNT(t) FROM Transaction t WHERE t.category.id = :categoryId AND t.isDeleted = false")
     Long countActiveTransactionsByCategory(@Param("categoryId") Long categoryId);
+    
+    /**
+     * Shift the tree depth of categories (used when a subtree is moved)
+     */
+    @Modifying
+    @Query("UPDATE Category c SET c.depth = c.depth + :delta, c.updatedAt = :now WHERE c.id IN :categoryIds")
+    int shiftDepth(@Param("categoryIds") Collection<Long> categoryIds, @Param("delta") int delta,
+                   @Param("now") LocalDateTime now);
+    
+    /**
+     * Find user's custom categories changed at or after a point in time (all of them when since is null)
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query("""
+        SELECT c FROM Category c 
+        LEFT JOIN FETCH c.parent 
+        WHERE c.user.id = :userId 
+        AND c.isSystemCategory = false
+        AND (:since IS NULL OR c.updatedAt >= :since)
+        ORDER BY c.updatedAt
+    """)
+    List<Category> findChangedSince(@Param("userId") Long userId, @Param("since") LocalDateTime since);
 }
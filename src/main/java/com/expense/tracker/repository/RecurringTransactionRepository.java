@@ -0,0 +1,71 @@
+package com.expense.tracker.repository;
+
+import com.expense.tracker.model.RecurringTransaction;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Recurring Transaction Repository
+ * 
+ * Provides data access operations for recurring transactions.
+ */
+@Repository
+public interface RecurringTransactionRepository extends JpaRepository<RecurringTransaction, Long> {
+
+    /**
+     * Find all recurring transactions of a user with their category
+     */
+    @Query("""
+        SELECT r FROM RecurringTransaction r 
+        JOIN FETCH r.category 
+        WHERE r.user.id = :userId 
+        ORDER BY r.id ASC
+    """)
+    List<RecurringTransaction> findByUserIdWithCategory(@Param("userId") Long userId);
+    
+    /**
+     * Find recurring transaction by ID and user (for update/delete operations)
+     */
+    Optional<RecurringTransaction> findByIdAndUserId(Long id, Long userId);
+    
+    /**
+     * Find active recurring transactions with an occurrence due on or before a date, earliest first.
+     * Served by the (is_active, next_occurrence_date) index, so only due rows are read.
+     */
+    @Query("""
+        SELECT r FROM RecurringTransaction r 
+        JOIN FETCH r.user 
+        WHERE r.isActive = true 
+        AND r.nextOccurrenceDate <= :date 
+        ORDER BY r.nextOccurrenceDate ASC, r.id ASC
+    """)
+    List<RecurringTransaction> findDue(@Param("date") LocalDate date, Pageable pageable);
+
+    /**
+     * Like findDue, leaving out recurring transactions that failed earlier in the run
+     */
+    @Query("""
+        SELECT r FROM RecurringTransaction r 
+        JOIN FETCH r.user 
+        WHERE r.isActive = true 
+        AND r.nextOccurrenceDate <= :date 
+        AND r.id NOT IN :skippedIds 
+        ORDER BY r.nextOccurrenceDate ASC, r.id ASC
+    """)
+    List<RecurringTransaction> findDueExcluding(@Param("date") LocalDate date,
+                                                @Param("skippedIds") Collection<Long> skippedIds,
+                                                Pageable pageable);
+    
+    /**
+     * Check whether any recurring transaction uses a category
+     */
+    boolean existsByCategoryId(Long categoryId);
+}
@@ -0,0 +1,32 @@
+package com.expense.tracker.repository;
+
+import com.expense.tracker.model.SyncTombstone;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Sync Tombstone Repository
+ * 
+ * Provides data access for deletion records used by the delta-sync API.
+ */
+@Repository
+public interface SyncTombstoneRepository extends JpaRepository<SyncTombstone, Long> {
+
+    /**
+     * Find user's deletions recorded at or after a point in time
+     */
+    List<SyncTombstone> findByUserIdAndDeletedAtGreaterThanEqualOrderByDeletedAt(Long userId, LocalDateTime since);
+    
+    /**
+     * Delete all deletions recorded before a point in time (retention)
+     */
+    @Modifying
+    @Query("DELETE FROM SyncTombstone t WHERE t.deletedAt < :before")
+    int deleteRecordedBefore(@Param("before") LocalDateTime before);
+}
@@ -0,0 +1,45 @@
+package com.expense.tracker.repository;
+
+import com.expense.tracker.model.TransactionArchiveSegment;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Transaction Archive Segment Repository
+ * 
+ * Provides data access for the index of archived transaction segments.
+ */
+@Repository
+public interface TransactionArchiveSegmentRepository extends JpaRepository<TransactionArchiveSegment, Long> {
+
+    /**
+     * Find user's segments overlapping a date range (open-ended when a bound is null)
+     */
+    @Query("""
+        SELECT s FROM TransactionArchiveSegment s 
+        WHERE s.userId = :userId 
+        AND (:fromDate IS NULL OR s.toDate >= :fromDate)
+        AND (:toDate IS NULL OR s.fromDate <= :toDate)
+        ORDER BY s.fromDate, s.id
+    """)
+    List<TransactionArchiveSegment> findOverlapping(@Param("userId") Long userId, @Param("fromDate") LocalDate fromDate,
+                                                    @Param("toDate") LocalDate toDate);
+
+    /**
+     * Find user's segments written at or after a moment
+     */
+    List<TransactionArchiveSegment> findByUserIdAndArchivedAtGreaterThanEqual(Long userId, LocalDateTime archivedAt);
+
+    /**
+     * Which of the given segment files are indexed
+     */
+    @Query("SELECT s.fileName FROM TransactionArchiveSegment s WHERE s.fileName IN :fileNames")
+    List<String> findFileNamesIn(@Param("fileNames") Collection<String> fileNames);
+}
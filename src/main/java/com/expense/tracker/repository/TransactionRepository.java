@@ -2,17 +2,23 @@ package com.expense.tracker.repository;
 
 import com.expense.tracker.enums.TransactionType;
 import com.expense.tracker.model.Transaction;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Transaction Repository
@@ -33,6 +39,55 @@ public interface TransactionRepository extends JpaRepository<Transaction, Long>
      */
     Optional<Transaction> findByIdAndUserIdAndIsDeletedFalse(Long id, Long userId);
     
+    /**
+     * Check if user has an active transaction with the given content fingerprint
+     */
+    boolean existsByUserIdAndFingerprintAndIsDeletedFalse(Long userId, Long fingerprint);
+    
+    /**
+     * Get fingerprints of user's active transactions dated on or after a day (duplicate detection)
+     */
+    @Query("""
+        SELECT t.fingerprint FROM Transaction t 
+        WHERE t.user.id = :userId 
+        AND t.isDeleted = false
+        AND t.fingerprint IS NOT NULL
+        AND t.transactionDate >= :since
+    """)
+    List<Long> findFingerprintsByUserIdSince(@Param("userId") Long userId, @Param("since") LocalDate since);
+    
+    /**
+     * Stream user's transactions changed (including soft-deleted) at or after a point in time.
+     * Without a point in time, streams all active transactions (initial sync). Rows are
+     * fetched from the driver in chunks and loaded read-only (no dirty-checking snapshots).
+     */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("""
+        SELECT t FROM Transaction t 
+        JOIN FETCH t.category 
+        WHERE t.user.id = :userId 
+        AND ((:since IS NULL AND t.isDeleted = false) OR t.updatedAt >= :since)
+        ORDER BY t.updatedAt
+    """)
+    Stream<Transaction> streamChangedSince(@Param("userId") Long userId, @Param("since") LocalDateTime since);
+
+    /**
+     * Find transactions due for archival: soft-deleted before a point in time, or (when
+     * datedBefore is set) dated before a day. Ordered by ID for stable batches.
+     */
+    @Query("""
+        SELECT t FROM Transaction t
+        JOIN FETCH t.user
+        WHERE (t.isDeleted = true AND t.updatedAt < :deletedBefore)
+        OR (:datedBefore IS NOT NULL AND t.transactionDate < :datedBefore)
+        ORDER BY t.id
+    """)
+    List<Transaction> findArchivable(@Param("deletedBefore") LocalDateTime deletedBefore,
+                                     @Param("datedBefore") LocalDate datedBefore, Pageable pageable);
+    
     /**
      * Find transactions by user and type
      */
@@ -62,8 +117,19 @@ public interface TransactionRepository extends JpaRepository<Transaction, Long>
     /**
      * Complex filtering query with multiple optional parameters
      */
-    @Query("""
+    @Query(value = """
         SELECT t FROM Transaction t 
+        JOIN FETCH t.category 
+        WHERE t.user.id = :userId 
+        AND t.isDeleted = false
+        AND (:type IS NULL OR t.type = :type)
+        AND (:categoryId IS NULL OR t.category.id = :categoryId)
+        AND (:fromDate IS NULL OR t.transactionDate >= :fromDate)
+        AND (:toDate IS NULL OR t.transactionDate <= :toDate)
+        AND (:minAmount IS NULL OR t.amount >= :minAmount)
+        AND (:maxAmount IS NULL OR t.amount <= :maxAmount)
+    """, countQuery = """
+        SELECT COUNT(t) FROM Transaction t 
         WHERE t.user.id = :userId 
         AND t.isDeleted = false
         AND (:type IS NULL OR t.type = :type)
@@ -84,9 +150,67 @@ public interface TransactionRepository extends JpaRepository<Transaction, Long>
         Pageable pageable
     );
     
+    /**
+     * Complex filtering query restricted to a set of transaction IDs (text search matches)
+     */
+    @Query("""
+        SELECT t FROM Transaction t 
+        WHERE t.user.id = :userId 
+        AND t.isDeleted = false
+        AND t.id IN :ids
+        AND (:type IS NULL OR t.type = :type)
+        AND (:categoryId IS NULL OR t.category.id = :categoryId)
+        AND (:fromDate IS NULL OR t.transactionDate >= :fromDate)
+        AND (:toDate IS NULL OR t.transactionDate <= :toDate)
+        AND (:minAmount IS NULL OR t.amount >= :minAmount)
+        AND (:maxAmount IS NULL OR t.amount <= :maxAmount)
+    """)
+    Page<Transaction> findTransactionsWithFiltersAndIds(
+        @Param("userId") Long userId,
+        @Param("ids") Collection<Long> ids,
+        @Param("type") TransactionType type,
+        @Param("categoryId") Long categoryId,
+        @Param("fromDate") LocalDate fromDate,
+        @Param("toDate") LocalDate toDate,
+        @Param("minAmount") BigDecimal minAmount,
+        @Param("maxAmount") BigDecimal maxAmount,
+        Pageable pageable
+    );
+    
+    /**
+     * Get ID, description and payment method of user's active transactions (search index build)
+     */
+    @Query("""
+        SELECT t.id, t.description, t.paymentMethod FROM Transaction t 
+        WHERE t.user.id = :userId 
+        AND t.isDeleted = false
+        ORDER BY t.id
+    """)
+    List<Object[]> findSearchableTextByUserId(@Param("userId") Long userId);
+    
+    /**
+     * Get how often each description was used per day (description suggestion build)
+     */
+    @Query("""
+        SELECT t.description, t.transactionDate, COUNT(t) FROM Transaction t 
+        WHERE t.user.id = :userId 
+        AND t.isDeleted = false
+        AND t.description IS NOT NULL
+        GROUP BY t.description, t.transactionDate
+    """)
+    List<Object[]> findDescriptionUsageByUserId(@Param("userId") Long userId);
+    
     /**
      * Get monthly summary data
      */
+    default Object[] getMonthlySummary(Long userId, int month, int year) {
+        LocalDate fromDate = LocalDate.of(year, month, 1);
+        return getSummaryBetween(userId, fromDate, fromDate.plusMonths(1)).get(0);
+    }
+    
+    /**
+     * Get summary data for a date range (from inclusive, to exclusive)
+     */
     @Query("""
         SELECT 
             COALESCE(SUM(CASE WHEN t.type = 'INCOME' THEN t.amount ELSE 0 END), 0) as totalIncome,
@@ -96,14 +220,23 @@ public interface TransactionRepository extends JpaRepository<Transaction, Long>
         FROM Transaction t 
         WHERE t.user.id = :userId 
         AND t.isDeleted = false
-        AND MONTH(t.transactionDate) = :month 
-        AND YEAR(t.transactionDate) = :year
+        AND t.transactionDate >= :fromDate 
+        AND t.transactionDate < :toDate
     """)
-    Object[] getMonthlySummary(@Param("userId") Long userId, @Param("month") int month, @Param("year") int year);
+    List<Object[]> getSummaryBetween(@Param("userId") Long userId, @Param("fromDate") LocalDate fromDate,
+                                     @Param("toDate") LocalDate toDate);
     
     /**
      * Get category-wise expense report
      */
+    default List<Object[]> getCategoryWiseExpenseReport(Long userId, int month, int year) {
+        LocalDate fromDate = LocalDate.of(year, month, 1);
+        return getCategoryWiseExpenseReportBetween(userId, fromDate, fromDate.plusMonths(1));
+    }
+    
+    /**
+     * Get category-wise expense report for a date range (from inclusive, to exclusive)
+     */
     @Query("""
         SELECT 
             c.id,
@@ -115,12 +248,48 @@ public interface TransactionRepository extends JpaRepository<Transaction, Long>
         WHERE t.user.id = :userId 
         AND t.isDeleted = false
         AND t.type = 'EXPENSE'
-        AND MONTH(t.transactionDate) = :month 
-        AND YEAR(t.transactionDate) = :year
+        AND t.transactionDate >= :fromDate 
+        AND t.transactionDate < :toDate
         GROUP BY c.id, c.name
         ORDER BY SUM(t.amount) DESC
     """)
-    List<Object[]> getCategoryWiseExpenseReport(@Param("userId") Long userId, @Param("month") int month, @Param("year") int year);
+    List<Object[]> getCategoryWiseExpenseReportBetween(@Param("userId") Long userId, @Param("fromDate") LocalDate fromDate,
+                                                       @Param("toDate") LocalDate toDate);
+    
+    /**
+     * Get category-wise expense report rolled up to a level of the category tree.
+     * Expenses are attributed to their ancestor at the given depth, or to their own
+     * category when it sits above that depth.
+     */
+    default List<Object[]> getCategoryWiseExpenseReportAtDepth(Long userId, int month, int year, int depth) {
+        LocalDate fromDate = LocalDate.of(year, month, 1);
+        return getCategoryWiseExpenseReportAtDepthBetween(userId, fromDate, fromDate.plusMonths(1), depth);
+    }
+    
+    /**
+     * Get category-wise expense report rolled up to a level of the category tree for a date range
+     * (from inclusive, to exclusive)
+     */
+    @Query("""
+        SELECT 
+            a.id,
+            a.name,
+            COALESCE(SUM(t.amount), 0) as totalAmount,
+            COUNT(t) as transactionCount
+        FROM Transaction t 
+        JOIN CategoryClosure cc ON cc.descendantId = t.category.id
+        JOIN Category a ON a.id = cc.ancestorId
+        WHERE t.user.id = :userId 
+        AND t.isDeleted = false
+        AND t.type = 'EXPENSE'
+        AND t.transactionDate >= :fromDate 
+        AND t.transactionDate < :toDate
+        AND (a.depth = :depth OR (cc.depth = 0 AND a.depth < :depth))
+        GROUP BY a.id, a.name
+        ORDER BY SUM(t.amount) DESC
+    """)
+    List<Object[]> getCategoryWiseExpenseReportAtDepthBetween(@Param("userId") Long userId, @Param("fromDate") LocalDate fromDate,
+                                                              @Param("toDate") LocalDate toDate, @Param("depth") int depth);
     
     /**
      * Get trends data for multiple months
@@ -143,46 +312,99 @@ public interface TransactionRepository extends JpaRepository<Transaction, Long>
     /**
      * Get top expenses for a month
      */
+    default List<Transaction> getTopExpenses(Long userId, int month, int year, Pageable pageable) {
+        LocalDate fromDate = LocalDate.of(year, month, 1);
+        return getTopExpensesBetween(userId, fromDate, fromDate.plusMonths(1), pageable);
+    }
+    
+    /**
+     * Get top expenses for a date range (from inclusive, to exclusive).
+     * Loaded read-only with their category: reports never modify them.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
     @Query("""
         SELECT t FROM Transaction t 
+        JOIN FETCH t.category 
         WHERE t.user.id = :userId 
         AND t.isDeleted = false
         AND t.type = 'EXPENSE'
-        AND MONTH(t.transactionDate) = :month 
-        AND YEAR(t.transactionDate) = :year
+        AND t.transactionDate >= :fromDate 
+        AND t.transactionDate < :toDate
         ORDER BY t.amount DESC
     """)
-    List<Transaction> getTopExpenses(@Param("userId") Long userId, @Param("month") int month, 
-                                   @Param("year") int year, Pageable pageable);
+    List<Transaction> getTopExpensesBetween(@Param("userId") Long userId, @Param("fromDate") LocalDate fromDate,
+                                            @Param("toDate") LocalDate toDate, Pageable pageable);
     
     /**
-     * Calculate spent amount for budget (specific category and month)
+     * Calculate spent amount for budget (specific category including its subcategories, and month)
+     */
+    default BigDecimal getSpentAmountForBudget(Long userId, Long categoryId, int month, int year) {
+        LocalDate fromDate = LocalDate.of(year, month, 1);
+        return getSpentAmountBetween(userId, categoryId, fromDate, fromDate.plusMonths(1));
+    }
+    
+    /**
+     * Calculate spent amount in a category including its subcategories for a date range
+     * (from inclusive, to exclusive)
      */
     @Query("""
         SELECT COALESCE(SUM(t.amount), 0) 
         FROM Transaction t 
+        JOIN CategoryClosure cc ON cc.descendantId = t.category.id
         WHERE t.user.id = :userId 
-        AND t.category.id = :categoryId
+        AND cc.ancestorId = :categoryId
         AND t.type = 'EXPENSE'
         AND t.isDeleted = false
-        AND MONTH(t.transactionDate) = :month 
-        AND YEAR(t.transactionDate) = :year
+        AND t.transactionDate >= :fromDate 
+        AND t.transactionDate < :toDate
     """)
-    BigDecimal getSpentAmountForBudget(@Param("userId") Long userId, @Param("categoryId") Long categoryId, 
-                                      @Param("month") int month, @Param("year") int year);
+    BigDecimal getSpentAmountBetween(@Param("userId") Long userId, @Param("categoryId") Long categoryId,
+                                     @Param("fromDate") LocalDate fromDate, @Param("toDate") LocalDate toDate);
+    
+    /**
+     * Spending per category (including its subcategories) and month for a date range
+     * (from inclusive, to exclusive), as rows of (categoryId, year, month, spentAmount)
+     */
+    @Query("""
+        SELECT cc.ancestorId, YEAR(t.transactionDate), MONTH(t.transactionDate), SUM(t.amount)
+        FROM Transaction t 
+        JOIN CategoryClosure cc ON cc.descendantId = t.category.id
+        WHERE t.user.id = :userId 
+        AND cc.ancestorId IN :categoryIds
+        AND t.type = 'EXPENSE'
+        AND t.isDeleted = false
+        AND t.transactionDate >= :fromDate 
+        AND t.transactionDate < :toDate
+        GROUP BY cc.ancestorId, YEAR(t.transactionDate), MONTH(t.transactionDate)
+    """)
+    List<Object[]> getSpentAmountsByCategoryAndMonth(@Param("userId") Long userId,
+                                                     @Param("categoryIds") Collection<Long> categoryIds,
+                                                     @Param("fromDate") LocalDate fromDate,
+                                                     @Param("toDate") LocalDate toDate);
     
     /**
      * Get largest expense for a month
      */
+    default Optional<Transaction> getLargestExpenseForMonth(Long userId, int month, int year) {
+        LocalDate fromDate = LocalDate.of(year, month, 1);
+        return getLargestExpenseBetween(userId, fromDate, fromDate.plusMonths(1));
+    }
+    
+    /**
+     * Get largest expense for a date range (from inclusive, to exclusive), read-only with its category
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
     @Query("""
         SELECT t FROM Transaction t 
+        JOIN FETCH t.category 
         WHERE t.user.id = :userId 
         AND t.isDeleted = false
         AND t.type = 'EXPENSE'
-        AND MONTH(t.transactionDate) = :month 
-        AND YEAR(t.transactionDate) = :year
+        AND t.transactionDate >= :fromDate 
+        AND t.transactionDate < :toDate
         ORDER BY t.amount DESC
         LIMIT 1
     """)
-    Optional<Transaction> getLargestExpenseForMonth(@Param("userId") Long userId, @Param("month") int month, @Param("year") int year);
+    Optional<Transaction> getLargestExpenseBetween(@Param("userId") Long userId, @Param("fromDate") LocalDate fromDate,
+                                                   @Param("toDate") LocalDate toDate);
 }
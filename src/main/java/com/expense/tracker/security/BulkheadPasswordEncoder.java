@@ -0,0 +1,37 @@
+package com.expense.tracker.security;
+
+import com.expense.tracker.service.Bulkhead;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * Bulkhead Password Encoder
+ *
+ * Runs the wrapped (BCrypt) encoder inside the password hashing bulkhead, so a burst
+ * of logins and registrations queues for a bounded number of cores instead of every
+ * request thread hashing at once.
+ */
+public class BulkheadPasswordEncoder implements PasswordEncoder {
+
+    private final PasswordEncoder delegate;
+    private final Bulkhead bulkhead;
+
+    public BulkheadPasswordEncoder(PasswordEncoder delegate, Bulkhead bulkhead) {
+        this.delegate = delegate;
+        this.bulkhead = bulkhead;
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return bulkhead.call(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return bulkhead.call(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+}
@@ -1,5 +1,8 @@
 package com.expense.tracker.security;
 
+import com.expense.tracker.metrics.RequestTiming;
+import com.expense.tracker.metrics.RequestTiming.Phase;
+import com.expense.tracker.service.ReadYourWritesTracker;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -7,6 +10,8 @@ import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
@@ -27,22 +32,30 @@ import java.io.IOException;
 @Slf4j
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
+    private static final GrantedAuthority OPERATOR = new SimpleGrantedAuthority("ROLE_OPERATOR");
+
     private final JwtUtil jwtUtil;
     private final UserDetailsServiceImpl userDetailsService;
+    private final ReadYourWritesTracker readYourWritesTracker;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, 
                                   HttpServletResponse response, 
                                   FilterChain filterChain) throws ServletException, IOException {
         
+        // Token validation and the user lookup, for the Server-Timing breakdown
+        long started = RequestTiming.begin(Phase.AUTH);
         try {
             String jwt = extractJwtFromRequest(request);
             
-            if (StringUtils.hasText(jwt) && jwtUtil.validateToken(jwt)) {
+            // Skipped once the scrape token authenticated the request
+            if (SecurityContextHolder.getContext().getAuthentication() == null
+                    && StringUtils.hasText(jwt) && jwtUtil.validateToken(jwt)) {
                 String email = jwtUtil.getEmailFromToken(jwt);
                 
                 // Load user details
-                UserDetails userDetails = userDetailsService.loadUserByUsername(email);
+                UserDetails userDetails = readYourWritesTracker.readAs(email,
+                    () -> userDetailsService.loadUserByUsername(email));
                 
                 // Create authentication token
                 UsernamePasswordAuthenticationToken authentication = 
@@ -56,9 +69,16 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                 
                 // Set authentication in security context
                 SecurityContextHolder.getContext().setAuthentication(authentication);
+
+                // Operators may ask for the Server-Timing breakdown (see ServerTimingFilter)
+                if (userDetails.getAuthorities().contains(OPERATOR)) {
+                    RequestTiming.report();
+                }
             }
         } catch (Exception e) {
             log.error("Cannot set user authentication: {}", e.getMessage());
+        } finally {
+            RequestTiming.end(Phase.AUTH, started);
         }
         
         filterChain.doFilter(request, response);
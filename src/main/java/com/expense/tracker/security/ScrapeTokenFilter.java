@@ -0,0 +1,60 @@
+package com.expense.tracker.security;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
+import org.springframework.boot.actuate.metrics.export.prometheus.PrometheusScrapeEndpoint;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.List;
+
+/**
+ * Scrape Token Filter
+ *
+ * Authenticates Prometheus on /actuator/prometheus with the static bearer token in
+ * security.scrape-token, so scraping does not depend on a user JWT that expires. The
+ * token gives the SCRAPER role on that endpoint only; while it is unset, only operators
+ * can scrape.
+ */
+@Component
+public class ScrapeTokenFilter extends OncePerRequestFilter {
+
+    private final RequestMatcher prometheusEndpoint = EndpointRequest.to(PrometheusScrapeEndpoint.class);
+
+    @Value("${security.scrape-token:}")
+    private String scrapeToken = "";
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                  HttpServletResponse response,
+                                  FilterChain filterChain) throws ServletException, IOException {
+        if (!scrapeToken.isEmpty() && prometheusEndpoint.matches(request) && hasScrapeToken(request)) {
+            SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                    "prometheus", null, List.of(new SimpleGrantedAuthority("ROLE_SCRAPER"))));
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    /**
+     * Whether the Authorization header carries the scrape token, compared in constant time
+     */
+    private boolean hasScrapeToken(HttpServletRequest request) {
+        String bearerToken = request.getHeader("Authorization");
+        if (bearerToken == null || !bearerToken.startsWith("Bearer ")) {
+            return false;
+        }
+        return MessageDigest.isEqual(bearerToken.substring(7).getBytes(StandardCharsets.UTF_8),
+                scrapeToken.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -3,18 +3,22 @@ package com.expense.tracker.security;
 import com.expense.tracker.model.User;
 import com.expense.tracker.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
-import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
 
 /**
  * User Details Service Implementation
  * 
  * Loads user details for Spring Security authentication.
- * Integrates with the custom User entity and repository.
+ * Integrates with the custom User entity and repository. Users listed in
+ * security.operators get the OPERATOR role, which the admin actuator endpoints require.
  */
 @Service
 @RequiredArgsConstructor
@@ -22,6 +26,9 @@ public class UserDetailsServiceImpl implements UserDetailsService {
 
     private final UserRepository userRepository;
 
+    @Value("${security.operators:}")
+    private Set<String> operators = Set.of();
+
     /**
      * Load user by email for authentication
      */
@@ -37,7 +44,9 @@ public class UserDetailsServiceImpl implements UserDetailsService {
                 true, // accountNonExpired
                 true, // credentialsNonExpired
                 true, // accountNonLocked
-                new ArrayList<>() // authorities (empty for now)
+                operators.contains(user.getEmail())
+                        ? List.of(new SimpleGrantedAuthority("ROLE_OPERATOR"))
+                        : List.of()
         );
     }
 
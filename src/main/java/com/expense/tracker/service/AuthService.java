@@ -29,6 +29,7 @@ public class AuthService {
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
     private final JwtUtil jwtUtil;
+    private final ReadYourWritesTracker readYourWritesTracker;
 
     /**
      * Register a new user account
@@ -52,6 +53,8 @@ public class AuthService {
         
         // Save user
         User savedUser = userRepository.save(user);
+        // The new account is used right away: keep its reads on the primary
+        readYourWritesTracker.recordWrite(savedUser.getEmail());
         log.info("User registered successfully with ID: {}", savedUser.getId());
         
         // Generate JWT token
@@ -76,7 +79,8 @@ public class AuthService {
         log.info("Attempting login for email: {}", request.getEmail());
         
         // Find user by email
-        User user = userRepository.findByEmailAndIsActiveTrue(request.getEmail().toLowerCase().trim())
+        String email = request.getEmail().toLowerCase().trim();
+        User user = readYourWritesTracker.readAs(email, () -> userRepository.findByEmailAndIsActiveTrue(email))
                 .orElseThrow(() -> new UnauthorizedException("Invalid email or password"));
         
         // Validate password
@@ -5,14 +5,16 @@ import com.expense.tracker.dto.response.BudgetAlertResponse;
 import com.expense.tracker.dto.response.BudgetResponse;
 import com.expense.tracker.enums.AlertType;
 import com.expense.tracker.enums.CategoryType;
+import com.expense.tracker.enums.SyncEntityType;
 import com.expense.tracker.exception.DuplicateResourceException;
 import com.expense.tracker.exception.InvalidRequestException;
 import com.expense.tracker.exception.ResourceNotFoundException;
 import com.expense.tracker.model.Budget;
-import com.expense.tracker.model.Category;
+import com.expense.tracker.model.SyncTombstone;
 import com.expense.tracker.model.User;
 import com.expense.tracker.repository.BudgetRepository;
 import com.expense.tracker.repository.CategoryRepository;
+import com.expense.tracker.repository.SyncTombstoneRepository;
 import com.expense.tracker.repository.TransactionRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -22,7 +24,11 @@ import org.springframework.transaction.annotation.Transactional;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
@@ -39,6 +45,9 @@ public class BudgetService {
     private final BudgetRepository budgetRepository;
     private final CategoryRepository categoryRepository;
     private final TransactionRepository transactionRepository;
+    private final CategoryCache categoryCache;
+    private final SyncTombstoneRepository syncTombstoneRepository;
+    private final DataVersionTracker dataVersionTracker;
 
     /**
      * Set or update budget for a category
@@ -55,11 +64,11 @@ public class BudgetService {
         }
         
         // Validate category exists and is available to user
-        Category category = categoryRepository.findByIdAndAvailableToUser(request.getCategoryId(), user.getId())
+        CategoryCache.CachedCategory category = categoryCache.findAvailableToUser(request.getCategoryId(), user.getId())
                 .orElseThrow(() -> new ResourceNotFoundException("Category not found or not available"));
         
         // Budget can only be set for expense categories
-        if (category.getType() != CategoryType.EXPENSE) {
+        if (category.type() != CategoryType.EXPENSE) {
             throw new InvalidRequestException("Budget can only be set for expense categories");
         }
         
@@ -81,11 +90,14 @@ public class BudgetService {
             log.info("Budget updated for category ID: {}", request.getCategoryId());
         } else {
             // Create new budget
-            budget = new Budget(user, category, request.getBudgetAmount(), request.getMonth(), request.getYear());
+            budget = new Budget(user, categoryRepository.getReferenceById(category.id()),
+                    request.getBudgetAmount(), request.getMonth(), request.getYear());
             budget = budgetRepository.save(budget);
             log.info("Budget created successfully with ID: {}", budget.getId());
         }
         
+        dataVersionTracker.bump(user.getEmail());
+        
         // Calculate spent amount and return response
         BigDecimal spentAmount = transactionRepository.getSpentAmountForBudget(
             user.getId(), 
@@ -96,8 +108,8 @@ public class BudgetService {
         
         return new BudgetResponse(
             budget.getId(),
-            budget.getCategory().getId(),
-            budget.getCategory().getName(),
+            category.id(),
+            category.name(),
             budget.getBudgetAmount(),
             spentAmount,
             budget.getMonth(),
@@ -121,26 +133,19 @@ public class BudgetService {
             year = now.getYear();
         }
         
-        List<Budget> budgets = budgetRepository.findByUserIdAndMonthAndYear(userId, month, year);
+        // Budgets and their spending in one grouped query, rather than a spent-amount query per budget
+        List<Object[]> budgetsData = budgetRepository.getBudgetsWithSpentAmounts(userId, month, year);
         
-        return budgets.stream()
-                .map(budget -> {
-                    BigDecimal spentAmount = transactionRepository.getSpentAmountForBudget(
-                        userId,
-                        budget.getCategory().getId(),
-                        budget.getMonth(),
-                        budget.getYear()
-                    );
-                    return new BudgetResponse(
-                        budget.getId(),
-                        budget.getCategory().getId(),
-                        budget.getCategory().getName(),
-                        budget.getBudgetAmount(),
-                        spentAmount,
-                        budget.getMonth(),
-                        budget.getYear()
-                    );
-                })
+        return budgetsData.stream()
+                .map(data -> new BudgetResponse(
+                    ((Number) data[0]).longValue(),
+                    ((Number) data[2]).longValue(),
+                    (String) data[3],
+                    (BigDecimal) data[1],
+                    (BigDecimal) data[4],
+                    ((Number) data[5]).intValue(),
+                    ((Number) data[6]).intValue()
+                ))
                 .collect(Collectors.toList());
     }
 
@@ -154,22 +159,7 @@ public class BudgetService {
         Budget budget = budgetRepository.findByIdAndUserId(budgetId, user.getId())
                 .orElseThrow(() -> new ResourceNotFoundException("Budget not found"));
         
-        BigDecimal spentAmount = transactionRepository.getSpentAmountForBudget(
-            user.getId(),
-            budget.getCategory().getId(),
-            budget.getMonth(),
-            budget.getYear()
-        );
-        
-        return new BudgetResponse(
-            budget.getId(),
-            budget.getCategory().getId(),
-            budget.getCategory().getName(),
-            budget.getBudgetAmount(),
-            spentAmount,
-            budget.getMonth(),
-            budget.getYear()
-        );
+        return mapToResponse(budget);
     }
 
     /**
@@ -188,25 +178,11 @@ public class BudgetService {
         
         budget.setBudgetAmount(budgetAmount);
         Budget updatedBudget = budgetRepository.save(budget);
-        
-        BigDecimal spentAmount = transactionRepository.getSpentAmountForBudget(
-            user.getId(),
-            updatedBudget.getCategory().getId(),
-            updatedBudget.getMonth(),
-            updatedBudget.getYear()
-        );
+        dataVersionTracker.bump(user.getEmail());
         
         log.info("Budget updated successfully with ID: {}", updatedBudget.getId());
         
-        return new BudgetResponse(
-            updatedBudget.getId(),
-            updatedBudget.getCategory().getId(),
-            updatedBudget.getCategory().getName(),
-            updatedBudget.getBudgetAmount(),
-            spentAmount,
-            updatedBudget.getMonth(),
-            updatedBudget.getYear()
-        );
+        return mapToResponse(updatedBudget);
     }
 
     /**
@@ -220,6 +196,8 @@ public class BudgetService {
                 .orElseThrow(() -> new ResourceNotFoundException("Budget not found"));
         
         budgetRepository.delete(budget);
+        syncTombstoneRepository.save(new SyncTombstone(user.getId(), SyncEntityType.BUDGET, budgetId));
+        dataVersionTracker.bump(user.getEmail());
         log.info("Budget deleted successfully with ID: {}", budgetId);
     }
 
@@ -293,6 +271,73 @@ public class BudgetService {
         
         return alerts;
     }
-}
 
+    /**
+     * Map a user's budgets (of any months) to BudgetResponse DTOs, reading the spending
+     * of all of them in one grouped query rather than a spent-amount query per budget
+     */
+    List<BudgetResponse> mapToResponses(Long userId, List<Budget> budgets) {
+        if (budgets.isEmpty()) {
+            return List.of();
+        }
+        Set<Long> categoryIds = new HashSet<>();
+        LocalDate fromDate = null;
+        LocalDate toDate = null;
+        for (Budget budget : budgets) {
+            categoryIds.add(budget.getCategory().getId());
+            LocalDate month = LocalDate.of(budget.getYear(), budget.getMonth(), 1);
+            fromDate = fromDate == null || month.isBefore(fromDate) ? month : fromDate;
+            toDate = toDate == null || !month.isBefore(toDate) ? month.plusMonths(1) : toDate;
+        }
+        
+        Map<BudgetMonth, BigDecimal> spentAmounts = new HashMap<>();
+        for (Object[] row : transactionRepository.getSpentAmountsByCategoryAndMonth(userId, categoryIds, fromDate, toDate)) {
+            spentAmounts.put(new BudgetMonth(((Number) row[0]).longValue(), ((Number) row[1]).intValue(),
+                ((Number) row[2]).intValue()), (BigDecimal) row[3]);
+        }
+        
+        List<BudgetResponse> responses = new ArrayList<>(budgets.size());
+        for (Budget budget : budgets) {
+            BigDecimal spentAmount = spentAmounts.getOrDefault(
+                new BudgetMonth(budget.getCategory().getId(), budget.getYear(), budget.getMonth()), BigDecimal.ZERO);
+            responses.add(new BudgetResponse(
+                budget.getId(),
+                budget.getCategory().getId(),
+                budget.getCategory().getName(),
+                budget.getBudgetAmount(),
+                spentAmount,
+                budget.getMonth(),
+                budget.getYear()
+            ));
+        }
+        return responses;
+    }
+
+    /**
+     * Key of the spending grouped by category and month
+     */
+    private record BudgetMonth(long categoryId, int year, int month) {
+    }
 
+    /**
+     * Map Budget entity to BudgetResponse DTO with the amount spent so far
+     */
+    private BudgetResponse mapToResponse(Budget budget) {
+        BigDecimal spentAmount = transactionRepository.getSpentAmountForBudget(
+            budget.getUser().getId(),
+            budget.getCategory().getId(),
+            budget.getMonth(),
+            budget.getYear()
+        );
+        
+        return new BudgetResponse(
+            budget.getId(),
+            budget.getCategory().getId(),
+            budget.getCategory().getName(),
+            budget.getBudgetAmount(),
+            spentAmount,
+            budget.getMonth(),
+            budget.getYear()
+        );
+    }
+}
@@ -0,0 +1,82 @@
+package com.expense.tracker.service;
+
+import com.expense.tracker.exception.BulkheadFullException;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Bulkhead
+ *
+ * A fair semaphore in front of one downstream: at most maxConcurrent callers use it at
+ * once, the others wait in arrival order for up to maxWait and are then turned away
+ * with BulkheadFullException instead of piling up behind it.
+ */
+public class Bulkhead {
+
+    private final String name;
+    private final int maxConcurrent;
+    private final long maxWaitNanos;
+    private final Semaphore permits;
+    private final LongAdder rejected = new LongAdder();
+
+    public Bulkhead(String name, int maxConcurrent, Duration maxWait) {
+        this.name = name;
+        this.maxConcurrent = maxConcurrent;
+        this.maxWaitNanos = maxWait.toNanos();
+        this.permits = new Semaphore(maxConcurrent, true);
+    }
+
+    /**
+     * Take a permit, waiting up to maxWait; every successful call must be paired with release()
+     *
+     * @throws BulkheadFullException when no permit freed up in time
+     */
+    public void acquire() {
+        try {
+            if (permits.tryAcquire(maxWaitNanos, TimeUnit.NANOSECONDS)) {
+                return;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        rejected.increment();
+        throw new BulkheadFullException("Too many concurrent requests for " + name + ", please retry");
+    }
+
+    public void release() {
+        permits.release();
+    }
+
+    public <T> T call(Supplier<T> work) {
+        acquire();
+        try {
+            return work.get();
+        } finally {
+            release();
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getMaxConcurrent() {
+        return maxConcurrent;
+    }
+
+    public int getActive() {
+        return maxConcurrent - permits.availablePermits();
+    }
+
+    public int getWaiting() {
+        return permits.getQueueLength();
+    }
+
+    public long getRejected() {
+        return rejected.sum();
+    }
+}
@@ -0,0 +1,99 @@
+package com.expense.tracker.service;
+
+import com.expense.tracker.config.BulkheadProperties;
+import com.expense.tracker.config.BulkheadProperties.Limit;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Bulkheads
+ *
+ * The bulkhead of each downstream that request threads block on: database connections
+ * (applied by BulkheadDataSourcePostProcessor) and BCrypt password hashing (applied by
+ * BulkheadPasswordEncoder). They matter most with virtual threads, where the number of
+ * requests in flight is no longer capped by Tomcat's thread pool. A disabled limit
+ * (max-concurrent 0) has no bulkhead.
+ *
+ * With sharding every shard has its own pool, so it gets its own database bulkhead
+ * (named database:<shard>) with the same limit: a slow shard fills only its own.
+ * Password hashing never runs on fewer than two permits, so one slow hash cannot
+ * queue every login behind it.
+ */
+@Component
+public class Bulkheads {
+
+    public static final String DATABASE = "database";
+    public static final String PASSWORD_HASHING = "password-hashing";
+    public static final int MIN_PASSWORD_HASHING = 2;
+
+    private final Bulkhead database;
+    // Shard ID to its database bulkhead
+    private final Map<String, Bulkhead> shardDatabases = new LinkedHashMap<>();
+    private final Bulkhead passwordHashing;
+    private final ShardRouter shardRouter;
+
+    public Bulkheads(BulkheadProperties properties, ShardRouter shardRouter) {
+        this.shardRouter = shardRouter;
+        Limit databaseLimit = properties.getDatabase();
+        this.database = create(DATABASE, databaseLimit);
+        if (database != null) {
+            for (String shardId : shardRouter.shardIds()) {
+                shardDatabases.put(shardId, create(DATABASE + ":" + shardId, databaseLimit));
+            }
+        }
+        Limit hashingLimit = properties.getPasswordHashing();
+        this.passwordHashing = hashingLimit.getMaxConcurrent() > 0
+                ? new Bulkhead(PASSWORD_HASHING, Math.max(MIN_PASSWORD_HASHING, hashingLimit.getMaxConcurrent()),
+                        hashingLimit.getMaxWait())
+                : null;
+    }
+
+    /**
+     * The bulkhead of the global database, null when disabled
+     */
+    public Bulkhead database() {
+        return database;
+    }
+
+    /**
+     * The bulkhead of a shard's pool, or of the global database for a null shard; null
+     * when disabled or the shard is not configured
+     */
+    public Bulkhead database(String shardId) {
+        return shardId == null ? database : shardDatabases.get(shardId);
+    }
+
+    /**
+     * The database bulkhead of the shard bound to the current thread (see ShardRouter)
+     */
+    public Bulkhead currentDatabase() {
+        return database(shardRouter.currentShard());
+    }
+
+    /**
+     * The password hashing bulkhead, null when disabled
+     */
+    public Bulkhead passwordHashing() {
+        return passwordHashing;
+    }
+
+    public List<Bulkhead> all() {
+        List<Bulkhead> bulkheads = new ArrayList<>();
+        if (database != null) {
+            bulkheads.add(database);
+        }
+        bulkheads.addAll(shardDatabases.values());
+        if (passwordHashing != null) {
+            bulkheads.add(passwordHashing);
+        }
+        return bulkheads;
+    }
+
+    private static Bulkhead create(String name, Limit limit) {
+        return limit.getMaxConcurrent() > 0 ? new Bulkhead(name, limit.getMaxConcurrent(), limit.getMaxWait()) : null;
+    }
+}
@@ -0,0 +1,395 @@
+package com.expense.tracker.service;
+
+import com.expense.tracker.enums.RuleField;
+import com.expense.tracker.enums.RuleMatchType;
+
+import java.math.BigDecimal;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Categorization Matcher
+ *
+ * Immutable, compiled form of a user's categorization rules. Keyword and prefix rules
+ * of each text field share one Aho-Corasick automaton, so a field is scanned once in
+ * time linear in its length regardless of how many rules exist. Amount ranges are
+ * pre-resolved into elementary intervals and looked up with a binary search.
+ * Regex rules cannot be merged into the automaton and are only tried while they
+ * could still beat the best match found so far; as user-supplied patterns they run
+ * under a time limit, and one that runs out of time counts as not matching.
+ *
+ * Rules are passed in evaluation order; the first (lowest ranked) matching rule wins.
+ */
+public final class CategorizationMatcher {
+
+    public static final CategorizationMatcher EMPTY = compile(List.of());
+
+    private static final int NO_MATCH = Integer.MAX_VALUE;
+
+    // Time a regex rule may spend on one text (catastrophic backtracking would otherwise pin the thread)
+    private static final long REGEX_TIME_LIMIT_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+
+    private final long[] categoryIds;
+    private final Automaton descriptionAutomaton;
+    private final Automaton paymentMethodAutomaton;
+    private final AmountRangeIndex amountRanges;
+    private final int[] regexRanks;
+    private final RuleField[] regexFields;
+    private final Pattern[] regexes;
+
+    private CategorizationMatcher(long[] categoryIds, Automaton descriptionAutomaton,
+                                  Automaton paymentMethodAutomaton, AmountRangeIndex amountRanges,
+                                  int[] regexRanks, RuleField[] regexFields, Pattern[] regexes) {
+        this.categoryIds = categoryIds;
+        this.descriptionAutomaton = descriptionAutomaton;
+        this.paymentMethodAutomaton = paymentMethodAutomaton;
+        this.amountRanges = amountRanges;
+        this.regexRanks = regexRanks;
+        this.regexFields = regexFields;
+        this.regexes = regexes;
+    }
+
+    /**
+     * Compile rules (in evaluation order) into a matcher
+     */
+    public static CategorizationMatcher compile(List<Rule> rules) {
+        long[] categoryIds = new long[rules.size()];
+        Automaton.Builder descriptionBuilder = new Automaton.Builder();
+        Automaton.Builder paymentMethodBuilder = new Automaton.Builder();
+        List<Rule> rangeRules = new ArrayList<>();
+        List<Integer> rangeRanks = new ArrayList<>();
+        List<Integer> regexRanks = new ArrayList<>();
+        List<RuleField> regexFields = new ArrayList<>();
+        List<Pattern> regexes = new ArrayList<>();
+
+        for (int rank = 0; rank < rules.size(); rank++) {
+            Rule rule = rules.get(rank);
+            categoryIds[rank] = rule.categoryId();
+            switch (rule.matchType()) {
+                case KEYWORD, PREFIX -> {
+                    Automaton.Builder builder = rule.field() == RuleField.PAYMENT_METHOD
+                            ? paymentMethodBuilder
+                            : descriptionBuilder;
+                    builder.add(rule.pattern(), rank, rule.matchType() == RuleMatchType.PREFIX);
+                }
+                case REGEX -> {
+                    regexRanks.add(rank);
+                    regexFields.add(rule.field());
+                    regexes.add(Pattern.compile(rule.pattern(), Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE));
+                }
+                case AMOUNT_RANGE -> {
+                    rangeRules.add(rule);
+                    rangeRanks.add(rank);
+                }
+            }
+        }
+
+        return new CategorizationMatcher(
+            categoryIds,
+            descriptionBuilder.build(),
+            paymentMethodBuilder.build(),
+            AmountRangeIndex.build(rangeRules, rangeRanks),
+            regexRanks.stream().mapToInt(Integer::intValue).toArray(),
+            regexFields.toArray(new RuleField[0]),
+            regexes.toArray(new Pattern[0])
+        );
+    }
+
+    /**
+     * Find the category of the best matching rule, or null if no rule matches
+     */
+    public Long match(BigDecimal amount, String description, String paymentMethod) {
+        int best = descriptionAutomaton.bestMatch(description);
+        best = Math.min(best, paymentMethodAutomaton.bestMatch(paymentMethod));
+        best = Math.min(best, amountRanges.bestMatch(amount));
+
+        for (int i = 0; i < regexes.length && regexRanks[i] < best; i++) {
+            String text = regexFields[i] == RuleField.PAYMENT_METHOD ? paymentMethod : description;
+            if (text != null && find(regexes[i], text)) {
+                best = regexRanks[i];
+            }
+        }
+
+        return best == NO_MATCH ? null : categoryIds[best];
+    }
+
+    /**
+     * Search a text with a regex rule, giving up (no match) after the time limit
+     */
+    private static boolean find(Pattern regex, String text) {
+        try {
+            return regex.matcher(new DeadlineCharSequence(text, System.nanoTime() + REGEX_TIME_LIMIT_NANOS)).find();
+        } catch (RegexTimeoutException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Rule definition as seen by the matcher
+     */
+    public record Rule(long categoryId, RuleMatchType matchType, RuleField field, String pattern,
+                       BigDecimal minAmount, BigDecimal maxAmount) {
+    }
+
+    /**
+     * A text that fails the regex reading it once its deadline has passed. Backtracking
+     * re-reads characters, so a runaway match keeps hitting the check.
+     */
+    private static final class DeadlineCharSequence implements CharSequence {
+
+        private final CharSequence text;
+        private final long deadline;
+        private int reads;
+
+        DeadlineCharSequence(CharSequence text, long deadline) {
+            this.text = text;
+            this.deadline = deadline;
+        }
+
+        @Override
+        public char charAt(int index) {
+            // Reading the clock on every character would cost more than the match itself
+            if ((++reads & 0xFF) == 0 && System.nanoTime() - deadline > 0) {
+                throw RegexTimeoutException.INSTANCE;
+            }
+            return text.charAt(index);
+        }
+
+        @Override
+        public int length() {
+            return text.length();
+        }
+
+        @Override
+        public CharSequence subSequence(int start, int end) {
+            return new DeadlineCharSequence(text.subSequence(start, end), deadline);
+        }
+
+        @Override
+        public String toString() {
+            return text.toString();
+        }
+    }
+
+    /**
+     * Thrown out of a regex match that ran out of time; shared and without a stack trace
+     */
+    private static final class RegexTimeoutException extends RuntimeException {
+
+        static final RegexTimeoutException INSTANCE = new RegexTimeoutException();
+
+        private RegexTimeoutException() {
+            super("Regex time limit exceeded", null, false, false);
+        }
+    }
+
+    /**
+     * Aho-Corasick automaton over lower-cased keyword and prefix patterns.
+     * Each state stores the best keyword rank reachable through its suffix links,
+     * so reporting a match costs O(1) per input character.
+     */
+    private static final class Automaton {
+
+        private final int[] childOffsets;
+        private final char[] childKeys;
+        private final int[] childTargets;
+        private final int[] fail;
+        private final int[] depth;
+        private final int[] keywordRank;
+        private final int[] prefixRank;
+
+        private Automaton(int[] childOffsets, char[] childKeys, int[] childTargets,
+                          int[] fail, int[] depth, int[] keywordRank, int[] prefixRank) {
+            this.childOffsets = childOffsets;
+            this.childKeys = childKeys;
+            this.childTargets = childTargets;
+            this.fail = fail;
+            this.depth = depth;
+            this.keywordRank = keywordRank;
+            this.prefixRank = prefixRank;
+        }
+
+        int bestMatch(String text) {
+            if (text == null || fail.length == 1) {
+                return NO_MATCH;
+            }
+            int best = NO_MATCH;
+            int state = 0;
+            for (int i = 0; i < text.length(); i++) {
+                char c = Character.toLowerCase(text.charAt(i));
+                int next = child(state, c);
+                while (next < 0 && state != 0) {
+                    state = fail[state];
+                    next = child(state, c);
+                }
+                state = next < 0 ? 0 : next;
+
+                if (keywordRank[state] < best) {
+                    best = keywordRank[state];
+                }
+                // A prefix pattern matches only if the whole input read so far is that pattern
+                if (prefixRank[state] < best && depth[state] == i + 1) {
+                    best = prefixRank[state];
+                }
+            }
+            return best;
+        }
+
+        private int child(int state, char c) {
+            int index = Arrays.binarySearch(childKeys, childOffsets[state], childOffsets[state + 1], c);
+            return index >= 0 ? childTargets[index] : -1;
+        }
+
+        /**
+         * Builds the trie, then computes failure links and merged outputs breadth-first
+         */
+        static final class Builder {
+
+            private final List<Map<Character, Integer>> children = new ArrayList<>();
+            private final List<Integer> depths = new ArrayList<>();
+            private final List<Integer> keywordRanks = new ArrayList<>();
+            private final List<Integer> prefixRanks = new ArrayList<>();
+
+            Builder() {
+                newNode(0);
+            }
+
+            void add(String pattern, int rank, boolean prefix) {
+                int node = 0;
+                for (int i = 0; i < pattern.length(); i++) {
+                    char c = Character.toLowerCase(pattern.charAt(i));
+                    Integer next = children.get(node).get(c);
+                    if (next == null) {
+                        next = newNode(depths.get(node) + 1);
+                        children.get(node).put(c, next);
+                    }
+                    node = next;
+                }
+                List<Integer> ranks = prefix ? prefixRanks : keywordRanks;
+                ranks.set(node, Math.min(ranks.get(node), rank));
+            }
+
+            Automaton build() {
+                int size = children.size();
+                int[] fail = new int[size];
+                int[] keywordRank = new int[size];
+                int[] prefixRank = new int[size];
+                int[] depth = new int[size];
+                for (int node = 0; node < size; node++) {
+                    keywordRank[node] = keywordRanks.get(node);
+                    prefixRank[node] = prefixRanks.get(node);
+                    depth[node] = depths.get(node);
+                }
+
+                Deque<Integer> queue = new ArrayDeque<>(children.get(0).values());
+                while (!queue.isEmpty()) {
+                    int node = queue.poll();
+                    keywordRank[node] = Math.min(keywordRank[node], keywordRank[fail[node]]);
+                    for (Map.Entry<Character, Integer> edge : children.get(node).entrySet()) {
+                        int target = edge.getValue();
+                        int state = fail[node];
+                        Integer next = children.get(state).get(edge.getKey());
+                        while (next == null && state != 0) {
+                            state = fail[state];
+                            next = children.get(state).get(edge.getKey());
+                        }
+                        fail[target] = next != null ? next : 0;
+                        queue.add(target);
+                    }
+                }
+
+                // Flatten the child maps into sorted arrays for binary search
+                int[] childOffsets = new int[size + 1];
+                int edges = 0;
+                for (int node = 0; node < size; node++) {
+                    childOffsets[node] = edges;
+                    edges += children.get(node).size();
+                }
+                childOffsets[size] = edges;
+                char[] childKeys = new char[edges];
+                int[] childTargets = new int[edges];
+                for (int node = 0; node < size; node++) {
+                    Character[] keys = children.get(node).keySet().toArray(new Character[0]);
+                    Arrays.sort(keys);
+                    for (int i = 0; i < keys.length; i++) {
+                        childKeys[childOffsets[node] + i] = keys[i];
+                        childTargets[childOffsets[node] + i] = children.get(node).get(keys[i]);
+                    }
+                }
+
+                return new Automaton(childOffsets, childKeys, childTargets, fail, depth, keywordRank, prefixRank);
+            }
+
+            private int newNode(int depth) {
+                children.add(new HashMap<>());
+                depths.add(depth);
+                keywordRanks.add(NO_MATCH);
+                prefixRanks.add(NO_MATCH);
+                return children.size() - 1;
+            }
+        }
+    }
+
+    /**
+     * Amount ranges resolved into elementary intervals:
+     * (-inf, p0), [p0], (p0, p1), [p1], ..., [pk], (pk, +inf)
+     * each holding the best rank of the ranges that cover it.
+     */
+    private static final class AmountRangeIndex {
+
+        private final BigDecimal[] points;
+        private final int[] segmentRanks;
+
+        private AmountRangeIndex(BigDecimal[] points, int[] segmentRanks) {
+            this.points = points;
+            this.segmentRanks = segmentRanks;
+        }
+
+        static AmountRangeIndex build(List<Rule> rules, List<Integer> ranks) {
+            TreeSet<BigDecimal> boundaries = new TreeSet<>();
+            for (Rule rule : rules) {
+                if (rule.minAmount() != null) {
+                    boundaries.add(rule.minAmount());
+                }
+                if (rule.maxAmount() != null) {
+                    boundaries.add(rule.maxAmount());
+                }
+            }
+            BigDecimal[] points = boundaries.toArray(new BigDecimal[0]);
+
+            int[] segmentRanks = new int[2 * points.length + 1];
+            Arrays.fill(segmentRanks, NO_MATCH);
+            for (int segment = 0; segment < segmentRanks.length; segment++) {
+                // Odd segments are single points, even segments are the open gaps between them
+                BigDecimal low = segment % 2 == 1 ? points[segment / 2] : (segment == 0 ? null : points[segment / 2 - 1]);
+                BigDecimal high = segment % 2 == 1 ? points[segment / 2] : (segment / 2 == points.length ? null : points[segment / 2]);
+                for (int i = 0; i < rules.size(); i++) {
+                    Rule rule = rules.get(i);
+                    boolean coversLow = rule.minAmount() == null || (low != null && rule.minAmount().compareTo(low) <= 0);
+                    boolean coversHigh = rule.maxAmount() == null || (high != null && rule.maxAmount().compareTo(high) >= 0);
+                    if (coversLow && coversHigh) {
+                        segmentRanks[segment] = Math.min(segmentRanks[segment], ranks.get(i));
+                    }
+                }
+            }
+            return new AmountRangeIndex(points, segmentRanks);
+        }
+
+        int bestMatch(BigDecimal amount) {
+            if (amount == null || segmentRanks.length == 1 && segmentRanks[0] == NO_MATCH) {
+                return NO_MATCH;
+            }
+            int index = Arrays.binarySearch(points, amount);
+            int segment = index >= 0 ? 2 * index + 1 : 2 * (-index - 1);
+            return segmentRanks[segment];
+        }
+    }
+}
@@ -0,0 +1,231 @@
+package com.expense.tracker.service;
+
+import com.expense.tracker.dto.request.CategorizationRuleRequest;
+import com.expense.tracker.dto.response.CategorizationRuleResponse;
+import com.expense.tracker.enums.RuleMatchType;
+import com.expense.tracker.enums.TransactionType;
+import com.expense.tracker.exception.InvalidRequestException;
+import com.expense.tracker.exception.ResourceNotFoundException;
+import com.expense.tracker.model.CategorizationRule;
+import com.expense.tracker.model.User;
+import com.expense.tracker.repository.CategorizationRuleRepository;
+import com.expense.tracker.repository.CategoryRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+import java.util.stream.Collectors;
+
+/**
+ * Categorization Rule Service
+ *
+ * Handles CRUD operations for user-defined auto-categorization rules and
+ * classifies transactions that arrive without a category. Each user's rules
+ * are compiled into one CategorizationMatcher per transaction type and kept
+ * in a bounded LRU cache until the rules or categories change.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CategorizationRuleService {
+
+    private final CategorizationRuleRepository categorizationRuleRepository;
+    private final CategoryRepository categoryRepository;
+    private final CategoryCache categoryCache;
+
+    @Value("${cache.categorization-rules.max-users:10000}")
+    private int maxUsers = 10000;
+
+    private final PerUserCache<Long, Map<TransactionType, CategorizationMatcher>> matchersByUser =
+            new PerUserCache<>(() -> maxUsers);
+
+    /**
+     * Get all rules of a user in evaluation order
+     */
+    @Transactional(readOnly = true)
+    public List<CategorizationRuleResponse> getRules(Long userId) {
+        log.info("Fetching categorization rules for user ID: {}", userId);
+
+        return categorizationRuleRepository.findByUserIdWithCategory(userId).stream()
+                .map(this::mapToResponse)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Create categorization rule
+     */
+    @Transactional
+    public CategorizationRuleResponse createRule(CategorizationRuleRequest request, User user) {
+        log.info("Creating categorization rule for user ID: {}", user.getId());
+
+        CategorizationRule rule = new CategorizationRule();
+        rule.setUser(user);
+        CategoryCache.CachedCategory category = applyRequest(rule, request, user);
+
+        CategorizationRule savedRule = categorizationRuleRepository.save(rule);
+        evictUser(user.getId());
+
+        log.info("Categorization rule created successfully with ID: {}", savedRule.getId());
+        return mapToResponse(savedRule, category.name());
+    }
+
+    /**
+     * Update categorization rule
+     */
+    @Transactional
+    public CategorizationRuleResponse updateRule(Long ruleId, CategorizationRuleRequest request, User user) {
+        log.info("Updating categorization rule ID: {} for user ID: {}", ruleId, user.getId());
+
+        CategorizationRule rule = categorizationRuleRepository.findByIdAndUserId(ruleId, user.getId())
+                .orElseThrow(() -> new ResourceNotFoundException("Categorization rule not found"));
+
+        CategoryCache.CachedCategory category = applyRequest(rule, request, user);
+
+        CategorizationRule updatedRule = categorizationRuleRepository.save(rule);
+        evictUser(user.getId());
+
+        log.info("Categorization rule updated successfully with ID: {}", updatedRule.getId());
+        return mapToResponse(updatedRule, category.name());
+    }
+
+    /**
+     * Delete categorization rule
+     */
+    @Transactional
+    public void deleteRule(Long ruleId, User user) {
+        log.info("Deleting categorization rule ID: {} for user ID: {}", ruleId, user.getId());
+
+        CategorizationRule rule = categorizationRuleRepository.findByIdAndUserId(ruleId, user.getId())
+                .orElseThrow(() -> new ResourceNotFoundException("Categorization rule not found"));
+
+        categorizationRuleRepository.delete(rule);
+        evictUser(user.getId());
+
+        log.info("Categorization rule deleted successfully with ID: {}", ruleId);
+    }
+
+    /**
+     * Find the category of the best matching rule for a transaction
+     */
+    public Optional<Long> classify(Long userId, TransactionType type, BigDecimal amount,
+                                   String description, String paymentMethod) {
+        CategorizationMatcher matcher = getMatchers(userId).getOrDefault(type, CategorizationMatcher.EMPTY);
+        return Optional.ofNullable(matcher.match(amount, description, paymentMethod));
+    }
+
+    /**
+     * Drop the compiled rules of a user (also called when the user's categories change).
+     * Evicts again after commit so a concurrent rebuild cannot keep pre-commit rules.
+     */
+    public void evictUser(Long userId) {
+        matchersByUser.evictAfterCommit(userId);
+    }
+
+    private Map<TransactionType, CategorizationMatcher> getMatchers(Long userId) {
+        return matchersByUser.getOrLoad(userId, this::compileMatchers);
+    }
+
+    private Map<TransactionType, CategorizationMatcher> compileMatchers(Long userId) {
+        log.debug("Compiling categorization rules for user ID: {}", userId);
+        List<CategorizationRule> rules = categorizationRuleRepository.findByUserIdWithCategory(userId);
+        Map<TransactionType, CategorizationMatcher> matchers = new EnumMap<>(TransactionType.class);
+        for (TransactionType type : TransactionType.values()) {
+            // A rule can only assign a category whose type matches the transaction type
+            List<CategorizationMatcher.Rule> typeRules = rules.stream()
+                    .filter(rule -> rule.getCategory().getType().name().equals(type.name()))
+                    .map(rule -> new CategorizationMatcher.Rule(
+                        rule.getCategory().getId(),
+                        rule.getMatchType(),
+                        rule.getField(),
+                        rule.getPattern(),
+                        rule.getMinAmount(),
+                        rule.getMaxAmount()
+                    ))
+                    .collect(Collectors.toList());
+            matchers.put(type, CategorizationMatcher.compile(typeRules));
+        }
+        return matchers;
+    }
+
+    /**
+     * Validate request and copy it onto the rule, returning the rule's category
+     */
+    private CategoryCache.CachedCategory applyRequest(CategorizationRule rule, CategorizationRuleRequest request, User user) {
+        // Validate category exists and is available to user
+        CategoryCache.CachedCategory category = categoryCache.findAvailableToUser(request.getCategoryId(), user.getId())
+                .orElseThrow(() -> new ResourceNotFoundException("Category not found or not available"));
+
+        if (request.getMatchType() == RuleMatchType.AMOUNT_RANGE) {
+            if (request.getMinAmount() == null && request.getMaxAmount() == null) {
+                throw new InvalidRequestException("Amount range rules require a minimum or maximum amount");
+            }
+            if (request.getMinAmount() != null && request.getMaxAmount() != null
+                    && request.getMinAmount().compareTo(request.getMaxAmount()) > 0) {
+                throw new InvalidRequestException("Minimum amount cannot be greater than maximum amount");
+            }
+            rule.setField(null);
+            rule.setPattern(null);
+            rule.setMinAmount(request.getMinAmount());
+            rule.setMaxAmount(request.getMaxAmount());
+        } else {
+            if (request.getField() == null) {
+                throw new InvalidRequestException("Field is required for keyword, prefix and regex rules");
+            }
+            if (request.getPattern() == null || request.getPattern().isBlank()) {
+                throw new InvalidRequestException("Pattern is required for keyword, prefix and regex rules");
+            }
+            if (request.getMatchType() == RuleMatchType.REGEX) {
+                try {
+                    Pattern.compile(request.getPattern());
+                } catch (PatternSyntaxException e) {
+                    throw new InvalidRequestException("Invalid regular expression: " + e.getDescription());
+                }
+            }
+            rule.setField(request.getField());
+            rule.setPattern(request.getMatchType() == RuleMatchType.REGEX
+                    ? request.getPattern()
+                    : request.getPattern().trim());
+            rule.setMinAmount(null);
+            rule.setMaxAmount(null);
+        }
+
+        rule.setCategory(categoryRepository.getReferenceById(category.id()));
+        rule.setMatchType(request.getMatchType());
+        rule.setPriority(request.getPriority() != null ? request.getPriority() : 100);
+        return category;
+    }
+
+    /**
+     * Map CategorizationRule entity to CategorizationRuleResponse DTO
+     */
+    private CategorizationRuleResponse mapToResponse(CategorizationRule rule) {
+        return mapToResponse(rule, rule.getCategory().getName());
+    }
+
+    /**
+     * Map CategorizationRule entity to CategorizationRuleResponse DTO using a known category name
+     */
+    private CategorizationRuleResponse mapToResponse(CategorizationRule rule, String categoryName) {
+        CategorizationRuleResponse response = new CategorizationRuleResponse();
+        response.setId(rule.getId());
+        response.setCategoryId(rule.getCategory().getId());
+        response.setCategoryName(categoryName);
+        response.setMatchType(rule.getMatchType());
+        response.setField(rule.getField());
+        response.setPattern(rule.getPattern());
+        response.setMinAmount(rule.getMinAmount());
+        response.setMaxAmount(rule.getMaxAmount());
+        response.setPriority(rule.getPriority());
+        response.setCreatedAt(rule.getCreatedAt());
+        return response;
+    }
+}
@@ -0,0 +1,89 @@
+package com.expense.tracker.service;
+
+import com.expense.tracker.enums.CategoryType;
+import com.expense.tracker.model.Category;
+import com.expense.tracker.repository.CategoryRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Category Cache
+ *
+ * Keeps an in-memory id -> (type, name) view of the categories each user can see,
+ * so transaction and budget writes can validate a category without a query.
+ * System categories are loaded once; custom categories are held per user in a
+ * bounded LRU map (see PerUserCache) and evicted whenever CategoryService changes them.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CategoryCache {
+
+    private final CategoryRepository categoryRepository;
+
+    @Value("${cache.categories.max-users:10000}")
+    private int maxUsers = 10000;
+
+    private volatile Map<Long, CachedCategory> systemCategories;
+
+    private final PerUserCache<Long, Map<Long, CachedCategory>> customCategoriesByUser = new PerUserCache<>(() -> maxUsers);
+
+    /**
+     * Find a category by ID that's available to user (system or user's own custom category)
+     */
+    public Optional<CachedCategory> findAvailableToUser(Long categoryId, Long userId) {
+        if (categoryId == null) {
+            return Optional.empty();
+        }
+        CachedCategory category = getSystemCategories().get(categoryId);
+        if (category == null) {
+            category = getCustomCategories(userId).get(categoryId);
+        }
+        return Optional.ofNullable(category);
+    }
+
+    /**
+     * Drop the cached custom categories of a user.
+     * Evicts again after commit so a concurrent reload cannot keep pre-commit data.
+     */
+    public void evictUser(Long userId) {
+        customCategoriesByUser.evictAfterCommit(userId);
+    }
+
+    private Map<Long, CachedCategory> getSystemCategories() {
+        Map<Long, CachedCategory> categories = systemCategories;
+        if (categories == null) {
+            categories = toMap(categoryRepository.findByIsSystemCategoryTrue());
+            systemCategories = categories;
+        }
+        return categories;
+    }
+
+    private Map<Long, CachedCategory> getCustomCategories(Long userId) {
+        return customCategoriesByUser.getOrLoad(userId, id -> {
+            log.debug("Loading custom categories into cache for user ID: {}", id);
+            return toMap(categoryRepository.findByUserIdAndIsSystemCategoryFalse(id));
+        });
+    }
+
+    private static Map<Long, CachedCategory> toMap(List<Category> categories) {
+        return Collections.unmodifiableMap(categories.stream()
+                .map(c -> new CachedCategory(c.getId(), c.getType(), c.getName()))
+                .collect(Collectors.toMap(CachedCategory::id, Function.identity())));
+    }
+
+    /**
+     * Immutable snapshot of the category fields needed for validation and responses
+     */
+    public record CachedCategory(Long id, CategoryType type, String name) {
+    }
+}
@@ -3,19 +3,29 @@ package com.expense.tracker.service;
 import com.expense.tracker.dto.request.CategoryRequest;
 import com.expense.tracker.dto.response.CategoryResponse;
 import com.expense.tracker.enums.CategoryType;
+import com.expense.tracker.enums.SyncEntityType;
 import com.expense.tracker.exception.DuplicateResourceException;
 import com.expense.tracker.exception.ForbiddenException;
 import com.expense.tracker.exception.InvalidRequestException;
 import com.expense.tracker.exception.ResourceNotFoundException;
 import com.expense.tracker.model.Category;
+import com.expense.tracker.model.CategoryClosure;
+import com.expense.tracker.model.SyncTombstone;
 import com.expense.tracker.model.User;
+import com.expense.tracker.repository.CategorizationRuleRepository;
+import com.expense.tracker.repository.CategoryClosureRepository;
 import com.expense.tracker.repository.CategoryRepository;
+import com.expense.tracker.repository.RecurringTransactionRepository;
+import com.expense.tracker.repository.SyncTombstoneRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 import java.util.stream.Collectors;
 
 /**
@@ -23,6 +33,7 @@ import java.util.stream.Collectors;
  * 
  * Handles business logic for category management including
  * viewing system and custom categories, and CRUD operations for custom categories.
+ * Keeps the category closure table in sync with the parent references.
  */
 @Service
 @RequiredArgsConstructor
@@ -30,6 +41,13 @@ import java.util.stream.Collectors;
 public class CategoryService {
 
     private final CategoryRepository categoryRepository;
+    private final CategoryClosureRepository categoryClosureRepository;
+    private final CategorizationRuleRepository categorizationRuleRepository;
+    private final CategoryCache categoryCache;
+    private final CategorizationRuleService categorizationRuleService;
+    private final SyncTombstoneRepository syncTombstoneRepository;
+    private final RecurringTransactionRepository recurringTransactionRepository;
+    private final DataVersionTracker dataVersionTracker;
 
     /**
      * Get all categories available to user (system + custom)
@@ -77,10 +95,29 @@ public class CategoryService {
             );
         }
         
+        // Validate parent category if provided
+        Category parent = resolveParent(request, user.getId());
+        
         // Create new custom category
         Category category = new Category(request.getName(), request.getType(), user);
+        if (parent != null) {
+            category.setParent(parent);
+            category.setDepth(parent.getDepth() + 1);
+        }
         Category savedCategory = categoryRepository.save(category);
         
+        // Link the new category to itself and to all ancestors of its parent
+        List<CategoryClosure> links = new ArrayList<>();
+        links.add(new CategoryClosure(savedCategory.getId(), savedCategory.getId(), 0));
+        if (parent != null) {
+            for (CategoryClosure ancestor : categoryClosureRepository.findByDescendantId(parent.getId())) {
+                links.add(new CategoryClosure(ancestor.getAncestorId(), savedCategory.getId(), ancestor.getDepth() + 1));
+            }
+        }
+        categoryClosureRepository.saveAll(links);
+        categoryCache.evictUser(user.getId());
+        dataVersionTracker.bump(user.getEmail());
+        
         log.info("Category created successfully with ID: {}", savedCategory.getId());
         return mapToResponse(savedCategory);
     }
@@ -111,7 +148,7 @@ public class CategoryService {
         }
         
         // Update category (name can be changed, type should remain same for data integrity)
-        // We allow type change only if no transactions exist
+        // We allow type change only if no transactions or subcategories exist
         if (!category.getType().equals(request.getType())) {
             Long transactionCount = categoryRepository.countActiveTransactionsByCategory(categoryId);
             if (transactionCount > 0) {
@@ -119,12 +156,33 @@ public class CategoryService {
                     "Cannot change category type as it has existing transactions"
                 );
             }
+            if (categoryClosureRepository.existsByAncestorIdAndDepthGreaterThan(categoryId, 0)) {
+                throw new InvalidRequestException(
+                    "Cannot change category type as it has subcategories"
+                );
+            }
+        }
+        
+        // Move the category if its parent changed
+        Long currentParentId = category.getParent() != null ? category.getParent().getId() : null;
+        if (!Objects.equals(currentParentId, request.getParentId())) {
+            if (request.getParentId() != null
+                    && categoryClosureRepository.existsByAncestorIdAndDescendantId(categoryId, request.getParentId())) {
+                throw new InvalidRequestException("Category cannot be moved under itself or its subcategories");
+            }
+            moveCategory(category, resolveParent(request, user.getId()));
+        } else if (category.getParent() != null && !category.getType().equals(request.getType())) {
+            // Type must still match the unchanged parent
+            resolveParent(request, user.getId());
         }
         
         category.setName(request.getName());
         category.setType(request.getType());
         
         Category updatedCategory = categoryRepository.save(category);
+        categoryCache.evictUser(user.getId());
+        categorizationRuleService.evictUser(user.getId());
+        dataVersionTracker.bump(user.getEmail());
         log.info("Category updated successfully with ID: {}", updatedCategory.getId());
         
         return mapToResponse(updatedCategory);
@@ -155,19 +213,106 @@ public class CategoryService {
             );
         }
         
+        // Check if category has subcategories
+        if (categoryClosureRepository.existsByAncestorIdAndDepthGreaterThan(categoryId, 0)) {
+            throw new InvalidRequestException("Cannot delete category with subcategories");
+        }
+        
+        // Check if category is used by recurring transactions
+        if (recurringTransactionRepository.existsByCategoryId(categoryId)) {
+            throw new InvalidRequestException("Cannot delete category used by recurring transactions");
+        }
+        
+        categorizationRuleRepository.deleteByCategoryId(categoryId);
+        categoryClosureRepository.deleteAllForCategory(categoryId);
         categoryRepository.delete(category);
+        syncTombstoneRepository.save(new SyncTombstone(user.getId(), SyncEntityType.CATEGORY, categoryId));
+        categoryCache.evictUser(user.getId());
+        categorizationRuleService.evictUser(user.getId());
+        dataVersionTracker.bump(user.getEmail());
         log.info("Category deleted successfully with ID: {}", categoryId);
     }
 
+    /**
+     * Resolve and validate the parent category of a request (null for a top-level category)
+     */
+    private Category resolveParent(CategoryRequest request, Long userId) {
+        if (request.getParentId() == null) {
+            return null;
+        }
+        
+        Category parent = categoryRepository.findByIdAndAvailableToUser(request.getParentId(), userId)
+                .orElseThrow(() -> new ResourceNotFoundException("Parent category not found or not available"));
+        
+        if (parent.getType() != request.getType()) {
+            throw new InvalidRequestException(
+                String.format("Parent category type (%s) does not match category type (%s)",
+                    parent.getType(), request.getType())
+            );
+        }
+        return parent;
+    }
+
+    /**
+     * Move a category and its subtree under a new parent (null to make it top-level)
+     */
+    private void moveCategory(Category category, Category newParent) {
+        List<CategoryClosure> subtree = categoryClosureRepository.findByAncestorId(category.getId());
+        List<Long> subtreeIds = subtree.stream()
+                .map(CategoryClosure::getDescendantId)
+                .collect(Collectors.toList());
+        
+        // Detach the subtree from its old ancestors
+        List<Long> oldAncestorIds = categoryClosureRepository.findByDescendantId(category.getId()).stream()
+                .filter(link -> link.getDepth() > 0)
+                .map(CategoryClosure::getAncestorId)
+                .collect(Collectors.toList());
+        if (!oldAncestorIds.isEmpty()) {
+            categoryClosureRepository.deleteLinks(oldAncestorIds, subtreeIds);
+        }
+        
+        // Attach it to every ancestor of the new parent
+        int newDepth = 0;
+        if (newParent != null) {
+            List<CategoryClosure> links = new ArrayList<>();
+            for (CategoryClosure ancestor : categoryClosureRepository.findByDescendantId(newParent.getId())) {
+                for (CategoryClosure descendant : subtree) {
+                    links.add(new CategoryClosure(
+                        ancestor.getAncestorId(),
+                        descendant.getDescendantId(),
+                        ancestor.getDepth() + descendant.getDepth() + 1
+                    ));
+                }
+            }
+            categoryClosureRepository.saveAll(links);
+            newDepth = newParent.getDepth() + 1;
+        }
+        
+        // Shift the tree depth of the moved subcategories
+        int delta = newDepth - category.getDepth();
+        List<Long> subcategoryIds = subtree.stream()
+                .filter(link -> link.getDepth() > 0)
+                .map(CategoryClosure::getDescendantId)
+                .collect(Collectors.toList());
+        if (delta != 0 && !subcategoryIds.isEmpty()) {
+            categoryRepository.shiftDepth(subcategoryIds, delta, LocalDateTime.now());
+        }
+        
+        category.setParent(newParent);
+        category.setDepth(newDepth);
+    }
+
     /**
      * Map Category entity to CategoryResponse DTO
      */
-    private CategoryResponse mapToResponse(Category category) {
+    CategoryResponse mapToResponse(Category category) {
         CategoryResponse response = new CategoryResponse();
         response.setId(category.getId());
         response.setName(category.getName());
         response.setType(category.getType());
         response.setIsSystemCategory(category.getIsSystemCategory());
+        response.setParentId(category.getParent() != null ? category.getParent().getId() : null);
+        response.setDepth(category.getDepth());
         return response;
     }
 }
@@ -0,0 +1,54 @@
+package com.expense.tracker.service;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Consistent Hash Ring
+ *
+ * Places each shard on a hash ring at a number of virtual nodes and maps a user ID
+ * to the first shard point at or after the ID's hash. Adding a shard only takes
+ * over the users hashing just before its points (about 1/N of them); the others
+ * keep their placement.
+ */
+public final class ConsistentHashRing {
+
+    private final NavigableMap<Long, String> ring = new TreeMap<>();
+
+    public ConsistentHashRing(Collection<String> shardIds, int virtualNodes) {
+        if (virtualNodes < 1) {
+            throw new IllegalArgumentException("virtualNodes must be positive");
+        }
+        for (String shardId : shardIds) {
+            for (int i = 0; i < virtualNodes; i++) {
+                ring.put(hash(shardId + "#" + i), shardId);
+            }
+        }
+    }
+
+    /**
+     * The shard a user is placed on
+     */
+    public String shardFor(Long userId) {
+        if (ring.isEmpty()) {
+            throw new IllegalStateException("No shards configured");
+        }
+        Map.Entry<Long, String> entry = ring.ceilingEntry(hash("user:" + userId));
+        return entry != null ? entry.getValue() : ring.firstEntry().getValue();
+    }
+
+    private static long hash(String key) {
+        try {
+            byte[] digest = MessageDigest.getInstance("MD5").digest(key.getBytes(StandardCharsets.UTF_8));
+            return ByteBuffer.wrap(digest).getLong();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("MD5 not available", e);
+        }
+    }
+}
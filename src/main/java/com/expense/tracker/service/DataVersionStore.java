@@ -0,0 +1,26 @@
+package com.expense.tracker.service;
+
+/**
+ * Data Version Store
+ *
+ * Per-user data versions behind DataVersionTracker. The in-memory implementation is
+ * used by default and only holds on a single node; set cache.data-versions.store=redis
+ * to share versions between nodes.
+ */
+public interface DataVersionStore {
+
+    /**
+     * The current version of a user's data (identified by email)
+     */
+    String getVersion(String email);
+
+    /**
+     * Move a user's data to a version never handed out before
+     */
+    void increment(String email);
+
+    /**
+     * Whether every node sees the same versions
+     */
+    boolean isShared();
+}
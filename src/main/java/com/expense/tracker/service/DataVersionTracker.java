@@ -0,0 +1,51 @@
+package com.expense.tracker.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Data Version Tracker
+ *
+ * Keeps a per-user version of the data behind list and report responses, bumped
+ * (after commit) by every write to the user's transactions, budgets or categories.
+ * Conditional GETs compare ETags derived from it without touching the database.
+ * Versions are held by the configured DataVersionStore.
+ */
+@Component
+@RequiredArgsConstructor
+public class DataVersionTracker {
+
+    private final DataVersionStore dataVersionStore;
+
+    /**
+     * Get the current data version of a user (identified by email)
+     */
+    public String getVersion(String email) {
+        return dataVersionStore.getVersion(email);
+    }
+
+    /**
+     * Whether versions are shared by every node, so one node's writes reach another's ETags
+     */
+    public boolean isShared() {
+        return dataVersionStore.isShared();
+    }
+
+    /**
+     * Bump a user's data version once the current transaction commits
+     */
+    public void bump(String email) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    dataVersionStore.increment(email);
+                }
+            });
+        } else {
+            dataVersionStore.increment(email);
+        }
+    }
+}
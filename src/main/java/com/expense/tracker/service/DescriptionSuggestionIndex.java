@@ -0,0 +1,273 @@
+package com.expense.tracker.service;
+
+import com.expense.tracker.repository.TransactionRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Description Suggestion Index
+ *
+ * Per-user in-memory trie of past transaction descriptions used for autocomplete.
+ * Every node keeps its top suggestions precomputed, so a lookup only walks the
+ * prefix and costs no database access once the user's trie is loaded.
+ *
+ * Suggestions are ranked by frequency weighted by recency: each use on day d
+ * adds 2^(d / half-life) (forward decay), which ranks exactly like a sum of
+ * exponentially decayed counts without having to re-weight old entries.
+ * Tries are built from the database on first use, kept in a bounded LRU map
+ * (see PerUserCache) and updated incrementally (after commit) by TransactionService writes.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class DescriptionSuggestionIndex {
+
+    public static final int MAX_SUGGESTIONS = 10;
+
+    private static final int MAX_KEY_LENGTH = 100;
+    private static final double HALF_LIFE_DAYS = 90.0;
+    private static final long EPOCH_DAY = LocalDate.of(2000, 1, 1).toEpochDay();
+
+    private final TransactionRepository transactionRepository;
+
+    @Value("${cache.description-suggestions.max-users:1000}")
+    private int maxUsers = 1000;
+
+    private final PerUserCache<Long, Trie> triesByUser = new PerUserCache<>(() -> maxUsers);
+
+    /**
+     * Get up to limit descriptions starting with prefix, best first
+     */
+    public List<String> suggest(Long userId, String prefix, int limit) {
+        String key = normalize(prefix);
+        if (key.isEmpty() || limit < 1) {
+            return List.of();
+        }
+        Trie trie = getTrie(userId);
+        synchronized (trie) {
+            return trie.suggest(key, Math.min(limit, MAX_SUGGESTIONS));
+        }
+    }
+
+    /**
+     * Record a use of a description once the current transaction commits
+     */
+    public void record(Long userId, String description, LocalDate transactionDate) {
+        if (normalize(description).isEmpty() || transactionDate == null) {
+            return;
+        }
+        PerUserCache.afterCommit(() -> triesByUser.update(userId,
+                trie -> trie.add(description, 1, weight(transactionDate))));
+    }
+
+    /**
+     * Withdraw a previously recorded use once the current transaction commits
+     */
+    public void unrecord(Long userId, String description, LocalDate transactionDate) {
+        if (normalize(description).isEmpty() || transactionDate == null) {
+            return;
+        }
+        PerUserCache.afterCommit(() -> triesByUser.update(userId,
+                trie -> trie.add(description, -1, -weight(transactionDate))));
+    }
+
+    /**
+     * Drop the trie of a user; it is rebuilt from the database on next use
+     */
+    public void evictUser(Long userId) {
+        triesByUser.evict(userId);
+    }
+
+    private Trie getTrie(Long userId) {
+        return triesByUser.getOrLoad(userId, id -> {
+            log.debug("Building description suggestion trie for user ID: {}", id);
+            Trie trie = new Trie();
+            for (Object[] row : transactionRepository.findDescriptionUsageByUserId(id)) {
+                long uses = ((Number) row[2]).longValue();
+                trie.add((String) row[0], (int) uses, uses * weight((LocalDate) row[1]));
+            }
+            return trie;
+        });
+    }
+
+    private static double weight(LocalDate date) {
+        return Math.pow(2.0, (date.toEpochDay() - EPOCH_DAY) / HALF_LIFE_DAYS);
+    }
+
+    /**
+     * Lower-case, trim and collapse whitespace so "Coffee  shop" and "coffee shop" share an entry
+     */
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        StringBuilder key = new StringBuilder(Math.min(text.length(), MAX_KEY_LENGTH));
+        boolean pendingSpace = false;
+        for (int i = 0; i < text.length() && key.length() < MAX_KEY_LENGTH; i++) {
+            char c = text.charAt(i);
+            if (Character.isWhitespace(c)) {
+                pendingSpace = key.length() > 0;
+            } else {
+                if (pendingSpace) {
+                    key.append(' ');
+                    pendingSpace = false;
+                }
+                key.append(Character.toLowerCase(c));
+            }
+        }
+        return key.toString();
+    }
+
+    /**
+     * One distinct (normalized) description with its accumulated weight
+     */
+    private static final class Suggestion {
+
+        private String text;
+        private int uses;
+        private double weight;
+
+        Suggestion(String text) {
+            this.text = text;
+        }
+    }
+
+    private static final Comparator<Suggestion> BEST_FIRST =
+            Comparator.comparingDouble((Suggestion s) -> s.weight).reversed().thenComparing(s -> s.text);
+
+    private static final class Node {
+
+        private static final char[] NO_KEYS = new char[0];
+        private static final Node[] NO_NODES = new Node[0];
+        private static final Suggestion[] NO_SUGGESTIONS = new Suggestion[0];
+
+        private char[] keys = NO_KEYS;
+        private Node[] children = NO_NODES;
+        private Suggestion terminal;
+        private Suggestion[] top = NO_SUGGESTIONS;
+
+        Node child(char c) {
+            int index = Arrays.binarySearch(keys, c);
+            return index >= 0 ? children[index] : null;
+        }
+
+        Node addChild(char c) {
+            int index = -Arrays.binarySearch(keys, c) - 1;
+            char[] newKeys = new char[keys.length + 1];
+            Node[] newChildren = new Node[children.length + 1];
+            System.arraycopy(keys, 0, newKeys, 0, index);
+            System.arraycopy(children, 0, newChildren, 0, index);
+            newKeys[index] = c;
+            newChildren[index] = new Node();
+            System.arraycopy(keys, index, newKeys, index + 1, keys.length - index);
+            System.arraycopy(children, index, newChildren, index + 1, children.length - index);
+            keys = newKeys;
+            children = newChildren;
+            return newChildren[index];
+        }
+
+        void removeChild(char c) {
+            int index = Arrays.binarySearch(keys, c);
+            char[] newKeys = new char[keys.length - 1];
+            Node[] newChildren = new Node[children.length - 1];
+            System.arraycopy(keys, 0, newKeys, 0, index);
+            System.arraycopy(children, 0, newChildren, 0, index);
+            System.arraycopy(keys, index + 1, newKeys, index, keys.length - index - 1);
+            System.arraycopy(children, index + 1, newChildren, index, children.length - index - 1);
+            keys = newKeys;
+            children = newChildren;
+        }
+
+        boolean isEmpty() {
+            return terminal == null && keys.length == 0;
+        }
+
+        /**
+         * Recompute the top suggestions from this node's own entry and its children's tops
+         */
+        void refreshTop() {
+            List<Suggestion> candidates = new ArrayList<>();
+            if (terminal != null) {
+                candidates.add(terminal);
+            }
+            for (Node child : children) {
+                candidates.addAll(Arrays.asList(child.top));
+            }
+            candidates.sort(BEST_FIRST);
+            top = candidates.subList(0, Math.min(MAX_SUGGESTIONS, candidates.size())).toArray(NO_SUGGESTIONS);
+        }
+    }
+
+    private static final class Trie {
+
+        private final Node root = new Node();
+
+        List<String> suggest(String prefix, int limit) {
+            Node node = root;
+            for (int i = 0; i < prefix.length() && node != null; i++) {
+                node = node.child(prefix.charAt(i));
+            }
+            if (node == null) {
+                return List.of();
+            }
+            List<String> suggestions = new ArrayList<>(Math.min(limit, node.top.length));
+            for (int i = 0; i < node.top.length && i < limit; i++) {
+                suggestions.add(node.top[i].text);
+            }
+            return suggestions;
+        }
+
+        void add(String description, int uses, double weight) {
+            String key = normalize(description);
+            if (key.isEmpty()) {
+                return;
+            }
+            Node[] path = new Node[key.length() + 1];
+            path[0] = root;
+            for (int i = 0; i < key.length(); i++) {
+                Node next = path[i].child(key.charAt(i));
+                if (next == null) {
+                    if (uses < 0) {
+                        return;
+                    }
+                    next = path[i].addChild(key.charAt(i));
+                }
+                path[i + 1] = next;
+            }
+
+            Node leaf = path[key.length()];
+            if (leaf.terminal == null) {
+                if (uses < 0) {
+                    return;
+                }
+                leaf.terminal = new Suggestion(description.trim());
+            }
+            leaf.terminal.uses += uses;
+            leaf.terminal.weight += weight;
+            if (uses > 0) {
+                // Show the most recently used spelling
+                leaf.terminal.text = description.trim();
+            }
+            if (leaf.terminal.uses <= 0) {
+                leaf.terminal = null;
+            }
+
+            // Refresh tops bottom-up, pruning branches left without entries
+            for (int i = key.length(); i >= 0; i--) {
+                if (i > 0 && path[i].isEmpty()) {
+                    path[i - 1].removeChild(key.charAt(i - 1));
+                } else {
+                    path[i].refreshTop();
+                }
+            }
+        }
+    }
+}
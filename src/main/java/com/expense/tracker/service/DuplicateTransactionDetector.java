@@ -0,0 +1,139 @@
+package com.expense.tracker.service;
+
+import com.expense.tracker.repository.TransactionRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Duplicate Transaction Detector
+ *
+ * Detects re-submitted transactions (bank re-syncs, double clicks) by a content
+ * fingerprint of user, date, amount, normalized description and payment method.
+ * Fingerprints of each user's recent transactions are counted in memory, so the
+ * check is a hash lookup; older dates fall back to the indexed fingerprint column.
+ *
+ * Duplicates are kept and flagged by default; a caller that rejects them gets the
+ * check and the registration in one step, so two concurrent identical requests cannot
+ * both succeed. A fingerprint is released again if the transaction rolls back.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class DuplicateTransactionDetector {
+
+    private final TransactionRepository transactionRepository;
+
+    @Value("${cache.transaction-fingerprints.max-users:10000}")
+    private int maxUsers = 10000;
+
+    @Value("${cache.transaction-fingerprints.window-days:90}")
+    private int windowDays = 90;
+
+    private final PerUserCache<Long, Map<Long, Integer>> fingerprintsByUser = new PerUserCache<>(() -> maxUsers);
+
+    /**
+     * Compute the content fingerprint of a transaction (first 64 bits of SHA-256)
+     */
+    public static long fingerprint(Long userId, LocalDate transactionDate, BigDecimal amount,
+                                   String description, String paymentMethod) {
+        String content = userId
+                + "|" + transactionDate
+                + "|" + amount.stripTrailingZeros().toPlainString()
+                + "|" + normalize(description)
+                + "|" + normalize(paymentMethod);
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(content.getBytes(StandardCharsets.UTF_8));
+            return ByteBuffer.wrap(hash).getLong();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Register a new transaction's fingerprint, returning true if the user already has a
+     * transaction with the same fingerprint. When rejectDuplicate is set a duplicate is
+     * not registered, so the caller can refuse it.
+     */
+    public boolean checkAndRegister(Long userId, long fingerprint, LocalDate transactionDate, boolean rejectDuplicate) {
+        Map<Long, Integer> fingerprints = getFingerprints(userId);
+        boolean duplicate;
+        synchronized (fingerprints) {
+            duplicate = fingerprints.containsKey(fingerprint)
+                    || (transactionDate.isBefore(windowStart())
+                        && transactionRepository.existsByUserIdAndFingerprintAndIsDeletedFalse(userId, fingerprint));
+            if (duplicate && rejectDuplicate) {
+                return true;
+            }
+            fingerprints.merge(fingerprint, 1, Integer::sum);
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        decrement(fingerprints, fingerprint);
+                    }
+                }
+            });
+        }
+        return duplicate;
+    }
+
+    /**
+     * Release the fingerprint of a deleted or changed transaction once the current transaction commits
+     */
+    public void release(Long userId, Long fingerprint) {
+        if (fingerprint == null) {
+            return;
+        }
+        PerUserCache.afterCommit(() -> fingerprintsByUser.update(userId,
+                fingerprints -> decrement(fingerprints, fingerprint)));
+    }
+
+    /**
+     * Drop the fingerprints of a user; they are reloaded from the database on next use
+     */
+    public void evictUser(Long userId) {
+        fingerprintsByUser.evict(userId);
+    }
+
+    private static void decrement(Map<Long, Integer> fingerprints, long fingerprint) {
+        synchronized (fingerprints) {
+            fingerprints.computeIfPresent(fingerprint, (key, count) -> count > 1 ? count - 1 : null);
+        }
+    }
+
+    private LocalDate windowStart() {
+        return LocalDate.now().minusDays(windowDays);
+    }
+
+    private Map<Long, Integer> getFingerprints(Long userId) {
+        return fingerprintsByUser.getOrLoad(userId, id -> {
+            log.debug("Loading recent transaction fingerprints for user ID: {}", id);
+            Map<Long, Integer> fingerprints = new HashMap<>();
+            for (Long fingerprint : transactionRepository.findFingerprintsByUserIdSince(id, windowStart())) {
+                fingerprints.merge(fingerprint, 1, Integer::sum);
+            }
+            return fingerprints;
+        });
+    }
+
+    private static String normalize(String text) {
+        return text == null ? "" : text.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+}
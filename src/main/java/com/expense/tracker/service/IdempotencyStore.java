@@ -0,0 +1,45 @@
+package com.expense.tracker.service;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.time.Duration;
+
+/**
+ * Idempotency Store
+ *
+ * Key -> response store behind the Idempotency-Key support on write endpoints.
+ * The in-memory implementation is used by default; set idempotency.store=redis
+ * to share keys between nodes.
+ */
+public interface IdempotencyStore {
+
+    /**
+     * Store the record unless the key exists; returns the existing record, or null if stored
+     */
+    IdempotencyRecord putIfAbsent(String key, IdempotencyRecord record, Duration ttl);
+
+    /**
+     * Store or replace the record of a key
+     */
+    void put(String key, IdempotencyRecord record, Duration ttl);
+
+    /**
+     * Remove a key
+     */
+    void remove(String key);
+
+    /**
+     * A request in progress (status null) or its completed response
+     */
+    record IdempotencyRecord(String requestHash, Integer status, String contentType, byte[] body) {
+
+        public static IdempotencyRecord inProgress(String requestHash) {
+            return new IdempotencyRecord(requestHash, null, null, null);
+        }
+
+        @JsonIgnore
+        public boolean isCompleted() {
+            return status != null;
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.expense.tracker.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * In-Memory Data Version Store
+ *
+ * Single-node store: writes on another node never reach it, so conditional GETs
+ * stay off with it unless cache.data-versions.single-node is set.
+ *
+ * Versions come from one global counter, so a user's version never repeats: users
+ * without an entry (never written, or evicted from the bounded map) report the
+ * counter value at the last eviction, and the node's start time is part of the
+ * version so a restart invalidates every ETag handed out before it.
+ */
+@Component
+@ConditionalOnProperty(name = "cache.data-versions.store", havingValue = "memory", matchIfMissing = true)
+public class InMemoryDataVersionStore implements DataVersionStore {
+
+    private final long epoch = System.currentTimeMillis();
+
+    @Value("${cache.data-versions.max-users:100000}")
+    private int maxUsers = 100000;
+
+    private final Map<String, Long> versionsByUser =
+            new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+                    if (size() > maxUsers) {
+                        evictedVersion = counter;
+                        return true;
+                    }
+                    return false;
+                }
+            };
+
+    private long counter;
+    private long evictedVersion;
+
+    @Override
+    public String getVersion(String email) {
+        long version;
+        synchronized (versionsByUser) {
+            version = versionsByUser.getOrDefault(email, evictedVersion);
+        }
+        return Long.toString(epoch, 36) + "." + Long.toString(version, 36);
+    }
+
+    @Override
+    public void increment(String email) {
+        synchronized (versionsByUser) {
+            versionsByUser.put(email, ++counter);
+        }
+    }
+
+    @Override
+    public boolean isShared() {
+        return false;
+    }
+}
@@ -0,0 +1,58 @@
+package com.expense.tracker.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * In-Memory Idempotency Store
+ *
+ * Single-node store: a bounded LRU map whose entries also expire after their TTL.
+ */
+@Component
+@ConditionalOnProperty(name = "idempotency.store", havingValue = "memory", matchIfMissing = true)
+public class InMemoryIdempotencyStore implements IdempotencyStore {
+
+    @Value("${idempotency.max-entries:100000}")
+    private int maxEntries = 100000;
+
+    private final Map<String, Entry> entries =
+            new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                    return size() > maxEntries || eldest.getValue().isExpired(System.currentTimeMillis());
+                }
+            };
+
+    @Override
+    public synchronized IdempotencyRecord putIfAbsent(String key, IdempotencyRecord record, Duration ttl) {
+        long now = System.currentTimeMillis();
+        Entry existing = entries.get(key);
+        if (existing != null && !existing.isExpired(now)) {
+            return existing.record();
+        }
+        entries.put(key, new Entry(record, now + ttl.toMillis()));
+        return null;
+    }
+
+    @Override
+    public synchronized void put(String key, IdempotencyRecord record, Duration ttl) {
+        entries.put(key, new Entry(record, System.currentTimeMillis() + ttl.toMillis()));
+    }
+
+    @Override
+    public synchronized void remove(String key) {
+        entries.remove(key);
+    }
+
+    private record Entry(IdempotencyRecord record, long expiresAt) {
+
+        boolean isExpired(long now) {
+            return now >= expiresAt;
+        }
+    }
+}
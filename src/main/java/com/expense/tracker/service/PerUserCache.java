@@ -0,0 +1,152 @@
+package com.expense.tracker.service;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.IntSupplier;
+import java.util.function.Predicate;
+
+/**
+ * Per User Cache
+ *
+ * Bounded LRU map of per-user state built from the database, shared by the in-memory
+ * caches and indexes. A load runs outside the lock; every eviction, and every change
+ * to a user that is not loaded, bumps a write counter, and a load that saw the counter
+ * move is served but not kept, since it may have read data from before that write
+ * committed. Values changed in place (see update) are locked on themselves.
+ */
+final class PerUserCache<K, V> {
+
+    private final IntSupplier maxEntries;
+
+    private final Map<K, V> entries = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+            return size() > maxEntries.getAsInt();
+        }
+    };
+
+    private long writes;
+
+    /**
+     * A cache holding at most maxEntries users (read on each insert, so it can be an @Value field)
+     */
+    PerUserCache(IntSupplier maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * The cached value, loading it on a miss; a null load is returned but not cached
+     */
+    V getOrLoad(K key, Function<? super K, ? extends V> loader) {
+        return getOrLoad(key, value -> true, loader);
+    }
+
+    /**
+     * The cached value if still usable, otherwise a fresh load that replaces it
+     */
+    V getOrLoad(K key, Predicate<? super V> usable, Function<? super K, ? extends V> loader) {
+        long writesBeforeLoad;
+        synchronized (entries) {
+            V value = entries.get(key);
+            if (value != null && usable.test(value)) {
+                return value;
+            }
+            writesBeforeLoad = writes;
+        }
+
+        V loaded = loader.apply(key);
+
+        synchronized (entries) {
+            if (loaded == null || writes != writesBeforeLoad) {
+                return loaded;
+            }
+            V existing = entries.get(key);
+            if (existing != null && usable.test(existing)) {
+                return existing;
+            }
+            entries.put(key, loaded);
+            return loaded;
+        }
+    }
+
+    /**
+     * The cached value without loading it, or null
+     */
+    V getIfPresent(K key) {
+        synchronized (entries) {
+            return entries.get(key);
+        }
+    }
+
+    /**
+     * Change a loaded value in place; for a user that is not loaded, only make sure a
+     * concurrent load is not kept
+     */
+    void update(K key, Consumer<? super V> change) {
+        V value;
+        synchronized (entries) {
+            value = entries.get(key);
+            if (value == null) {
+                writes++;
+                return;
+            }
+        }
+        synchronized (value) {
+            change.accept(value);
+        }
+    }
+
+    /**
+     * Drop a user's value; it is loaded again on next use
+     */
+    void evict(K key) {
+        synchronized (entries) {
+            entries.remove(key);
+            writes++;
+        }
+    }
+
+    /**
+     * Drop a user's value now and again once the current transaction commits, so a load
+     * that read pre-commit data meanwhile is not kept
+     */
+    void evictAfterCommit(K key) {
+        evict(key);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict(key);
+                }
+            });
+        }
+    }
+
+    void evictAll() {
+        synchronized (entries) {
+            entries.clear();
+            writes++;
+        }
+    }
+
+    /**
+     * Run an action once the current transaction commits, or right away outside one
+     */
+    static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package com.expense.tracker.service;
+
+import com.expense.tracker.config.ProfilingProperties;
+import com.expense.tracker.dto.response.ProfileSummaryResponse;
+import com.expense.tracker.dto.response.ProfileSummaryResponse.AllocationSite;
+import com.expense.tracker.dto.response.ProfileSummaryResponse.HotMethod;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingFile;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Profiling Service
+ *
+ * Takes Java Flight Recorder recordings of this node on demand, one at a time and for
+ * at most profiling.max-duration, with the low-overhead "default" JFR settings unless
+ * configured otherwise. Events describing the process rather than its execution (system
+ * properties and JVM arguments, environment variables, other processes, native libraries)
+ * are turned off, since they would carry secrets such as the JWT key and database
+ * passwords off the node. A recording is returned as a .jfr file (for JDK Mission Control)
+ * or summarized into the hottest com.expense.tracker methods and allocation sites.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ProfilingService {
+
+    private static final String APPLICATION_PACKAGE = "com.expense.tracker.";
+
+    /**
+     * Events that can reveal configuration secrets, disabled whatever the settings
+     */
+    static final List<String> DISABLED_EVENTS = List.of(
+            "jdk.InitialEnvironmentVariable",
+            "jdk.InitialSystemProperty",
+            "jdk.JVMInformation",
+            "jdk.SystemProcess",
+            "jdk.NativeLibrary");
+
+    private final ProfilingProperties properties;
+    private final AtomicBoolean recording = new AtomicBoolean();
+
+    /**
+     * The requested duration, or the default one, bounded by profiling.max-duration
+     */
+    public Duration duration(Integer seconds) {
+        Duration requested = seconds == null ? properties.getDefaultDuration() : Duration.ofSeconds(Math.max(seconds, 1));
+        return requested.compareTo(properties.getMaxDuration()) > 0 ? properties.getMaxDuration() : requested;
+    }
+
+    /**
+     * Record for the given duration into a temporary .jfr file, which the caller deletes
+     *
+     * @throws IllegalStateException when another recording is running
+     */
+    public Path record(Duration duration) {
+        if (!recording.compareAndSet(false, true)) {
+            throw new IllegalStateException("A recording is already running");
+        }
+        try (Recording jfr = new Recording(Configuration.getConfiguration(properties.getSettings()))) {
+            jfr.setName("expense-tracker-profile");
+            jfr.setToDisk(true);
+            DISABLED_EVENTS.forEach(jfr::disable);
+            log.info("Starting a {}s JFR recording with the {} settings", duration.toSeconds(), properties.getSettings());
+            jfr.start();
+            try {
+                Thread.sleep(duration.toMillis());
+            } catch (InterruptedException e) {
+                // Return what was recorded so far
+                Thread.currentThread().interrupt();
+            }
+            jfr.stop();
+            Path file = Files.createTempFile("expense-tracker-", ".jfr");
+            jfr.dump(file);
+            return file;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (ParseException e) {
+            throw new IllegalArgumentException("Unknown JFR settings: " + properties.getSettings(), e);
+        } finally {
+            recording.set(false);
+        }
+    }
+
+    /**
+     * Record for the given duration and summarize the recording
+     *
+     * @throws IllegalStateException when another recording is running
+     */
+    public ProfileSummaryResponse summarize(Duration duration) {
+        Path file = record(duration);
+        try {
+            return summarize(file, duration);
+        } finally {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                log.warn("Could not delete recording {}", file, e);
+            }
+        }
+    }
+
+    ProfileSummaryResponse summarize(Path file, Duration duration) {
+        long executionSamples = 0;
+        long allocatedBytes = 0;
+        Map<String, Long> samplesByMethod = new HashMap<>();
+        Map<List<String>, Long> bytesBySite = new HashMap<>();
+
+        try (RecordingFile recordingFile = new RecordingFile(file)) {
+            while (recordingFile.hasMoreEvents()) {
+                RecordedEvent event = recordingFile.readEvent();
+                switch (event.getEventType().getName()) {
+                    case "jdk.ExecutionSample" -> {
+                        executionSamples++;
+                        String method = applicationFrame(event.getStackTrace());
+                        if (method != null) {
+                            samplesByMethod.merge(method, 1L, Long::sum);
+                        }
+                    }
+                    case "jdk.ObjectAllocationSample" -> {
+                        // Each sample stands for the bytes allocated since the previous one
+                        long weight = event.getLong("weight");
+                        allocatedBytes += weight;
+                        String method = applicationFrame(event.getStackTrace());
+                        if (method != null) {
+                            bytesBySite.merge(List.of(method, event.getClass("objectClass").getName()), weight, Long::sum);
+                        }
+                    }
+                    default -> {
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        long totalSamples = executionSamples;
+        long totalBytes = allocatedBytes;
+        List<HotMethod> hotMethods = samplesByMethod.entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+                .limit(properties.getTop())
+                .map(e -> new HotMethod(e.getKey(), e.getValue(), percent(e.getValue(), totalSamples)))
+                .toList();
+        List<AllocationSite> allocations = bytesBySite.entrySet().stream()
+                .sorted(Map.Entry.<List<String>, Long>comparingByValue().reversed())
+                .limit(properties.getTop())
+                .map(e -> new AllocationSite(e.getKey().get(0), e.getKey().get(1), e.getValue(),
+                        percent(e.getValue(), totalBytes)))
+                .toList();
+        long applicationSamples = samplesByMethod.values().stream().mapToLong(Long::longValue).sum();
+
+        return new ProfileSummaryResponse(duration.toSeconds(), executionSamples, applicationSamples, hotMethods,
+                allocatedBytes, allocations);
+    }
+
+    /**
+     * The innermost application method of a stack, skipping Spring's generated proxies
+     */
+    private static String applicationFrame(RecordedStackTrace stackTrace) {
+        if (stackTrace == null) {
+            return null;
+        }
+        for (RecordedFrame frame : stackTrace.getFrames()) {
+            String type = frame.getMethod().getType().getName();
+            if (type.startsWith(APPLICATION_PACKAGE) && !type.contains("$$")) {
+                return type + "." + frame.getMethod().getName();
+            }
+        }
+        return null;
+    }
+
+    private static double percent(long part, long total) {
+        return total == 0 ? 0 : Math.round(part * 1000.0 / total) / 10.0;
+    }
+}
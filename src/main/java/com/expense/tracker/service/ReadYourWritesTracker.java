@@ -0,0 +1,100 @@
+package com.expense.tracker.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Read-Your-Writes Tracker
+ *
+ * Remembers which users wrote recently, so that with a read replica configured
+ * their reads keep going to the primary until replication has had time to catch
+ * up (datasource.replica.read-your-writes-window) and a user never reads data
+ * older than their own last write.
+ *
+ * The current user is the authenticated one, or the one bound with readAs()
+ * while a request is still being authenticated. Entries older than the window
+ * are dropped, and the map is bounded like the other per-user caches.
+ */
+@Component
+public class ReadYourWritesTracker {
+
+    private static final ThreadLocal<String> READING_AS = new ThreadLocal<>();
+
+    @Value("${datasource.replica.read-your-writes-window:5s}")
+    private Duration window = Duration.ofSeconds(5);
+
+    @Value("${cache.read-your-writes.max-users:100000}")
+    private int maxUsers = 100000;
+
+    private final Map<String, Long> lastWriteByUser =
+            new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+                    return size() > maxUsers || isExpired(eldest.getValue());
+                }
+            };
+
+    /**
+     * Record that a user (identified by email) just wrote
+     */
+    public void recordWrite(String email) {
+        synchronized (lastWriteByUser) {
+            lastWriteByUser.put(email, System.nanoTime());
+        }
+    }
+
+    /**
+     * Whether the user wrote within the read-your-writes window
+     */
+    public boolean wroteRecently(String email) {
+        synchronized (lastWriteByUser) {
+            Long lastWrite = lastWriteByUser.get(email);
+            return lastWrite != null && !isExpired(lastWrite);
+        }
+    }
+
+    /**
+     * The user whose reads are being routed: the one bound by readAs(), else the authenticated user
+     */
+    public String currentUser() {
+        String email = READING_AS.get();
+        if (email != null) {
+            return email;
+        }
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+
+    /**
+     * Run reads on behalf of a user who is not authenticated yet (login, token authentication)
+     */
+    public <T> T readAs(String email, Supplier<T> reads) {
+        String previous = READING_AS.get();
+        READING_AS.set(email);
+        try {
+            return reads.get();
+        } finally {
+            if (previous == null) {
+                READING_AS.remove();
+            } else {
+                READING_AS.set(previous);
+            }
+        }
+    }
+
+    private boolean isExpired(long lastWrite) {
+        return System.nanoTime() - lastWrite > window.toNanos();
+    }
+}
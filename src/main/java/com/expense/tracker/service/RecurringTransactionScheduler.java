@@ -0,0 +1,96 @@
+package com.expense.tracker.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Recurring Transaction Scheduler
+ *
+ * Periodically materializes due recurring transaction occurrences for all users,
+ * one batch (one database transaction) at a time, and once at startup so
+ * occurrences missed while the application was down are recorded right away.
+ * Each run only reads recurring transactions that are due, through the
+ * (is_active, next_occurrence_date) index. With sharding, each shard is covered in turn.
+ *
+ * A batch that fails is retried one recurring transaction at a time; the ones that
+ * still fail are logged and skipped for the rest of the run (and retried on the next),
+ * so one bad rule never holds up everyone else's occurrences.
+ */
+@Component
+@ConditionalOnProperty(name = "recurring.scheduler.enabled", havingValue = "true", matchIfMissing = true)
+@RequiredArgsConstructor
+@Slf4j
+public class RecurringTransactionScheduler {
+
+    private final RecurringTransactionService recurringTransactionService;
+    private final ShardRouter shardRouter;
+
+    @Value("${recurring.scheduler.batch-size:200}")
+    private int batchSize = 200;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    /**
+     * Materialize everything due today
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${recurring.scheduler.cron:0 5 * * * *}")
+    public void materializeDue() {
+        if (!running.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            LocalDate today = LocalDate.now();
+            shardRouter.runOnEachShard(() -> {
+                Set<Long> skippedIds = new HashSet<>();
+                int processed;
+                do {
+                    processed = materializeBatch(today, skippedIds);
+                } while (processed > 0);
+            });
+        } catch (RuntimeException e) {
+            log.error("Failed to materialize recurring transactions", e);
+        } finally {
+            running.set(false);
+        }
+    }
+
+    /**
+     * Materialize one batch, falling back to one recurring transaction at a time when it fails
+     */
+    private int materializeBatch(LocalDate today, Set<Long> skippedIds) {
+        try {
+            return recurringTransactionService.materializeDue(today, batchSize, skippedIds);
+        } catch (RuntimeException e) {
+            log.warn("Recurring transaction batch failed, retrying it one by one: {}", e.getMessage());
+        }
+        List<Long> ids = recurringTransactionService.findDueIds(today, batchSize, skippedIds);
+        for (Long id : ids) {
+            try {
+                recurringTransactionService.materializeOne(id, today);
+            } catch (ConcurrencyFailureException | DataIntegrityViolationException e) {
+                // Most likely another node got to it first; its run covers it
+                log.warn("Skipping recurring transaction {} materialized concurrently: {}", id, e.getMessage());
+                skippedIds.add(id);
+            } catch (RuntimeException e) {
+                log.error("Skipping recurring transaction {} that failed to materialize", id, e);
+                skippedIds.add(id);
+            }
+        }
+        return ids.size();
+    }
+}
@@ -0,0 +1,320 @@
+package com.expense.tracker.service;
+
+import com.expense.tracker.dto.request.RecurringTransactionRequest;
+import com.expense.tracker.dto.response.RecurringTransactionResponse;
+import com.expense.tracker.enums.RecurrenceFrequency;
+import com.expense.tracker.exception.InvalidRequestException;
+import com.expense.tracker.exception.ResourceNotFoundException;
+import com.expense.tracker.model.RecurringTransaction;
+import com.expense.tracker.model.User;
+import com.expense.tracker.repository.CategoryRepository;
+import com.expense.tracker.repository.RecurringTransactionRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+/**
+ * Recurring Transaction Service
+ *
+ * Handles CRUD operations for recurring transactions and materializes their due
+ * occurrences into regular transactions. Each occurrence is saved in the same
+ * database transaction that advances the rule's next occurrence date, and
+ * (recurring transaction, date) is unique on transactions, so re-running a batch
+ * after a crash or restart never creates an occurrence twice. Occurrences missed
+ * while the application was down are caught up on the next run.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RecurringTransactionService {
+
+    // Bounds the catch-up work done for one rule in one batch
+    static final int MAX_OCCURRENCES_PER_BATCH = 366;
+
+    private final RecurringTransactionRepository recurringTransactionRepository;
+    private final CategoryRepository categoryRepository;
+    private final CategoryCache categoryCache;
+    private final TransactionService transactionService;
+
+    /**
+     * Get all recurring transactions of a user
+     */
+    @Transactional(readOnly = true)
+    public List<RecurringTransactionResponse> getRecurringTransactions(Long userId) {
+        log.info("Fetching recurring transactions for user ID: {}", userId);
+
+        return recurringTransactionRepository.findByUserIdWithCategory(userId).stream()
+                .map(this::mapToResponse)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Create recurring transaction
+     */
+    @Transactional
+    public RecurringTransactionResponse createRecurringTransaction(RecurringTransactionRequest request, User user) {
+        log.info("Creating recurring transaction for user ID: {}", user.getId());
+
+        validateSchedule(request);
+        RecurringTransaction recurringTransaction = new RecurringTransaction();
+        recurringTransaction.setUser(user);
+        recurringTransaction.setFrequency(request.getFrequency());
+        recurringTransaction.setInterval(request.getInterval() != null ? request.getInterval() : 1);
+        recurringTransaction.setStartDate(request.getStartDate());
+        recurringTransaction.setOccurrenceCount(0);
+        recurringTransaction.setIsActive(!Boolean.FALSE.equals(request.getActive()));
+        CategoryCache.CachedCategory category = applyRequest(recurringTransaction, request, user);
+
+        RecurringTransaction savedRecurringTransaction = recurringTransactionRepository.save(recurringTransaction);
+        // An occurrence due today is recorded right away rather than on the next scheduler run
+        if (savedRecurringTransaction.getIsActive()) {
+            materialize(savedRecurringTransaction, LocalDate.now());
+        }
+
+        log.info("Recurring transaction created successfully with ID: {}", savedRecurringTransaction.getId());
+        return mapToResponse(savedRecurringTransaction, category.name());
+    }
+
+    /**
+     * Update recurring transaction. The schedule (frequency, interval, start date) can
+     * only change until the first occurrence has been recorded; resuming a paused
+     * recurring transaction skips the occurrences missed while paused.
+     */
+    @Transactional
+    public RecurringTransactionResponse updateRecurringTransaction(Long id, RecurringTransactionRequest request, User user) {
+        log.info("Updating recurring transaction ID: {} for user ID: {}", id, user.getId());
+
+        RecurringTransaction recurringTransaction = recurringTransactionRepository.findByIdAndUserId(id, user.getId())
+                .orElseThrow(() -> new ResourceNotFoundException("Recurring transaction not found"));
+
+        int interval = request.getInterval() != null ? request.getInterval() : 1;
+        boolean scheduleChanged = recurringTransaction.getFrequency() != request.getFrequency()
+                || recurringTransaction.getInterval() != interval
+                || !recurringTransaction.getStartDate().equals(request.getStartDate());
+        if (scheduleChanged) {
+            if (recurringTransaction.getOccurrenceCount() > 0) {
+                throw new InvalidRequestException(
+                    "Schedule cannot be changed after the first occurrence; create a new recurring transaction instead");
+            }
+            validateSchedule(request);
+            recurringTransaction.setFrequency(request.getFrequency());
+            recurringTransaction.setInterval(interval);
+            recurringTransaction.setStartDate(request.getStartDate());
+        } else if (request.getEndDate() != null && request.getEndDate().isBefore(request.getStartDate())) {
+            throw new InvalidRequestException("End date cannot be before start date");
+        }
+
+        boolean resumed = !recurringTransaction.getIsActive() && !Boolean.FALSE.equals(request.getActive());
+        recurringTransaction.setIsActive(!Boolean.FALSE.equals(request.getActive()));
+        CategoryCache.CachedCategory category = applyRequest(recurringTransaction, request, user);
+        if (resumed) {
+            LocalDate today = LocalDate.now();
+            while (recurringTransaction.getNextOccurrenceDate() != null
+                    && recurringTransaction.getNextOccurrenceDate().isBefore(today)) {
+                advance(recurringTransaction);
+            }
+        }
+
+        RecurringTransaction updatedRecurringTransaction = recurringTransactionRepository.save(recurringTransaction);
+        if (updatedRecurringTransaction.getIsActive()) {
+            materialize(updatedRecurringTransaction, LocalDate.now());
+        }
+
+        log.info("Recurring transaction updated successfully with ID: {}", updatedRecurringTransaction.getId());
+        return mapToResponse(updatedRecurringTransaction, category.name());
+    }
+
+    /**
+     * Delete recurring transaction (transactions already recorded are kept)
+     */
+    @Transactional
+    public void deleteRecurringTransaction(Long id, User user) {
+        log.info("Deleting recurring transaction ID: {} for user ID: {}", id, user.getId());
+
+        RecurringTransaction recurringTransaction = recurringTransactionRepository.findByIdAndUserId(id, user.getId())
+                .orElseThrow(() -> new ResourceNotFoundException("Recurring transaction not found"));
+
+        recurringTransactionRepository.delete(recurringTransaction);
+        log.info("Recurring transaction deleted successfully with ID: {}", id);
+    }
+
+    /**
+     * Materialize the occurrences due on or before a date for one batch of recurring
+     * transactions (all users), earliest due first, leaving out the skipped ones.
+     * Returns the number of recurring transactions processed; every processed one
+     * advances, so calling this until it returns 0 drains everything due.
+     */
+    @Transactional
+    public int materializeDue(LocalDate date, int batchSize, Collection<Long> skippedIds) {
+        List<RecurringTransaction> due = findDue(date, batchSize, skippedIds);
+
+        int created = 0;
+        for (RecurringTransaction recurringTransaction : due) {
+            created += materialize(recurringTransaction, date);
+        }
+
+        if (!due.isEmpty()) {
+            log.info("Materialized {} occurrence(s) of {} recurring transaction(s)", created, due.size());
+        }
+        return due.size();
+    }
+
+    /**
+     * IDs of the next batch materializeDue would process, for retrying a failed batch
+     * one recurring transaction at a time
+     */
+    @Transactional(readOnly = true)
+    public List<Long> findDueIds(LocalDate date, int batchSize, Collection<Long> skippedIds) {
+        return findDue(date, batchSize, skippedIds).stream()
+                .map(RecurringTransaction::getId)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Materialize the occurrences of one recurring transaction due on or before a date,
+     * in its own database transaction. Returns the number of occurrences recorded.
+     */
+    @Transactional
+    public int materializeOne(Long id, LocalDate date) {
+        return recurringTransactionRepository.findById(id)
+                .filter(recurringTransaction -> Boolean.TRUE.equals(recurringTransaction.getIsActive()))
+                .map(recurringTransaction -> materialize(recurringTransaction, date))
+                .orElse(0);
+    }
+
+    private List<RecurringTransaction> findDue(LocalDate date, int batchSize, Collection<Long> skippedIds) {
+        PageRequest page = PageRequest.of(0, batchSize);
+        // NOT IN () is not valid SQL, so the exclusion only applies once something was skipped
+        return skippedIds.isEmpty()
+                ? recurringTransactionRepository.findDue(date, page)
+                : recurringTransactionRepository.findDueExcluding(date, skippedIds, page);
+    }
+
+    /**
+     * Record the occurrences of one recurring transaction due on or before a date
+     * (at most MAX_OCCURRENCES_PER_BATCH) and advance it past them
+     */
+    private int materialize(RecurringTransaction recurringTransaction, LocalDate date) {
+        List<LocalDate> dates = new ArrayList<>();
+        while (recurringTransaction.getNextOccurrenceDate() != null
+                && !recurringTransaction.getNextOccurrenceDate().isAfter(date)
+                && dates.size() < MAX_OCCURRENCES_PER_BATCH) {
+            dates.add(recurringTransaction.getNextOccurrenceDate());
+            advance(recurringTransaction);
+        }
+        if (!dates.isEmpty()) {
+            transactionService.saveRecurringOccurrences(recurringTransaction, dates);
+        }
+        return dates.size();
+    }
+
+    /**
+     * Date of the occurrence with the given index (0 = start date). Computed from the
+     * start date rather than the previous occurrence, so monthly series starting on the
+     * 31st fall on each month's last day without drifting.
+     */
+    static LocalDate occurrenceDate(RecurrenceFrequency frequency, int interval, LocalDate startDate, int index) {
+        long steps = (long) interval * index;
+        return switch (frequency) {
+            case DAILY -> startDate.plusDays(steps);
+            case WEEKLY -> startDate.plusWeeks(steps);
+            case MONTHLY -> startDate.plusMonths(steps);
+            case YEARLY -> startDate.plusYears(steps);
+        };
+    }
+
+    /**
+     * Move past the next occurrence
+     */
+    private static void advance(RecurringTransaction recurringTransaction) {
+        recurringTransaction.setOccurrenceCount(recurringTransaction.getOccurrenceCount() + 1);
+        refreshNextOccurrence(recurringTransaction);
+    }
+
+    /**
+     * Recompute the next occurrence date from the schedule, end date and occurrence count
+     */
+    private static void refreshNextOccurrence(RecurringTransaction recurringTransaction) {
+        LocalDate next = occurrenceDate(
+            recurringTransaction.getFrequency(),
+            recurringTransaction.getInterval(),
+            recurringTransaction.getStartDate(),
+            recurringTransaction.getOccurrenceCount()
+        );
+        LocalDate endDate = recurringTransaction.getEndDate();
+        recurringTransaction.setNextOccurrenceDate(endDate != null && next.isAfter(endDate) ? null : next);
+    }
+
+    private static void validateSchedule(RecurringTransactionRequest request) {
+        if (request.getStartDate().isBefore(LocalDate.now())) {
+            throw new InvalidRequestException("Start date cannot be in the past");
+        }
+        if (request.getEndDate() != null && request.getEndDate().isBefore(request.getStartDate())) {
+            throw new InvalidRequestException("End date cannot be before start date");
+        }
+    }
+
+    /**
+     * Validate and copy the non-schedule fields of a request onto a recurring transaction
+     */
+    private CategoryCache.CachedCategory applyRequest(RecurringTransaction recurringTransaction,
+                                                      RecurringTransactionRequest request, User user) {
+        CategoryCache.CachedCategory category = categoryCache.findAvailableToUser(request.getCategoryId(), user.getId())
+                .orElseThrow(() -> new ResourceNotFoundException("Category not found or not available"));
+        if (!category.type().name().equals(request.getType().name())) {
+            throw new InvalidRequestException(
+                String.format("Category type (%s) does not match transaction type (%s)",
+                    category.type(), request.getType())
+            );
+        }
+
+        if (recurringTransaction.getCategory() == null || !Objects.equals(recurringTransaction.getCategory().getId(), category.id())) {
+            recurringTransaction.setCategory(categoryRepository.getReferenceById(category.id()));
+        }
+        recurringTransaction.setType(request.getType());
+        recurringTransaction.setAmount(request.getAmount());
+        recurringTransaction.setDescription(request.getDescription());
+        recurringTransaction.setPaymentMethod(request.getPaymentMethod());
+        recurringTransaction.setEndDate(request.getEndDate());
+        refreshNextOccurrence(recurringTransaction);
+        return category;
+    }
+
+    /**
+     * Map RecurringTransaction entity to RecurringTransactionResponse DTO
+     */
+    private RecurringTransactionResponse mapToResponse(RecurringTransaction recurringTransaction) {
+        return mapToResponse(recurringTransaction, recurringTransaction.getCategory().getName());
+    }
+
+    /**
+     * Map RecurringTransaction entity to RecurringTransactionResponse DTO using a known category name
+     */
+    private RecurringTransactionResponse mapToResponse(RecurringTransaction recurringTransaction, String categoryName) {
+        RecurringTransactionResponse response = new RecurringTransactionResponse();
+        response.setId(recurringTransaction.getId());
+        response.setType(recurringTransaction.getType());
+        response.setCategoryId(recurringTransaction.getCategory().getId());
+        response.setCategoryName(categoryName);
+        response.setAmount(recurringTransaction.getAmount());
+        response.setDescription(recurringTransaction.getDescription());
+        response.setPaymentMethod(recurringTransaction.getPaymentMethod());
+        response.setFrequency(recurringTransaction.getFrequency());
+        response.setInterval(recurringTransaction.getInterval());
+        response.setStartDate(recurringTransaction.getStartDate());
+        response.setEndDate(recurringTransaction.getEndDate());
+        response.setNextOccurrenceDate(recurringTransaction.getNextOccurrenceDate());
+        response.setActive(recurringTransaction.getIsActive());
+        response.setCreatedAt(recurringTransaction.getCreatedAt());
+        return response;
+    }
+}
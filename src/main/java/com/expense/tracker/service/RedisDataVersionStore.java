@@ -0,0 +1,45 @@
+package com.expense.tracker.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Redis Data Version Store
+ *
+ * Shared store for multi-node deployments (cache.data-versions.store=redis). Like the
+ * in-memory store it draws versions from one global counter ("data-version:counter"),
+ * and a user whose key is missing (never written, or evicted by Redis) reports the
+ * counter, which is at least every version the user was ever given.
+ */
+@Component
+@ConditionalOnProperty(name = "cache.data-versions.store", havingValue = "redis")
+@RequiredArgsConstructor
+public class RedisDataVersionStore implements DataVersionStore {
+
+    private static final String COUNTER_KEY = "data-version:counter";
+    private static final String KEY_PREFIX = "data-version:user:";
+
+    private final StringRedisTemplate redisTemplate;
+
+    @Override
+    public String getVersion(String email) {
+        String version = redisTemplate.opsForValue().get(KEY_PREFIX + email);
+        if (version == null) {
+            version = redisTemplate.opsForValue().get(COUNTER_KEY);
+        }
+        return version != null ? version : "0";
+    }
+
+    @Override
+    public void increment(String email) {
+        Long version = redisTemplate.opsForValue().increment(COUNTER_KEY);
+        redisTemplate.opsForValue().set(KEY_PREFIX + email, Long.toString(version));
+    }
+
+    @Override
+    public boolean isShared() {
+        return true;
+    }
+}
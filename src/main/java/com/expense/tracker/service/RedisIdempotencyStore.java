@@ -0,0 +1,64 @@
+package com.expense.tracker.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Redis Idempotency Store
+ *
+ * Shared store for multi-node deployments (idempotency.store=redis). Records are
+ * kept as JSON under "idempotency:" keys and expire through the Redis TTL.
+ */
+@Component
+@ConditionalOnProperty(name = "idempotency.store", havingValue = "redis")
+@RequiredArgsConstructor
+public class RedisIdempotencyStore implements IdempotencyStore {
+
+    private static final String KEY_PREFIX = "idempotency:";
+
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public IdempotencyRecord putIfAbsent(String key, IdempotencyRecord record, Duration ttl) {
+        Boolean stored = redisTemplate.opsForValue().setIfAbsent(KEY_PREFIX + key, toJson(record), ttl);
+        if (Boolean.TRUE.equals(stored)) {
+            return null;
+        }
+        String existing = redisTemplate.opsForValue().get(KEY_PREFIX + key);
+        // The key may have expired in between; treat it as still in progress rather than run twice
+        return existing != null ? fromJson(existing) : IdempotencyRecord.inProgress(record.requestHash());
+    }
+
+    @Override
+    public void put(String key, IdempotencyRecord record, Duration ttl) {
+        redisTemplate.opsForValue().set(KEY_PREFIX + key, toJson(record), ttl);
+    }
+
+    @Override
+    public void remove(String key) {
+        redisTemplate.delete(KEY_PREFIX + key);
+    }
+
+    private String toJson(IdempotencyRecord record) {
+        try {
+            return objectMapper.writeValueAsString(record);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize idempotency record", e);
+        }
+    }
+
+    private IdempotencyRecord fromJson(String json) {
+        try {
+            return objectMapper.readValue(json, IdempotencyRecord.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot deserialize idempotency record", e);
+        }
+    }
+}
@@ -17,6 +17,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
@@ -58,7 +59,9 @@ public class ReportService {
         BigDecimal totalIncome = (BigDecimal) summaryData[0];
         BigDecimal totalExpenses = (BigDecimal) summaryData[1];
         Long transactionCount = ((Number) summaryData[2]).longValue();
-        BigDecimal averageAmount = (BigDecimal) summaryData[3];
+        // AVG comes back as a Double from Hibernate, not as the column's BigDecimal
+        BigDecimal averageAmount = summaryData[3] instanceof BigDecimal average ? average
+                : BigDecimal.valueOf(((Number) summaryData[3]).doubleValue()).setScale(2, RoundingMode.HALF_UP);
         
         // Get largest expense
         Transaction largestExpenseTransaction = transactionRepository
@@ -79,12 +82,14 @@ public class ReportService {
     }
 
     /**
-     * Get category-wise expense report
+     * Get category-wise expense report rolled up to a level of the category hierarchy
+     * (0 = top-level categories). Without a depth the report is not rolled up.
      */
     @Transactional(readOnly = true)
-    @Cacheable(value = "categoryWiseReports", key = "#user.id + '-' + #month + '-' + #year")
-    public CategoryWiseResponse getCategoryWiseReport(User user, Integer month, Integer year) {
-        log.info("Generating category-wise report for user ID: {}, month: {}, year: {}", user.getId(), month, year);
+    @Cacheable(value = "categoryWiseReports", key = "#user.id + '-' + #month + '-' + #year + '-' + #depth")
+    public CategoryWiseResponse getCategoryWiseReport(User user, Integer month, Integer year, Integer depth) {
+        log.info("Generating category-wise report for user ID: {}, month: {}, year: {}, depth: {}",
+                user.getId(), month, year, depth);
         
         // Use current month/year if not provided
         LocalDate now = LocalDate.now();
@@ -95,9 +100,22 @@ public class ReportService {
             year = now.getYear();
         }
         
-        // Get category-wise data
-        List<Object[]> categoryData = transactionRepository.getCategoryWiseExpenseReport(user.getId(), month, year);
+        if (depth != null && depth < 0) {
+            throw new InvalidRequestException("Depth cannot be negative");
+        }
+        
+        // Get category-wise data, rolled up through the category closure table
+        List<Object[]> categoryData = depth == null
+                ? transactionRepository.getCategoryWiseExpenseReport(user.getId(), month, year)
+                : transactionRepository.getCategoryWiseExpenseReportAtDepth(user.getId(), month, year, depth);
         
+        return toCategoryWiseResponse(categoryData, month, year);
+    }
+
+    /**
+     * Build the category-wise response from (categoryId, name, totalAmount, count) rows
+     */
+    private CategoryWiseResponse toCategoryWiseResponse(List<Object[]> categoryData, Integer month, Integer year) {
         // Calculate total expenses
         BigDecimal totalExpenses = categoryData.stream()
                 .map(data -> (BigDecimal) data[2])
@@ -208,6 +226,7 @@ public class ReportService {
         response.setTransactionDate(transaction.getTransactionDate());
         response.setDescription(transaction.getDescription());
         response.setPaymentMethod(transaction.getPaymentMethod());
+        response.setRecurringTransactionId(transaction.getRecurringTransactionId());
         response.setCreatedAt(transaction.getCreatedAt());
         response.setUpdatedAt(transaction.getUpdatedAt());
         return response;
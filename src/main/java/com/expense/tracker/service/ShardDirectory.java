@@ -0,0 +1,214 @@
+package com.expense.tracker.service;
+
+import com.expense.tracker.config.ShardRoutingDataSource;
+import com.expense.tracker.config.ShardingProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Shard Directory
+ *
+ * Records which shard each user's data lives on (shard_directory table in the global
+ * database). A user is placed by the consistent hash ring on first use and pinned
+ * there, so adding shards never moves existing users implicitly; they move only
+ * through ShardMigrationService, which marks them as migrating meanwhile.
+ *
+ * Each shard holds a copy of the row of every user placed on it, which its per-user
+ * tables reference, refreshed whenever the global row changes (see refreshUser). Lookups
+ * by email are cached for sharding.directory-cache-ttl in a bounded LRU map (see
+ * PerUserCache; a lookup racing a change is not kept), which is how long other nodes
+ * may take to see a migration; every change to an assignment bumps its version, which
+ * ShardWriteFence checks writes against meanwhile.
+ */
+@Component
+@ConditionalOnProperty(name = "sharding.enabled", havingValue = "true")
+@Slf4j
+public class ShardDirectory {
+
+    /**
+     * Where a user's data lives
+     */
+    public record Assignment(Long userId, String shardId, boolean migrating, long version) {
+    }
+
+    private record CachedAssignment(Assignment assignment, long loadedAt) {
+    }
+
+    private static final RowMapper<Assignment> ASSIGNMENT_MAPPER = (rs, rowNum) -> new Assignment(
+            rs.getLong("user_id"), rs.getString("shard_id"), rs.getBoolean("migrating"), rs.getLong("version"));
+
+    private final JdbcTemplate globalJdbcTemplate;
+    private final ShardRoutingDataSource shards;
+    private final ShardRouter shardRouter;
+    private final ShardingProperties properties;
+
+    @Value("${cache.shard-directory.max-users:100000}")
+    private int maxUsers = 100000;
+
+    private final PerUserCache<String, CachedAssignment> assignmentsByEmail = new PerUserCache<>(() -> maxUsers);
+
+    public ShardDirectory(@Qualifier("globalDataSource") DataSource globalDataSource,
+                          ShardRoutingDataSource shards,
+                          ShardRouter shardRouter,
+                          ShardingProperties properties) {
+        this.globalJdbcTemplate = new JdbcTemplate(globalDataSource);
+        this.shards = shards;
+        this.shardRouter = shardRouter;
+        this.properties = properties;
+    }
+
+    /**
+     * The assignment of an active user, placing them on first use; empty if there is no such user
+     */
+    public Optional<Assignment> resolve(String email) {
+        long ttl = properties.getDirectoryCacheTtl().toNanos();
+        CachedAssignment cached = assignmentsByEmail.getOrLoad(email,
+                entry -> System.nanoTime() - entry.loadedAt() < ttl,
+                this::load);
+        return Optional.ofNullable(cached).map(CachedAssignment::assignment);
+    }
+
+    private CachedAssignment load(String email) {
+        List<Long> userIds = globalJdbcTemplate.queryForList(
+                "SELECT id FROM users WHERE email = ? AND is_active = TRUE", Long.class, email);
+        if (userIds.isEmpty()) {
+            return null;
+        }
+        Long userId = userIds.get(0);
+        Assignment assignment = find(userId).orElseGet(() -> assign(userId, shardRouter.placementOf(userId)));
+        return new CachedAssignment(assignment, System.nanoTime());
+    }
+
+    /**
+     * The current assignment of a user, bypassing the cache
+     */
+    public Optional<Assignment> find(Long userId) {
+        return globalJdbcTemplate.query(
+                "SELECT user_id, shard_id, migrating, version FROM shard_directory WHERE user_id = ?",
+                ASSIGNMENT_MAPPER, userId).stream().findFirst();
+    }
+
+    /**
+     * All assignments, for rebalancing
+     */
+    public List<Assignment> findAll() {
+        return globalJdbcTemplate.query(
+                "SELECT user_id, shard_id, migrating, version FROM shard_directory ORDER BY user_id", ASSIGNMENT_MAPPER);
+    }
+
+    /**
+     * Pin a user to a shard, giving the shard its copy of the user row first
+     */
+    Assignment assign(Long userId, String shardId) {
+        copyUser(userId, shardId);
+        try {
+            globalJdbcTemplate.update(
+                    "INSERT INTO shard_directory (user_id, shard_id, migrating, version, assigned_at) VALUES (?, ?, FALSE, 0, CURRENT_TIMESTAMP)",
+                    userId, shardId);
+            log.info("Placed user ID {} on shard {}", userId, shardId);
+            return new Assignment(userId, shardId, false, 0);
+        } catch (DuplicateKeyException e) {
+            // Placed concurrently by another request or node
+            return find(userId).orElseThrow(() -> e);
+        }
+    }
+
+    /**
+     * Freeze or unfreeze a user's requests while their data is moved; returns the new version of the assignment
+     */
+    long setMigrating(Long userId, boolean migrating) {
+        globalJdbcTemplate.update("UPDATE shard_directory SET migrating = ?, version = version + 1 WHERE user_id = ?",
+                migrating, userId);
+        evictAll();
+        return find(userId).map(Assignment::version)
+                .orElseThrow(() -> new IllegalStateException("User ID " + userId + " has not been placed on a shard"));
+    }
+
+    /**
+     * Point a user at the shard their data was moved to and unfreeze them
+     */
+    void moveTo(Long userId, String shardId) {
+        globalJdbcTemplate.update(
+                "UPDATE shard_directory SET shard_id = ?, migrating = FALSE, version = version + 1, assigned_at = CURRENT_TIMESTAMP WHERE user_id = ?",
+                shardId, userId);
+        evictAll();
+    }
+
+    /**
+     * Give a shard its copy of a user row and the user's write fence, unless it already has them
+     */
+    void copyUser(Long userId, String shardId) {
+        JdbcTemplate shardJdbcTemplate = new JdbcTemplate(shards.shard(shardId));
+        Integer existing = shardJdbcTemplate.queryForObject("SELECT COUNT(*) FROM users WHERE id = ?", Integer.class, userId);
+        if (existing == null || existing == 0) {
+            try {
+                ShardRowCopier.copy(globalJdbcTemplate, shardJdbcTemplate, "users", "id = ?", Set.of(), userId);
+            } catch (DuplicateKeyException e) {
+                log.debug("User ID {} was copied to shard {} concurrently", userId, shardId);
+            }
+        }
+        if (!hasFence(shardJdbcTemplate, userId)) {
+            try {
+                shardJdbcTemplate.update("INSERT INTO shard_fences (user_id, version) VALUES (?, 0)", userId);
+            } catch (DuplicateKeyException e) {
+                log.debug("The write fence of user ID {} was created on shard {} concurrently", userId, shardId);
+            }
+        }
+    }
+
+    /**
+     * Reject writes to a shard routed with an assignment older than the given version; waits
+     * for writes that passed the fence already to commit
+     */
+    void raiseFence(Long userId, String shardId, long version) {
+        JdbcTemplate shardJdbcTemplate = new JdbcTemplate(shards.shard(shardId));
+        int raised = shardJdbcTemplate.update(
+                "UPDATE shard_fences SET version = ? WHERE user_id = ? AND version < ?", version, userId, version);
+        if (raised == 0 && !hasFence(shardJdbcTemplate, userId)) {
+            try {
+                shardJdbcTemplate.update("INSERT INTO shard_fences (user_id, version) VALUES (?, ?)", userId, version);
+            } catch (DuplicateKeyException e) {
+                raiseFence(userId, shardId, version);
+            }
+        }
+    }
+
+    private static boolean hasFence(JdbcTemplate shardJdbcTemplate, Long userId) {
+        Integer existing = shardJdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM shard_fences WHERE user_id = ?", Integer.class, userId);
+        return existing != null && existing > 0;
+    }
+
+    /**
+     * Bring the shard copies of a user row up to date once the current transaction commits
+     * (or right away outside one), e.g. after a profile or password change
+     */
+    public void refreshUser(Long userId) {
+        PerUserCache.afterCommit(() -> refreshUserNow(userId));
+    }
+
+    private void refreshUserNow(Long userId) {
+        for (String shardId : properties.getShards().keySet()) {
+            try {
+                ShardRowCopier.refresh(globalJdbcTemplate, new JdbcTemplate(shards.shard(shardId)), "users", "id", userId);
+            } catch (RuntimeException e) {
+                log.error("Could not refresh the copy of user ID {} on shard {}", userId, shardId, e);
+            }
+        }
+    }
+
+    private void evictAll() {
+        assignmentsByEmail.evictAll();
+    }
+}
@@ -0,0 +1,68 @@
+package com.expense.tracker.service;
+
+import com.expense.tracker.service.ShardMigrationService.MigrationResult;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Shard Migration Runner
+ *
+ * Command-line entry point of ShardMigrationService; runs once at startup and exits:
+ *
+ *   java -jar expense-tracker.jar --spring.main.web-application-type=none \
+ *       --sharding.migrate.enabled=true --sharding.migrate.user-id=42 --sharding.migrate.to=shard-b
+ *
+ * or, to move users the hash ring places elsewhere after adding shards,
+ * --sharding.migrate.rebalance=true [--sharding.migrate.limit=1000].
+ */
+@Component
+@ConditionalOnProperty(name = {"sharding.enabled", "sharding.migrate.enabled"}, havingValue = "true")
+@RequiredArgsConstructor
+@Slf4j
+public class ShardMigrationRunner implements ApplicationRunner {
+
+    private final ShardMigrationService shardMigrationService;
+    private final ConfigurableApplicationContext applicationContext;
+
+    @Value("${sharding.migrate.user-id:#{null}}")
+    private Long userId;
+
+    @Value("${sharding.migrate.to:#{null}}")
+    private String targetShard;
+
+    @Value("${sharding.migrate.rebalance:false}")
+    private boolean rebalance;
+
+    @Value("${sharding.migrate.limit:1000}")
+    private int limit = 1000;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        int exitCode = 0;
+        try {
+            if (rebalance) {
+                List<MigrationResult> results = shardMigrationService.rebalance(limit);
+                log.info("Rebalanced {} users", results.size());
+            } else if (userId != null && targetShard != null) {
+                shardMigrationService.moveUser(userId, targetShard);
+            } else {
+                log.error("Set sharding.migrate.user-id and sharding.migrate.to, or sharding.migrate.rebalance=true");
+                exitCode = 2;
+            }
+        } catch (RuntimeException e) {
+            log.error("Shard migration failed", e);
+            exitCode = 1;
+        }
+        int code = exitCode;
+        System.exit(SpringApplication.exit(applicationContext, () -> code));
+    }
+}
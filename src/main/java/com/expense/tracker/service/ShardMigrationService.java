@@ -0,0 +1,160 @@
+package com.expense.tracker.service;
+
+import com.expense.tracker.config.ShardRoutingDataSource;
+import com.expense.tracker.service.ShardDirectory.Assignment;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Shard Migration Service
+ *
+ * Moves a user's data from their shard to another one and rebalances users whose
+ * pinned shard is no longer where the hash ring places them (after adding shards).
+ *
+ * A move freezes the user's requests (503 from ShardBindingFilter), raises the user's
+ * write fence on the source to the frozen assignment's version (see ShardWriteFence),
+ * so nodes still routing by a cached assignment cannot write there any more, copies
+ * the rows with their IDs in one transaction on the target, repoints the directory and
+ * finally deletes the rows from the source. Shards hand out IDs from separate ranges (see
+ * ShardSchemaInitializer and db/mysql/shard-directory.sql), so copied IDs never collide.
+ */
+@Service
+@ConditionalOnProperty(name = "sharding.enabled", havingValue = "true")
+@RequiredArgsConstructor
+@Slf4j
+public class ShardMigrationService {
+
+    /**
+     * Per-user tables in copy order (referenced rows first) with the condition selecting a user's rows
+     */
+    private static final Map<String, String> USER_TABLES = new LinkedHashMap<>();
+
+    static {
+        USER_TABLES.put("categories", "user_id = ?");
+        USER_TABLES.put("category_closure", "descendant_id IN (SELECT id FROM categories WHERE user_id = ?)");
+        USER_TABLES.put("recurring_transactions", "user_id = ?");
+        USER_TABLES.put("transactions", "user_id = ?");
+        USER_TABLES.put("budgets", "user_id = ?");
+        USER_TABLES.put("categorization_rules", "user_id = ?");
+        USER_TABLES.put("sync_tombstones", "user_id = ?");
+        USER_TABLES.put("transaction_archive_segments", "user_id = ?");
+    }
+
+    /**
+     * Outcome of moving one user
+     */
+    public record MigrationResult(Long userId, String fromShard, String toShard, Map<String, Integer> rowsCopied) {
+    }
+
+    private final ShardDirectory shardDirectory;
+    private final ShardRoutingDataSource shards;
+    private final ShardRouter shardRouter;
+
+    /**
+     * Move a user's data to another shard
+     */
+    public MigrationResult moveUser(Long userId, String targetShard) {
+        shards.shard(targetShard);
+        Assignment assignment = shardDirectory.find(userId)
+                .orElseThrow(() -> new IllegalArgumentException("User ID " + userId + " has not been placed on a shard"));
+        String sourceShard = assignment.shardId();
+        if (sourceShard.equals(targetShard)) {
+            throw new IllegalArgumentException("User ID " + userId + " is already on shard " + targetShard);
+        }
+
+        log.info("Moving user ID {} from shard {} to shard {}", userId, sourceShard, targetShard);
+        long version = shardDirectory.setMigrating(userId, true);
+        Map<String, Integer> rowsCopied;
+        try {
+            shardDirectory.raiseFence(userId, sourceShard, version);
+            rowsCopied = copyUserData(userId, sourceShard, targetShard);
+        } catch (RuntimeException e) {
+            log.error("Moving user ID {} failed, leaving them on shard {}", userId, sourceShard, e);
+            try {
+                deleteUserData(userId, targetShard);
+            } catch (RuntimeException cleanupFailure) {
+                e.addSuppressed(cleanupFailure);
+            }
+            shardDirectory.setMigrating(userId, false);
+            throw e;
+        }
+        shardDirectory.moveTo(userId, targetShard);
+
+        try {
+            deleteUserData(userId, sourceShard);
+        } catch (RuntimeException e) {
+            // The user is served from the target already; the source rows are unreachable leftovers
+            log.error("Moved user ID {} but could not delete their rows from shard {}", userId, sourceShard, e);
+        }
+        log.info("Moved user ID {} to shard {}: {}", userId, targetShard, rowsCopied);
+        return new MigrationResult(userId, sourceShard, targetShard, rowsCopied);
+    }
+
+    /**
+     * Move users whose shard differs from their hash ring placement, at most limit of them
+     */
+    public List<MigrationResult> rebalance(int limit) {
+        List<MigrationResult> results = new ArrayList<>();
+        for (Assignment assignment : shardDirectory.findAll()) {
+            if (results.size() >= limit) {
+                break;
+            }
+            String placement = shardRouter.placementOf(assignment.userId());
+            if (!placement.equals(assignment.shardId())) {
+                results.add(moveUser(assignment.userId(), placement));
+            }
+        }
+        log.info("Rebalancing moved {} users", results.size());
+        return results;
+    }
+
+    private Map<String, Integer> copyUserData(Long userId, String sourceShard, String targetShard) {
+        JdbcTemplate source = new JdbcTemplate(shards.shard(sourceShard));
+        DataSource targetDataSource = shards.shard(targetShard);
+        JdbcTemplate target = new JdbcTemplate(targetDataSource);
+        shardDirectory.copyUser(userId, targetShard);
+
+        return new TransactionTemplate(new DataSourceTransactionManager(targetDataSource)).execute(status -> {
+            Map<String, Integer> copied = new LinkedHashMap<>();
+            USER_TABLES.forEach((table, condition) -> copied.put(table, table.equals("categories")
+                    // Parents are set once all of the user's categories exist on the target
+                    ? ShardRowCopier.copy(source, target, table, condition, Set.of("parent_id"), userId)
+                    : ShardRowCopier.copy(source, target, table, condition, Set.of(), userId)));
+            List<Object[]> parents = new ArrayList<>();
+            source.query("SELECT parent_id, id FROM categories WHERE user_id = ? AND parent_id IS NOT NULL",
+                    rs -> {
+                        parents.add(new Object[] { rs.getLong("parent_id"), rs.getLong("id") });
+                    }, userId);
+            target.batchUpdate("UPDATE categories SET parent_id = ? WHERE id = ?", parents);
+            return copied;
+        });
+    }
+
+    private void deleteUserData(Long userId, String shardId) {
+        DataSource dataSource = shards.shard(shardId);
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        new TransactionTemplate(new DataSourceTransactionManager(dataSource)).executeWithoutResult(status -> {
+            List<String> tables = new ArrayList<>(USER_TABLES.keySet());
+            for (int i = tables.size() - 1; i >= 0; i--) {
+                String table = tables.get(i);
+                if (table.equals("categories")) {
+                    jdbcTemplate.update("UPDATE categories SET parent_id = NULL WHERE user_id = ?", userId);
+                }
+                jdbcTemplate.update("DELETE FROM " + table + " WHERE " + USER_TABLES.get(table), userId);
+            }
+            jdbcTemplate.update("DELETE FROM users WHERE id = ?", userId);
+        });
+    }
+}
@@ -0,0 +1,191 @@
+package com.expense.tracker.service;
+
+import com.expense.tracker.config.ShardingProperties;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Shard Router
+ *
+ * Knows the configured shards and which one the current thread works on. With
+ * sharding.enabled=true every connection is taken from the shard bound with
+ * runOn()/callOn() (see ShardRoutingDataSource), or from the global database when
+ * none is bound; requests are bound to the caller's shard by ShardBindingFilter.
+ *
+ * Jobs that cover all users run once per shard with runOnEachShard(), and
+ * cross-shard aggregates query all shards in parallel with scatterGather().
+ * Without sharding both simply run once against the single database.
+ */
+@Component
+@Slf4j
+public class ShardRouter {
+
+    public static final String DEFAULT_SHARD = "default";
+
+    private static final ThreadLocal<String> CURRENT_SHARD = new ThreadLocal<>();
+
+    private final ShardingProperties properties;
+    private final ConsistentHashRing ring;
+    private final ExecutorService scatterGatherExecutor;
+
+    public ShardRouter(ShardingProperties properties) {
+        this.properties = properties;
+        if (properties.isEnabled()) {
+            if (properties.getShards().isEmpty()) {
+                throw new IllegalStateException("sharding.enabled=true but no sharding.shards.* are configured");
+            }
+            this.ring = new ConsistentHashRing(properties.getShards().keySet(), properties.getVirtualNodes());
+            AtomicInteger threads = new AtomicInteger();
+            this.scatterGatherExecutor = Executors.newFixedThreadPool(properties.getShards().size(), task -> {
+                Thread thread = new Thread(task, "shard-scatter-gather-" + threads.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        } else {
+            this.ring = null;
+            this.scatterGatherExecutor = null;
+        }
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    /**
+     * The configured shard IDs, in configuration order (empty without sharding)
+     */
+    public List<String> shardIds() {
+        return isEnabled() ? List.copyOf(properties.getShards().keySet()) : List.of();
+    }
+
+    /**
+     * Where the hash ring places a user; the shard directory pins this on first use
+     */
+    public String placementOf(Long userId) {
+        if (!isEnabled()) {
+            return DEFAULT_SHARD;
+        }
+        return ring.shardFor(userId);
+    }
+
+    /**
+     * The shard bound to the current thread, null for the global database
+     */
+    public String currentShard() {
+        return CURRENT_SHARD.get();
+    }
+
+    /**
+     * Bind a shard to the current thread until the returned binding is closed
+     */
+    public Binding bind(String shardId) {
+        String previous = CURRENT_SHARD.get();
+        CURRENT_SHARD.set(shardId);
+        return () -> {
+            if (previous == null) {
+                CURRENT_SHARD.remove();
+            } else {
+                CURRENT_SHARD.set(previous);
+            }
+        };
+    }
+
+    /**
+     * Run work with all its connections taken from a shard
+     */
+    public <T> T callOn(String shardId, Supplier<T> work) {
+        try (Binding binding = bind(shardId)) {
+            return work.get();
+        }
+    }
+
+    public void runOn(String shardId, Runnable work) {
+        try (Binding binding = bind(shardId)) {
+            work.run();
+        }
+    }
+
+    /**
+     * Run a job once on every shard, one after another; a shard that fails does not stop the others
+     */
+    public void runOnEachShard(Runnable job) {
+        if (!isEnabled()) {
+            job.run();
+            return;
+        }
+        RuntimeException failure = null;
+        for (String shardId : shardIds()) {
+            try {
+                runOn(shardId, job);
+            } catch (RuntimeException e) {
+                log.error("Job failed on shard {}", shardId, e);
+                failure = e;
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    /**
+     * Run a query on every shard in parallel and collect the results by shard ID
+     */
+    public <T> Map<String, T> scatterGather(Supplier<T> query) {
+        Map<String, T> results = new LinkedHashMap<>();
+        if (!isEnabled()) {
+            results.put(DEFAULT_SHARD, query.get());
+            return results;
+        }
+        List<String> shardIds = shardIds();
+        List<Future<T>> futures = new ArrayList<>(shardIds.size());
+        for (String shardId : shardIds) {
+            futures.add(scatterGatherExecutor.submit(() -> callOn(shardId, query)));
+        }
+        long deadline = System.nanoTime() + properties.getScatterGatherTimeout().toNanos();
+        try {
+            for (int i = 0; i < shardIds.size(); i++) {
+                results.put(shardIds.get(i), futures.get(i).get(deadline - System.nanoTime(), TimeUnit.NANOSECONDS));
+            }
+            return results;
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Shard query failed: " + e.getCause().getMessage(), e.getCause());
+        } catch (TimeoutException e) {
+            throw new IllegalStateException("Shard query timed out after " + properties.getScatterGatherTimeout(), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while querying shards", e);
+        } finally {
+            futures.forEach(future -> future.cancel(true));
+        }
+    }
+
+    /**
+     * A shard bound to the current thread; closing it restores the previous one
+     */
+    @FunctionalInterface
+    public interface Binding extends AutoCloseable {
+        @Override
+        void close();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (scatterGatherExecutor != null) {
+            scatterGatherExecutor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.expense.tracker.service;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Shard Row Copier
+ *
+ * Copies the rows of a table matching a condition from one database to another,
+ * column for column (IDs included), in JDBC batches. Used to give a shard its copy
+ * of a user row, to keep that copy current and to move a user's data between shards.
+ */
+public final class ShardRowCopier {
+
+    private static final int BATCH_SIZE = 500;
+
+    private ShardRowCopier() {
+    }
+
+    /**
+     * Copy matching rows, writing NULL into the given columns; returns the number of rows copied
+     */
+    public static int copy(JdbcTemplate source, JdbcTemplate target, String table, String condition,
+                    Set<String> nulledColumns, Object... arguments) {
+        List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+        String[] insert = new String[1];
+        int[] copied = new int[1];
+        source.query("SELECT * FROM " + table + " WHERE " + condition, (ResultSet rs) -> {
+            ResultSetMetaData metaData = rs.getMetaData();
+            if (insert[0] == null) {
+                insert[0] = insertStatement(table, metaData);
+            }
+            Object[] row = new Object[metaData.getColumnCount()];
+            for (int i = 0; i < row.length; i++) {
+                boolean nulled = nulledColumns.contains(metaData.getColumnLabel(i + 1).toLowerCase(Locale.ROOT));
+                row[i] = nulled ? null : rs.getObject(i + 1);
+            }
+            batch.add(row);
+            if (batch.size() == BATCH_SIZE) {
+                target.batchUpdate(insert[0], batch);
+                copied[0] += batch.size();
+                batch.clear();
+            }
+        }, arguments);
+        if (!batch.isEmpty()) {
+            target.batchUpdate(insert[0], batch);
+            copied[0] += batch.size();
+        }
+        return copied[0];
+    }
+
+    /**
+     * Overwrite the target's copy of a row with the source's, column for column; returns
+     * false if either side has no such row
+     */
+    public static boolean refresh(JdbcTemplate source, JdbcTemplate target, String table, String idColumn, Object id) {
+        List<Map<String, Object>> rows = source.queryForList("SELECT * FROM " + table + " WHERE " + idColumn + " = ?", id);
+        if (rows.isEmpty()) {
+            return false;
+        }
+        List<String> assignments = new ArrayList<>();
+        List<Object> arguments = new ArrayList<>();
+        rows.get(0).forEach((column, value) -> {
+            if (!column.equalsIgnoreCase(idColumn)) {
+                assignments.add(column + " = ?");
+                arguments.add(value);
+            }
+        });
+        arguments.add(id);
+        return target.update("UPDATE " + table + " SET " + String.join(", ", assignments) + " WHERE " + idColumn + " = ?",
+                arguments.toArray()) > 0;
+    }
+
+    private static String insertStatement(String table, ResultSetMetaData metaData) throws SQLException {
+        List<String> columns = new ArrayList<>();
+        for (int i = 1; i <= metaData.getColumnCount(); i++) {
+            columns.add(metaData.getColumnLabel(i));
+        }
+        return "INSERT INTO " + table + " (" + String.join(", ", columns) + ") VALUES ("
+                + String.join(", ", Collections.nCopies(columns.size(), "?")) + ")";
+    }
+}
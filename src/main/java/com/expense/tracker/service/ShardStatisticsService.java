@@ -0,0 +1,72 @@
+package com.expense.tracker.service;
+
+import com.expense.tracker.dto.response.ShardStatisticsResponse;
+import com.expense.tracker.dto.response.ShardStatisticsResponse.ShardTotals;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Shard Statistics Service
+ *
+ * System-wide admin totals. Each shard is queried in parallel (scatter-gather) and
+ * the per-shard totals are summed; without sharding the single database is queried.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ShardStatisticsService {
+
+    private static final String TOTALS_QUERY = """
+        SELECT
+            (SELECT COUNT(*) FROM users) AS users,
+            (SELECT COUNT(*) FROM transactions WHERE is_deleted = FALSE) AS transactions,
+            (SELECT COALESCE(SUM(amount), 0) FROM transactions WHERE is_deleted = FALSE AND type = 'INCOME') AS total_income,
+            (SELECT COALESCE(SUM(amount), 0) FROM transactions WHERE is_deleted = FALSE AND type = 'EXPENSE') AS total_expense,
+            (SELECT COUNT(*) FROM budgets) AS budgets,
+            (SELECT COUNT(*) FROM categories WHERE user_id IS NOT NULL) AS custom_categories
+        """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ShardRouter shardRouter;
+
+    /**
+     * Gather the totals of every shard
+     */
+    public ShardStatisticsResponse getStatistics() {
+        List<ShardTotals> shards = new ArrayList<>();
+        shardRouter.scatterGather(this::queryTotals).forEach((shardId, totals) -> {
+            totals.setShardId(shardId);
+            shards.add(totals);
+        });
+
+        ShardTotals total = new ShardTotals("all", 0L, 0L, BigDecimal.ZERO, BigDecimal.ZERO, 0L, 0L);
+        for (ShardTotals shard : shards) {
+            total.setUsers(total.getUsers() + shard.getUsers());
+            total.setTransactions(total.getTransactions() + shard.getTransactions());
+            total.setTotalIncome(total.getTotalIncome().add(shard.getTotalIncome()));
+            total.setTotalExpense(total.getTotalExpense().add(shard.getTotalExpense()));
+            total.setBudgets(total.getBudgets() + shard.getBudgets());
+            total.setCustomCategories(total.getCustomCategories() + shard.getCustomCategories());
+        }
+        log.debug("Gathered statistics from {} shards", shards.size());
+        return new ShardStatisticsResponse(total, shards);
+    }
+
+    private ShardTotals queryTotals() {
+        return jdbcTemplate.queryForObject(TOTALS_QUERY, (rs, rowNum) -> new ShardTotals(
+                null,
+                rs.getLong("users"),
+                rs.getLong("transactions"),
+                rs.getBigDecimal("total_income"),
+                rs.getBigDecimal("total_expense"),
+                rs.getLong("budgets"),
+                rs.getLong("custom_categories")
+        ));
+    }
+}
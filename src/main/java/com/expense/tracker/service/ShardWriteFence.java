@@ -0,0 +1,87 @@
+package com.expense.tracker.service;
+
+import com.expense.tracker.exception.UserMigratingException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+/**
+ * Shard Write Fence
+ *
+ * Keeps a node whose directory cache still shows a user as settled from writing to the
+ * shard the user is being moved away from. ShardBindingFilter binds the directory
+ * version the request was routed with; before a read-write transaction commits, the
+ * user's row in that shard's shard_fences table is locked and compared with it.
+ * ShardMigrationService raises the row to the new directory version before copying,
+ * so a write routed with an older version fails with 503 instead of being lost, and
+ * the move waits for writes already past the check to commit.
+ */
+@Component
+@ConditionalOnProperty(name = "sharding.enabled", havingValue = "true")
+@Slf4j
+public class ShardWriteFence implements TransactionExecutionListener {
+
+    private record Fence(Long userId, long version) {
+    }
+
+    private static final ThreadLocal<Fence> CURRENT_FENCE = new ThreadLocal<>();
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ShardWriteFence(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    /**
+     * Check the current thread's writes for a user against a directory version until the returned binding is closed
+     */
+    public ShardRouter.Binding bind(Long userId, long version) {
+        Fence previous = CURRENT_FENCE.get();
+        CURRENT_FENCE.set(new Fence(userId, version));
+        return () -> {
+            if (previous == null) {
+                CURRENT_FENCE.remove();
+            } else {
+                CURRENT_FENCE.set(previous);
+            }
+        };
+    }
+
+    @Override
+    public void afterBegin(TransactionExecution transaction, Throwable beginFailure) {
+        Fence fence = CURRENT_FENCE.get();
+        if (fence == null || beginFailure != null || transaction.isReadOnly()
+                || !transaction.isNewTransaction() || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                if (!readOnly) {
+                    check(fence);
+                }
+            }
+        });
+    }
+
+    /**
+     * Fail if the user's data is being or has been moved since the request was routed
+     */
+    void check(Fence fence) {
+        List<Long> versions = jdbcTemplate.queryForList(
+                "SELECT version FROM shard_fences WHERE user_id = ? FOR UPDATE", Long.class, fence.userId());
+        if (!versions.isEmpty() && versions.get(0) > fence.version()) {
+            log.info("Rejected a write of user ID {} routed with directory version {} (fence at {})",
+                    fence.userId(), fence.version(), versions.get(0));
+            throw new UserMigratingException("Your data is being moved, please retry shortly");
+        }
+    }
+}
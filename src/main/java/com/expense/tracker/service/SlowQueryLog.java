@@ -0,0 +1,231 @@
+package com.expense.tracker.service;
+
+import com.expense.tracker.config.SlowQueryProperties;
+import com.expense.tracker.dto.response.SlowQueryLogResponse;
+import com.expense.tracker.dto.response.SlowQueryLogResponse.SlowExecution;
+import com.expense.tracker.dto.response.SlowQueryLogResponse.SlowQuery;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Slow Query Log
+ *
+ * Keeps the slowest distinct repository statements (by fingerprint: the repository
+ * method and the SQL with IN lists collapsed) up to slow-query.top, and the latest
+ * slow executions in a ring of slow-query.recent. The plan of a kept SELECT is captured
+ * with EXPLAIN on a background thread when it is first seen and again whenever it gets
+ * slower, so a plan regression (a full scan instead of a range) shows next to the time
+ * it cost. EXPLAIN runs on the shard, and with the read-only routing, the statement ran
+ * with, so it plans against the same database (a replica's plan can differ from the
+ * primary's). Bound values are used for EXPLAIN only and are never kept.
+ */
+@Service
+@Slf4j
+public class SlowQueryLog {
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern IN_LIST = Pattern.compile("\\(\\s*\\?(\\s*,\\s*\\?)+\\s*\\)");
+
+    private final SlowQueryProperties properties;
+    private final ObjectProvider<DataSource> dataSource;
+    private final ShardRouter shardRouter;
+    private final Map<String, Statistics> slowest = new LinkedHashMap<>();
+    private final ArrayDeque<SlowExecution> recent = new ArrayDeque<>();
+    private final ThreadPoolExecutor explainExecutor;
+
+    public SlowQueryLog(SlowQueryProperties properties, ObjectProvider<DataSource> dataSource, ShardRouter shardRouter) {
+        this.properties = properties;
+        this.dataSource = dataSource;
+        this.shardRouter = shardRouter;
+        // One thread, a short queue, and plans dropped rather than queued when it is busy
+        this.explainExecutor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(16), task -> {
+                    Thread thread = new Thread(task, "slow-query-explain");
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.DiscardPolicy());
+    }
+
+    public boolean isSlow(long nanos) {
+        return nanos >= properties.getThreshold().toNanos();
+    }
+
+    /**
+     * Record a slow execution; parameterValues are only passed on to EXPLAIN
+     */
+    public void record(String repository, String sql, List<String> parameterTypes, List<Object> parameterValues,
+                       long nanos, long rows) {
+        String normalized = IN_LIST.matcher(WHITESPACE.matcher(sql.trim()).replaceAll(" ")).replaceAll("(?...)");
+        String fingerprint = fingerprint(repository + "|" + normalized);
+        LocalDateTime now = LocalDateTime.now();
+        log.warn("Slow query {} in {}: {} ms, {} rows: {}", fingerprint, repository, millis(nanos), rows, normalized);
+
+        boolean explain;
+        synchronized (this) {
+            recent.addLast(new SlowExecution(fingerprint, repository, millis(nanos), rows, now));
+            while (recent.size() > properties.getRecent()) {
+                recent.removeFirst();
+            }
+
+            Statistics statistics = slowest.computeIfAbsent(fingerprint,
+                    key -> new Statistics(key, repository, normalized, parameterTypes));
+            explain = statistics.executions == 0 || nanos > statistics.maxNanos;
+            statistics.executions++;
+            statistics.totalNanos += nanos;
+            statistics.maxNanos = Math.max(statistics.maxNanos, nanos);
+            statistics.maxRows = Math.max(statistics.maxRows, rows);
+            statistics.lastSeen = now;
+            if (slowest.size() > properties.getTop()) {
+                Statistics fastest = slowest.values().stream()
+                        .min(Comparator.comparingLong(s -> s.maxNanos)).orElseThrow();
+                slowest.remove(fastest.fingerprint);
+                explain &= fastest != statistics;
+            }
+        }
+
+        if (explain && properties.isExplain() && normalized.regionMatches(true, 0, "select", 0, 6)) {
+            List<Object> values = new ArrayList<>(parameterValues);
+            String shardId = shardRouter.currentShard();
+            boolean readOnly = TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+            explainExecutor.execute(() -> shardRouter.runOn(shardId, () -> explain(fingerprint, sql, values, readOnly)));
+        }
+    }
+
+    public synchronized SlowQueryLogResponse snapshot() {
+        List<SlowQuery> queries = slowest.values().stream()
+                .sorted(Comparator.comparingLong((Statistics s) -> s.maxNanos).reversed())
+                .map(s -> new SlowQuery(s.fingerprint, s.repository, s.sql, s.parameterTypes, s.executions,
+                        millis(s.maxNanos), millis(s.totalNanos / s.executions), s.maxRows, s.lastSeen,
+                        s.plan, s.explainedAt))
+                .toList();
+        // Latest first
+        List<SlowExecution> executions = new ArrayList<>(recent);
+        Collections.reverse(executions);
+        return new SlowQueryLogResponse(properties.getThreshold().toMillis(), queries, executions);
+    }
+
+    public synchronized void clear() {
+        slowest.clear();
+        recent.clear();
+    }
+
+    /**
+     * Capture the plan on the shard bound to the calling thread, in a read-only transaction
+     * if the statement ran in one, so it is routed to the same database
+     */
+    private void explain(String fingerprint, String sql, List<Object> values, boolean readOnly) {
+        List<String> plan;
+        try {
+            DataSource target = dataSource.getObject();
+            TransactionTemplate transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(target));
+            transactionTemplate.setReadOnly(readOnly);
+            plan = transactionTemplate.execute(status -> new JdbcTemplate(target).query("EXPLAIN " + sql, statement -> {
+                for (int i = 0; i < values.size(); i++) {
+                    statement.setObject(i + 1, values.get(i));
+                }
+            }, SlowQueryLog::planLines));
+        } catch (RuntimeException e) {
+            plan = List.of("EXPLAIN failed: " + e.getMessage());
+        }
+        synchronized (this) {
+            Statistics statistics = slowest.get(fingerprint);
+            if (statistics != null) {
+                statistics.plan = plan;
+                statistics.explainedAt = LocalDateTime.now();
+            }
+        }
+    }
+
+    /**
+     * A single-column plan (H2) as its lines, a tabular one (MySQL) as column=value rows
+     */
+    private static List<String> planLines(ResultSet resultSet) throws SQLException {
+        List<String> lines = new ArrayList<>();
+        ResultSetMetaData metaData = resultSet.getMetaData();
+        while (resultSet.next()) {
+            if (metaData.getColumnCount() == 1) {
+                lines.addAll(List.of(String.valueOf(resultSet.getObject(1)).split("\\R")));
+                continue;
+            }
+            StringBuilder line = new StringBuilder();
+            for (int column = 1; column <= metaData.getColumnCount(); column++) {
+                Object value = resultSet.getObject(column);
+                if (value != null) {
+                    line.append(line.isEmpty() ? "" : " ").append(metaData.getColumnLabel(column)).append('=').append(value);
+                }
+            }
+            lines.add(line.toString());
+        }
+        return lines;
+    }
+
+    private static String fingerprint(String statement) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(statement.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(hash, 0, 8);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static double millis(long nanos) {
+        return Double.parseDouble(String.format(Locale.ROOT, "%.3f", nanos / 1_000_000.0));
+    }
+
+    @PreDestroy
+    void shutdown() {
+        explainExecutor.shutdownNow();
+    }
+
+    /**
+     * Slow executions of one fingerprint, guarded by the log's lock
+     */
+    private static class Statistics {
+        private final String fingerprint;
+        private final String repository;
+        private final String sql;
+        private final List<String> parameterTypes;
+        private long executions;
+        private long totalNanos;
+        private long maxNanos;
+        private long maxRows;
+        private LocalDateTime lastSeen;
+        private List<String> plan;
+        private LocalDateTime explainedAt;
+
+        Statistics(String fingerprint, String repository, String sql, List<String> parameterTypes) {
+            this.fingerprint = fingerprint;
+            this.repository = repository;
+            this.sql = sql;
+            this.parameterTypes = List.copyOf(parameterTypes);
+        }
+    }
+}
@@ -0,0 +1,204 @@
+package com.expense.tracker.service;
+
+import com.expense.tracker.dto.response.BudgetResponse;
+import com.expense.tracker.enums.SyncEntityType;
+import com.expense.tracker.exception.InvalidRequestException;
+import com.expense.tracker.model.Category;
+import com.expense.tracker.model.SyncTombstone;
+import com.expense.tracker.model.Transaction;
+import com.expense.tracker.model.TransactionArchiveSegment;
+import com.expense.tracker.repository.BudgetRepository;
+import com.expense.tracker.repository.CategoryRepository;
+import com.expense.tracker.repository.SyncTombstoneRepository;
+import com.expense.tracker.repository.TransactionRepository;
+import com.expense.tracker.service.TransactionArchive.ArchivedTransaction;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Sync Service
+ *
+ * Delta-sync for offline clients: returns the transactions, budgets and custom
+ * categories changed since a watermark, plus the IDs of deleted ones, so a client
+ * only downloads what changed instead of re-fetching everything.
+ *
+ * The watermark is an opaque token wrapping a timestamp. The next watermark is set
+ * a little before the moment the changes are read, so rows written by transactions
+ * that were still committing are picked up next time; records in that overlap are
+ * sent twice, which clients handle by upserting by ID.
+ *
+ * Deletion records are kept for sync.tombstone-retention-days; a token older than
+ * that gets a full sync (fullSync=true), after which the client replaces its data.
+ *
+ * Archived active transactions (archive.transactions.max-age-years) stay part of the
+ * synced data, as they do of listings: a full sync includes all of them, a delta those
+ * changed since the token that were archived since. Soft-deleted transactions are only
+ * archived once no honoured token predates them (see TransactionArchiveScheduler).
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SyncService {
+
+    private final TransactionRepository transactionRepository;
+    private final BudgetRepository budgetRepository;
+    private final CategoryRepository categoryRepository;
+    private final SyncTombstoneRepository syncTombstoneRepository;
+    private final TransactionService transactionService;
+    private final TransactionArchiveService transactionArchiveService;
+    private final BudgetService budgetService;
+    private final CategoryService categoryService;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+
+    @Value("${sync.commit-lag:5s}")
+    private Duration commitLag = Duration.ofSeconds(5);
+
+    @Value("${sync.tombstone-retention-days:90}")
+    private int tombstoneRetentionDays = 90;
+
+    /**
+     * Decode a sync token (null for a full sync)
+     */
+    public LocalDateTime parseToken(String token) {
+        if (!StringUtils.hasText(token)) {
+            return null;
+        }
+        try {
+            String watermark = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            return LocalDateTime.parse(watermark);
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new InvalidRequestException("Invalid sync token");
+        }
+    }
+
+    /**
+     * Encode a watermark as an opaque sync token
+     */
+    static String toToken(LocalDateTime watermark) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(watermark.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Stream the user's changes since a watermark (everything when null) as JSON.
+     * Transactions are read through a cursor and detached once written, so large
+     * histories are never held in memory.
+     */
+    @Transactional(readOnly = true)
+    public void writeChanges(Long userId, LocalDateTime since, OutputStream output) throws IOException {
+        log.info("Streaming sync changes for user ID: {} since: {}", userId, since);
+
+        LocalDateTime nextWatermark = LocalDateTime.now().minus(commitLag);
+        if (since != null && since.isBefore(tombstoneCutoff())) {
+            // Deletions since then may have been purged, so a delta could miss some
+            log.info("Sync token of user ID: {} predates the tombstone retention, sending a full sync", userId);
+            since = null;
+        }
+        List<Long> deletedTransactionIds = new ArrayList<>();
+        List<Long> deletedBudgetIds = new ArrayList<>();
+        List<Long> deletedCategoryIds = new ArrayList<>();
+        if (since != null) {
+            for (SyncTombstone tombstone : syncTombstoneRepository
+                    .findByUserIdAndDeletedAtGreaterThanEqualOrderByDeletedAt(userId, since)) {
+                if (tombstone.getEntityType() == SyncEntityType.BUDGET) {
+                    deletedBudgetIds.add(tombstone.getEntityId());
+                } else if (tombstone.getEntityType() == SyncEntityType.CATEGORY) {
+                    deletedCategoryIds.add(tombstone.getEntityId());
+                }
+            }
+        }
+
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(output)) {
+            generator.writeStartObject();
+            generator.writeStringField("nextToken", toToken(nextWatermark));
+            generator.writeBooleanField("fullSync", since == null);
+
+            generator.writeArrayFieldStart("transactions");
+            try (Stream<Transaction> transactions = transactionRepository.streamChangedSince(userId, since)) {
+                Iterator<Transaction> iterator = transactions.iterator();
+                while (iterator.hasNext()) {
+                    Transaction transaction = iterator.next();
+                    if (Boolean.TRUE.equals(transaction.getIsDeleted())) {
+                        deletedTransactionIds.add(transaction.getId());
+                    } else {
+                        generator.writeObject(transactionService.mapToResponse(transaction));
+                    }
+                    entityManager.detach(transaction);
+                }
+            }
+            writeArchived(generator, userId, since);
+            generator.writeEndArray();
+            writeIds(generator, "deletedTransactionIds", deletedTransactionIds);
+
+            generator.writeArrayFieldStart("budgets");
+            for (BudgetResponse budget : budgetService.mapToResponses(userId, budgetRepository.findChangedSince(userId, since))) {
+                generator.writeObject(budget);
+            }
+            generator.writeEndArray();
+            writeIds(generator, "deletedBudgetIds", deletedBudgetIds);
+
+            generator.writeArrayFieldStart("categories");
+            for (Category category : categoryRepository.findChangedSince(userId, since)) {
+                generator.writeObject(categoryService.mapToResponse(category));
+            }
+            generator.writeEndArray();
+            writeIds(generator, "deletedCategoryIds", deletedCategoryIds);
+
+            generator.writeEndObject();
+        }
+    }
+
+    /**
+     * Delete the deletion records older than the retention
+     */
+    @Transactional
+    public int purgeTombstones() {
+        return syncTombstoneRepository.deleteRecordedBefore(tombstoneCutoff());
+    }
+
+    private LocalDateTime tombstoneCutoff() {
+        return LocalDateTime.now().minusDays(tombstoneRetentionDays);
+    }
+
+    /**
+     * Write the archived active transactions changed since a watermark from the segments
+     * archived since then (all of them when null), one segment in memory at a time
+     */
+    private void writeArchived(JsonGenerator generator, Long userId, LocalDateTime since) throws IOException {
+        for (TransactionArchiveSegment segment : transactionArchiveService.findSegmentsArchivedSince(userId, since)) {
+            for (ArchivedTransaction transaction : transactionArchiveService.readArchived(segment, null, null)) {
+                if (since == null || transaction.updatedAt() == null || !transaction.updatedAt().isBefore(since)) {
+                    generator.writeObject(transactionService.mapToResponse(transaction, userId));
+                }
+            }
+        }
+    }
+
+    private static void writeIds(JsonGenerator generator, String fieldName, List<Long> ids) throws IOException {
+        generator.writeArrayFieldStart(fieldName);
+        for (Long id : ids) {
+            generator.writeNumber(id);
+        }
+        generator.writeEndArray();
+    }
+}
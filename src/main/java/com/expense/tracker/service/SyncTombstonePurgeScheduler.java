@@ -0,0 +1,36 @@
+package com.expense.tracker.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Sync Tombstone Purge Scheduler
+ *
+ * Daily deletes the sync deletion records older than sync.tombstone-retention-days,
+ * so the table does not grow forever; clients syncing from before that get a full
+ * sync instead (see SyncService). With sharding, each shard is covered in turn.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SyncTombstonePurgeScheduler {
+
+    private final SyncService syncService;
+    private final ShardRouter shardRouter;
+
+    /**
+     * Purge the expired tombstones
+     */
+    @Scheduled(cron = "${sync.tombstone-purge.cron:0 45 3 * * *}")
+    public void purgeExpired() {
+        try {
+            int[] total = new int[1];
+            shardRouter.runOnEachShard(() -> total[0] += syncService.purgeTombstones());
+            log.info("Sync tombstone purge finished, {} tombstones deleted", total[0]);
+        } catch (RuntimeException e) {
+            log.error("Failed to purge sync tombstones", e);
+        }
+    }
+}
@@ -0,0 +1,446 @@
+package com.expense.tracker.service;
+
+import com.expense.tracker.config.SyntheticDataProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Synthetic Data Generator
+ *
+ * Writes realistic users with their monthly budgets, recurring salaries and
+ * transactions straight through JDBC batches, for benchmarks and capacity planning.
+ * Every user earns a salary (a recurring transaction and its occurrences), some
+ * also freelance, most pay rent, utilities and insurance each month, and all spend
+ * on a personal mix of categories. Purchase amounts are skewed towards small ones
+ * and volumes follow the season, peaking in November and December.
+ *
+ * Users are generated in parallel chunks, each chunk in one database transaction.
+ * A user's data comes from a random generator seeded with the seed and the user's
+ * index, so the output does not depend on the number of threads or chunk size.
+ */
+@Service
+@Slf4j
+public class SyntheticDataGenerator {
+
+    /**
+     * Rows written by a run
+     */
+    public record GenerationResult(int users, long transactions, long recurringTransactions, long budgets,
+                                   long elapsedMillis) {
+    }
+
+    // Spending volume by month, January first
+    private static final double[] SEASONALITY = {
+        0.90, 0.88, 0.97, 1.00, 1.02, 0.98, 1.05, 1.06, 1.00, 1.08, 1.15, 1.35
+    };
+
+    private static final String[] PAYMENT_METHODS = { "Credit Card", "Debit Card", "UPI", "Cash" };
+
+    /**
+     * Day-to-day spending in a category: relative frequency and amount range (rupees)
+     */
+    private record SpendingProfile(String category, double weight, int minAmount, int maxAmount,
+                                   String... descriptions) {
+    }
+
+    private static final List<SpendingProfile> SPENDING = List.of(
+        new SpendingProfile("Food & Dining", 30, 80, 2500,
+            "Swiggy order", "Zomato order", "Grocery store", "Cafe Coffee Day", "Restaurant dinner", "BigBasket"),
+        new SpendingProfile("Transportation", 15, 40, 1500,
+            "Uber trip", "Ola ride", "Metro card recharge", "Fuel station", "Parking"),
+        new SpendingProfile("Shopping", 14, 300, 12000,
+            "Amazon order", "Flipkart order", "Myntra order", "Electronics store", "Clothing store"),
+        new SpendingProfile("Entertainment", 10, 150, 3000,
+            "Movie tickets", "Netflix subscription", "Spotify subscription", "Concert tickets", "Gaming"),
+        new SpendingProfile("Healthcare", 4, 200, 8000,
+            "Pharmacy", "Doctor consultation", "Lab tests", "Dental clinic"),
+        new SpendingProfile("Education", 2, 500, 25000,
+            "Online course", "Books", "Tuition fees", "Exam registration"),
+        new SpendingProfile("Other Expense", 5, 100, 3000,
+            "Gift purchase", "Donation", "Household repairs", "Miscellaneous")
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final PasswordEncoder passwordEncoder;
+    private final ShardRouter shardRouter;
+
+    public SyntheticDataGenerator(JdbcTemplate jdbcTemplate,
+                                  PlatformTransactionManager transactionManager,
+                                  PasswordEncoder passwordEncoder,
+                                  ShardRouter shardRouter) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.passwordEncoder = passwordEncoder;
+        this.shardRouter = shardRouter;
+    }
+
+    /**
+     * Generate the users numbered first-user-index onwards with their data
+     */
+    public GenerationResult generate(SyntheticDataProperties properties) {
+        if (shardRouter.isEnabled()) {
+            throw new IllegalStateException("The generator writes to a single database; run it with sharding.enabled=false");
+        }
+        long start = System.nanoTime();
+        log.info("Generating {} users from index {} with {} months of history",
+                properties.getUsers(), properties.getFirstUserIndex(), properties.getMonthsOfHistory());
+
+        Plan plan = new Plan(properties, loadCategories(), passwordEncoder.encode(properties.getPassword()),
+                budgetInsert(), LocalDate.now());
+        int end = properties.getFirstUserIndex() + properties.getUsers();
+        int chunks = (properties.getUsers() + properties.getUsersPerChunk() - 1) / properties.getUsersPerChunk();
+        AtomicInteger chunksDone = new AtomicInteger();
+
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, properties.getThreads()));
+        long[] totals = new long[3];
+        try {
+            List<Future<long[]>> futures = new ArrayList<>();
+            for (int from = properties.getFirstUserIndex(); from < end; from += properties.getUsersPerChunk()) {
+                int chunkStart = from;
+                int chunkEnd = Math.min(from + properties.getUsersPerChunk(), end);
+                futures.add(executor.submit(() -> {
+                    long[] counts = transactionTemplate.execute(status -> generateChunk(plan, chunkStart, chunkEnd));
+                    int done = chunksDone.incrementAndGet();
+                    if (done % 10 == 0 || done == chunks) {
+                        log.info("Generated {} of {} user chunks", done, chunks);
+                    }
+                    return counts;
+                }));
+            }
+            for (Future<long[]> future : futures) {
+                long[] counts = future.get();
+                for (int i = 0; i < totals.length; i++) {
+                    totals[i] += counts[i];
+                }
+            }
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof RuntimeException runtimeException
+                    ? runtimeException
+                    : new IllegalStateException("Generating data failed", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while generating data", e);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        GenerationResult result = new GenerationResult(properties.getUsers(), totals[0], totals[1], totals[2],
+                (System.nanoTime() - start) / 1_000_000);
+        log.info("Generated {}", result);
+        return result;
+    }
+
+    private long[] generateChunk(Plan plan, int from, int to) {
+        List<UserData> users = new ArrayList<>(to - from);
+        List<Object[]> userRows = new ArrayList<>(to - from);
+        Timestamp createdAt = Timestamp.valueOf(plan.firstMonth.atDay(1).atStartOfDay());
+        for (int index = from; index < to; index++) {
+            UserData user = new UserData(plan, index);
+            users.add(user);
+            userRows.add(new Object[] { "Synthetic User " + index, user.email, plan.passwordHash, createdAt, createdAt });
+        }
+        jdbcTemplate.batchUpdate("""
+            INSERT INTO users (name, email, password, is_active, created_at, updated_at)
+            VALUES (?, ?, ?, TRUE, ?, ?)
+            """, userRows);
+        Map<String, Long> userIds = new HashMap<>();
+        jdbcTemplate.query("SELECT id, email FROM users WHERE email IN (" + placeholders(users.size()) + ")",
+                rs -> {
+                    userIds.put(rs.getString("email"), rs.getLong("id"));
+                }, users.stream().map(user -> user.email).toArray());
+        users.forEach(user -> user.id = userIds.get(user.email));
+
+        // Salaries first: their occurrences reference the recurring transaction
+        List<Object[]> salaryRows = new ArrayList<>(users.size());
+        for (UserData user : users) {
+            salaryRows.add(user.salaryRow());
+        }
+        jdbcTemplate.batchUpdate("""
+            INSERT INTO recurring_transactions (user_id, category_id, type, amount, description, payment_method,
+                frequency, repeat_interval, start_date, end_date, occurrence_count, next_occurrence_date,
+                is_active, version, created_at, updated_at)
+            VALUES (?, ?, 'INCOME', ?, 'Monthly salary', 'Bank Transfer', 'MONTHLY', 1, ?, NULL, ?, ?,
+                TRUE, 0, ?, ?)
+            """, salaryRows);
+        Map<Long, Long> salaryIds = new HashMap<>();
+        jdbcTemplate.query("SELECT id, user_id FROM recurring_transactions WHERE user_id IN ("
+                        + placeholders(users.size()) + ")",
+                rs -> {
+                    salaryIds.put(rs.getLong("user_id"), rs.getLong("id"));
+                }, users.stream().map(user -> user.id).toArray());
+
+        BatchWriter transactions = new BatchWriter("""
+            INSERT INTO transactions (user_id, category_id, type, amount, transaction_date, description,
+                payment_method, fingerprint, recurring_transaction_id, is_deleted, created_at, updated_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, FALSE, ?, ?)
+            """, plan.properties.getBatchSize());
+        BatchWriter budgets = new BatchWriter(plan.budgetInsert, plan.properties.getBatchSize());
+        for (UserData user : users) {
+            user.generate(salaryIds.get(user.id), transactions, budgets);
+        }
+        transactions.flush();
+        budgets.flush();
+        return new long[] { transactions.written, users.size(), budgets.written };
+    }
+
+    /**
+     * System categories by name; the spending profiles use those that exist
+     */
+    private Map<String, Long> loadCategories() {
+        Map<String, Long> categories = new LinkedHashMap<>();
+        jdbcTemplate.query("SELECT id, name FROM categories WHERE user_id IS NULL ORDER BY id", rs -> {
+            categories.put(rs.getString("name"), rs.getLong("id"));
+        });
+        if (!categories.containsKey("Salary")) {
+            throw new IllegalStateException("System category 'Salary' is missing; load data.sql or data-mysql.sql first");
+        }
+        return categories;
+    }
+
+    /**
+     * Budgets insert with month and year (reserved words) quoted as the database quotes identifiers
+     */
+    private String budgetInsert() {
+        String quote = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                connection.getMetaData().getIdentifierQuoteString());
+        return "INSERT INTO budgets (user_id, category_id, budget_amount, " + quote + "month" + quote + ", "
+                + quote + "year" + quote + ", created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?)";
+    }
+
+    private static String placeholders(int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+
+    private static BigDecimal rupees(double amount) {
+        return BigDecimal.valueOf(Math.max(1, Math.round(amount * 100)), 2);
+    }
+
+    /**
+     * Settings shared by all chunks of a run
+     */
+    private static final class Plan {
+
+        private final SyntheticDataProperties properties;
+        private final Map<String, Long> categories;
+        private final List<SpendingProfile> spending;
+        private final String passwordHash;
+        private final String budgetInsert;
+        private final LocalDate today;
+        private final YearMonth firstMonth;
+
+        Plan(SyntheticDataProperties properties, Map<String, Long> categories, String passwordHash,
+             String budgetInsert, LocalDate today) {
+            this.properties = properties;
+            this.categories = categories;
+            this.spending = SPENDING.stream().filter(profile -> categories.containsKey(profile.category())).toList();
+            this.passwordHash = passwordHash;
+            this.budgetInsert = budgetInsert;
+            this.today = today;
+            this.firstMonth = YearMonth.from(today).minusMonths(Math.max(1, properties.getMonthsOfHistory()) - 1L);
+        }
+    }
+
+    /**
+     * JDBC batch that writes itself out every batchSize rows
+     */
+    private final class BatchWriter {
+
+        private final String sql;
+        private final int batchSize;
+        private final List<Object[]> rows;
+        private long written;
+
+        BatchWriter(String sql, int batchSize) {
+            this.sql = sql;
+            this.batchSize = Math.max(1, batchSize);
+            this.rows = new ArrayList<>(this.batchSize);
+        }
+
+        void add(Object... row) {
+            rows.add(row);
+            if (rows.size() >= batchSize) {
+                flush();
+            }
+        }
+
+        void flush() {
+            if (!rows.isEmpty()) {
+                jdbcTemplate.batchUpdate(sql, rows);
+                written += rows.size();
+                rows.clear();
+            }
+        }
+    }
+
+    /**
+     * One generated user: their habits, drawn from their own random generator
+     */
+    private static final class UserData {
+
+        private final Plan plan;
+        private final Random random;
+        private final String email;
+        private final double activity;
+        private final double salary;
+        private final int salaryDay;
+        private final boolean freelancer;
+        private final double rent;
+        private final double utilities;
+        private final double insurance;
+        private final double[] weights;
+        private final double totalWeight;
+        private Long id;
+
+        UserData(Plan plan, int index) {
+            this.plan = plan;
+            this.random = new Random(plan.properties.getSeed() + index * 0x9E3779B97F4A7C15L);
+            this.email = plan.properties.emailOf(index);
+            this.activity = 0.5 + random.nextDouble();
+            this.salary = 100 * (250 + random.nextInt(2750));
+            this.salaryDay = 1 + random.nextInt(5);
+            this.freelancer = random.nextInt(4) == 0;
+            this.rent = random.nextInt(5) == 0 ? 0 : 100 * (60 + random.nextInt(540));
+            this.utilities = 800 + random.nextInt(4000);
+            this.insurance = random.nextBoolean() ? 500 + random.nextInt(4500) : 0;
+
+            // Personal category mix around the typical one
+            this.weights = new double[plan.spending.size()];
+            double total = 0;
+            for (int i = 0; i < weights.length; i++) {
+                weights[i] = plan.spending.get(i).weight() * (0.3 + 1.4 * random.nextDouble());
+                total += weights[i];
+            }
+            this.totalWeight = total;
+        }
+
+        Object[] salaryRow() {
+            LocalDate start = plan.firstMonth.atDay(salaryDay);
+            int occurrences = 0;
+            for (LocalDate date = start; !date.isAfter(plan.today); date = date.plusMonths(1)) {
+                occurrences++;
+            }
+            Timestamp createdAt = Timestamp.valueOf(start.atStartOfDay());
+            return new Object[] {
+                id, plan.categories.get("Salary"), rupees(salary), Date.valueOf(start), occurrences,
+                Date.valueOf(start.plusMonths(occurrences)), createdAt, createdAt
+            };
+        }
+
+        void generate(Long salaryId, BatchWriter transactions, BatchWriter budgets) {
+            YearMonth lastMonth = YearMonth.from(plan.today);
+            for (YearMonth month = plan.firstMonth; !month.isAfter(lastMonth); month = month.plusMonths(1)) {
+                int lastDay = month.equals(lastMonth) ? plan.today.getDayOfMonth() : month.lengthOfMonth();
+                double season = SEASONALITY[month.getMonthValue() - 1];
+
+                if (salaryDay <= lastDay) {
+                    add(transactions, "Salary", "INCOME", salary, month.atDay(salaryDay), "Monthly salary",
+                            "Bank Transfer", salaryId);
+                }
+                if (freelancer && random.nextDouble() < 0.3) {
+                    add(transactions, "Freelance", "INCOME", 5000 + random.nextInt(75000),
+                            month.atDay(1 + random.nextInt(lastDay)), "Freelance project payment", "Bank Transfer", null);
+                }
+                if (rent > 0 && lastDay >= 3) {
+                    add(transactions, "Housing", "EXPENSE", rent, month.atDay(3), "Rent payment", "Bank Transfer", null);
+                }
+                if (insurance > 0 && lastDay >= 5) {
+                    add(transactions, "Insurance", "EXPENSE", insurance, month.atDay(5), "Insurance premium",
+                            "Bank Transfer", null);
+                }
+                if (lastDay >= 10) {
+                    add(transactions, "Utilities", "EXPENSE", utilities * (0.8 + 0.4 * random.nextDouble()),
+                            month.atDay(10), "Electricity and water bill", "UPI", null);
+                }
+
+                // Day-to-day spending, pro rata for the current month
+                double expected = plan.properties.getTransactionsPerMonth() * season * activity
+                        * lastDay / month.lengthOfMonth();
+                long count = Math.round(expected * (0.85 + 0.3 * random.nextDouble()));
+                for (long i = 0; i < count; i++) {
+                    SpendingProfile profile = pickProfile();
+                    // Squaring skews amounts towards the cheap end of the range; December buys are bigger
+                    double share = random.nextDouble();
+                    double amount = (profile.minAmount() + (profile.maxAmount() - profile.minAmount()) * share * share)
+                            * (1 + (season - 1) / 2);
+                    add(transactions, profile.category(), "EXPENSE", amount, month.atDay(1 + random.nextInt(lastDay)),
+                            profile.descriptions()[random.nextInt(profile.descriptions().length)],
+                            PAYMENT_METHODS[random.nextInt(PAYMENT_METHODS.length)], null);
+                }
+
+                addBudgets(budgets, month, season);
+            }
+        }
+
+        /**
+         * Budgets for the user's biggest spending categories, around their expected spend
+         */
+        private void addBudgets(BatchWriter budgets, YearMonth month, double season) {
+            Timestamp createdAt = Timestamp.valueOf(month.atDay(1).atStartOfDay());
+            List<Integer> byWeight = new ArrayList<>();
+            for (int i = 0; i < weights.length; i++) {
+                byWeight.add(i);
+            }
+            byWeight.sort((a, b) -> Double.compare(weights[b], weights[a]));
+            for (int i = 0; i < Math.min(plan.properties.getBudgetCategories(), byWeight.size()); i++) {
+                SpendingProfile profile = plan.spending.get(byWeight.get(i));
+                double averageAmount = profile.minAmount() + (profile.maxAmount() - profile.minAmount()) / 3.0;
+                double expectedSpend = plan.properties.getTransactionsPerMonth() * season * activity
+                        * weights[byWeight.get(i)] / totalWeight * averageAmount;
+                double amount = Math.max(100, Math.round(expectedSpend * (0.8 + 0.5 * random.nextDouble()) / 100) * 100);
+                budgets.add(id, plan.categories.get(profile.category()), rupees(amount), month.getMonthValue(),
+                        month.getYear(), createdAt, createdAt);
+            }
+        }
+
+        private SpendingProfile pickProfile() {
+            double point = random.nextDouble() * totalWeight;
+            for (int i = 0; i < weights.length; i++) {
+                point -= weights[i];
+                if (point < 0) {
+                    return plan.spending.get(i);
+                }
+            }
+            return plan.spending.get(weights.length - 1);
+        }
+
+        private void add(BatchWriter transactions, String category, String type, double amount, LocalDate date,
+                         String description, String paymentMethod, Long recurringTransactionId) {
+            Long categoryId = plan.categories.get(category);
+            if (categoryId == null) {
+                return;
+            }
+            BigDecimal value = rupees(amount);
+            Timestamp createdAt = Timestamp.valueOf(LocalDateTime.of(date, LocalTime.ofSecondOfDay(
+                    28_800 + random.nextInt(50_400))));
+            transactions.add(id, categoryId, type, value, Date.valueOf(date), description, paymentMethod,
+                    DuplicateTransactionDetector.fingerprint(id, date, value, description, paymentMethod),
+                    recurringTransactionId, createdAt, createdAt);
+        }
+    }
+}
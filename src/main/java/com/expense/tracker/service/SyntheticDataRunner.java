@@ -0,0 +1,44 @@
+package com.expense.tracker.service;
+
+import com.expense.tracker.config.SyntheticDataProperties;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.stereotype.Component;
+
+/**
+ * Synthetic Data Runner
+ *
+ * Command-line entry point of SyntheticDataGenerator; runs once at startup and exits.
+ * The "generate" profile turns it on, e.g. about 10M transactions into MySQL:
+ *
+ *   java -jar expense-tracker.jar --spring.profiles.active=prod,generate \
+ *       --generator.users=20000 --generator.months-of-history=12 --generator.seed=42
+ */
+@Component
+@ConditionalOnProperty(name = "generator.enabled", havingValue = "true")
+@RequiredArgsConstructor
+@Slf4j
+public class SyntheticDataRunner implements ApplicationRunner {
+
+    private final SyntheticDataGenerator syntheticDataGenerator;
+    private final SyntheticDataProperties properties;
+    private final ConfigurableApplicationContext applicationContext;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        int exitCode = 0;
+        try {
+            syntheticDataGenerator.generate(properties);
+        } catch (RuntimeException e) {
+            log.error("Generating synthetic data failed", e);
+            exitCode = 1;
+        }
+        int code = exitCode;
+        System.exit(SpringApplication.exit(applicationContext, () -> code));
+    }
+}
@@ -0,0 +1,187 @@
+package com.expense.tracker.service;
+
+import com.expense.tracker.enums.TransactionType;
+import com.expense.tracker.model.Transaction;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Transaction Archive
+ *
+ * Local cold storage for archived transactions. Each segment is a gzip-compressed
+ * JSON-lines file holding a batch of one user's transactions; segments are written
+ * once (to a temporary file, synced, then atomically renamed) and never modified,
+ * only removed again when restored. Segment file names are derived from the
+ * transaction IDs they hold, so re-archiving the same rows rewrites the same file;
+ * files a crash left behind without an index row are found by listSegmentFiles.
+ */
+@Component
+@RequiredArgsConstructor
+public class TransactionArchive {
+
+    private static final String SEGMENT_SUFFIX = ".jsonl.gz";
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    private final ObjectMapper objectMapper;
+
+    @Value("${archive.transactions.directory:data/archive/transactions}")
+    private String directory = "data/archive/transactions";
+
+    /**
+     * Write a segment of one user's transactions, returning its file name (relative to the archive directory)
+     */
+    public String writeSegment(Long userId, List<ArchivedTransaction> transactions) {
+        String fileName = userId + "/transactions-" + transactions.get(0).id()
+                + "-" + transactions.get(transactions.size() - 1).id() + SEGMENT_SUFFIX;
+        Path target = resolve(fileName);
+        try {
+            Files.createDirectories(target.getParent());
+            Path temp = Files.createTempFile(target.getParent(), "segment-", TEMP_SUFFIX);
+            try {
+                ObjectWriter writer = objectMapper.writerFor(ArchivedTransaction.class);
+                try (FileOutputStream file = new FileOutputStream(temp.toFile());
+                     GZIPOutputStream gzip = new GZIPOutputStream(file)) {
+                    for (ArchivedTransaction transaction : transactions) {
+                        gzip.write(writer.writeValueAsBytes(transaction));
+                        gzip.write('\n');
+                    }
+                    gzip.finish();
+                    file.getFD().sync();
+                }
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write archive segment " + fileName, e);
+        }
+        return fileName;
+    }
+
+    /**
+     * Read all transactions of a segment
+     */
+    public List<ArchivedTransaction> readSegment(String fileName) {
+        ObjectReader reader = objectMapper.readerFor(ArchivedTransaction.class);
+        List<ArchivedTransaction> transactions = new ArrayList<>();
+        try (BufferedReader lines = new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(Files.newInputStream(resolve(fileName))), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = lines.readLine()) != null) {
+                if (!line.isEmpty()) {
+                    transactions.add(reader.readValue(line));
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read archive segment " + fileName, e);
+        }
+        return transactions;
+    }
+
+    /**
+     * Delete a segment (after its transactions were restored, or when its archival rolled back)
+     */
+    public void deleteSegment(String fileName) {
+        try {
+            Files.deleteIfExists(resolve(fileName));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to delete archive segment " + fileName, e);
+        }
+    }
+
+    /**
+     * Segment files (and leftover temporary files) last modified before a point in time,
+     * relative to the archive directory
+     */
+    public List<String> listSegmentFiles(Instant modifiedBefore) {
+        Path root = Paths.get(directory);
+        if (!Files.isDirectory(root)) {
+            return List.of();
+        }
+        try (Stream<Path> paths = Files.walk(root)) {
+            return paths.filter(Files::isRegularFile)
+                    .filter(path -> path.getFileName().toString().endsWith(SEGMENT_SUFFIX)
+                            || path.getFileName().toString().endsWith(TEMP_SUFFIX))
+                    .filter(path -> lastModified(path).isBefore(modifiedBefore))
+                    .map(path -> root.relativize(path).toString().replace(File.separatorChar, '/'))
+                    .sorted()
+                    .toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to list archive directory " + root, e);
+        }
+    }
+
+    private static Instant lastModified(Path path) {
+        try {
+            return Files.getLastModifiedTime(path).toInstant();
+        } catch (IOException e) {
+            // Removed in the meantime: never report it
+            return Instant.MAX;
+        }
+    }
+
+    private Path resolve(String fileName) {
+        return Paths.get(directory).resolve(fileName);
+    }
+
+    /**
+     * An archived transaction: every column of the transactions row, so it can be restored as it was
+     */
+    public record ArchivedTransaction(
+            Long id,
+            Long userId,
+            Long categoryId,
+            TransactionType type,
+            BigDecimal amount,
+            LocalDate transactionDate,
+            String description,
+            String paymentMethod,
+            Long fingerprint,
+            Long recurringTransactionId,
+            boolean deleted,
+            LocalDateTime createdAt,
+            LocalDateTime updatedAt) {
+
+        public static ArchivedTransaction from(Transaction transaction) {
+            return new ArchivedTransaction(
+                    transaction.getId(),
+                    transaction.getUser().getId(),
+                    transaction.getCategory().getId(),
+                    transaction.getType(),
+                    transaction.getAmount(),
+                    transaction.getTransactionDate(),
+                    transaction.getDescription(),
+                    transaction.getPaymentMethod(),
+                    transaction.getFingerprint(),
+                    transaction.getRecurringTransactionId(),
+                    Boolean.TRUE.equals(transaction.getIsDeleted()),
+                    transaction.getCreatedAt(),
+                    transaction.getUpdatedAt());
+        }
+    }
+}
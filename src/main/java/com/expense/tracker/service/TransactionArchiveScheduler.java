@@ -0,0 +1,100 @@
+package com.expense.tracker.service;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Transaction Archive Scheduler
+ *
+ * Periodically archives transactions soft-deleted more than deleted-after-days ago
+ * and, when max-age-years is set, all transactions dated more than that many years
+ * ago, in bounded batches (one database transaction each) until none are left.
+ * With sharding, each shard is covered in turn. Each run first removes segment files
+ * that a crash left without an index row. Off unless archive.transactions.enabled=true.
+ *
+ * Delta sync learns about deleted transactions from their soft-deleted rows, so
+ * deleted-after-days may not be shorter than sync.tombstone-retention-days, the age of
+ * the oldest sync token still answered with a delta.
+ */
+@Component
+@ConditionalOnProperty(name = "archive.transactions.enabled", havingValue = "true")
+@RequiredArgsConstructor
+@Slf4j
+public class TransactionArchiveScheduler {
+
+    private final TransactionArchiveService transactionArchiveService;
+    private final ShardRouter shardRouter;
+
+    @Value("${archive.transactions.deleted-after-days:90}")
+    private int deletedAfterDays = 90;
+
+    @Value("${sync.tombstone-retention-days:90}")
+    private int tombstoneRetentionDays = 90;
+
+    @Value("${archive.transactions.max-age-years:0}")
+    private int maxAgeYears = 0;
+
+    @Value("${archive.transactions.batch-size:500}")
+    private int batchSize = 500;
+
+    @Value("${archive.transactions.orphan-grace-period:1h}")
+    private Duration orphanGracePeriod = Duration.ofHours(1);
+
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    @PostConstruct
+    void checkRetention() {
+        if (deletedAfterDays < tombstoneRetentionDays) {
+            throw new IllegalStateException("archive.transactions.deleted-after-days (" + deletedAfterDays
+                    + ") must be at least sync.tombstone-retention-days (" + tombstoneRetentionDays
+                    + "), or delta syncs would miss deletions archived meanwhile");
+        }
+    }
+
+    /**
+     * Archive everything that is due
+     */
+    @Scheduled(cron = "${archive.transactions.cron:0 30 2 * * *}")
+    public void archiveDue() {
+        if (!running.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            removeOrphanedSegments();
+            LocalDateTime deletedBefore = LocalDateTime.now().minusDays(deletedAfterDays);
+            LocalDate datedBefore = maxAgeYears > 0 ? LocalDate.now().minusYears(maxAgeYears) : null;
+            int[] total = new int[1];
+            shardRouter.runOnEachShard(() -> {
+                int archived;
+                do {
+                    archived = transactionArchiveService.archiveBatch(deletedBefore, datedBefore, batchSize);
+                    total[0] += archived;
+                } while (archived > 0);
+            });
+            log.info("Transaction archival finished, {} transactions archived", total[0]);
+        } catch (RuntimeException e) {
+            log.error("Failed to archive transactions", e);
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private void removeOrphanedSegments() {
+        try {
+            transactionArchiveService.removeOrphanedSegments(orphanGracePeriod);
+        } catch (RuntimeException e) {
+            // Orphans only take disk space; archiving goes ahead and the next run retries
+            log.warn("Failed to remove orphaned archive segments: {}", e.getMessage());
+        }
+    }
+}
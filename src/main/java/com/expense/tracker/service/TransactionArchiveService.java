@@ -0,0 +1,253 @@
+package com.expense.tracker.service;
+
+import com.expense.tracker.dto.response.ArchiveRestoreResponse;
+import com.expense.tracker.exception.InvalidRequestException;
+import com.expense.tracker.model.Transaction;
+import com.expense.tracker.model.TransactionArchiveSegment;
+import com.expense.tracker.model.User;
+import com.expense.tracker.repository.TransactionArchiveSegmentRepository;
+import com.expense.tracker.repository.TransactionRepository;
+import com.expense.tracker.service.TransactionArchive.ArchivedTransaction;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Transaction Archive Service
+ *
+ * Moves soft-deleted transactions, and optionally transactions older than a cut-off
+ * date, out of the transactions table into the compressed TransactionArchive, one
+ * bounded batch per database transaction. Archived transactions can be read back
+ * (TransactionService merges them into listings on request) and restored.
+ *
+ * A batch writes its segment files before deleting the rows: if the database
+ * transaction rolls back the files are removed again, and a crash in between only
+ * leaves an unindexed file, which the next run either overwrites (same rows) or
+ * removes with removeOrphanedSegments.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TransactionArchiveService {
+
+    private static final String INSERT_TRANSACTION = """
+        INSERT INTO transactions (id, user_id, category_id, type, amount, transaction_date, description,
+                                  payment_method, fingerprint, recurring_transaction_id, is_deleted, created_at, updated_at)
+        VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+        """;
+
+    private static final int ORPHAN_CHECK_BATCH = 500;
+
+    private final TransactionRepository transactionRepository;
+    private final TransactionArchiveSegmentRepository segmentRepository;
+    private final TransactionArchive transactionArchive;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionSearchIndex transactionSearchIndex;
+    private final DescriptionSuggestionIndex descriptionSuggestionIndex;
+    private final DataVersionTracker dataVersionTracker;
+    private final ShardRouter shardRouter;
+
+    /**
+     * Archive one batch of transactions soft-deleted before deletedBefore or, when
+     * datedBefore is set, dated before it. Returns the number of transactions archived.
+     */
+    @Transactional
+    public int archiveBatch(LocalDateTime deletedBefore, LocalDate datedBefore, int batchSize) {
+        List<Transaction> transactions = transactionRepository.findArchivable(
+            deletedBefore, datedBefore, PageRequest.of(0, batchSize));
+        if (transactions.isEmpty()) {
+            return 0;
+        }
+
+        Map<Long, List<ArchivedTransaction>> byUser = new LinkedHashMap<>();
+        Map<Long, User> usersWithActiveRows = new LinkedHashMap<>();
+        for (Transaction transaction : transactions) {
+            byUser.computeIfAbsent(transaction.getUser().getId(), userId -> new ArrayList<>())
+                  .add(ArchivedTransaction.from(transaction));
+            if (!Boolean.TRUE.equals(transaction.getIsDeleted())) {
+                usersWithActiveRows.putIfAbsent(transaction.getUser().getId(), transaction.getUser());
+            }
+        }
+
+        for (Map.Entry<Long, List<ArchivedTransaction>> entry : byUser.entrySet()) {
+            List<ArchivedTransaction> archived = entry.getValue();
+            String fileName = transactionArchive.writeSegment(entry.getKey(), archived);
+            deleteSegmentIfRolledBack(fileName);
+            segmentRepository.save(new TransactionArchiveSegment(
+                entry.getKey(),
+                fileName,
+                archived.stream().map(ArchivedTransaction::transactionDate).min(Comparator.naturalOrder()).orElseThrow(),
+                archived.stream().map(ArchivedTransaction::transactionDate).max(Comparator.naturalOrder()).orElseThrow(),
+                archived.size(),
+                (int) archived.stream().filter(transaction -> !transaction.deleted()).count()
+            ));
+        }
+
+        transactionRepository.deleteAllByIdInBatch(transactions.stream().map(Transaction::getId).toList());
+
+        // Archived active transactions leave listings, search and reports
+        usersWithActiveRows.forEach((userId, user) -> {
+            transactionSearchIndex.evictUser(userId);
+            descriptionSuggestionIndex.evictUser(userId);
+            dataVersionTracker.bump(user.getEmail());
+        });
+
+        log.info("Archived {} transactions of {} users", transactions.size(), byUser.size());
+        return transactions.size();
+    }
+
+    /**
+     * Find a user's archive segments overlapping a date range (open-ended when a bound is null),
+     * from the segment index only
+     */
+    @Transactional(readOnly = true)
+    public List<TransactionArchiveSegment> findSegments(Long userId, LocalDate fromDate, LocalDate toDate) {
+        return segmentRepository.findOverlapping(userId, fromDate, toDate);
+    }
+
+    /**
+     * Find a user's archive segments written since a moment (all of them when null), for sync
+     */
+    @Transactional(readOnly = true)
+    public List<TransactionArchiveSegment> findSegmentsArchivedSince(Long userId, LocalDateTime since) {
+        return since == null
+            ? segmentRepository.findOverlapping(userId, null, null)
+            : segmentRepository.findByUserIdAndArchivedAtGreaterThanEqual(userId, since);
+    }
+
+    /**
+     * Read the archived active transactions of a segment dated within a range (open-ended when a bound is null)
+     */
+    public List<ArchivedTransaction> readArchived(TransactionArchiveSegment segment, LocalDate fromDate, LocalDate toDate) {
+        List<ArchivedTransaction> result = new ArrayList<>();
+        for (ArchivedTransaction transaction : transactionArchive.readSegment(segment.getFileName())) {
+            if (!transaction.deleted()
+                    && (fromDate == null || !transaction.transactionDate().isBefore(fromDate))
+                    && (toDate == null || !transaction.transactionDate().isAfter(toDate))) {
+                result.add(transaction);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Remove segment files no shard indexes, such as those of a batch that crashed
+     * before committing or a restore that crashed before removing them. Only files older
+     * than the grace period are considered, so batches still in progress keep theirs.
+     * Returns the number of files removed.
+     */
+    public int removeOrphanedSegments(Duration gracePeriod) {
+        List<String> fileNames = transactionArchive.listSegmentFiles(Instant.now().minus(gracePeriod));
+        int removed = 0;
+        for (int start = 0; start < fileNames.size(); start += ORPHAN_CHECK_BATCH) {
+            List<String> batch = fileNames.subList(start, Math.min(start + ORPHAN_CHECK_BATCH, fileNames.size()));
+            Set<String> indexed = new HashSet<>();
+            shardRouter.scatterGather(() -> segmentRepository.findFileNamesIn(batch)).values().forEach(indexed::addAll);
+            for (String fileName : batch) {
+                if (!indexed.contains(fileName)) {
+                    transactionArchive.deleteSegment(fileName);
+                    removed++;
+                }
+            }
+        }
+        if (removed > 0) {
+            log.warn("Removed {} orphaned archive segment files", removed);
+        }
+        return removed;
+    }
+
+    /**
+     * Move a user's archive segments overlapping a date range back into the transactions
+     * table, with their original IDs. Whole segments are restored, so transactions
+     * archived in the same batch just outside the range come back too.
+     */
+    @Transactional
+    public ArchiveRestoreResponse restore(LocalDate fromDate, LocalDate toDate, User user) {
+        log.info("Restoring archived transactions for user ID: {} from {} to {}", user.getId(), fromDate, toDate);
+
+        if (fromDate != null && toDate != null && fromDate.isAfter(toDate)) {
+            throw new InvalidRequestException("Start date cannot be after end date");
+        }
+
+        List<TransactionArchiveSegment> segments = segmentRepository.findOverlapping(user.getId(), fromDate, toDate);
+        int restored = 0;
+        try {
+            for (TransactionArchiveSegment segment : segments) {
+                List<ArchivedTransaction> transactions = transactionArchive.readSegment(segment.getFileName());
+                jdbcTemplate.batchUpdate(INSERT_TRANSACTION, transactions, transactions.size(), (statement, transaction) -> {
+                    statement.setLong(1, transaction.id());
+                    statement.setLong(2, transaction.userId());
+                    statement.setLong(3, transaction.categoryId());
+                    statement.setString(4, transaction.type().name());
+                    statement.setBigDecimal(5, transaction.amount());
+                    statement.setObject(6, transaction.transactionDate());
+                    statement.setString(7, transaction.description());
+                    statement.setString(8, transaction.paymentMethod());
+                    statement.setObject(9, transaction.fingerprint());
+                    statement.setObject(10, transaction.recurringTransactionId());
+                    statement.setBoolean(11, transaction.deleted());
+                    statement.setObject(12, transaction.createdAt());
+                    statement.setObject(13, transaction.updatedAt());
+                });
+                restored += transactions.size();
+                deleteSegmentAfterCommit(segment.getFileName());
+            }
+        } catch (DataIntegrityViolationException e) {
+            throw new InvalidRequestException("Archived transactions in this range reference a category that no longer exists");
+        }
+        segmentRepository.deleteAllInBatch(segments);
+
+        if (restored > 0) {
+            transactionSearchIndex.evictUser(user.getId());
+            descriptionSuggestionIndex.evictUser(user.getId());
+            dataVersionTracker.bump(user.getEmail());
+        }
+
+        log.info("Restored {} archived transactions from {} segments", restored, segments.size());
+        return new ArchiveRestoreResponse(segments.size(), restored);
+    }
+
+    private void deleteSegmentIfRolledBack(String fileName) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == STATUS_ROLLED_BACK) {
+                        transactionArchive.deleteSegment(fileName);
+                    }
+                }
+            });
+        }
+    }
+
+    private void deleteSegmentAfterCommit(String fileName) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    transactionArchive.deleteSegment(fileName);
+                }
+            });
+        } else {
+            transactionArchive.deleteSegment(fileName);
+        }
+    }
+}
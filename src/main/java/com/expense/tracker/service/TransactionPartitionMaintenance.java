@@ -0,0 +1,123 @@
+package com.expense.tracker.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Transaction Partition Maintenance
+ *
+ * Keeps monthly partitions of the transactions table created ahead of time on MySQL,
+ * where the table is RANGE COLUMNS partitioned by transaction_date (see
+ * db/mysql/partition-transactions.sql). New months are split off the catch-all
+ * p_future partition, which is cheap while it is still empty.
+ *
+ * With sharding, every shard's transactions table is maintained.
+ *
+ * Does nothing on other databases (H2 in dev/test) or when the table has not been
+ * partitioned, so the same build runs everywhere.
+ */
+@Component
+@ConditionalOnProperty(name = "transactions.partitioning.enabled", havingValue = "true")
+@RequiredArgsConstructor
+@Slf4j
+public class TransactionPartitionMaintenance {
+
+    static final String FUTURE_PARTITION = "p_future";
+
+    private static final Pattern MONTHLY_PARTITION = Pattern.compile("p\\d{6}");
+    private static final DateTimeFormatter PARTITION_NAME_FORMAT = DateTimeFormatter.ofPattern("'p'yyyyMM");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ShardRouter shardRouter;
+
+    @Value("${transactions.partitioning.months-ahead:3}")
+    private int monthsAhead = 3;
+
+    /**
+     * Create any missing monthly partitions up to months-ahead months from now
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${transactions.partitioning.cron:0 15 3 * * *}")
+    public void createFuturePartitions() {
+        shardRouter.runOnEachShard(this::createMissingPartitions);
+    }
+
+    private void createMissingPartitions() {
+        try {
+            String product = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                    connection.getMetaData().getDatabaseProductName());
+            if (!"MySQL".equalsIgnoreCase(product)) {
+                log.info("Transaction partitioning is only supported on MySQL, skipping maintenance on {}", product);
+                return;
+            }
+
+            List<String> partitionNames = jdbcTemplate.queryForList("""
+                SELECT PARTITION_NAME FROM information_schema.PARTITIONS
+                WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'transactions' AND PARTITION_NAME IS NOT NULL
+                """, String.class);
+            if (!partitionNames.contains(FUTURE_PARTITION)) {
+                log.warn("Table transactions is not partitioned (no {} partition), skipping maintenance", FUTURE_PARTITION);
+                return;
+            }
+
+            List<YearMonth> missing = missingPartitions(partitionNames, YearMonth.now(), monthsAhead);
+            if (missing.isEmpty()) {
+                log.debug("Transaction partitions are up to date");
+                return;
+            }
+            jdbcTemplate.execute(reorganizeStatement(missing));
+            log.info("Created transaction partitions for {} to {}", missing.get(0), missing.get(missing.size() - 1));
+        } catch (DataAccessException e) {
+            // Usually another node adding the same partitions; the next run picks up whatever is left
+            log.warn("Failed to create transaction partitions: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Months without a partition, from the month after the last existing monthly partition
+     * (or the current month when there is none) through monthsAhead months after the current one
+     */
+    static List<YearMonth> missingPartitions(Collection<String> partitionNames, YearMonth current, int monthsAhead) {
+        YearMonth latest = partitionNames.stream()
+                .filter(name -> MONTHLY_PARTITION.matcher(name).matches())
+                .map(name -> YearMonth.parse(name, PARTITION_NAME_FORMAT))
+                .max(YearMonth::compareTo)
+                .orElse(current.minusMonths(1));
+
+        List<YearMonth> missing = new ArrayList<>();
+        YearMonth last = current.plusMonths(monthsAhead);
+        for (YearMonth month = latest.plusMonths(1); !month.isAfter(last); month = month.plusMonths(1)) {
+            missing.add(month);
+        }
+        return missing;
+    }
+
+    /**
+     * Statement splitting the given months off the catch-all partition
+     */
+    static String reorganizeStatement(List<YearMonth> months) {
+        StringBuilder sql = new StringBuilder("ALTER TABLE transactions REORGANIZE PARTITION ")
+                .append(FUTURE_PARTITION).append(" INTO (");
+        for (YearMonth month : months) {
+            sql.append("PARTITION ").append(month.format(PARTITION_NAME_FORMAT))
+               .append(" VALUES LESS THAN ('").append(month.plusMonths(1).atDay(1)).append("'), ");
+        }
+        return sql.append("PARTITION ").append(FUTURE_PARTITION).append(" VALUES LESS THAN (MAXVALUE))").toString();
+    }
+}
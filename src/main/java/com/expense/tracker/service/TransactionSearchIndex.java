@@ -0,0 +1,310 @@
+package com.expense.tracker.service;
+
+import com.expense.tracker.repository.TransactionRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Transaction Search Index
+ *
+ * In-memory inverted index over the descriptions and payment methods of each user's
+ * active transactions, so text search does not need a LIKE '%term%' scan.
+ * Tokens are kept sorted per user for prefix lookups; each posting list is a
+ * delta + variable-byte encoded sorted array of transaction IDs.
+ *
+ * A user's index is built from the database on first search, kept in a bounded
+ * LRU map (see PerUserCache) and updated incrementally (after commit) by
+ * TransactionService writes.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TransactionSearchIndex {
+
+    private static final long[] NO_IDS = new long[0];
+
+    private final TransactionRepository transactionRepository;
+
+    @Value("${cache.transaction-search.max-users:1000}")
+    private int maxUsers = 1000;
+
+    private final PerUserCache<Long, UserIndex> indexesByUser = new PerUserCache<>(() -> maxUsers);
+
+    /**
+     * Find the IDs (ascending) of the user's transactions matching every query term.
+     * Each term matches any token it is a prefix of.
+     */
+    public long[] search(Long userId, String query) {
+        List<String> terms = new ArrayList<>(new LinkedHashSet<>(tokenize(query)));
+        if (terms.isEmpty()) {
+            return NO_IDS;
+        }
+        UserIndex index = getIndex(userId);
+        synchronized (index) {
+            List<long[]> matches = new ArrayList<>(terms.size());
+            for (String term : terms) {
+                long[] ids = index.prefixMatches(term);
+                if (ids.length == 0) {
+                    return NO_IDS;
+                }
+                matches.add(ids);
+            }
+            // Intersect starting with the rarest term
+            matches.sort(Comparator.comparingInt(ids -> ids.length));
+            long[] result = matches.get(0);
+            for (int i = 1; i < matches.size() && result.length > 0; i++) {
+                result = intersect(result, matches.get(i));
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Add a transaction's text to the index once the current transaction commits
+     */
+    public void index(Long userId, Long transactionId, String description, String paymentMethod) {
+        PerUserCache.afterCommit(() -> indexesByUser.update(userId,
+                index -> index.add(transactionId, tokens(description, paymentMethod))));
+    }
+
+    /**
+     * Remove a transaction's (previous) text from the index once the current transaction commits
+     */
+    public void remove(Long userId, Long transactionId, String description, String paymentMethod) {
+        PerUserCache.afterCommit(() -> indexesByUser.update(userId,
+                index -> index.remove(transactionId, tokens(description, paymentMethod))));
+    }
+
+    /**
+     * Drop the index of a user; it is rebuilt from the database on the next search
+     */
+    public void evictUser(Long userId) {
+        indexesByUser.evict(userId);
+    }
+
+    private UserIndex getIndex(Long userId) {
+        return indexesByUser.getOrLoad(userId, id -> {
+            log.debug("Building transaction search index for user ID: {}", id);
+            UserIndex index = new UserIndex();
+            for (Object[] row : transactionRepository.findSearchableTextByUserId(id)) {
+                index.add((Long) row[0], tokens((String) row[1], (String) row[2]));
+            }
+            return index;
+        });
+    }
+
+    private static Set<String> tokens(String description, String paymentMethod) {
+        Set<String> tokens = new LinkedHashSet<>(tokenize(description));
+        tokens.addAll(tokenize(paymentMethod));
+        return tokens;
+    }
+
+    /**
+     * Check a single transaction's text against a query without an index, with the
+     * same semantics as search: every query term is a prefix of one of its tokens
+     */
+    static boolean matches(String query, String description, String paymentMethod) {
+        Set<String> tokens = tokens(description, paymentMethod);
+        for (String term : tokenize(query)) {
+            if (tokens.stream().noneMatch(token -> token.startsWith(term))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Split text into lower-cased runs of letters and digits
+     */
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean wordChar = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                tokens.add(text.substring(start, i).toLowerCase(Locale.ROOT));
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    private static long[] intersect(long[] a, long[] b) {
+        long[] result = new long[Math.min(a.length, b.length)];
+        int i = 0, j = 0, n = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] < b[j]) {
+                i++;
+            } else if (a[i] > b[j]) {
+                j++;
+            } else {
+                result[n++] = a[i];
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(result, n);
+    }
+
+    /**
+     * Token -> posting list map of one user
+     */
+    private static final class UserIndex {
+
+        private final NavigableMap<String, PostingList> postings = new TreeMap<>();
+
+        void add(long transactionId, Set<String> tokens) {
+            for (String token : tokens) {
+                postings.computeIfAbsent(token, t -> new PostingList()).add(transactionId);
+            }
+        }
+
+        void remove(long transactionId, Set<String> tokens) {
+            for (String token : tokens) {
+                PostingList list = postings.get(token);
+                if (list != null && list.remove(transactionId) && list.isEmpty()) {
+                    postings.remove(token);
+                }
+            }
+        }
+
+        long[] prefixMatches(String prefix) {
+            NavigableMap<String, PostingList> range = postings.subMap(prefix, true, prefix + Character.MAX_VALUE, false);
+            if (range.isEmpty()) {
+                return NO_IDS;
+            }
+            if (range.size() == 1) {
+                return range.firstEntry().getValue().toArray();
+            }
+            int total = 0;
+            List<long[]> lists = new ArrayList<>(range.size());
+            for (PostingList list : range.values()) {
+                long[] ids = list.toArray();
+                lists.add(ids);
+                total += ids.length;
+            }
+            long[] union = new long[total];
+            int offset = 0;
+            for (long[] ids : lists) {
+                System.arraycopy(ids, 0, union, offset, ids.length);
+                offset += ids.length;
+            }
+            Arrays.sort(union);
+            int n = 0;
+            for (int i = 0; i < union.length; i++) {
+                if (n == 0 || union[i] != union[n - 1]) {
+                    union[n++] = union[i];
+                }
+            }
+            return Arrays.copyOf(union, n);
+        }
+    }
+
+    /**
+     * Sorted transaction IDs stored as variable-byte encoded gaps.
+     * New transactions get increasing IDs, so the common add is an append.
+     */
+    static final class PostingList {
+
+        private byte[] data = new byte[4];
+        private int length;
+        private int size;
+        private long last;
+
+        void add(long id) {
+            if (size == 0 || id > last) {
+                append(id - last);
+                last = id;
+                size++;
+                return;
+            }
+            long[] ids = toArray();
+            int index = Arrays.binarySearch(ids, id);
+            if (index >= 0) {
+                return;
+            }
+            int insertAt = -index - 1;
+            long[] updated = new long[ids.length + 1];
+            System.arraycopy(ids, 0, updated, 0, insertAt);
+            updated[insertAt] = id;
+            System.arraycopy(ids, insertAt, updated, insertAt + 1, ids.length - insertAt);
+            encode(updated);
+        }
+
+        boolean remove(long id) {
+            long[] ids = toArray();
+            int index = Arrays.binarySearch(ids, id);
+            if (index < 0) {
+                return false;
+            }
+            long[] updated = new long[ids.length - 1];
+            System.arraycopy(ids, 0, updated, 0, index);
+            System.arraycopy(ids, index + 1, updated, index, ids.length - index - 1);
+            encode(updated);
+            return true;
+        }
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+
+        long[] toArray() {
+            long[] ids = new long[size];
+            long value = 0;
+            int position = 0;
+            for (int i = 0; i < size; i++) {
+                long gap = 0;
+                int shift = 0;
+                byte b;
+                do {
+                    b = data[position++];
+                    gap |= (long) (b & 0x7F) << shift;
+                    shift += 7;
+                } while ((b & 0x80) != 0);
+                value += gap;
+                ids[i] = value;
+            }
+            return ids;
+        }
+
+        private void encode(long[] ids) {
+            data = new byte[Math.max(4, ids.length * 2)];
+            length = 0;
+            size = 0;
+            last = 0;
+            for (long id : ids) {
+                append(id - last);
+                last = id;
+                size++;
+            }
+        }
+
+        private void append(long gap) {
+            if (length + 10 > data.length) {
+                data = Arrays.copyOf(data, Math.max(data.length * 2, length + 10));
+            }
+            while ((gap & ~0x7FL) != 0) {
+                data[length++] = (byte) ((gap & 0x7F) | 0x80);
+                gap >>>= 7;
+            }
+            data[length++] = (byte) gap;
+        }
+    }
+}
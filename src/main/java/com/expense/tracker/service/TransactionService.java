@@ -4,17 +4,20 @@ import com.expense.tracker.dto.request.TransactionRequest;
 import com.expense.tracker.dto.response.PagedResponse;
 import com.expense.tracker.dto.response.TransactionResponse;
 import com.expense.tracker.enums.TransactionType;
+import com.expense.tracker.exception.DuplicateResourceException;
 import com.expense.tracker.exception.ForbiddenException;
 import com.expense.tracker.exception.InvalidRequestException;
 import com.expense.tracker.exception.ResourceNotFoundException;
-import com.expense.tracker.model.Category;
+import com.expense.tracker.model.RecurringTransaction;
 import com.expense.tracker.model.Transaction;
+import com.expense.tracker.model.TransactionArchiveSegment;
 import com.expense.tracker.model.User;
 import com.expense.tracker.repository.CategoryRepository;
 import com.expense.tracker.repository.TransactionRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
@@ -23,6 +26,12 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 /**
@@ -36,8 +45,22 @@ import java.util.stream.Collectors;
 @Slf4j
 public class TransactionService {
 
+    private static final String DUPLICATE_MESSAGE =
+        "A transaction with the same date, amount, description and payment method already exists. "
+        + "Leave rejectDuplicate unset to keep it anyway";
+
+    // Most text search matches bound as one ID list; broader searches are bound in chunks this size
+    private static final int MAX_SEARCH_IDS = 1000;
+
     private final TransactionRepository transactionRepository;
     private final CategoryRepository categoryRepository;
+    private final CategoryCache categoryCache;
+    private final CategorizationRuleService categorizationRuleService;
+    private final TransactionSearchIndex transactionSearchIndex;
+    private final DescriptionSuggestionIndex descriptionSuggestionIndex;
+    private final DuplicateTransactionDetector duplicateTransactionDetector;
+    private final DataVersionTracker dataVersionTracker;
+    private final TransactionArchiveService transactionArchiveService;
 
     /**
      * Create a new transaction
@@ -46,38 +69,74 @@ public class TransactionService {
     public TransactionResponse createTransaction(TransactionRequest request, User user) {
         log.info("Creating transaction for user ID: {}", user.getId());
         
-        // Validate category exists and is available to user
-        Category category = categoryRepository.findByIdAndAvailableToUser(request.getCategoryId(), user.getId())
-                .orElseThrow(() -> new ResourceNotFoundException("Category not found or not available"));
-        
-        // Validate category type matches transaction type
-        if (!category.getType().name().equals(request.getType().name())) {
-            throw new InvalidRequestException(
-                String.format("Category type (%s) does not match transaction type (%s)", 
-                    category.getType(), request.getType())
-            );
-        }
-        
-        // Validate transaction date is not in future
-        if (request.getTransactionDate().isAfter(LocalDate.now())) {
-            throw new InvalidRequestException("Transaction date cannot be in the future");
-        }
+        // Validate category (or auto-categorize) and date
+        CategoryCache.CachedCategory category = resolveCategory(request.getCategoryId(), request, user);
+        validateTransactionDate(request);
         
         // Create and save transaction
-        Transaction transaction = new Transaction(
-            user,
-            category,
-            request.getType(),
-            request.getAmount(),
-            request.getTransactionDate(),
-            request.getDescription(),
-            request.getPaymentMethod()
-        );
+        Transaction transaction = buildTransaction(request, category, user);
+        boolean duplicate = registerFingerprint(transaction, request, user);
+        if (duplicate && isRejectDuplicate(request)) {
+            throw new DuplicateResourceException(DUPLICATE_MESSAGE);
+        }
         
         Transaction savedTransaction = transactionRepository.save(transaction);
+        indexForSearch(savedTransaction, user);
+        dataVersionTracker.bump(user.getEmail());
         log.info("Transaction created successfully with ID: {}", savedTransaction.getId());
         
-        return mapToResponse(savedTransaction);
+        TransactionResponse response = mapToResponse(savedTransaction, category.name());
+        response.setPossibleDuplicate(duplicate);
+        return response;
+    }
+
+    /**
+     * Create several transactions at once (bulk entry / import).
+     * The whole batch is validated before anything is saved; duplicates
+     * (also within the batch) are kept and flagged, left out when skipDuplicates is set,
+     * or reject the batch when their item sets rejectDuplicate.
+     */
+    @Transactional
+    public List<TransactionResponse> createTransactions(List<TransactionRequest> requests, boolean skipDuplicates, User user) {
+        log.info("Creating batch of {} transactions for user ID: {}", requests.size(), user.getId());
+        
+        List<Transaction> transactions = new ArrayList<>(requests.size());
+        List<String> categoryNames = new ArrayList<>(requests.size());
+        List<Boolean> duplicates = new ArrayList<>(requests.size());
+        for (int i = 0; i < requests.size(); i++) {
+            TransactionRequest request = requests.get(i);
+            try {
+                CategoryCache.CachedCategory category = resolveCategory(request.getCategoryId(), request, user);
+                validateTransactionDate(request);
+                Transaction transaction = buildTransaction(request, category, user);
+                boolean duplicate = registerFingerprint(transaction, request, user);
+                if (duplicate && isRejectDuplicate(request)) {
+                    throw new DuplicateResourceException(String.format("Transaction %d: %s", i, DUPLICATE_MESSAGE));
+                }
+                if (duplicate && skipDuplicates) {
+                    log.debug("Skipping duplicate transaction at batch index {}", i);
+                    continue;
+                }
+                transactions.add(transaction);
+                categoryNames.add(category.name());
+                duplicates.add(duplicate);
+            } catch (InvalidRequestException | ResourceNotFoundException e) {
+                throw new InvalidRequestException(String.format("Transaction %d: %s", i, e.getMessage()), e);
+            }
+        }
+        
+        List<Transaction> savedTransactions = transactionRepository.saveAll(transactions);
+        savedTransactions.forEach(transaction -> indexForSearch(transaction, user));
+        dataVersionTracker.bump(user.getEmail());
+        log.info("Batch of {} transactions created successfully", savedTransactions.size());
+        
+        List<TransactionResponse> responses = new ArrayList<>(savedTransactions.size());
+        for (int i = 0; i < savedTransactions.size(); i++) {
+            TransactionResponse response = mapToResponse(savedTransactions.get(i), categoryNames.get(i));
+            response.setPossibleDuplicate(duplicates.get(i));
+            responses.add(response);
+        }
+        return responses;
     }
 
     /**
@@ -91,11 +150,34 @@ public class TransactionService {
             LocalDate toDate,
             BigDecimal minAmount,
             BigDecimal maxAmount,
+            String query,
             String sortBy,
             String sortOrder,
             int page,
             int size,
             User user) {
+        return getTransactions(type, categoryId, fromDate, toDate, minAmount, maxAmount, query,
+            sortBy, sortOrder, page, size, false, user);
+    }
+
+    /**
+     * Get all transactions with filtering and pagination, optionally including archived ones
+     */
+    @Transactional(readOnly = true)
+    public PagedResponse<TransactionResponse> getTransactions(
+            TransactionType type,
+            Long categoryId,
+            LocalDate fromDate,
+            LocalDate toDate,
+            BigDecimal minAmount,
+            BigDecimal maxAmount,
+            String query,
+            String sortBy,
+            String sortOrder,
+            int page,
+            int size,
+            boolean includeArchived,
+            User user) {
         
         log.info("Fetching transactions for user ID: {} with filters", user.getId());
         
@@ -121,9 +203,61 @@ public class TransactionService {
         Sort sort = createSort(sortBy, sortOrder);
         Pageable pageable = PageRequest.of(page, size, sort);
         
-        // Execute query with filters
-        Page<Transaction> transactions = transactionRepository.findTransactionsWithFilters(
+        if (includeArchived) {
+            List<TransactionArchiveSegment> segments = transactionArchiveService.findSegments(user.getId(), fromDate, toDate);
+            if (!segments.isEmpty()) {
+                ListingFilter filter = new ListingFilter(type, categoryId, fromDate, toDate, minAmount, maxAmount, query);
+                return mergeArchived(segments, filter, pageable, user);
+            }
+        }
+        
+        // Execute query with filters and map to response DTOs
+        Page<TransactionResponse> responsePage = findActiveTransactions(
+            type, categoryId, fromDate, toDate, minAmount, maxAmount, query, pageable, user
+        ).map(this::mapToResponse);
+        
+        return new PagedResponse<>(responsePage);
+    }
+
+    /**
+     * Query the transactions table with the listing filters
+     */
+    private Page<Transaction> findActiveTransactions(
+            TransactionType type,
+            Long categoryId,
+            LocalDate fromDate,
+            LocalDate toDate,
+            BigDecimal minAmount,
+            BigDecimal maxAmount,
+            String query,
+            Pageable pageable,
+            User user) {
+        
+        if (query == null || query.isBlank()) {
+            return transactionRepository.findTransactionsWithFilters(
+                user.getId(),
+                type,
+                categoryId,
+                fromDate,
+                toDate,
+                minAmount,
+                maxAmount,
+                pageable
+            );
+        }
+        
+        // Resolve the text search from the in-memory index, then apply the other filters in SQL
+        long[] matchingIds = transactionSearchIndex.search(user.getId(), query);
+        if (matchingIds.length == 0) {
+            return Page.empty(pageable);
+        }
+        if (matchingIds.length > MAX_SEARCH_IDS) {
+            return findActiveTransactionsInChunks(
+                matchingIds, type, categoryId, fromDate, toDate, minAmount, maxAmount, pageable, user);
+        }
+        return transactionRepository.findTransactionsWithFiltersAndIds(
             user.getId(),
+            Arrays.stream(matchingIds).boxed().collect(Collectors.toList()),
             type,
             categoryId,
             fromDate,
@@ -132,11 +266,233 @@ public class TransactionService {
             maxAmount,
             pageable
         );
+    }
+
+    /**
+     * Page through text search matches too many to bind as one ID list: every chunk of IDs
+     * is queried for its first offset + size rows in listing order and its match count, and
+     * the page is cut from those rows merged in memory
+     */
+    private Page<Transaction> findActiveTransactionsInChunks(
+            long[] matchingIds,
+            TransactionType type,
+            Long categoryId,
+            LocalDate fromDate,
+            LocalDate toDate,
+            BigDecimal minAmount,
+            BigDecimal maxAmount,
+            Pageable pageable,
+            User user) {
         
-        // Map to response DTOs
-        Page<TransactionResponse> responsePage = transactions.map(this::mapToResponse);
+        Sort sort = pageable.getSort();
+        Sort.Direction direction = sort.isSorted() ? sort.iterator().next().getDirection() : Sort.Direction.ASC;
+        int needed = (int) Math.min(pageable.getOffset() + pageable.getPageSize(), Integer.MAX_VALUE);
+        // Ties broken by ID, in SQL and in memory alike
+        Pageable chunkPageable = PageRequest.of(0, needed, sort.and(Sort.by(direction, "id")));
         
-        return new PagedResponse<>(responsePage);
+        List<Transaction> candidates = new ArrayList<>();
+        long total = 0;
+        for (int from = 0; from < matchingIds.length; from += MAX_SEARCH_IDS) {
+            List<Long> chunk = Arrays.stream(matchingIds, from, Math.min(from + MAX_SEARCH_IDS, matchingIds.length))
+                .boxed()
+                .collect(Collectors.toList());
+            Page<Transaction> page = transactionRepository.findTransactionsWithFiltersAndIds(
+                user.getId(), chunk, type, categoryId, fromDate, toDate, minAmount, maxAmount, chunkPageable);
+            candidates.addAll(page.getContent());
+            total += page.getTotalElements();
+        }
+        
+        candidates.sort(transactionComparator(sort));
+        int start = (int) Math.min(pageable.getOffset(), candidates.size());
+        int end = Math.min(start + pageable.getPageSize(), candidates.size());
+        return new PageImpl<>(new ArrayList<>(candidates.subList(start, end)), pageable, total);
+    }
+
+    /**
+     * Merge matching archived transactions into a page of active ones. With a date sort the
+     * rows listed before the page are skipped by counting them: active rows with a count
+     * query, archived ones from the active row counts in the segment index. Segments
+     * reaching into the page are then read in listing order until it is full, merged with
+     * just enough active rows. Other sorts read every overlapping segment, and filters
+     * other than the date range need segments read for their match counts.
+     */
+    private PagedResponse<TransactionResponse> mergeArchived(
+            List<TransactionArchiveSegment> segments,
+            ListingFilter filter,
+            Pageable pageable,
+            User user) {
+        
+        Sort.Order order = pageable.getSort().iterator().next();
+        boolean byDate = "transactionDate".equals(order.getProperty());
+        boolean descending = order.isDescending();
+        Map<String, Integer> archivedCounts = new HashMap<>();
+        
+        // Segments in listing order of their nearest date
+        List<TransactionArchiveSegment> ordered = new ArrayList<>(segments);
+        ordered.sort(descending
+            ? Comparator.comparing(TransactionArchiveSegment::getToDate).reversed()
+            : Comparator.comparing(TransactionArchiveSegment::getFromDate));
+        
+        // Find the latest segment boundary (one no segment straddles) with at most offset rows before it
+        LocalDate boundary = null;
+        long activeSkipped = 0;
+        long archivedSkipped = 0;
+        if (byDate) {
+            List<LocalDate> candidates = ordered.stream()
+                .map(segment -> descending ? segment.getToDate() : segment.getFromDate())
+                .distinct()
+                .filter(date -> ordered.stream().noneMatch(segment -> straddles(segment, date, descending)))
+                .toList();
+            int low = 0;
+            int high = candidates.size() - 1;
+            while (low <= high) {
+                int middle = (low + high) >>> 1;
+                LocalDate date = candidates.get(middle);
+                long active = countActiveTransactions(filter.before(date, descending), user);
+                long archived = ordered.stream()
+                    .filter(segment -> isBefore(segment, date, descending))
+                    .mapToLong(segment -> countArchived(segment, filter, archivedCounts))
+                    .sum();
+                if (active + archived <= pageable.getOffset()) {
+                    boundary = date;
+                    activeSkipped = active;
+                    archivedSkipped = archived;
+                    low = middle + 1;
+                } else {
+                    high = middle - 1;
+                }
+            }
+        }
+        
+        // Merge the rows from the boundary on until the page is complete
+        ListingFilter remaining = boundary == null ? filter : filter.from(boundary, descending);
+        int skip = (int) (pageable.getOffset() - activeSkipped - archivedSkipped);
+        int end = skip + pageable.getPageSize();
+        Page<Transaction> active = findActiveTransactions(remaining.type(), remaining.categoryId(),
+            remaining.fromDate(), remaining.toDate(), remaining.minAmount(), remaining.maxAmount(),
+            remaining.query(), PageRequest.of(0, end, pageable.getSort()), user);
+        
+        Comparator<TransactionResponse> comparator = responseComparator(pageable.getSort());
+        List<TransactionResponse> merged = new ArrayList<>(end);
+        active.forEach(transaction -> merged.add(mapToResponse(transaction)));
+        for (TransactionArchiveSegment segment : ordered) {
+            if (boundary != null && isBefore(segment, boundary, descending)) {
+                continue;
+            }
+            if (byDate && merged.size() >= end && isPast(segment, merged.get(end - 1).getTransactionDate(), descending)) {
+                break;
+            }
+            List<TransactionResponse> archived = transactionArchiveService
+                .readArchived(segment, filter.fromDate(), filter.toDate()).stream()
+                .filter(filter::matches)
+                .map(transaction -> mapToResponse(transaction, user.getId()))
+                .toList();
+            archivedCounts.putIfAbsent(segment.getFileName(), archived.size());
+            merged.addAll(archived);
+            merged.sort(comparator);
+            if (merged.size() > end) {
+                merged.subList(end, merged.size()).clear();
+            }
+        }
+        
+        long archivedTotal = segments.stream().mapToLong(segment -> countArchived(segment, filter, archivedCounts)).sum();
+        long total = activeSkipped + active.getTotalElements() + archivedTotal;
+        List<TransactionResponse> content = merged.subList(Math.min(skip, merged.size()), Math.min(end, merged.size()));
+        return new PagedResponse<>(new PageImpl<>(content, pageable, total));
+    }
+
+    /**
+     * Count the active transactions matching the listing filters
+     */
+    private long countActiveTransactions(ListingFilter filter, User user) {
+        if (filter.fromDate() != null && filter.toDate() != null && filter.fromDate().isAfter(filter.toDate())) {
+            return 0;
+        }
+        return findActiveTransactions(filter.type(), filter.categoryId(), filter.fromDate(), filter.toDate(),
+            filter.minAmount(), filter.maxAmount(), filter.query(), PageRequest.of(0, 1), user).getTotalElements();
+    }
+
+    /**
+     * Count the archived transactions of a segment matching the listing filters, from the
+     * segment index when only whole segments are selected by date, otherwise by reading it
+     */
+    private int countArchived(TransactionArchiveSegment segment, ListingFilter filter, Map<String, Integer> counts) {
+        return counts.computeIfAbsent(segment.getFileName(), fileName ->
+            filter.isDateRangeOnly() && filter.covers(segment) && segment.getActiveRowCount() != null
+                ? segment.getActiveRowCount()
+                : (int) transactionArchiveService.readArchived(segment, filter.fromDate(), filter.toDate()).stream()
+                    .filter(filter::matches)
+                    .count());
+    }
+
+    /**
+     * Whether a segment may hold transactions on both sides of a boundary date
+     */
+    private static boolean straddles(TransactionArchiveSegment segment, LocalDate boundary, boolean descending) {
+        return descending
+            ? segment.getToDate().isAfter(boundary) && !segment.getFromDate().isAfter(boundary)
+            : segment.getFromDate().isBefore(boundary) && !segment.getToDate().isBefore(boundary);
+    }
+
+    /**
+     * Whether all of a segment is listed before a boundary date
+     */
+    private static boolean isBefore(TransactionArchiveSegment segment, LocalDate boundary, boolean descending) {
+        return descending ? segment.getFromDate().isAfter(boundary) : segment.getToDate().isBefore(boundary);
+    }
+
+    /**
+     * Whether all of a segment is listed after a date
+     */
+    private static boolean isPast(TransactionArchiveSegment segment, LocalDate date, boolean descending) {
+        return descending ? segment.getToDate().isBefore(date) : segment.getFromDate().isAfter(date);
+    }
+
+    /**
+     * In-memory equivalent of a Sort built by createSort, ties broken by ID
+     */
+    private static Comparator<TransactionResponse> responseComparator(Sort sort) {
+        Sort.Order order = sort.iterator().next();
+        Comparator<TransactionResponse> comparator = switch (order.getProperty()) {
+            case "amount" -> Comparator.comparing(TransactionResponse::getAmount);
+            case "createdAt" -> Comparator.comparing(TransactionResponse::getCreatedAt,
+                Comparator.nullsFirst(Comparator.naturalOrder()));
+            default -> Comparator.comparing(TransactionResponse::getTransactionDate);
+        };
+        comparator = comparator.thenComparing(TransactionResponse::getId);
+        return order.isAscending() ? comparator : comparator.reversed();
+    }
+
+    /**
+     * In-memory equivalent of a Sort built by createSort on entities, ties broken by ID
+     * (by ID alone when unsorted)
+     */
+    private static Comparator<Transaction> transactionComparator(Sort sort) {
+        if (sort.isUnsorted()) {
+            return Comparator.comparing(Transaction::getId);
+        }
+        Sort.Order order = sort.iterator().next();
+        Comparator<Transaction> comparator = switch (order.getProperty()) {
+            case "amount" -> Comparator.comparing(Transaction::getAmount);
+            case "createdAt" -> Comparator.comparing(Transaction::getCreatedAt,
+                Comparator.nullsFirst(Comparator.naturalOrder()));
+            default -> Comparator.comparing(Transaction::getTransactionDate);
+        };
+        comparator = comparator.thenComparing(Transaction::getId);
+        return order.isAscending() ? comparator : comparator.reversed();
+    }
+
+    /**
+     * Suggest descriptions of past transactions starting with prefix
+     */
+    public List<String> suggestDescriptions(String prefix, int limit, User user) {
+        if (limit > DescriptionSuggestionIndex.MAX_SUGGESTIONS) {
+            limit = DescriptionSuggestionIndex.MAX_SUGGESTIONS;
+        }
+        if (limit < 1) {
+            limit = 5; // Default suggestion count
+        }
+        return descriptionSuggestionIndex.suggest(user.getId(), prefix, limit);
     }
 
     /**
@@ -163,25 +519,34 @@ public class TransactionService {
         Transaction transaction = transactionRepository.findByIdAndUserIdAndIsDeletedFalse(transactionId, user.getId())
                 .orElseThrow(() -> new ResourceNotFoundException("Transaction not found"));
         
-        // Validate category exists and is available to user
-        Category category = categoryRepository.findByIdAndAvailableToUser(request.getCategoryId(), user.getId())
-                .orElseThrow(() -> new ResourceNotFoundException("Category not found or not available"));
+        // Validate category and date, keeping the current category when none is given
+        // (rules only categorize new transactions)
+        Long categoryId = request.getCategoryId() != null ? request.getCategoryId() : transaction.getCategory().getId();
+        CategoryCache.CachedCategory category = resolveCategory(categoryId, request, user);
+        validateTransactionDate(request);
         
-        // Validate category type matches transaction type
-        if (!category.getType().name().equals(request.getType().name())) {
-            throw new InvalidRequestException(
-                String.format("Category type (%s) does not match transaction type (%s)", 
-                    category.getType(), request.getType())
-            );
+        // Check whether the changed content duplicates another transaction
+        long fingerprint = DuplicateTransactionDetector.fingerprint(user.getId(), request.getTransactionDate(),
+            request.getAmount(), request.getDescription(), request.getPaymentMethod());
+        boolean duplicate = false;
+        if (!Long.valueOf(fingerprint).equals(transaction.getFingerprint())) {
+            duplicate = duplicateTransactionDetector.checkAndRegister(user.getId(), fingerprint,
+                request.getTransactionDate(), isRejectDuplicate(request));
+            if (duplicate && isRejectDuplicate(request)) {
+                throw new DuplicateResourceException(DUPLICATE_MESSAGE);
+            }
+            duplicateTransactionDetector.release(user.getId(), transaction.getFingerprint());
+            transaction.setFingerprint(fingerprint);
         }
         
-        // Validate transaction date is not in future
-        if (request.getTransactionDate().isAfter(LocalDate.now())) {
-            throw new InvalidRequestException("Transaction date cannot be in the future");
-        }
+        // Re-index the old and new text for search and suggestions
+        transactionSearchIndex.remove(user.getId(), transaction.getId(), transaction.getDescription(), transaction.getPaymentMethod());
+        transactionSearchIndex.index(user.getId(), transaction.getId(), request.getDescription(), request.getPaymentMethod());
+        descriptionSuggestionIndex.unrecord(user.getId(), transaction.getDescription(), transaction.getTransactionDate());
+        descriptionSuggestionIndex.record(user.getId(), request.getDescription(), request.getTransactionDate());
         
         // Update transaction fields
-        transaction.setCategory(category);
+        transaction.setCategory(categoryRepository.getReferenceById(category.id()));
         transaction.setType(request.getType());
         transaction.setAmount(request.getAmount());
         transaction.setTransactionDate(request.getTransactionDate());
@@ -189,9 +554,12 @@ public class TransactionService {
         transaction.setPaymentMethod(request.getPaymentMethod());
         
         Transaction updatedTransaction = transactionRepository.save(transaction);
+        dataVersionTracker.bump(user.getEmail());
         log.info("Transaction updated successfully with ID: {}", updatedTransaction.getId());
         
-        return mapToResponse(updatedTransaction);
+        TransactionResponse response = mapToResponse(updatedTransaction, category.name());
+        response.setPossibleDuplicate(duplicate);
+        return response;
     }
 
     /**
@@ -207,10 +575,128 @@ public class TransactionService {
         // Soft delete
         transaction.setIsDeleted(true);
         transactionRepository.save(transaction);
+        transactionSearchIndex.remove(user.getId(), transaction.getId(), transaction.getDescription(), transaction.getPaymentMethod());
+        descriptionSuggestionIndex.unrecord(user.getId(), transaction.getDescription(), transaction.getTransactionDate());
+        duplicateTransactionDetector.release(user.getId(), transaction.getFingerprint());
+        dataVersionTracker.bump(user.getEmail());
         
         log.info("Transaction soft deleted successfully with ID: {}", transactionId);
     }
 
+    /**
+     * Save due occurrences of a recurring transaction as regular transactions.
+     * Called by RecurringTransactionService within its batch transaction; the rule's
+     * category was validated when the rule was saved.
+     */
+    List<Transaction> saveRecurringOccurrences(RecurringTransaction recurringTransaction, List<LocalDate> dates) {
+        User user = recurringTransaction.getUser();
+        List<Transaction> transactions = new ArrayList<>(dates.size());
+        for (LocalDate date : dates) {
+            Transaction transaction = new Transaction(
+                user,
+                recurringTransaction.getCategory(),
+                recurringTransaction.getType(),
+                recurringTransaction.getAmount(),
+                date,
+                recurringTransaction.getDescription(),
+                recurringTransaction.getPaymentMethod()
+            );
+            transaction.setRecurringTransactionId(recurringTransaction.getId());
+            transaction.setFingerprint(DuplicateTransactionDetector.fingerprint(user.getId(), date,
+                recurringTransaction.getAmount(), recurringTransaction.getDescription(), recurringTransaction.getPaymentMethod()));
+            // Scheduled occurrences are always recorded, but later manual copies are flagged
+            duplicateTransactionDetector.checkAndRegister(user.getId(), transaction.getFingerprint(), date, false);
+            transactions.add(transaction);
+        }
+        
+        List<Transaction> savedTransactions = transactionRepository.saveAll(transactions);
+        savedTransactions.forEach(transaction -> indexForSearch(transaction, user));
+        dataVersionTracker.bump(user.getEmail());
+        return savedTransactions;
+    }
+
+    /**
+     * Resolve the transaction category: validate the requested one, or pick one
+     * from the user's categorization rules when no category was given
+     */
+    private CategoryCache.CachedCategory resolveCategory(Long categoryId, TransactionRequest request, User user) {
+        if (categoryId == null) {
+            categoryId = categorizationRuleService.classify(
+                user.getId(),
+                request.getType(),
+                request.getAmount(),
+                request.getDescription(),
+                request.getPaymentMethod()
+            ).orElseThrow(() -> new InvalidRequestException(
+                "Category ID is required when no categorization rule matches the transaction"
+            ));
+        }
+        
+        // Validate category exists and is available to user
+        CategoryCache.CachedCategory category = categoryCache.findAvailableToUser(categoryId, user.getId())
+                .orElseThrow(() -> new ResourceNotFoundException("Category not found or not available"));
+        
+        // Validate category type matches transaction type
+        if (!category.type().name().equals(request.getType().name())) {
+            throw new InvalidRequestException(
+                String.format("Category type (%s) does not match transaction type (%s)", 
+                    category.type(), request.getType())
+            );
+        }
+        return category;
+    }
+
+    /**
+     * Add a saved transaction to the user's search and suggestion indexes
+     */
+    private void indexForSearch(Transaction transaction, User user) {
+        transactionSearchIndex.index(user.getId(), transaction.getId(), transaction.getDescription(), transaction.getPaymentMethod());
+        descriptionSuggestionIndex.record(user.getId(), transaction.getDescription(), transaction.getTransactionDate());
+    }
+
+    /**
+     * Validate transaction date is not in future
+     */
+    private void validateTransactionDate(TransactionRequest request) {
+        if (request.getTransactionDate().isAfter(LocalDate.now())) {
+            throw new InvalidRequestException("Transaction date cannot be in the future");
+        }
+    }
+
+    /**
+     * Build a new Transaction entity referencing the (already validated) category
+     */
+    private Transaction buildTransaction(TransactionRequest request, CategoryCache.CachedCategory category, User user) {
+        Transaction transaction = new Transaction(
+            user,
+            categoryRepository.getReferenceById(category.id()),
+            request.getType(),
+            request.getAmount(),
+            request.getTransactionDate(),
+            request.getDescription(),
+            request.getPaymentMethod()
+        );
+        transaction.setFingerprint(DuplicateTransactionDetector.fingerprint(user.getId(), request.getTransactionDate(),
+            request.getAmount(), request.getDescription(), request.getPaymentMethod()));
+        return transaction;
+    }
+    
+    /**
+     * Register a new transaction's fingerprint, returning true if it duplicates an existing one
+     */
+    private boolean registerFingerprint(Transaction transaction, TransactionRequest request, User user) {
+        return duplicateTransactionDetector.checkAndRegister(
+            user.getId(),
+            transaction.getFingerprint(),
+            transaction.getTransactionDate(),
+            isRejectDuplicate(request)
+        );
+    }
+
+    private static boolean isRejectDuplicate(TransactionRequest request) {
+        return Boolean.TRUE.equals(request.getRejectDuplicate());
+    }
+
     /**
      * Create Sort object from sort parameters
      */
@@ -238,19 +724,114 @@ public class TransactionService {
     /**
      * Map Transaction entity to TransactionResponse DTO
      */
-    private TransactionResponse mapToResponse(Transaction transaction) {
+    TransactionResponse mapToResponse(Transaction transaction) {
+        return mapToResponse(transaction, transaction.getCategory().getName());
+    }
+
+    /**
+     * Map an archived transaction to TransactionResponse DTO
+     */
+    TransactionResponse mapToResponse(TransactionArchive.ArchivedTransaction transaction, Long userId) {
+        TransactionResponse response = new TransactionResponse();
+        response.setId(transaction.id());
+        response.setType(transaction.type());
+        response.setCategoryId(transaction.categoryId());
+        response.setCategoryName(categoryCache.findAvailableToUser(transaction.categoryId(), userId)
+            .map(CategoryCache.CachedCategory::name)
+            .orElse(null));
+        response.setAmount(transaction.amount());
+        response.setTransactionDate(transaction.transactionDate());
+        response.setDescription(transaction.description());
+        response.setPaymentMethod(transaction.paymentMethod());
+        response.setRecurringTransactionId(transaction.recurringTransactionId());
+        response.setCreatedAt(transaction.createdAt());
+        response.setUpdatedAt(transaction.updatedAt());
+        return response;
+    }
+
+    /**
+     * Map Transaction entity to TransactionResponse DTO using an already known category name,
+     * so the lazy category reference is not initialized
+     */
+    private TransactionResponse mapToResponse(Transaction transaction, String categoryName) {
         TransactionResponse response = new TransactionResponse();
         response.setId(transaction.getId());
         response.setType(transaction.getType());
         response.setCategoryId(transaction.getCategory().getId());
-        response.setCategoryName(transaction.getCategory().getName());
+        response.setCategoryName(categoryName);
         response.setAmount(transaction.getAmount());
         response.setTransactionDate(transaction.getTransactionDate());
         response.setDescription(transaction.getDescription());
         response.setPaymentMethod(transaction.getPaymentMethod());
+        response.setRecurringTransactionId(transaction.getRecurringTransactionId());
         response.setCreatedAt(transaction.getCreatedAt());
         response.setUpdatedAt(transaction.getUpdatedAt());
         return response;
     }
+
+    /**
+     * Listing filters, whose date range the archive merge narrows
+     */
+    private record ListingFilter(
+            TransactionType type,
+            Long categoryId,
+            LocalDate fromDate,
+            LocalDate toDate,
+            BigDecimal minAmount,
+            BigDecimal maxAmount,
+            String query) {
+
+        /**
+         * The same filters, limited to the rows listed before a boundary date
+         */
+        ListingFilter before(LocalDate boundary, boolean descending) {
+            return descending
+                ? withDates(latest(fromDate, boundary.plusDays(1)), toDate)
+                : withDates(fromDate, earliest(toDate, boundary.minusDays(1)));
+        }
+
+        /**
+         * The same filters, limited to the rows listed from a boundary date on
+         */
+        ListingFilter from(LocalDate boundary, boolean descending) {
+            return descending
+                ? withDates(fromDate, earliest(toDate, boundary))
+                : withDates(latest(fromDate, boundary), toDate);
+        }
+
+        boolean isDateRangeOnly() {
+            return type == null && categoryId == null && minAmount == null && maxAmount == null
+                && (query == null || query.isBlank());
+        }
+
+        boolean covers(TransactionArchiveSegment segment) {
+            return (fromDate == null || !segment.getFromDate().isBefore(fromDate))
+                && (toDate == null || !segment.getToDate().isAfter(toDate));
+        }
+
+        /**
+         * Whether an archived transaction matches the filters other than the date range
+         */
+        boolean matches(TransactionArchive.ArchivedTransaction transaction) {
+            return (type == null || transaction.type() == type)
+                && (categoryId == null || transaction.categoryId().equals(categoryId))
+                && (minAmount == null || transaction.amount().compareTo(minAmount) >= 0)
+                && (maxAmount == null || transaction.amount().compareTo(maxAmount) <= 0)
+                && (query == null || query.isBlank()
+                    || TransactionSearchIndex.matches(query, transaction.description(), transaction.paymentMethod()));
+        }
+
+        private ListingFilter withDates(LocalDate from, LocalDate to) {
+            return new ListingFilter(type, categoryId, from, to, minAmount, maxAmount, query);
+        }
+
+        private static LocalDate latest(LocalDate date, LocalDate other) {
+            return date == null || other.isAfter(date) ? other : date;
+        }
+
+        private static LocalDate earliest(LocalDate date, LocalDate other) {
+            return date == null || other.isBefore(date) ? other : date;
+        }
+    }
 }
 
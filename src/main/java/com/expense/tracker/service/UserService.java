@@ -8,6 +8,7 @@ import com.expense.tracker.model.User;
 import com.expense.tracker.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -25,6 +26,7 @@ public class UserService {
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final ObjectProvider<ShardDirectory> shardDirectory;
 
     /**
      * Get user profile
@@ -75,6 +77,8 @@ public class UserService {
         }
         
         User savedUser = userRepository.save(updatedUser);
+        // With sharding, every shard holding a copy of the user row gets the change too
+        shardDirectory.ifAvailable(directory -> directory.refreshUser(savedUser.getId()));
         log.info("Profile updated successfully for user ID: {}", savedUser.getId());
         
         return new UserResponse(
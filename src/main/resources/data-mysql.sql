@@ -32,3 +32,8 @@ INSERT INTO categories (id, name, type, is_system_category, user_id, created_at)
 (14, 'Insurance', 'EXPENSE', true, null, NOW()),
 (15, 'Other Expense', 'EXPENSE', true, null, NOW())
 ON DUPLICATE KEY UPDATE name = VALUES(name);
+
+-- Category Closure (every category is its own ancestor at depth 0)
+-- Also backfills self rows for custom categories created before the hierarchy existed
+INSERT IGNORE INTO category_closure (ancestor_id, descendant_id, depth)
+SELECT id, id, 0 FROM categories;
@@ -22,3 +22,10 @@ INSERT INTO categories (id, name, type, is_system_category, user_id, created_at)
 (13, 'Education', 'EXPENSE', true, null, CURRENT_TIMESTAMP()),
 (14, 'Insurance', 'EXPENSE', true, null, CURRENT_TIMESTAMP()),
 (15, 'Other Expense', 'EXPENSE', true, null, CURRENT_TIMESTAMP());
+
+-- Custom categories are numbered after the seeded ids
+ALTER TABLE categories ALTER COLUMN id RESTART WITH 16;
+
+-- Category Closure (every category is its own ancestor at depth 0)
+INSERT INTO category_closure (ancestor_id, descendant_id, depth)
+SELECT id, id, 0 FROM categories;
@@ -0,0 +1,28 @@
+-- Backfill transactions.fingerprint (MySQL 8)
+--
+-- Rows written before duplicate detection have no fingerprint, so a new transaction
+-- copying one of them is not flagged. This computes the same value as
+-- DuplicateTransactionDetector.fingerprint: the first 64 bits (signed) of SHA-256 over
+-- user_id|transaction_date|amount without trailing zeros|description|payment_method,
+-- the texts trimmed, whitespace runs collapsed and lower-cased.
+--
+-- Run on the database holding the transactions (each shard when sharded). It updates
+-- 10000 rows per statement so locks stay short; repeat until it reports 0 rows.
+-- Restart the application (or wait for the fingerprint cache to cycle) afterwards.
+
+UPDATE transactions t
+JOIN (
+    SELECT id, LEFT(SHA2(CONCAT(
+        user_id, '|',
+        transaction_date, '|',
+        TRIM(TRAILING '.' FROM TRIM(TRAILING '0' FROM CAST(amount AS CHAR))), '|',
+        LOWER(REGEXP_REPLACE(TRIM(COALESCE(description, '')), '[[:space:]]+', ' ')), '|',
+        LOWER(REGEXP_REPLACE(TRIM(COALESCE(payment_method, '')), '[[:space:]]+', ' '))
+    ), 256), 16) AS hash
+    FROM transactions
+    WHERE fingerprint IS NULL
+    ORDER BY id
+    LIMIT 10000
+) f ON f.id = t.id
+-- Hex digits 8-f set the sign bit of the 64-bit value
+SET t.fingerprint = CAST(CAST(CONV(f.hash, 16, 10) AS DECIMAL(20)) - IF(f.hash >= '8', 18446744073709551616, 0) AS SIGNED);
@@ -0,0 +1,82 @@
+-- Report latency benchmark for the transactions table (MySQL 8)
+--
+-- Fills transactions with synthetic rows spread over five years for a few thousand
+-- users, then times the report queries for one month. Run it on a scratch database,
+-- once before and once after partition-transactions.sql, and compare the timings and
+-- the "partitions" column of EXPLAIN.
+--
+--   mysql -u root -p expense_tracker_bench < benchmark-transactions.sql
+--
+-- @rows defaults to 50M rows; rows are inserted in batches of 100k.
+
+SET @rows = 50000000;
+SET @users = 5000;
+SET @bench_user = 42;
+
+-- Users the synthetic rows belong to (categories are the seeded system categories 6-15)
+INSERT IGNORE INTO users (id, name, email, password, is_active, created_at, updated_at)
+WITH RECURSIVE seq (n) AS (SELECT 1 UNION ALL SELECT n + 1 FROM seq WHERE n < @users)
+SELECT n, CONCAT('Bench User ', n), CONCAT('bench', n, '@example.com'), 'x', true, NOW(), NOW() FROM seq;
+
+DROP PROCEDURE IF EXISTS generate_transactions;
+DELIMITER //
+CREATE PROCEDURE generate_transactions(IN total BIGINT)
+BEGIN
+    DECLARE done BIGINT DEFAULT 0;
+    SET SESSION cte_max_recursion_depth = 100000;
+    WHILE done < total DO
+        INSERT INTO transactions (user_id, category_id, type, amount, transaction_date, description,
+                                  payment_method, is_deleted, created_at, updated_at)
+        WITH RECURSIVE seq (n) AS (SELECT 1 UNION ALL SELECT n + 1 FROM seq WHERE n < LEAST(100000, total - done))
+        SELECT 1 + FLOOR(RAND() * @users),
+               6 + FLOOR(RAND() * 10),
+               'EXPENSE',
+               ROUND(1 + RAND() * 500, 2),
+               DATE_SUB(CURRENT_DATE, INTERVAL FLOOR(RAND() * 1826) DAY),
+               CONCAT('Synthetic expense ', n),
+               'Card',
+               false, NOW(), NOW()
+        FROM seq;
+        COMMIT;
+        SET done = done + 100000;
+    END WHILE;
+END //
+DELIMITER ;
+
+CALL generate_transactions(@rows);
+ANALYZE TABLE transactions;
+
+SET @from_date = DATE_FORMAT(DATE_SUB(CURRENT_DATE, INTERVAL 1 MONTH), '%Y-%m-01');
+SET @to_date = DATE_ADD(@from_date, INTERVAL 1 MONTH);
+
+-- Monthly summary, as issued by TransactionRepository.getSummaryBetween
+EXPLAIN ANALYZE
+SELECT SUM(CASE WHEN type = 'INCOME' THEN amount ELSE 0 END),
+       SUM(CASE WHEN type = 'EXPENSE' THEN amount ELSE 0 END),
+       COUNT(id)
+FROM transactions
+WHERE user_id = @bench_user AND is_deleted = false
+  AND transaction_date >= @from_date AND transaction_date < @to_date;
+
+-- Category breakdown, as issued by TransactionRepository.getCategoryWiseExpenseReportBetween
+EXPLAIN ANALYZE
+SELECT c.id, c.name, SUM(t.amount), COUNT(t.id)
+FROM transactions t JOIN categories c ON c.id = t.category_id
+WHERE t.user_id = @bench_user AND t.type = 'EXPENSE' AND t.is_deleted = false
+  AND t.transaction_date >= @from_date AND t.transaction_date < @to_date
+GROUP BY c.id, c.name
+ORDER BY SUM(t.amount) DESC;
+
+-- The previous query shape, for comparison: MONTH()/YEAR() hide the column from the
+-- index range scan and from partition pruning
+EXPLAIN
+SELECT SUM(amount) FROM transactions
+WHERE user_id = @bench_user AND is_deleted = false
+  AND MONTH(transaction_date) = MONTH(@from_date) AND YEAR(transaction_date) = YEAR(@from_date);
+
+EXPLAIN
+SELECT SUM(amount) FROM transactions
+WHERE user_id = @bench_user AND is_deleted = false
+  AND transaction_date >= @from_date AND transaction_date < @to_date;
+
+DROP PROCEDURE generate_transactions;
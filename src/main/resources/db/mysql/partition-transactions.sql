@@ -0,0 +1,74 @@
+-- Monthly RANGE partitioning of the transactions table (MySQL 8)
+--
+-- Reports, budgets and alerts always read one user's transactions for a date range
+-- (transaction_date >= :fromDate AND transaction_date < :toDate), so with the table
+-- partitioned by month MySQL only opens the partitions of that range. EXPLAIN shows
+-- which ones in its "partitions" column.
+--
+-- Run once against an existing schema during a maintenance window: the ALTER rebuilds
+-- the table. Afterwards set transactions.partitioning.enabled=true so the application
+-- keeps splitting new months off p_future ahead of time.
+--
+-- Partitioned InnoDB tables cannot have foreign keys, and every unique key must contain
+-- the partitioning column: the two foreign keys are dropped (CategoryService refuses to
+-- delete categories with active transactions; soft-deleted ones may then point at a
+-- removed category) and transaction_date joins the primary key. Hibernate's schema validation does not
+-- check either, and uk_transactions_recurring_occurrence already includes the date.
+
+USE expense_tracker;
+
+ALTER TABLE transactions
+    DROP FOREIGN KEY fk_transaction_user,
+    DROP FOREIGN KEY fk_transaction_category;
+
+ALTER TABLE transactions
+    DROP PRIMARY KEY,
+    ADD PRIMARY KEY (id, transaction_date);
+
+ALTER TABLE transactions
+PARTITION BY RANGE COLUMNS (transaction_date) (
+    PARTITION p_history VALUES LESS THAN ('2024-01-01'),
+    PARTITION p202401 VALUES LESS THAN ('2024-02-01'),
+    PARTITION p202402 VALUES LESS THAN ('2024-03-01'),
+    PARTITION p202403 VALUES LESS THAN ('2024-04-01'),
+    PARTITION p202404 VALUES LESS THAN ('2024-05-01'),
+    PARTITION p202405 VALUES LESS THAN ('2024-06-01'),
+    PARTITION p202406 VALUES LESS THAN ('2024-07-01'),
+    PARTITION p202407 VALUES LESS THAN ('2024-08-01'),
+    PARTITION p202408 VALUES LESS THAN ('2024-09-01'),
+    PARTITION p202409 VALUES LESS THAN ('2024-10-01'),
+    PARTITION p202410 VALUES LESS THAN ('2024-11-01'),
+    PARTITION p202411 VALUES LESS THAN ('2024-12-01'),
+    PARTITION p202412 VALUES LESS THAN ('2025-01-01'),
+    PARTITION p202501 VALUES LESS THAN ('2025-02-01'),
+    PARTITION p202502 VALUES LESS THAN ('2025-03-01'),
+    PARTITION p202503 VALUES LESS THAN ('2025-04-01'),
+    PARTITION p202504 VALUES LESS THAN ('2025-05-01'),
+    PARTITION p202505 VALUES LESS THAN ('2025-06-01'),
+    PARTITION p202506 VALUES LESS THAN ('2025-07-01'),
+    PARTITION p202507 VALUES LESS THAN ('2025-08-01'),
+    PARTITION p202508 VALUES LESS THAN ('2025-09-01'),
+    PARTITION p202509 VALUES LESS THAN ('2025-10-01'),
+    PARTITION p202510 VALUES LESS THAN ('2025-11-01'),
+    PARTITION p202511 VALUES LESS THAN ('2025-12-01'),
+    PARTITION p202512 VALUES LESS THAN ('2026-01-01'),
+    PARTITION p202601 VALUES LESS THAN ('2026-02-01'),
+    PARTITION p202602 VALUES LESS THAN ('2026-03-01'),
+    PARTITION p202603 VALUES LESS THAN ('2026-04-01'),
+    PARTITION p202604 VALUES LESS THAN ('2026-05-01'),
+    PARTITION p202605 VALUES LESS THAN ('2026-06-01'),
+    PARTITION p202606 VALUES LESS THAN ('2026-07-01'),
+    PARTITION p202607 VALUES LESS THAN ('2026-08-01'),
+    PARTITION p202608 VALUES LESS THAN ('2026-09-01'),
+    PARTITION p202609 VALUES LESS THAN ('2026-10-01'),
+    PARTITION p202610 VALUES LESS THAN ('2026-11-01'),
+    PARTITION p202611 VALUES LESS THAN ('2026-12-01'),
+    PARTITION p202612 VALUES LESS THAN ('2027-01-01'),
+    PARTITION p_future VALUES LESS THAN (MAXVALUE)
+);
+
+-- Check the layout
+SELECT PARTITION_NAME, PARTITION_DESCRIPTION, TABLE_ROWS
+FROM information_schema.PARTITIONS
+WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'transactions'
+ORDER BY PARTITION_ORDINAL_POSITION;
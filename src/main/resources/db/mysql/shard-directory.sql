@@ -0,0 +1,42 @@
+-- User-id sharding setup (MySQL 8)
+--
+-- With sharding.enabled=true the spring.datasource database is the global one: it holds
+-- the users and the shard directory below. Every shard (sharding.shards.<id>.*) is a
+-- database with the full application schema, holding the transactions, budgets, custom
+-- categories and other per-user rows of the users placed on it, plus a copy of each of
+-- those users' rows for its foreign keys.
+
+-- 1. On the global database
+USE expense_tracker;
+
+CREATE TABLE IF NOT EXISTS shard_directory (
+    user_id BIGINT NOT NULL PRIMARY KEY,
+    shard_id VARCHAR(64) NOT NULL,
+    migrating BOOLEAN NOT NULL DEFAULT FALSE,
+    version BIGINT NOT NULL DEFAULT 0,
+    assigned_at TIMESTAMP NOT NULL
+);
+
+-- Upgrading a directory created before assignments were versioned:
+-- ALTER TABLE shard_directory ADD COLUMN version BIGINT NOT NULL DEFAULT 0 AFTER migrating;
+
+-- 2. On each shard, after creating the schema and loading data-mysql.sql (system
+-- categories keep the same IDs everywhere): start its IDs in its own range, so moving a
+-- user between shards keeps their IDs. Use 1 * 10^12 on the first shard, 2 * 10^12 on
+-- the second, and so on; users keep the IDs assigned by the global database.
+ALTER TABLE categories AUTO_INCREMENT = 1000000000000;
+ALTER TABLE transactions AUTO_INCREMENT = 1000000000000;
+ALTER TABLE budgets AUTO_INCREMENT = 1000000000000;
+ALTER TABLE categorization_rules AUTO_INCREMENT = 1000000000000;
+ALTER TABLE recurring_transactions AUTO_INCREMENT = 1000000000000;
+ALTER TABLE sync_tombstones AUTO_INCREMENT = 1000000000000;
+ALTER TABLE transaction_archive_segments AUTO_INCREMENT = 1000000000000;
+
+-- 3. On each shard: the write fence of every user placed on it (see ShardWriteFence).
+-- New users get theirs when placed; on shards created before fencing, backfill the
+-- existing users before the next migration.
+CREATE TABLE IF NOT EXISTS shard_fences (
+    user_id BIGINT NOT NULL PRIMARY KEY,
+    version BIGINT NOT NULL
+);
+INSERT IGNORE INTO shard_fences (user_id, version) SELECT id, 0 FROM users;
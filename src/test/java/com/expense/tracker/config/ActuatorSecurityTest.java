@@ -0,0 +1,162 @@
+package com.expense.tracker.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.UUID;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The admin actuator endpoints and the X-Server-Timing breakdown answer only users
+ * listed in security.operators, and /actuator/prometheus also the scrape token
+ */
+@SpringBootTest(properties = {
+    "jwt.secret=YourVeryLongSecretKeyForJWTTokenGenerationAndValidation123456789ExpenseTracker2024",
+    "logging.level.com.expense.tracker=WARN",
+    "management.endpoints.web.exposure.include=health,slowqueries,profile,shards,metrics,prometheus",
+    "security.operators=" + ActuatorSecurityTest.OPERATOR,
+    "security.scrape-token=" + ActuatorSecurityTest.SCRAPE_TOKEN
+})
+@AutoConfigureMockMvc
+// Metrics export, and with it /actuator/prometheus, is off in tests otherwise
+@AutoConfigureObservability(tracing = false)
+@ActiveProfiles("test")
+class ActuatorSecurityTest {
+
+    static final String OPERATOR = "operator@example.com";
+    static final String SCRAPE_TOKEN = "test-scrape-token";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void slowQueries_OperatorsOnly() throws Exception {
+        // Arrange
+        String user = token("user-" + UUID.randomUUID() + "@example.com");
+        String operator = token(OPERATOR);
+
+        // Act & Assert
+        mockMvc.perform(get("/actuator/slowqueries")).andExpect(status().is4xxClientError());
+        mockMvc.perform(get("/actuator/slowqueries").header("Authorization", "Bearer " + user))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(delete("/actuator/slowqueries").header("Authorization", "Bearer " + user))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/actuator/slowqueries").header("Authorization", "Bearer " + operator))
+                .andExpect(status().isOk());
+        mockMvc.perform(delete("/actuator/slowqueries").header("Authorization", "Bearer " + operator))
+                .andExpect(status().is2xxSuccessful());
+        mockMvc.perform(get("/actuator/health")).andExpect(status().isOk());
+    }
+
+    @Test
+    void profile_OperatorsOnly() throws Exception {
+        // Arrange
+        String user = token("user-" + UUID.randomUUID() + "@example.com");
+
+        // Act & Assert: rejected before anything is recorded
+        mockMvc.perform(get("/actuator/profile/summary").param("seconds", "1")).andExpect(status().is4xxClientError());
+        mockMvc.perform(get("/actuator/profile/summary").param("seconds", "1").header("Authorization", "Bearer " + user))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/actuator/profile").param("seconds", "1").header("Authorization", "Bearer " + user))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void shards_OperatorsOnly() throws Exception {
+        // Arrange
+        String user = token("user-" + UUID.randomUUID() + "@example.com");
+        String operator = token(OPERATOR);
+
+        // Act & Assert
+        mockMvc.perform(get("/actuator/shards")).andExpect(status().is4xxClientError());
+        mockMvc.perform(get("/actuator/shards").header("Authorization", "Bearer " + user))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/actuator/shards").header("Authorization", "Bearer " + operator))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void metrics_OperatorsOnly() throws Exception {
+        // Arrange
+        String user = token("user-" + UUID.randomUUID() + "@example.com");
+        String operator = token(OPERATOR);
+
+        // Act & Assert: the scrape token is not accepted beyond /actuator/prometheus
+        mockMvc.perform(get("/actuator/metrics")).andExpect(status().is4xxClientError());
+        mockMvc.perform(get("/actuator/metrics").header("Authorization", "Bearer " + user))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/actuator/metrics").header("Authorization", "Bearer " + SCRAPE_TOKEN))
+                .andExpect(status().is4xxClientError());
+        mockMvc.perform(get("/actuator/metrics").header("Authorization", "Bearer " + operator))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void prometheus_OperatorsOrScrapeToken() throws Exception {
+        // Arrange
+        String user = token("user-" + UUID.randomUUID() + "@example.com");
+        String operator = token(OPERATOR);
+
+        // Act & Assert
+        mockMvc.perform(get("/actuator/prometheus")).andExpect(status().is4xxClientError());
+        mockMvc.perform(get("/actuator/prometheus").header("Authorization", "Bearer " + user))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/actuator/prometheus").header("Authorization", "Bearer wrong-" + SCRAPE_TOKEN))
+                .andExpect(status().is4xxClientError());
+        mockMvc.perform(get("/actuator/prometheus").header("Authorization", "Bearer " + SCRAPE_TOKEN))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/actuator/prometheus").header("Authorization", "Bearer " + operator))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/transactions").header("Authorization", "Bearer " + SCRAPE_TOKEN))
+                .andExpect(status().is4xxClientError());
+    }
+
+    @Test
+    void serverTimingHeader_OperatorsOnly() throws Exception {
+        // Arrange
+        String user = token("user-" + UUID.randomUUID() + "@example.com");
+        String operator = token(OPERATOR);
+
+        // Act & Assert: server-timing.sample-rate is 0, so only the operator gets a breakdown
+        mockMvc.perform(get("/api/categories").header("X-Server-Timing", "1"))
+                .andExpect(header().doesNotExist("Server-Timing"));
+        mockMvc.perform(get("/api/categories").header("X-Server-Timing", "1").header("Authorization", "Bearer " + user))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("Server-Timing"));
+        mockMvc.perform(get("/api/categories").header("X-Server-Timing", "1").header("Authorization", "Bearer " + operator))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Server-Timing", containsString("auth;dur=")));
+    }
+
+    /**
+     * A token of the user, registering them unless an earlier test did
+     */
+    private String token(String email) throws Exception {
+        String body = "{\"name\":\"Actuator\",\"email\":\"" + email + "\",\"password\":\"Password123!\"}";
+        MvcResult registered = mockMvc.perform(post("/api/auth/register")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andReturn();
+        MvcResult result = registered.getResponse().getStatus() == 409
+                ? mockMvc.perform(post("/api/auth/login").contentType(MediaType.APPLICATION_JSON).content(body))
+                        .andExpect(status().isOk())
+                        .andReturn()
+                : registered;
+        return objectMapper.readTree(result.getResponse().getContentAsString()).get("token").asText();
+    }
+}
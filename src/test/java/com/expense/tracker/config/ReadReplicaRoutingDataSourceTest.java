@@ -0,0 +1,132 @@
+package com.expense.tracker.config;
+
+import com.expense.tracker.service.ReadYourWritesTracker;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for ReadReplicaRoutingDataSource, with two in-memory H2 databases standing in
+ * for the primary and the replica (each knows its own name)
+ */
+class ReadReplicaRoutingDataSourceTest {
+
+    private final ReadYourWritesTracker readYourWritesTracker = new ReadYourWritesTracker();
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readWrite;
+    private TransactionTemplate readOnly;
+
+    @BeforeEach
+    void setUp() {
+        ReadReplicaRoutingDataSource routingDataSource = new ReadReplicaRoutingDataSource(
+                database("primary"), database("replica"), readYourWritesTracker);
+        routingDataSource.afterPropertiesSet();
+        DataSource dataSource = new LazyConnectionDataSourceProxy(routingDataSource);
+
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void readOnlyTransactions_GoToReplica() {
+        // Act & Assert
+        assertEquals("replica", readOnly.execute(status -> whichDatabase()));
+        assertEquals("primary", readWrite.execute(status -> whichDatabase()));
+        assertEquals("primary", whichDatabase());
+    }
+
+    @Test
+    void recentWriter_ReadsFromPrimary() {
+        // Arrange
+        authenticate("alice@example.com");
+
+        // Act
+        readWrite.execute(status -> jdbcTemplate.update("UPDATE node SET writes = writes + 1"));
+
+        // Assert
+        assertEquals("primary", readOnly.execute(status -> whichDatabase()));
+        authenticate("bob@example.com");
+        assertEquals("replica", readOnly.execute(status -> whichDatabase()));
+    }
+
+    @Test
+    void rolledBackWrite_DoesNotPinUser() {
+        // Arrange
+        authenticate("alice@example.com");
+
+        // Act
+        readWrite.execute(status -> {
+            jdbcTemplate.update("UPDATE node SET writes = writes + 1");
+            status.setRollbackOnly();
+            return null;
+        });
+
+        // Assert
+        assertEquals("replica", readOnly.execute(status -> whichDatabase()));
+    }
+
+    @Test
+    void stickiness_EndsAfterWindow() {
+        // Arrange
+        ReflectionTestUtils.setField(readYourWritesTracker, "window", Duration.ZERO);
+        authenticate("alice@example.com");
+        readWrite.execute(status -> jdbcTemplate.update("UPDATE node SET writes = writes + 1"));
+
+        // Act & Assert
+        assertEquals("replica", readOnly.execute(status -> whichDatabase()));
+    }
+
+    @Test
+    void readAs_AppliesStickinessBeforeAuthentication() {
+        // Arrange
+        readYourWritesTracker.recordWrite("new@example.com");
+
+        // Act
+        String database = readYourWritesTracker.readAs("new@example.com", () -> readOnly.execute(status -> whichDatabase()));
+
+        // Assert
+        assertEquals("primary", database);
+        assertEquals("replica", readOnly.execute(status -> whichDatabase()));
+    }
+
+    private String whichDatabase() {
+        return jdbcTemplate.queryForObject("SELECT name FROM node", String.class);
+    }
+
+    private static DataSource database(String name) {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:routing-" + name + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS node (name VARCHAR(20), writes INT)");
+        jdbcTemplate.update("DELETE FROM node");
+        jdbcTemplate.update("INSERT INTO node VALUES (?, 0)", name);
+        return dataSource;
+    }
+
+    private static void authenticate(String email) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(email, null, AuthorityUtils.NO_AUTHORITIES));
+    }
+}
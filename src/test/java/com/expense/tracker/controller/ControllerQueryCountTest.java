@@ -0,0 +1,242 @@
+package com.expense.tracker.controller;
+
+import com.expense.tracker.support.SqlStatementRecorder;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+
+/**
+ * Query budgets of every endpoint: each request may run at most the given number of
+ * SQL statements, against a user with enough data (transactions over several
+ * categories, budgets, subcategories) that a query per row would exceed the budget.
+ * A failure lists the statements the request ran.
+ */
+@SpringBootTest(properties = {
+    "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.expense.tracker.support.SqlStatementRecorder",
+    "jwt.secret=YourVeryLongSecretKeyForJWTTokenGenerationAndValidation123456789ExpenseTracker2024",
+    "logging.level.com.expense.tracker=WARN"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ControllerQueryCountTest {
+
+    private static final int TRANSACTIONS = 20;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final LocalDate today = LocalDate.now();
+    private String email;
+    private String token;
+    private long parentCategoryId;
+    private long childCategoryId;
+    private long transactionId;
+    private long budgetId;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        email = "queries-" + UUID.randomUUID() + "@example.com";
+        token = json(mockMvc.perform(post("/api/auth/register")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\":\"Query Budget\",\"email\":\"" + email + "\",\"password\":\"Password123!\"}")))
+                .get("token").asText();
+
+        parentCategoryId = json(send(post("/api/categories"), "{\"name\":\"Pets\",\"type\":\"EXPENSE\"}")).get("id").asLong();
+        childCategoryId = json(send(post("/api/categories"),
+                "{\"name\":\"Vet\",\"type\":\"EXPENSE\",\"parentId\":" + parentCategoryId + "}")).get("id").asLong();
+
+        // Spread over system and custom categories, so per-row category loads would show
+        long[] categories = { 6, 7, 12, parentCategoryId, childCategoryId };
+        String transactions = IntStream.range(0, TRANSACTIONS)
+                .mapToObj(i -> String.format("{\"type\":\"EXPENSE\",\"categoryId\":%d,\"amount\":%d.50,"
+                                + "\"transactionDate\":\"%s\",\"description\":\"Purchase %d\",\"paymentMethod\":\"Card\"}",
+                        categories[i % categories.length], 10 + i, today.withDayOfMonth(1 + i % today.getDayOfMonth()), i))
+                .collect(Collectors.joining(",", "{\"transactions\":[", "]}"));
+        transactionId = json(send(post("/api/transactions/batch"), transactions)).get(0).get("id").asLong();
+
+        for (long categoryId : new long[] { 6, 7, parentCategoryId }) {
+            JsonNode budget = json(send(post("/api/budgets"), String.format(
+                    "{\"categoryId\":%d,\"budgetAmount\":50.00,\"month\":%d,\"year\":%d}",
+                    categoryId, today.getMonthValue(), today.getYear())));
+            budgetId = budget.get("id").asLong();
+        }
+        send(post("/api/recurring-transactions"), String.format(
+                "{\"type\":\"INCOME\",\"categoryId\":1,\"amount\":1000.00,\"frequency\":\"MONTHLY\",\"startDate\":\"%s\"}",
+                today.plusMonths(1)));
+        send(post("/api/categorization-rules"),
+                "{\"categoryId\":7,\"matchType\":\"KEYWORD\",\"field\":\"DESCRIPTION\",\"pattern\":\"uber\"}");
+    }
+
+    @Test
+    void authEndpoints() throws Exception {
+        assertMaxQueries(2, post("/api/auth/register").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\":\"Other\",\"email\":\"other-" + UUID.randomUUID() + "@example.com\",\"password\":\"Password123!\"}"));
+        assertMaxQueries(1, post("/api/auth/login").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"email\":\"" + email + "\",\"password\":\"Password123!\"}"));
+        assertMaxQueries(0, get("/api/auth/health"));
+    }
+
+    @Test
+    void userEndpoints() throws Exception {
+        assertMaxQueries(3, authorized(get("/api/users/profile")));
+        assertMaxQueries(4, authorized(put("/api/users/profile")).contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\":\"Renamed\"}"));
+    }
+
+    @Test
+    void transactionEndpoints() throws Exception {
+        assertMaxQueries(4, authorized(get("/api/transactions")));
+        assertMaxQueries(5, authorized(get("/api/transactions?q=purchase&categoryId=" + parentCategoryId)));
+        assertMaxQueries(3, authorized(get("/api/transactions/suggest?prefix=pur")));
+        assertMaxQueries(4, authorized(get("/api/transactions/" + transactionId)));
+        assertMaxQueries(4, authorized(post("/api/transactions")).contentType(MediaType.APPLICATION_JSON)
+                .content("{\"type\":\"EXPENSE\",\"amount\":12.34,\"transactionDate\":\"" + today
+                        + "\",\"description\":\"Uber ride\"}"));
+        assertMaxQueries(4, authorized(put("/api/transactions/" + transactionId)).contentType(MediaType.APPLICATION_JSON)
+                .content("{\"type\":\"EXPENSE\",\"categoryId\":7,\"amount\":99.00,\"transactionDate\":\"" + today + "\"}"));
+        assertMaxQueries(4, authorized(delete("/api/transactions/" + transactionId)));
+        assertMaxQueries(3, authorized(post("/api/transactions/archive/restore")));
+    }
+
+    @Test
+    void categoryEndpoints() throws Exception {
+        assertMaxQueries(3, authorized(get("/api/categories")));
+        assertMaxQueries(3, authorized(get("/api/categories/" + childCategoryId)));
+        long id = json(assertMaxQueries(10, authorized(post("/api/categories")).contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\":\"Toys\",\"type\":\"EXPENSE\",\"parentId\":" + parentCategoryId + "}"))).get("id").asLong();
+        assertMaxQueries(5, authorized(put("/api/categories/" + id)).contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\":\"Games\",\"type\":\"EXPENSE\",\"parentId\":" + parentCategoryId + "}"));
+        assertMaxQueries(12, authorized(delete("/api/categories/" + id)));
+    }
+
+    @Test
+    void budgetEndpoints() throws Exception {
+        String period = "month=" + today.getMonthValue() + "&year=" + today.getYear();
+        assertMaxQueries(3, authorized(get("/api/budgets?" + period)));
+        assertMaxQueries(5, authorized(get("/api/budgets/" + budgetId)));
+        assertMaxQueries(3, authorized(get("/api/budgets/alerts")));
+        assertMaxQueries(5, authorized(post("/api/budgets")).contentType(MediaType.APPLICATION_JSON)
+                .content(String.format("{\"categoryId\":12,\"budgetAmount\":80.00,\"month\":%d,\"year\":%d}",
+                        today.getMonthValue(), today.getYear())));
+        assertMaxQueries(6, authorized(put("/api/budgets/" + budgetId + "?budgetAmount=75.00")));
+        assertMaxQueries(5, authorized(delete("/api/budgets/" + budgetId)));
+    }
+
+    @Test
+    void reportEndpoints() throws Exception {
+        String period = "month=" + today.getMonthValue() + "&year=" + today.getYear();
+        assertMaxQueries(4, authorized(get("/api/reports/monthly-summary?" + period)));
+        assertMaxQueries(3, authorized(get("/api/reports/category-wise?" + period)));
+        assertMaxQueries(3, authorized(get("/api/reports/trends")));
+        assertMaxQueries(3, authorized(get("/api/reports/top-expenses?limit=50&" + period)));
+    }
+
+    @Test
+    void recurringTransactionEndpoints() throws Exception {
+        long id = json(assertMaxQueries(3, authorized(post("/api/recurring-transactions"))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"type\":\"EXPENSE\",\"categoryId\":8,\"amount\":500.00,\"frequency\":\"MONTHLY\",\"startDate\":\""
+                        + today.plusMonths(1) + "\"}"))).get("id").asLong();
+        assertMaxQueries(3, authorized(get("/api/recurring-transactions")));
+        assertMaxQueries(4, authorized(put("/api/recurring-transactions/" + id)).contentType(MediaType.APPLICATION_JSON)
+                .content("{\"type\":\"EXPENSE\",\"categoryId\":8,\"amount\":550.00,\"frequency\":\"MONTHLY\",\"startDate\":\""
+                        + today.plusMonths(1) + "\"}"));
+        assertMaxQueries(4, authorized(delete("/api/recurring-transactions/" + id)));
+    }
+
+    @Test
+    void categorizationRuleEndpoints() throws Exception {
+        long id = json(assertMaxQueries(3, authorized(post("/api/categorization-rules"))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"categoryId\":6,\"matchType\":\"PREFIX\",\"field\":\"DESCRIPTION\",\"pattern\":\"cafe\"}")))
+                .get("id").asLong();
+        assertMaxQueries(3, authorized(get("/api/categorization-rules")));
+        assertMaxQueries(4, authorized(put("/api/categorization-rules/" + id)).contentType(MediaType.APPLICATION_JSON)
+                .content("{\"categoryId\":6,\"matchType\":\"PREFIX\",\"field\":\"DESCRIPTION\",\"pattern\":\"coffee\"}"));
+        assertMaxQueries(4, authorized(delete("/api/categorization-rules/" + id)));
+    }
+
+    @Test
+    void syncEndpoint() throws Exception {
+        // Budgets changed since the last sync can span months, their spending is still one grouped query;
+        // one more looks up the archive segments whose transactions are synced too
+        assertMaxQueries(7, authorized(get("/api/sync")));
+    }
+
+    /**
+     * Perform a request that must succeed, failing with its statements if it ran more than maxQueries
+     */
+    private MvcResult assertMaxQueries(int maxQueries, MockHttpServletRequestBuilder request) throws Exception {
+        MvcResult performed;
+        List<String> statements;
+        SqlStatementRecorder.start();
+        try {
+            performed = mockMvc.perform(request).andReturn();
+            if (performed.getRequest().isAsyncStarted()) {
+                performed = mockMvc.perform(asyncDispatch(performed)).andReturn();
+            }
+        } finally {
+            statements = SqlStatementRecorder.stop();
+        }
+        MvcResult result = performed;
+
+        String description = result.getRequest().getMethod() + " " + result.getRequest().getRequestURI();
+        int status = result.getResponse().getStatus();
+        assertTrue(status >= 200 && status < 300,
+                () -> description + " returned " + status + ": " + contentOf(result));
+        assertTrue(statements.size() <= maxQueries, () -> description + " ran " + statements.size()
+                + " SQL statements, at most " + maxQueries + " expected:\n" + IntStream.range(0, statements.size())
+                .mapToObj(i -> (i + 1) + ". " + statements.get(i))
+                .collect(Collectors.joining("\n")));
+        return result;
+    }
+
+    private MockHttpServletRequestBuilder authorized(MockHttpServletRequestBuilder request) {
+        return request.header("Authorization", "Bearer " + token);
+    }
+
+    private MvcResult send(MockHttpServletRequestBuilder request, String body) throws Exception {
+        MvcResult result = mockMvc.perform(authorized(request).contentType(MediaType.APPLICATION_JSON).content(body))
+                .andReturn();
+        assertTrue(result.getResponse().getStatus() < 300, () -> "Setup request failed: " + contentOf(result));
+        return result;
+    }
+
+    private JsonNode json(ResultActions actions) throws Exception {
+        return json(actions.andReturn());
+    }
+
+    private JsonNode json(MvcResult result) throws Exception {
+        return objectMapper.readTree(result.getResponse().getContentAsString());
+    }
+
+    private static String contentOf(MvcResult result) {
+        try {
+            return result.getResponse().getContentAsString();
+        } catch (Exception e) {
+            return "(unreadable)";
+        }
+    }
+}
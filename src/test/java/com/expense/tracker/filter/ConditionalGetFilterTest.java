@@ -0,0 +1,123 @@
+package com.expense.tracker.filter;
+
+import com.expense.tracker.service.DataVersionTracker;
+import com.expense.tracker.service.InMemoryDataVersionStore;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ConditionalGetFilter
+ */
+class ConditionalGetFilterTest {
+
+    private final DataVersionTracker dataVersionTracker = new DataVersionTracker(new InMemoryDataVersionStore());
+    private final ConditionalGetFilter conditionalGetFilter = new ConditionalGetFilter(dataVersionTracker);
+    private final AtomicInteger handled = new AtomicInteger();
+
+    private final FilterChain chain = (request, response) -> {
+        handled.incrementAndGet();
+        response.getWriter().write("[]");
+    };
+
+    @BeforeEach
+    void setUp() {
+        SecurityContextHolder.getContext().setAuthentication(
+            new UsernamePasswordAuthenticationToken("test@example.com", null, List.of()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void matchingIfNoneMatchIsAnsweredWithoutReachingController() throws Exception {
+        // Arrange
+        String etag = perform("GET", "/api/budgets", null).getHeader("ETag");
+
+        // Act
+        MockHttpServletResponse revalidated = perform("GET", "/api/budgets", "W/" + etag);
+
+        // Assert
+        assertEquals(304, revalidated.getStatus());
+        assertEquals(etag, revalidated.getHeader("ETag"));
+        assertEquals("", revalidated.getContentAsString());
+        assertEquals(1, handled.get());
+    }
+
+    @Test
+    void writeChangesTheETag() throws Exception {
+        // Arrange
+        String etag = perform("GET", "/api/reports/monthly-summary", null).getHeader("ETag");
+
+        // Act
+        dataVersionTracker.bump("test@example.com");
+        MockHttpServletResponse revalidated = perform("GET", "/api/reports/monthly-summary", etag);
+
+        // Assert
+        assertEquals(200, revalidated.getStatus());
+        assertNotEquals(etag, revalidated.getHeader("ETag"));
+        assertEquals(2, handled.get());
+    }
+
+    @Test
+    void otherRequestsAreNotTouched() throws Exception {
+        // Act
+        MockHttpServletResponse transactions = perform("GET", "/api/transactions", "*");
+        MockHttpServletResponse post = perform("POST", "/api/budgets", "*");
+
+        // Assert
+        assertNull(transactions.getHeader("ETag"));
+        assertNull(post.getHeader("ETag"));
+        assertEquals(2, handled.get());
+    }
+
+    @Test
+    void nodeLocalVersionsAreNotUsedOnMultipleNodes() throws Exception {
+        // Arrange
+        ReflectionTestUtils.setField(conditionalGetFilter, "singleNode", false);
+
+        // Act
+        MockHttpServletResponse response = perform("GET", "/api/budgets", "*");
+
+        // Assert
+        assertNull(response.getHeader("ETag"));
+        assertEquals(200, response.getStatus());
+        assertEquals(1, handled.get());
+    }
+
+    @Test
+    void anonymousRequestsPassThrough() throws Exception {
+        // Arrange
+        SecurityContextHolder.clearContext();
+
+        // Act
+        MockHttpServletResponse response = perform("GET", "/api/categories", "*");
+
+        // Assert
+        assertNull(response.getHeader("ETag"));
+        assertEquals(1, handled.get());
+    }
+
+    private MockHttpServletResponse perform(String method, String uri, String ifNoneMatch) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, uri);
+        if (ifNoneMatch != null) {
+            request.addHeader("If-None-Match", ifNoneMatch);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        conditionalGetFilter.doFilter(request, response, chain);
+        return response;
+    }
+}
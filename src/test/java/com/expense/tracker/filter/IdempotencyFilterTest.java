@@ -0,0 +1,140 @@
+package com.expense.tracker.filter;
+
+import com.expense.tracker.security.JwtUtil;
+import com.expense.tracker.service.InMemoryIdempotencyStore;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for IdempotencyFilter
+ */
+@ExtendWith(MockitoExtension.class)
+class IdempotencyFilterTest {
+
+    @Mock
+    private JwtUtil jwtUtil;
+
+    private IdempotencyFilter idempotencyFilter;
+    private final AtomicInteger handled = new AtomicInteger();
+    private int handlerStatus = 201;
+
+    private final FilterChain chain = (request, response) -> {
+        handled.incrementAndGet();
+        String body = new String(request.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+        ((HttpServletResponse) response).setStatus(handlerStatus);
+        response.setContentType("application/json");
+        response.getWriter().write("{\"id\":" + handled.get() + ",\"echo\":" + body + "}");
+    };
+
+    @BeforeEach
+    void setUp() {
+        idempotencyFilter = new IdempotencyFilter(jwtUtil, new InMemoryIdempotencyStore(), new ObjectMapper().findAndRegisterModules());
+        lenient().when(jwtUtil.validateToken("token")).thenReturn(true);
+        lenient().when(jwtUtil.getEmailFromToken("token")).thenReturn("test@example.com");
+    }
+
+    @Test
+    void retryWithSameKeyReplaysStoredResponse() throws Exception {
+        // Act
+        MockHttpServletResponse first = perform("key-1", "{\"amount\":10}");
+        MockHttpServletResponse retry = perform("key-1", "{\"amount\":10}");
+
+        // Assert
+        assertEquals(1, handled.get());
+        assertEquals(201, retry.getStatus());
+        assertEquals(first.getContentAsString(), retry.getContentAsString());
+        assertEquals("true", retry.getHeader(IdempotencyFilter.REPLAYED_HEADER));
+        assertNull(first.getHeader(IdempotencyFilter.REPLAYED_HEADER));
+    }
+
+    @Test
+    void sameKeyWithDifferentBodyIsRejected() throws Exception {
+        // Act
+        perform("key-1", "{\"amount\":10}");
+        MockHttpServletResponse reused = perform("key-1", "{\"amount\":20}");
+
+        // Assert
+        assertEquals(422, reused.getStatus());
+        assertEquals(1, handled.get());
+    }
+
+    @Test
+    void serverErrorsAreNotStored() throws Exception {
+        // Arrange
+        handlerStatus = 500;
+
+        // Act
+        perform("key-1", "{\"amount\":10}");
+        handlerStatus = 201;
+        MockHttpServletResponse retry = perform("key-1", "{\"amount\":10}");
+
+        // Assert
+        assertEquals(2, handled.get());
+        assertEquals(201, retry.getStatus());
+    }
+
+    @Test
+    void keysAreScopedPerUser() throws Exception {
+        // Arrange
+        when(jwtUtil.validateToken("other")).thenReturn(true);
+        when(jwtUtil.getEmailFromToken("other")).thenReturn("other@example.com");
+
+        // Act
+        perform("key-1", "{\"amount\":10}");
+        MockHttpServletRequest request = request("key-1", "{\"amount\":10}");
+        request.addHeader("Authorization", "Bearer other");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        idempotencyFilter.doFilter(request, response, chain);
+
+        // Assert
+        assertEquals(2, handled.get());
+        assertNull(response.getHeader(IdempotencyFilter.REPLAYED_HEADER));
+    }
+
+    @Test
+    void requestsWithoutKeyOrTokenPassThrough() throws Exception {
+        // Act
+        MockHttpServletRequest noKey = request(null, "{}");
+        noKey.addHeader("Authorization", "Bearer token");
+        idempotencyFilter.doFilter(noKey, new MockHttpServletResponse(), chain);
+        idempotencyFilter.doFilter(noKey, new MockHttpServletResponse(), chain);
+        MockHttpServletRequest noToken = request("key-1", "{}");
+        idempotencyFilter.doFilter(noToken, new MockHttpServletResponse(), chain);
+
+        // Assert
+        assertEquals(3, handled.get());
+        verify(jwtUtil, never()).validateToken("token");
+    }
+
+    private MockHttpServletResponse perform(String key, String body) throws Exception {
+        MockHttpServletRequest request = request(key, body);
+        request.addHeader("Authorization", "Bearer token");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        idempotencyFilter.doFilter(request, response, chain);
+        return response;
+    }
+
+    private static MockHttpServletRequest request(String key, String body) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/transactions");
+        request.setContentType("application/json");
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        if (key != null) {
+            request.addHeader(IdempotencyFilter.IDEMPOTENCY_KEY_HEADER, key);
+        }
+        return request;
+    }
+}
@@ -0,0 +1,108 @@
+package com.expense.tracker.filter;
+
+import com.expense.tracker.metrics.RequestTiming;
+import com.expense.tracker.metrics.RequestTiming.Phase;
+import com.expense.tracker.metrics.TimingJackson2HttpMessageConverter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ServerTimingFilter
+ */
+class ServerTimingFilterTest {
+
+    private final ServerTimingFilter serverTimingFilter = new ServerTimingFilter();
+    private final TimingJackson2HttpMessageConverter converter = new TimingJackson2HttpMessageConverter(new ObjectMapper());
+
+    // Two repository calls, one nested in the other, then a JSON body
+    private final FilterChain jsonChain = (request, response) -> {
+        long outer = RequestTiming.begin(Phase.DB);
+        long inner = RequestTiming.begin(Phase.DB);
+        RequestTiming.end(Phase.DB, inner);
+        RequestTiming.end(Phase.DB, outer);
+        long second = RequestTiming.begin(Phase.DB);
+        RequestTiming.end(Phase.DB, second);
+        converter.write(List.of(Map.of("id", 1)), MediaType.APPLICATION_JSON,
+                new ServletServerHttpResponse((HttpServletResponse) response));
+    };
+
+    @Test
+    void requestedBreakdownIsSentBeforeTheBody() throws Exception {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/budgets");
+        request.addHeader(ServerTimingFilter.REQUEST_HEADER, "1");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act: the JWT filter reports the capture of an operator's request
+        serverTimingFilter.doFilter(request, response, (req, res) -> {
+            RequestTiming.report();
+            jsonChain.doFilter(req, res);
+        });
+
+        // Assert
+        String header = response.getHeader(ServerTimingFilter.HEADER);
+        assertNotNull(header);
+        assertTrue(header.startsWith("auth;dur="), header);
+        assertTrue(header.contains("db;dur="), header);
+        assertTrue(header.contains("desc=\"Repository calls (2)\""), header);
+        assertTrue(header.contains("json;dur="), header);
+        assertTrue(header.contains("total;dur="), header);
+        assertEquals("[{\"id\":1}]", response.getContentAsString());
+        assertNull(RequestTiming.current());
+    }
+
+    @Test
+    void otherRequestsAreNotTimed() throws Exception {
+        // Arrange
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        serverTimingFilter.doFilter(new MockHttpServletRequest("GET", "/api/budgets"), response,
+                (req, res) -> assertNull(RequestTiming.current()));
+
+        // Assert
+        assertNull(response.getHeader(ServerTimingFilter.HEADER));
+    }
+
+    @Test
+    void requestedBreakdownIsNotReportedUnlessTheCallerIsAnOperator() throws Exception {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/budgets");
+        request.addHeader(ServerTimingFilter.REQUEST_HEADER, "1");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        serverTimingFilter.doFilter(request, response, jsonChain);
+
+        // Assert
+        assertNull(response.getHeader(ServerTimingFilter.HEADER));
+        assertEquals("[{\"id\":1}]", response.getContentAsString());
+        assertNull(RequestTiming.current());
+    }
+
+    @Test
+    void sampledBodylessResponsesGetTheHeaderToo() throws Exception {
+        // Arrange
+        serverTimingFilter.setSampleRate(1.0);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        serverTimingFilter.doFilter(new MockHttpServletRequest("DELETE", "/api/budgets/1"), response,
+                (req, res) -> ((HttpServletResponse) res).setStatus(204));
+
+        // Assert
+        assertEquals(204, response.getStatus());
+        assertTrue(response.getHeader(ServerTimingFilter.HEADER).contains("db;dur=0.0"));
+    }
+}
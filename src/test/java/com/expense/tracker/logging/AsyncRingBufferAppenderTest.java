@@ -0,0 +1,142 @@
+package com.expense.tracker.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.util.LogbackMDCAdapter;
+import ch.qos.logback.core.read.ListAppender;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for AsyncRingBufferAppender, writing to a list appender that can be held up
+ */
+class AsyncRingBufferAppenderTest {
+
+    private final LoggerContext context = new LoggerContext();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final CountDownLatch holding = new CountDownLatch(1);
+    private final ListAppender<ILoggingEvent> target = new ListAppender<>() {
+        @Override
+        protected void append(ILoggingEvent event) {
+            holding.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            super.append(event);
+        }
+    };
+    private final AsyncRingBufferAppender appender = new AsyncRingBufferAppender();
+    private Logger logger;
+
+    @BeforeEach
+    void setUp() {
+        context.setMDCAdapter(new LogbackMDCAdapter());
+        target.setContext(context);
+        target.start();
+        appender.setContext(context);
+        appender.setName("test");
+        appender.setQueueSize(4);
+        appender.addAppender(target);
+        appender.start();
+        logger = context.getLogger("com.expense.tracker.service.TransactionService");
+        logger.setLevel(Level.INFO);
+        logger.addAppender(appender);
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        appender.stop();
+    }
+
+    @Test
+    void events_WrittenOnWorkerThreadWithMessageFormatted() throws InterruptedException {
+        // Arrange
+        release.countDown();
+
+        // Act
+        logger.info("Fetching transactions for user ID: {}", 42);
+        appender.stop();
+
+        // Assert
+        assertEquals(1, target.list.size());
+        assertEquals("Fetching transactions for user ID: 42", target.list.get(0).getFormattedMessage());
+        assertEquals(Thread.currentThread().getName(), target.list.get(0).getThreadName());
+    }
+
+    @Test
+    void fullQueue_DropsAndCountsInsteadOfBlocking() {
+        // Arrange
+        long droppedBefore = AsyncRingBufferAppender.droppedEvents();
+
+        // Act: one event held by the writer, four queued, the rest dropped
+        for (int i = 0; i < 20; i++) {
+            logger.info("Event {}", i);
+        }
+
+        // Assert
+        long dropped = AsyncRingBufferAppender.droppedEvents() - droppedBefore;
+        assertTrue(dropped >= 15 && dropped <= 16, "dropped " + dropped);
+        assertTrue(AsyncRingBufferAppender.queuedEvents() > 0);
+        release.countDown();
+        appender.stop();
+        assertEquals(20 - dropped, target.list.size());
+    }
+
+    @Test
+    void nearlyFullQueue_DropsInfoButKeepsWarningsAndErrors() {
+        // Arrange
+        appender.setDiscardingThreshold(2);
+        long droppedBefore = AsyncRingBufferAppender.droppedEvents();
+
+        // Act: INFO stops being queued with two slots left, which the warning and error take
+        for (int i = 0; i < 10; i++) {
+            logger.info("Event {}", i);
+        }
+        logger.warn("Warning");
+        logger.error("Error");
+
+        // Assert
+        long dropped = AsyncRingBufferAppender.droppedEvents() - droppedBefore;
+        release.countDown();
+        appender.stop();
+        assertEquals(12 - dropped, target.list.size());
+        assertTrue(target.list.stream().anyMatch(event -> event.getLevel() == Level.WARN));
+        assertTrue(target.list.stream().anyMatch(event -> event.getLevel() == Level.ERROR));
+    }
+
+    @Test
+    void fullQueue_ErrorWaitsForSpace() throws InterruptedException {
+        // Arrange: the writer holds one event and the queue is full; the writer is released while the error waits
+        appender.setDiscardingThreshold(0);
+        appender.setMaxBlockTime(10_000);
+        logger.info("Held");
+        assertTrue(holding.await(5, TimeUnit.SECONDS));
+        for (int i = 0; i < 4; i++) {
+            logger.info("Event {}", i);
+        }
+        long droppedBefore = AsyncRingBufferAppender.droppedEvents();
+        CompletableFuture.runAsync(release::countDown, CompletableFuture.delayedExecutor(200, TimeUnit.MILLISECONDS));
+
+        // Act
+        long started = System.nanoTime();
+        logger.error("Error");
+
+        // Assert
+        assertTrue(System.nanoTime() - started >= TimeUnit.MILLISECONDS.toNanos(100));
+        assertEquals(droppedBefore, AsyncRingBufferAppender.droppedEvents());
+        appender.stop();
+        assertTrue(target.list.stream().anyMatch(event -> event.getLevel() == Level.ERROR));
+    }
+}
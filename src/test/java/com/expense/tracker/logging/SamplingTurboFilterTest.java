@@ -0,0 +1,85 @@
+package com.expense.tracker.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for SamplingTurboFilter in a standalone logger context
+ */
+class SamplingTurboFilterTest {
+
+    private final LoggerContext context = new LoggerContext();
+    private final ListAppender<ILoggingEvent> appender = new ListAppender<>();
+
+    @BeforeEach
+    void setUp() {
+        SamplingTurboFilter filter = new SamplingTurboFilter();
+        filter.setLoggers("com.expense.tracker.service.TransactionService, com.expense.tracker.service.BudgetService");
+        filter.setEvery(10);
+        filter.start();
+        context.addTurboFilter(filter);
+        appender.setContext(context);
+        appender.start();
+        Logger root = context.getLogger(Logger.ROOT_LOGGER_NAME);
+        root.setLevel(Level.INFO);
+        root.addAppender(appender);
+    }
+
+    @Test
+    void hotLoggerInfo_OneInTenKept() {
+        // Arrange
+        Logger logger = context.getLogger("com.expense.tracker.service.TransactionService");
+        long sampledBefore = SamplingTurboFilter.sampledOutEvents();
+
+        // Act
+        for (int i = 0; i < 100; i++) {
+            logger.info("Fetching transactions for user ID: {}", i);
+        }
+
+        // Assert
+        assertEquals(10, appender.list.size());
+        assertEquals("Fetching transactions for user ID: 0", appender.list.get(0).getFormattedMessage());
+        assertEquals(90, SamplingTurboFilter.sampledOutEvents() - sampledBefore);
+    }
+
+    @Test
+    void warningsAndOtherLoggers_AlwaysKept() {
+        // Arrange
+        Logger hot = context.getLogger("com.expense.tracker.service.BudgetService");
+        Logger other = context.getLogger("com.expense.tracker.service.AuthService");
+
+        // Act
+        for (int i = 0; i < 20; i++) {
+            hot.warn("Budget exceeded");
+            other.info("User logged in");
+            hot.isInfoEnabled();
+        }
+
+        // Assert
+        assertEquals(40, appender.list.size());
+    }
+
+    @Test
+    void loggersBelowHotLogger_SampledButNotThoseSharingItsPrefix() {
+        // Arrange
+        Logger child = context.getLogger("com.expense.tracker.service.BudgetService.alerts");
+        Logger sibling = context.getLogger("com.expense.tracker.service.BudgetServiceImpl");
+
+        // Act
+        for (int i = 0; i < 20; i++) {
+            child.info("Alert {}", i);
+            sibling.info("Budget {}", i);
+        }
+
+        // Assert
+        assertEquals(2, appender.list.stream().filter(event -> event.getLoggerName().equals(child.getName())).count());
+        assertEquals(20, appender.list.stream().filter(event -> event.getLoggerName().equals(sibling.getName())).count());
+    }
+}
@@ -0,0 +1,39 @@
+package com.expense.tracker.metrics;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for MeteredCache
+ */
+class MeteredCacheTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final MeteredCache cache = new MeteredCache(new ConcurrentMapCache("monthlyReports"), "cacheManager", meterRegistry);
+
+    @Test
+    void get_CountsHitsMissesAndPutsPerCacheName() {
+        // Act
+        assertNull(cache.get("1-10-2026"));
+        cache.put("1-10-2026", "summary");
+        assertEquals("summary", cache.get("1-10-2026", String.class));
+        cache.put("2-10-2026", null);
+        assertNotNull(cache.get("2-10-2026"));
+        assertEquals("loaded", cache.get("3-10-2026", () -> "loaded"));
+        assertEquals("loaded", cache.get("3-10-2026", () -> "reloaded"));
+        cache.evict("1-10-2026");
+
+        // Assert
+        assertEquals(3, count("cache.gets", "hit"));
+        assertEquals(2, count("cache.gets", "miss"));
+        assertEquals(3, meterRegistry.get("cache.puts").tag("cache", "monthlyReports").counter().count());
+        assertEquals(1, meterRegistry.get("cache.evictions").tag("cache", "monthlyReports").counter().count());
+    }
+
+    private double count(String name, String result) {
+        return meterRegistry.get(name).tags("cache", "monthlyReports", "result", result).counter().count();
+    }
+}
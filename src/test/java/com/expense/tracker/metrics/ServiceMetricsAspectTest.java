@@ -0,0 +1,99 @@
+package com.expense.tracker.metrics;
+
+import com.expense.tracker.exception.ResourceNotFoundException;
+import com.expense.tracker.model.User;
+import com.expense.tracker.repository.UserRepository;
+import com.expense.tracker.service.ShardDirectory;
+import com.expense.tracker.service.UserService;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for ServiceMetricsAspect
+ */
+@ExtendWith(MockitoExtension.class)
+class ServiceMetricsAspectTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private PasswordEncoder passwordEncoder;
+
+    @Mock
+    private ObjectProvider<ShardDirectory> shardDirectory;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final SqlQueryCounter sqlQueryCounter = new SqlQueryCounter();
+    private UserService userService;
+    private User testUser;
+
+    @BeforeEach
+    void setUp() {
+        AspectJProxyFactory proxyFactory = new AspectJProxyFactory(new UserService(userRepository, passwordEncoder, shardDirectory));
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAspect(new ServiceMetricsAspect(meterRegistry, sqlQueryCounter));
+        userService = proxyFactory.getProxy();
+
+        testUser = User.builder()
+                .id(1L)
+                .name("Test User")
+                .email("test@example.com")
+                .isActive(true)
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+
+    @Test
+    void record_TimesCallAndCountsItsQueries() {
+        // Arrange
+        when(userRepository.findByIdAndIsActiveTrue(1L)).thenAnswer(invocation -> {
+            sqlQueryCounter.inspect("select * from users where id = ?");
+            sqlQueryCounter.inspect("select * from users where id = ?");
+            return Optional.of(testUser);
+        });
+
+        // Act
+        userService.getUserProfile(testUser);
+        userService.getUserProfile(testUser);
+
+        // Assert
+        Timer timer = meterRegistry.get(ServiceMetricsAspect.CALLS)
+                .tags("class", "UserService", "method", "getUserProfile", "exception", "none").timer();
+        assertEquals(2, timer.count());
+        DistributionSummary queries = meterRegistry.get(ServiceMetricsAspect.QUERIES)
+                .tags("class", "UserService", "method", "getUserProfile").summary();
+        assertEquals(2, queries.count());
+        assertEquals(4, queries.totalAmount());
+        assertEquals(2, queries.max());
+    }
+
+    @Test
+    void record_TagsFailedCallsWithTheirException() {
+        // Arrange
+        when(userRepository.findByIdAndIsActiveTrue(1L)).thenReturn(Optional.empty());
+
+        // Act
+        assertThrows(ResourceNotFoundException.class, () -> userService.getUserProfile(testUser));
+
+        // Assert
+        assertEquals(1, meterRegistry.get(ServiceMetricsAspect.CALLS)
+                .tags("method", "getUserProfile", "exception", "ResourceNotFoundException").timer().count());
+        assertTrue(meterRegistry.find(ServiceMetricsAspect.CALLS).tags("exception", "none").timers().isEmpty());
+    }
+}
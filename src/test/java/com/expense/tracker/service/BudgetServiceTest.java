@@ -1,14 +1,18 @@
 package com.expense.tracker.service;
 
 import com.expense.tracker.dto.request.BudgetRequest;
+import com.expense.tracker.dto.response.BudgetResponse;
 import com.expense.tracker.enums.CategoryType;
+import com.expense.tracker.enums.SyncEntityType;
 import com.expense.tracker.exception.InvalidRequestException;
 import com.expense.tracker.exception.ResourceNotFoundException;
 import com.expense.tracker.model.Budget;
 import com.expense.tracker.model.Category;
+import com.expense.tracker.model.SyncTombstone;
 import com.expense.tracker.model.User;
 import com.expense.tracker.repository.BudgetRepository;
 import com.expense.tracker.repository.CategoryRepository;
+import com.expense.tracker.repository.SyncTombstoneRepository;
 import com.expense.tracker.repository.TransactionRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -19,10 +23,13 @@ import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.*;
 
 /**
@@ -40,6 +47,15 @@ class BudgetServiceTest {
     @Mock
     private TransactionRepository transactionRepository;
 
+    @Mock
+    private CategoryCache categoryCache;
+
+    @Mock
+    private SyncTombstoneRepository syncTombstoneRepository;
+
+    @Mock
+    private DataVersionTracker dataVersionTracker;
+
     @InjectMocks
     private BudgetService budgetService;
 
@@ -72,8 +88,9 @@ class BudgetServiceTest {
     @Test
     void setBudget_Success() {
         // Arrange
-        when(categoryRepository.findByIdAndAvailableToUser(1L, 1L))
-                .thenReturn(Optional.of(expenseCategory));
+        when(categoryCache.findAvailableToUser(1L, 1L))
+                .thenReturn(Optional.of(cached(expenseCategory)));
+        when(categoryRepository.getReferenceById(1L)).thenReturn(expenseCategory);
         when(budgetRepository.findByUserIdAndCategoryIdAndMonthAndYear(
                 eq(1L), eq(1L), anyInt(), anyInt())).thenReturn(Optional.empty());
         when(budgetRepository.save(any(Budget.class))).thenAnswer(invocation -> {
@@ -96,7 +113,7 @@ class BudgetServiceTest {
     @Test
     void setBudget_CategoryNotFound() {
         // Arrange
-        when(categoryRepository.findByIdAndAvailableToUser(1L, 1L))
+        when(categoryCache.findAvailableToUser(1L, 1L))
                 .thenReturn(Optional.empty());
 
         // Act & Assert
@@ -109,8 +126,8 @@ class BudgetServiceTest {
     void setBudget_IncomeCategoryNotAllowed() {
         // Arrange
         expenseCategory.setType(CategoryType.INCOME);
-        when(categoryRepository.findByIdAndAvailableToUser(1L, 1L))
-                .thenReturn(Optional.of(expenseCategory));
+        when(categoryCache.findAvailableToUser(1L, 1L))
+                .thenReturn(Optional.of(cached(expenseCategory)));
 
         // Act & Assert
         assertThrows(InvalidRequestException.class, () -> {
@@ -129,5 +146,47 @@ class BudgetServiceTest {
             budgetService.setBudget(validRequest, testUser);
         });
     }
-}
 
+    @Test
+    void deleteBudget_RecordsTombstoneForSync() {
+        // Arrange
+        Budget budget = new Budget(testUser, expenseCategory, new BigDecimal("5000.00"), 1, 2030);
+        budget.setId(7L);
+        when(budgetRepository.findByIdAndUserId(7L, 1L)).thenReturn(Optional.of(budget));
+
+        // Act
+        budgetService.deleteBudget(7L, testUser);
+
+        // Assert
+        verify(budgetRepository, times(1)).delete(budget);
+        verify(syncTombstoneRepository, times(1)).save(argThat((SyncTombstone tombstone) ->
+                tombstone.getUserId().equals(1L)
+                        && tombstone.getEntityType() == SyncEntityType.BUDGET
+                        && tombstone.getEntityId().equals(7L)));
+        verify(dataVersionTracker, times(1)).bump("test@example.com");
+    }
+
+    @Test
+    void mapToResponses_ReadsSpendingOfAllMonthsInOneQuery() {
+        // Arrange
+        Budget january = new Budget(testUser, expenseCategory, new BigDecimal("5000.00"), 1, 2030);
+        january.setId(7L);
+        Budget march = new Budget(testUser, expenseCategory, new BigDecimal("4000.00"), 3, 2030);
+        march.setId(8L);
+        when(transactionRepository.getSpentAmountsByCategoryAndMonth(1L, Set.of(1L),
+                LocalDate.of(2030, 1, 1), LocalDate.of(2030, 4, 1)))
+                .thenReturn(List.<Object[]>of(new Object[] { 1L, 2030, 3, new BigDecimal("120.00") }));
+
+        // Act
+        List<BudgetResponse> responses = budgetService.mapToResponses(1L, List.of(march, january));
+
+        // Assert
+        assertEquals(new BigDecimal("120.00"), responses.get(0).getSpentAmount());
+        assertEquals(BigDecimal.ZERO, responses.get(1).getSpentAmount());
+        verify(transactionRepository, never()).getSpentAmountForBudget(any(), any(), anyInt(), anyInt());
+    }
+
+    private static CategoryCache.CachedCategory cached(Category category) {
+        return new CategoryCache.CachedCategory(category.getId(), category.getType(), category.getName());
+    }
+}
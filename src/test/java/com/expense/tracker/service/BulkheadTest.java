@@ -0,0 +1,163 @@
+package com.expense.tracker.service;
+
+import com.expense.tracker.config.BulkheadDataSourcePostProcessor;
+import com.expense.tracker.config.BulkheadProperties;
+import com.expense.tracker.config.BulkheadProperties.Limit;
+import com.expense.tracker.config.ShardRoutingDataSource;
+import com.expense.tracker.config.ShardingProperties;
+import com.expense.tracker.exception.BulkheadFullException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for Bulkhead and the database bulkheads around in-memory H2 DataSources
+ */
+class BulkheadTest {
+
+    @Test
+    void atLimit_CallerRejectedAfterMaxWait() {
+        // Arrange
+        Bulkhead bulkhead = new Bulkhead("test", 1, Duration.ofMillis(50));
+        bulkhead.acquire();
+
+        // Act & Assert
+        assertThrows(BulkheadFullException.class, bulkhead::acquire);
+        assertEquals(1, bulkhead.getRejected());
+        assertEquals(1, bulkhead.getActive());
+        bulkhead.release();
+        assertEquals("ok", bulkhead.call(() -> "ok"));
+        assertEquals(0, bulkhead.getActive());
+    }
+
+    @Test
+    void waitingCaller_GetsPermitWhenReleased() throws Exception {
+        // Arrange
+        Bulkhead bulkhead = new Bulkhead("test", 1, Duration.ofSeconds(5));
+        bulkhead.acquire();
+        CountDownLatch started = new CountDownLatch(1);
+
+        // Act
+        CompletableFuture<String> waiting = CompletableFuture.supplyAsync(() -> {
+            started.countDown();
+            return bulkhead.call(() -> "done");
+        });
+        started.await();
+        while (bulkhead.getWaiting() == 0 && !waiting.isDone()) {
+            Thread.onSpinWait();
+        }
+        bulkhead.release();
+
+        // Assert
+        assertEquals("done", waiting.get());
+        assertEquals(0, bulkhead.getRejected());
+    }
+
+    @Test
+    void dataSource_ConnectionsHoldPermitsUntilClosed() throws Exception {
+        // Arrange
+        BulkheadProperties properties = new BulkheadProperties();
+        properties.setDatabase(new Limit(2, Duration.ofMillis(50)));
+        Bulkheads bulkheads = new Bulkheads(properties, new ShardRouter(new ShardingProperties()));
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerSingleton("bulkheads", bulkheads);
+        DataSource dataSource = (DataSource) new BulkheadDataSourcePostProcessor(beanFactory.getBeanProvider(Bulkheads.class))
+                .postProcessAfterInitialization(new DriverManagerDataSource("jdbc:h2:mem:bulkhead", "sa", ""), "dataSource");
+
+        // Act
+        Connection first = dataSource.getConnection();
+        Connection second = dataSource.getConnection();
+
+        // Assert
+        assertThrows(BulkheadFullException.class, dataSource::getConnection);
+        first.close();
+        first.close();
+        assertEquals(1, bulkheads.database().getActive());
+        try (Connection third = dataSource.getConnection()) {
+            assertTrue(third.isValid(1));
+        }
+        second.close();
+        assertEquals(0, bulkheads.database().getActive());
+    }
+
+    @Test
+    void shardedDataSource_EachShardHasItsOwnBulkhead() throws Exception {
+        // Arrange: one permit per pool
+        ShardingProperties sharding = new ShardingProperties();
+        sharding.setEnabled(true);
+        sharding.getShards().put("shard-a", new ShardingProperties.Shard());
+        sharding.getShards().put("shard-b", new ShardingProperties.Shard());
+        ShardRouter shardRouter = new ShardRouter(sharding);
+        BulkheadProperties properties = new BulkheadProperties();
+        properties.setDatabase(new Limit(1, Duration.ofMillis(50)));
+        Bulkheads bulkheads = new Bulkheads(properties, shardRouter);
+        Map<String, DataSource> shards = new LinkedHashMap<>();
+        for (String shardId : sharding.getShards().keySet()) {
+            shards.put(shardId, new DriverManagerDataSource("jdbc:h2:mem:bulkhead-" + shardId, "sa", ""));
+        }
+        ShardRoutingDataSource routingDataSource = new ShardRoutingDataSource(
+                new DriverManagerDataSource("jdbc:h2:mem:bulkhead-global", "sa", ""), shards, shardRouter);
+        routingDataSource.afterPropertiesSet();
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerSingleton("bulkheads", bulkheads);
+        DataSource dataSource = (DataSource) new BulkheadDataSourcePostProcessor(beanFactory.getBeanProvider(Bulkheads.class))
+                .postProcessAfterInitialization(routingDataSource, "dataSource");
+
+        // Act: shard-a's only permit is taken
+        Connection onShardA = shardRouter.callOn("shard-a", () -> connect(dataSource));
+
+        // Assert: shard-a is full, shard-b and the global database are not
+        assertThrows(BulkheadFullException.class, () -> shardRouter.runOn("shard-a", () -> connect(dataSource)));
+        shardRouter.callOn("shard-b", () -> close(connect(dataSource)));
+        close(connect(dataSource));
+        assertEquals(1, bulkheads.database("shard-a").getActive());
+        assertEquals(1, bulkheads.database("shard-a").getRejected());
+        assertEquals(0, bulkheads.database("shard-b").getRejected());
+        onShardA.close();
+        assertEquals(0, bulkheads.database("shard-a").getActive());
+        assertEquals(4, bulkheads.all().size());
+        shardRouter.shutdown();
+    }
+
+    @Test
+    void passwordHashing_NeverFewerThanTwoPermits() {
+        // Arrange
+        BulkheadProperties properties = new BulkheadProperties();
+        properties.setPasswordHashing(new Limit(1, Duration.ofSeconds(3)));
+
+        // Act
+        Bulkhead bulkhead = new Bulkheads(properties, new ShardRouter(new ShardingProperties())).passwordHashing();
+
+        // Assert
+        assertEquals(2, bulkhead.getMaxConcurrent());
+        assertTrue(new BulkheadProperties().getPasswordHashing().getMaxConcurrent() >= 2);
+    }
+
+    private static Connection connect(DataSource dataSource) {
+        try {
+            return dataSource.getConnection();
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static Connection close(Connection connection) {
+        try {
+            connection.close();
+            return connection;
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.expense.tracker.service;
+
+import com.expense.tracker.enums.RuleField;
+import com.expense.tracker.enums.RuleMatchType;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for CategorizationMatcher
+ */
+class CategorizationMatcherTest {
+
+    @Test
+    void match_KeywordAnywhereCaseInsensitive() {
+        CategorizationMatcher matcher = CategorizationMatcher.compile(List.of(
+            keyword(6L, RuleField.DESCRIPTION, "walmart")
+        ));
+
+        assertEquals(6L, matcher.match(new BigDecimal("10.00"), "Groceries at WALMART #123", null));
+        assertNull(matcher.match(new BigDecimal("10.00"), "Target", null));
+    }
+
+    @Test
+    void match_PrefixOnlyAtStart() {
+        CategorizationMatcher matcher = CategorizationMatcher.compile(List.of(
+            prefix(7L, RuleField.DESCRIPTION, "uber")
+        ));
+
+        assertEquals(7L, matcher.match(null, "Uber trip to airport", null));
+        assertNull(matcher.match(null, "Paid uber", null));
+    }
+
+    @Test
+    void match_OverlappingPatternsFollowSuffixLinks() {
+        CategorizationMatcher matcher = CategorizationMatcher.compile(List.of(
+            keyword(1L, RuleField.DESCRIPTION, "she"),
+            keyword(2L, RuleField.DESCRIPTION, "he"),
+            keyword(3L, RuleField.DESCRIPTION, "hers")
+        ));
+
+        assertEquals(1L, matcher.match(null, "ushers", null));
+        assertEquals(2L, matcher.match(null, "the", null));
+        // "he" is ranked before "hers", so it wins even though both match
+        assertEquals(2L, matcher.match(null, "hers", null));
+    }
+
+    @Test
+    void match_PaymentMethodField() {
+        CategorizationMatcher matcher = CategorizationMatcher.compile(List.of(
+            keyword(6L, RuleField.DESCRIPTION, "card"),
+            keyword(9L, RuleField.PAYMENT_METHOD, "card")
+        ));
+
+        assertEquals(9L, matcher.match(null, "Electricity bill", "Credit Card"));
+    }
+
+    @Test
+    void match_Regex() {
+        CategorizationMatcher matcher = CategorizationMatcher.compile(List.of(
+            new CategorizationMatcher.Rule(11L, RuleMatchType.REGEX, RuleField.DESCRIPTION, "netflix|spotify", null, null)
+        ));
+
+        assertEquals(11L, matcher.match(null, "SPOTIFY premium", null));
+        assertNull(matcher.match(null, "Cinema", null));
+    }
+
+    @Test
+    void match_CatastrophicRegexGivesUpAndLaterRulesStillMatch() {
+        CategorizationMatcher matcher = CategorizationMatcher.compile(List.of(
+            new CategorizationMatcher.Rule(11L, RuleMatchType.REGEX, RuleField.DESCRIPTION, "^(a+)+$", null, null),
+            keyword(6L, RuleField.DESCRIPTION, "aaa")
+        ));
+
+        long started = System.nanoTime();
+        Long categoryId = matcher.match(null, "a".repeat(40) + "!", null);
+
+        assertEquals(6L, categoryId);
+        assertTrue(System.nanoTime() - started < 1_000_000_000L, "regex rule was not stopped");
+    }
+
+    @Test
+    void match_AmountRangeInclusiveBounds() {
+        CategorizationMatcher matcher = CategorizationMatcher.compile(List.of(
+            range(8L, "1000.00", "2000.00"),
+            range(12L, null, "50")
+        ));
+
+        assertEquals(8L, matcher.match(new BigDecimal("1000"), null, null));
+        assertEquals(8L, matcher.match(new BigDecimal("2000.00"), null, null));
+        assertEquals(8L, matcher.match(new BigDecimal("1500.50"), null, null));
+        assertEquals(12L, matcher.match(new BigDecimal("0.01"), null, null));
+        assertEquals(12L, matcher.match(new BigDecimal("50.00"), null, null));
+        assertNull(matcher.match(new BigDecimal("50.01"), null, null));
+        assertNull(matcher.match(new BigDecimal("2000.01"), null, null));
+    }
+
+    @Test
+    void match_EarlierRuleWinsAcrossMatchTypes() {
+        CategorizationMatcher matcher = CategorizationMatcher.compile(List.of(
+            range(15L, "100", null),
+            new CategorizationMatcher.Rule(11L, RuleMatchType.REGEX, RuleField.DESCRIPTION, "movie", null, null),
+            keyword(6L, RuleField.DESCRIPTION, "dinner")
+        ));
+
+        assertEquals(15L, matcher.match(new BigDecimal("150"), "dinner and movie", null));
+        assertEquals(11L, matcher.match(new BigDecimal("20"), "dinner and movie", null));
+        assertEquals(6L, matcher.match(new BigDecimal("20"), "dinner", null));
+    }
+
+    @Test
+    void match_ManyRulesPicksLowestRank() {
+        List<CategorizationMatcher.Rule> rules = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            rules.add(keyword(1000L + i, RuleField.DESCRIPTION, "merchant" + i));
+        }
+        rules.add(keyword(1L, RuleField.DESCRIPTION, "merchant"));
+        CategorizationMatcher matcher = CategorizationMatcher.compile(rules);
+
+        // "merchant4" is also contained in "merchant42" and was defined earlier
+        assertEquals(1004L, matcher.match(null, "POS MERCHANT42 LONDON", null));
+        assertEquals(1L, matcher.match(null, "merchant services", null));
+    }
+
+    @Test
+    void match_EmptyMatcher() {
+        assertNull(CategorizationMatcher.EMPTY.match(new BigDecimal("10"), "anything", "Cash"));
+    }
+
+    private static CategorizationMatcher.Rule keyword(long categoryId, RuleField field, String pattern) {
+        return new CategorizationMatcher.Rule(categoryId, RuleMatchType.KEYWORD, field, pattern, null, null);
+    }
+
+    private static CategorizationMatcher.Rule prefix(long categoryId, RuleField field, String pattern) {
+        return new CategorizationMatcher.Rule(categoryId, RuleMatchType.PREFIX, field, pattern, null, null);
+    }
+
+    private static CategorizationMatcher.Rule range(long categoryId, String min, String max) {
+        return new CategorizationMatcher.Rule(categoryId, RuleMatchType.AMOUNT_RANGE, null, null,
+            min != null ? new BigDecimal(min) : null, max != null ? new BigDecimal(max) : null);
+    }
+}
@@ -0,0 +1,183 @@
+package com.expense.tracker.service;
+
+import com.expense.tracker.dto.request.CategorizationRuleRequest;
+import com.expense.tracker.dto.response.CategorizationRuleResponse;
+import com.expense.tracker.enums.CategoryType;
+import com.expense.tracker.enums.RuleField;
+import com.expense.tracker.enums.RuleMatchType;
+import com.expense.tracker.enums.TransactionType;
+import com.expense.tracker.exception.InvalidRequestException;
+import com.expense.tracker.exception.ResourceNotFoundException;
+import com.expense.tracker.model.CategorizationRule;
+import com.expense.tracker.model.Category;
+import com.expense.tracker.model.User;
+import com.expense.tracker.repository.CategorizationRuleRepository;
+import com.expense.tracker.repository.CategoryRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for CategorizationRuleService
+ */
+@ExtendWith(MockitoExtension.class)
+class CategorizationRuleServiceTest {
+
+    @Mock
+    private CategorizationRuleRepository categorizationRuleRepository;
+
+    @Mock
+    private CategoryRepository categoryRepository;
+
+    @Mock
+    private CategoryCache categoryCache;
+
+    @InjectMocks
+    private CategorizationRuleService categorizationRuleService;
+
+    private User testUser;
+    private Category foodCategory;
+    private Category salaryCategory;
+    private CategorizationRuleRequest keywordRequest;
+
+    @BeforeEach
+    void setUp() {
+        testUser = User.builder()
+                .id(1L)
+                .name("Test User")
+                .email("test@example.com")
+                .build();
+
+        foodCategory = new Category("Food & Dining", CategoryType.EXPENSE);
+        foodCategory.setId(6L);
+
+        salaryCategory = new Category("Salary", CategoryType.INCOME);
+        salaryCategory.setId(1L);
+
+        keywordRequest = new CategorizationRuleRequest();
+        keywordRequest.setCategoryId(6L);
+        keywordRequest.setMatchType(RuleMatchType.KEYWORD);
+        keywordRequest.setField(RuleField.DESCRIPTION);
+        keywordRequest.setPattern(" Walmart ");
+    }
+
+    @Test
+    void createRule_Success() {
+        // Arrange
+        when(categoryCache.findAvailableToUser(6L, 1L))
+                .thenReturn(Optional.of(new CategoryCache.CachedCategory(6L, CategoryType.EXPENSE, "Food & Dining")));
+        when(categoryRepository.getReferenceById(6L)).thenReturn(foodCategory);
+        when(categorizationRuleRepository.save(any(CategorizationRule.class))).thenAnswer(invocation -> {
+            CategorizationRule rule = invocation.getArgument(0);
+            rule.setId(1L);
+            return rule;
+        });
+
+        // Act
+        CategorizationRuleResponse response = categorizationRuleService.createRule(keywordRequest, testUser);
+
+        // Assert
+        assertEquals("Walmart", response.getPattern());
+        assertEquals("Food & Dining", response.getCategoryName());
+        assertEquals(100, response.getPriority());
+    }
+
+    @Test
+    void createRule_CategoryNotFound() {
+        // Arrange
+        when(categoryCache.findAvailableToUser(6L, 1L)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThrows(ResourceNotFoundException.class, () -> {
+            categorizationRuleService.createRule(keywordRequest, testUser);
+        });
+    }
+
+    @Test
+    void createRule_InvalidRegex() {
+        // Arrange
+        keywordRequest.setMatchType(RuleMatchType.REGEX);
+        keywordRequest.setPattern("([a-z");
+        when(categoryCache.findAvailableToUser(6L, 1L))
+                .thenReturn(Optional.of(new CategoryCache.CachedCategory(6L, CategoryType.EXPENSE, "Food & Dining")));
+
+        // Act & Assert
+        assertThrows(InvalidRequestException.class, () -> {
+            categorizationRuleService.createRule(keywordRequest, testUser);
+        });
+
+        verify(categorizationRuleRepository, never()).save(any(CategorizationRule.class));
+    }
+
+    @Test
+    void createRule_AmountRangeWithoutBounds() {
+        // Arrange
+        keywordRequest.setMatchType(RuleMatchType.AMOUNT_RANGE);
+        when(categoryCache.findAvailableToUser(6L, 1L))
+                .thenReturn(Optional.of(new CategoryCache.CachedCategory(6L, CategoryType.EXPENSE, "Food & Dining")));
+
+        // Act & Assert
+        assertThrows(InvalidRequestException.class, () -> {
+            categorizationRuleService.createRule(keywordRequest, testUser);
+        });
+    }
+
+    @Test
+    void classify_CompilesOncePerUserAndRespectsType() {
+        // Arrange
+        when(categorizationRuleRepository.findByUserIdWithCategory(1L)).thenReturn(List.of(
+            rule(salaryCategory, RuleMatchType.KEYWORD, "acme"),
+            rule(foodCategory, RuleMatchType.KEYWORD, "acme")
+        ));
+
+        // Act
+        Optional<Long> income = categorizationRuleService.classify(
+            1L, TransactionType.INCOME, new BigDecimal("5000"), "ACME payroll", null);
+        Optional<Long> expense = categorizationRuleService.classify(
+            1L, TransactionType.EXPENSE, new BigDecimal("12"), "Acme cafeteria", null);
+
+        // Assert
+        assertEquals(Optional.of(1L), income);
+        assertEquals(Optional.of(6L), expense);
+        verify(categorizationRuleRepository, times(1)).findByUserIdWithCategory(1L);
+    }
+
+    @Test
+    void classify_RecompilesAfterEviction() {
+        // Arrange
+        when(categorizationRuleRepository.findByUserIdWithCategory(1L))
+                .thenReturn(List.of())
+                .thenReturn(List.of(rule(foodCategory, RuleMatchType.PREFIX, "tesco")));
+
+        // Act
+        Optional<Long> before = categorizationRuleService.classify(
+            1L, TransactionType.EXPENSE, BigDecimal.TEN, "Tesco Express", null);
+        categorizationRuleService.evictUser(1L);
+        Optional<Long> after = categorizationRuleService.classify(
+            1L, TransactionType.EXPENSE, BigDecimal.TEN, "Tesco Express", null);
+
+        // Assert
+        assertTrue(before.isEmpty());
+        assertEquals(Optional.of(6L), after);
+    }
+
+    private static CategorizationRule rule(Category category, RuleMatchType matchType, String pattern) {
+        CategorizationRule rule = new CategorizationRule();
+        rule.setCategory(category);
+        rule.setMatchType(matchType);
+        rule.setField(RuleField.DESCRIPTION);
+        rule.setPattern(pattern);
+        return rule;
+    }
+}
@@ -0,0 +1,134 @@
+package com.expense.tracker.service;
+
+import com.expense.tracker.enums.CategoryType;
+import com.expense.tracker.model.Category;
+import com.expense.tracker.model.User;
+import com.expense.tracker.repository.CategoryRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for CategoryCache
+ */
+@ExtendWith(MockitoExtension.class)
+class CategoryCacheTest {
+
+    @Mock
+    private CategoryRepository categoryRepository;
+
+    @InjectMocks
+    private CategoryCache categoryCache;
+
+    private Category systemCategory;
+    private Category customCategory;
+
+    @BeforeEach
+    void setUp() {
+        User testUser = User.builder()
+                .id(1L)
+                .name("Test User")
+                .email("test@example.com")
+                .build();
+
+        systemCategory = new Category("Food & Dining", CategoryType.EXPENSE);
+        systemCategory.setId(6L);
+
+        customCategory = new Category("Pet Expenses", CategoryType.EXPENSE, testUser);
+        customCategory.setId(20L);
+    }
+
+    @Test
+    void findAvailableToUser_SystemCategoryLoadedOnce() {
+        // Arrange
+        when(categoryRepository.findByIsSystemCategoryTrue()).thenReturn(List.of(systemCategory));
+
+        // Act
+        categoryCache.findAvailableToUser(6L, 1L);
+        Optional<CategoryCache.CachedCategory> result = categoryCache.findAvailableToUser(6L, 2L);
+
+        // Assert
+        assertTrue(result.isPresent());
+        assertEquals("Food & Dining", result.get().name());
+        assertEquals(CategoryType.EXPENSE, result.get().type());
+        verify(categoryRepository, times(1)).findByIsSystemCategoryTrue();
+        verify(categoryRepository, never()).findByUserIdAndIsSystemCategoryFalse(any());
+    }
+
+    @Test
+    void findAvailableToUser_CustomCategoryServedFromCache() {
+        // Arrange
+        when(categoryRepository.findByIsSystemCategoryTrue()).thenReturn(List.of(systemCategory));
+        when(categoryRepository.findByUserIdAndIsSystemCategoryFalse(1L)).thenReturn(List.of(customCategory));
+
+        // Act
+        categoryCache.findAvailableToUser(20L, 1L);
+        Optional<CategoryCache.CachedCategory> result = categoryCache.findAvailableToUser(20L, 1L);
+
+        // Assert
+        assertTrue(result.isPresent());
+        assertEquals("Pet Expenses", result.get().name());
+        verify(categoryRepository, times(1)).findByUserIdAndIsSystemCategoryFalse(1L);
+    }
+
+    @Test
+    void findAvailableToUser_OtherUsersCategoryNotVisible() {
+        // Arrange
+        when(categoryRepository.findByIsSystemCategoryTrue()).thenReturn(List.of(systemCategory));
+        when(categoryRepository.findByUserIdAndIsSystemCategoryFalse(1L)).thenReturn(List.of(customCategory));
+        when(categoryRepository.findByUserIdAndIsSystemCategoryFalse(2L)).thenReturn(List.of());
+
+        // Act & Assert
+        assertTrue(categoryCache.findAvailableToUser(20L, 1L).isPresent());
+        assertFalse(categoryCache.findAvailableToUser(20L, 2L).isPresent());
+    }
+
+    @Test
+    void evictUser_ReloadsCustomCategories() {
+        // Arrange
+        when(categoryRepository.findByIsSystemCategoryTrue()).thenReturn(List.of(systemCategory));
+        when(categoryRepository.findByUserIdAndIsSystemCategoryFalse(1L))
+                .thenReturn(List.of())
+                .thenReturn(List.of(customCategory));
+
+        // Act
+        Optional<CategoryCache.CachedCategory> before = categoryCache.findAvailableToUser(20L, 1L);
+        categoryCache.evictUser(1L);
+        Optional<CategoryCache.CachedCategory> after = categoryCache.findAvailableToUser(20L, 1L);
+
+        // Assert
+        assertFalse(before.isPresent());
+        assertTrue(after.isPresent());
+        verify(categoryRepository, times(2)).findByUserIdAndIsSystemCategoryFalse(1L);
+    }
+
+    @Test
+    void findAvailableToUser_LoadRacingAnEvictionIsNotKept() {
+        // Arrange: a category change commits (and evicts) while the first load is reading
+        when(categoryRepository.findByIsSystemCategoryTrue()).thenReturn(List.of(systemCategory));
+        when(categoryRepository.findByUserIdAndIsSystemCategoryFalse(1L))
+                .thenAnswer(invocation -> {
+                    categoryCache.evictUser(1L);
+                    return List.of();
+                })
+                .thenReturn(List.of(customCategory));
+
+        // Act
+        Optional<CategoryCache.CachedCategory> stale = categoryCache.findAvailableToUser(20L, 1L);
+        Optional<CategoryCache.CachedCategory> fresh = categoryCache.findAvailableToUser(20L, 1L);
+
+        // Assert
+        assertFalse(stale.isPresent());
+        assertTrue(fresh.isPresent());
+        verify(categoryRepository, times(2)).findByUserIdAndIsSystemCategoryFalse(1L);
+    }
+}
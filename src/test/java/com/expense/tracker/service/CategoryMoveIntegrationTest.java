@@ -0,0 +1,131 @@
+package com.expense.tracker.service;
+
+import com.expense.tracker.dto.request.CategoryRequest;
+import com.expense.tracker.dto.request.TransactionRequest;
+import com.expense.tracker.dto.response.CategoryWiseResponse;
+import com.expense.tracker.enums.CategoryType;
+import com.expense.tracker.enums.TransactionType;
+import com.expense.tracker.model.User;
+import com.expense.tracker.repository.CategoryClosureRepository;
+import com.expense.tracker.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Moves a subtree with grandchildren through the real closure table and checks every
+ * closure row and the rolled-up report afterwards.
+ */
+@SpringBootTest(properties = {
+    "jwt.secret=YourVeryLongSecretKeyForJWTTokenGenerationAndValidation123456789ExpenseTracker2024",
+    "logging.level.com.expense.tracker=WARN"
+})
+@ActiveProfiles("test")
+class CategoryMoveIntegrationTest {
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private ReportService reportService;
+
+    @Autowired
+    private CategoryClosureRepository closureRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private final LocalDate today = LocalDate.now();
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = userRepository.save(User.builder()
+                .name("Tree Mover")
+                .email("tree-" + UUID.randomUUID() + "@example.com")
+                .password("hashed")
+                .build());
+    }
+
+    @Test
+    void moveSubtree_RewritesEveryClosureRowAndRollup() {
+        // Arrange: home > kitchen > appliances > small > toasters, and home > garden
+        long home = create("Home", null);
+        long kitchen = create("Kitchen", home);
+        long appliances = create("Appliances", kitchen);
+        long small = create("Small", appliances);
+        long toasters = create("Toasters", small);
+        long garden = create("Garden", home);
+        spend(appliances, "10.00");
+        spend(small, "20.00");
+        spend(toasters, "40.00");
+        spend(kitchen, "5.00");
+
+        // Act: move appliances (with its child and grandchild) under garden
+        categoryService.updateCategory(appliances, request("Appliances", garden), user);
+
+        // Assert: every closure row of the tree, with its depth
+        Set<String> expected = Set.of(
+                link(home, home, 0), link(kitchen, kitchen, 0), link(appliances, appliances, 0),
+                link(small, small, 0), link(toasters, toasters, 0), link(garden, garden, 0),
+                link(home, kitchen, 1), link(home, garden, 1),
+                link(home, appliances, 2), link(home, small, 3), link(home, toasters, 4),
+                link(garden, appliances, 1), link(garden, small, 2), link(garden, toasters, 3),
+                link(appliances, small, 1), link(appliances, toasters, 2),
+                link(small, toasters, 1));
+        Set<String> actual = Stream.of(home, kitchen, appliances, small, toasters, garden)
+                .flatMap(id -> closureRepository.findByAncestorId(id).stream())
+                .map(row -> link(row.getAncestorId(), row.getDescendantId(), row.getDepth()))
+                .collect(Collectors.toSet());
+        assertThat(actual).isEqualTo(expected);
+
+        // Assert: the moved spending now rolls up to garden, and all of it still to home
+        assertThat(totals(1)).isEqualTo(Map.of(kitchen, new BigDecimal("5.00"), garden, new BigDecimal("70.00")));
+        assertThat(totals(0)).isEqualTo(Map.of(home, new BigDecimal("75.00")));
+        assertThat(categoryService.getCategoryById(toasters, user.getId()).getDepth()).isEqualTo(4);
+    }
+
+    private long create(String name, Long parentId) {
+        return categoryService.createCategory(request(name, parentId), user).getId();
+    }
+
+    private static CategoryRequest request(String name, Long parentId) {
+        return new CategoryRequest(name, CategoryType.EXPENSE, parentId);
+    }
+
+    private void spend(long categoryId, String amount) {
+        TransactionRequest request = new TransactionRequest();
+        request.setType(TransactionType.EXPENSE);
+        request.setCategoryId(categoryId);
+        request.setAmount(new BigDecimal(amount));
+        request.setTransactionDate(today);
+        request.setDescription("Purchase " + categoryId + " " + amount);
+        transactionService.createTransaction(request, user);
+    }
+
+    private Map<Long, BigDecimal> totals(int depth) {
+        CategoryWiseResponse report = reportService.getCategoryWiseReport(user, today.getMonthValue(), today.getYear(), depth);
+        return report.getCategories().stream()
+                .collect(Collectors.toMap(CategoryWiseResponse.CategoryExpenseData::getCategoryId,
+                        CategoryWiseResponse.CategoryExpenseData::getTotalAmount));
+    }
+
+    private static String link(long ancestorId, long descendantId, int depth) {
+        return ancestorId + ">" + descendantId + "@" + depth;
+    }
+}
@@ -8,8 +8,14 @@ import com.expense.tracker.exception.ForbiddenException;
 import com.expense.tracker.exception.InvalidRequestException;
 import com.expense.tracker.exception.ResourceNotFoundException;
 import com.expense.tracker.model.Category;
+import com.expense.tracker.model.CategoryClosure;
+import com.expense.tracker.model.SyncTombstone;
 import com.expense.tracker.model.User;
+import com.expense.tracker.repository.CategorizationRuleRepository;
+import com.expense.tracker.repository.CategoryClosureRepository;
 import com.expense.tracker.repository.CategoryRepository;
+import com.expense.tracker.repository.RecurringTransactionRepository;
+import com.expense.tracker.repository.SyncTombstoneRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -19,6 +25,7 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
@@ -37,6 +44,27 @@ class CategoryServiceTest {
     @Mock
     private CategoryRepository categoryRepository;
 
+    @Mock
+    private CategoryClosureRepository categoryClosureRepository;
+
+    @Mock
+    private CategorizationRuleRepository categorizationRuleRepository;
+
+    @Mock
+    private CategoryCache categoryCache;
+
+    @Mock
+    private CategorizationRuleService categorizationRuleService;
+
+    @Mock
+    private SyncTombstoneRepository syncTombstoneRepository;
+
+    @Mock
+    private RecurringTransactionRepository recurringTransactionRepository;
+
+    @Mock
+    private DataVersionTracker dataVersionTracker;
+
     @InjectMocks
     private CategoryService categoryService;
 
@@ -147,6 +175,53 @@ class CategoryServiceTest {
         assertEquals("Custom Category", response.getName());
         assertFalse(response.getIsSystemCategory());
         verify(categoryRepository, times(1)).save(any(Category.class));
+        verify(categoryCache, times(1)).evictUser(1L);
+    }
+
+    @Test
+    void createCategory_WithParent_LinksAncestors() {
+        // Arrange
+        categoryRequest.setParentId(2L);
+        customCategory.setDepth(1);
+        when(categoryRepository.existsByNameForUser("Custom Category", 1L)).thenReturn(false);
+        when(categoryRepository.findByIdAndAvailableToUser(2L, 1L)).thenReturn(Optional.of(customCategory));
+        when(categoryRepository.save(any(Category.class))).thenAnswer(invocation -> {
+            Category cat = invocation.getArgument(0);
+            cat.setId(3L);
+            return cat;
+        });
+        when(categoryClosureRepository.findByDescendantId(2L)).thenReturn(Arrays.asList(
+            new CategoryClosure(2L, 2L, 0),
+            new CategoryClosure(1L, 2L, 1)
+        ));
+
+        // Act
+        CategoryResponse response = categoryService.createCategory(categoryRequest, testUser);
+
+        // Assert
+        assertEquals(2L, response.getParentId());
+        assertEquals(2, response.getDepth());
+        verify(categoryClosureRepository, times(1)).saveAll(Arrays.asList(
+            new CategoryClosure(3L, 3L, 0),
+            new CategoryClosure(2L, 3L, 1),
+            new CategoryClosure(1L, 3L, 2)
+        ));
+    }
+
+    @Test
+    void createCategory_ParentTypeMismatch() {
+        // Arrange
+        categoryRequest.setParentId(2L);
+        categoryRequest.setType(CategoryType.INCOME);
+        when(categoryRepository.existsByNameForUser("Custom Category", 1L)).thenReturn(false);
+        when(categoryRepository.findByIdAndAvailableToUser(2L, 1L)).thenReturn(Optional.of(customCategory));
+
+        // Act & Assert
+        assertThrows(InvalidRequestException.class, () -> {
+            categoryService.createCategory(categoryRequest, testUser);
+        });
+
+        verify(categoryRepository, never()).save(any(Category.class));
     }
 
     @Test
@@ -218,6 +293,59 @@ class CategoryServiceTest {
         });
     }
 
+    @Test
+    void updateCategory_MoveUnderOwnSubcategory() {
+        // Arrange
+        CategoryRequest updateRequest = new CategoryRequest();
+        updateRequest.setName("Pet Expenses");
+        updateRequest.setType(CategoryType.EXPENSE);
+        updateRequest.setParentId(5L);
+
+        when(categoryRepository.findByIdAndUserIdAndIsSystemCategoryFalse(2L, 1L))
+                .thenReturn(Optional.of(customCategory));
+        when(categoryClosureRepository.existsByAncestorIdAndDescendantId(2L, 5L)).thenReturn(true);
+
+        // Act & Assert
+        assertThrows(InvalidRequestException.class, () -> {
+            categoryService.updateCategory(2L, updateRequest, testUser);
+        });
+
+        verify(categoryRepository, never()).save(any(Category.class));
+    }
+
+    @Test
+    void updateCategory_MoveSubtree() {
+        // Arrange
+        CategoryRequest updateRequest = new CategoryRequest();
+        updateRequest.setName("Pet Expenses");
+        updateRequest.setType(CategoryType.EXPENSE);
+        updateRequest.setParentId(1L);
+
+        when(categoryRepository.findByIdAndUserIdAndIsSystemCategoryFalse(2L, 1L))
+                .thenReturn(Optional.of(customCategory));
+        when(categoryRepository.findByIdAndAvailableToUser(1L, 1L)).thenReturn(Optional.of(systemCategory));
+        when(categoryClosureRepository.findByAncestorId(2L)).thenReturn(Arrays.asList(
+            new CategoryClosure(2L, 2L, 0),
+            new CategoryClosure(2L, 4L, 1)
+        ));
+        when(categoryClosureRepository.findByDescendantId(2L)).thenReturn(List.of(new CategoryClosure(2L, 2L, 0)));
+        when(categoryClosureRepository.findByDescendantId(1L)).thenReturn(List.of(new CategoryClosure(1L, 1L, 0)));
+        when(categoryRepository.save(any(Category.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        CategoryResponse response = categoryService.updateCategory(2L, updateRequest, testUser);
+
+        // Assert
+        assertEquals(1L, response.getParentId());
+        assertEquals(1, response.getDepth());
+        verify(categoryClosureRepository, never()).deleteLinks(any(), any());
+        verify(categoryClosureRepository, times(1)).saveAll(Arrays.asList(
+            new CategoryClosure(1L, 2L, 1),
+            new CategoryClosure(1L, 4L, 2)
+        ));
+        verify(categoryRepository, times(1)).shiftDepth(eq(List.of(4L)), eq(1), any(LocalDateTime.class));
+    }
+
     @Test
     void deleteCategory_Success() {
         // Arrange
@@ -230,6 +358,10 @@ class CategoryServiceTest {
 
         // Assert
         verify(categoryRepository, times(1)).delete(customCategory);
+        verify(categorizationRuleRepository, times(1)).deleteByCategoryId(2L);
+        verify(categoryCache, times(1)).evictUser(1L);
+        verify(categorizationRuleService, times(1)).evictUser(1L);
+        verify(syncTombstoneRepository, times(1)).save(any(SyncTombstone.class));
     }
 
     @Test
@@ -247,6 +379,38 @@ class CategoryServiceTest {
         verify(categoryRepository, never()).delete(any(Category.class));
     }
 
+    @Test
+    void deleteCategory_HasSubcategories() {
+        // Arrange
+        when(categoryRepository.findByIdAndUserIdAndIsSystemCategoryFalse(2L, 1L))
+                .thenReturn(Optional.of(customCategory));
+        when(categoryRepository.countActiveTransactionsByCategory(2L)).thenReturn(0L);
+        when(categoryClosureRepository.existsByAncestorIdAndDepthGreaterThan(2L, 0)).thenReturn(true);
+
+        // Act & Assert
+        assertThrows(InvalidRequestException.class, () -> {
+            categoryService.deleteCategory(2L, testUser);
+        });
+
+        verify(categoryRepository, never()).delete(any(Category.class));
+    }
+
+    @Test
+    void deleteCategory_UsedByRecurringTransaction() {
+        // Arrange
+        when(categoryRepository.findByIdAndUserIdAndIsSystemCategoryFalse(2L, 1L))
+                .thenReturn(Optional.of(customCategory));
+        when(categoryRepository.countActiveTransactionsByCategory(2L)).thenReturn(0L);
+        when(recurringTransactionRepository.existsByCategoryId(2L)).thenReturn(true);
+
+        // Act & Assert
+        assertThrows(InvalidRequestException.class, () -> {
+            categoryService.deleteCategory(2L, testUser);
+        });
+
+        verify(categoryRepository, never()).delete(any(Category.class));
+    }
+
     @Test
     void deleteCategory_SystemCategory() {
         // Arrange
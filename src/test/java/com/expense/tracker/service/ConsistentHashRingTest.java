@@ -0,0 +1,67 @@
+package com.expense.tracker.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ConsistentHashRing
+ */
+class ConsistentHashRingTest {
+
+    private static final int USERS = 10000;
+
+    @Test
+    void shardFor_IsStableAcrossInstances() {
+        // Arrange
+        ConsistentHashRing ring = new ConsistentHashRing(List.of("a", "b", "c"), 128);
+        ConsistentHashRing sameRing = new ConsistentHashRing(List.of("c", "a", "b"), 128);
+
+        // Act & Assert
+        for (long userId = 1; userId <= 100; userId++) {
+            assertEquals(ring.shardFor(userId), sameRing.shardFor(userId));
+        }
+    }
+
+    @Test
+    void shardFor_SpreadsUsersEvenly() {
+        // Arrange
+        ConsistentHashRing ring = new ConsistentHashRing(List.of("a", "b", "c", "d"), 128);
+        Map<String, Integer> counts = new HashMap<>();
+
+        // Act
+        for (long userId = 1; userId <= USERS; userId++) {
+            counts.merge(ring.shardFor(userId), 1, Integer::sum);
+        }
+
+        // Assert
+        assertEquals(4, counts.size());
+        counts.values().forEach(count -> assertTrue(count > USERS / 4 * 0.8 && count < USERS / 4 * 1.2,
+                "Unbalanced placement: " + counts));
+    }
+
+    @Test
+    void addingShard_OnlyMovesUsersToNewShard() {
+        // Arrange
+        ConsistentHashRing before = new ConsistentHashRing(List.of("a", "b", "c"), 128);
+        ConsistentHashRing after = new ConsistentHashRing(List.of("a", "b", "c", "d"), 128);
+        int moved = 0;
+
+        // Act
+        for (long userId = 1; userId <= USERS; userId++) {
+            String oldShard = before.shardFor(userId);
+            String newShard = after.shardFor(userId);
+            if (!oldShard.equals(newShard)) {
+                assertEquals("d", newShard);
+                moved++;
+            }
+        }
+
+        // Assert: about a quarter of the users move
+        assertTrue(moved > USERS / 4 * 0.8 && moved < USERS / 4 * 1.2, "Moved " + moved);
+    }
+}
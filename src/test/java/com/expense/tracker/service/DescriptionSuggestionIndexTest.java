@@ -0,0 +1,97 @@
+package com.expense.tracker.service;
+
+import com.expense.tracker.repository.TransactionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for DescriptionSuggestionIndex
+ */
+@ExtendWith(MockitoExtension.class)
+class DescriptionSuggestionIndexTest {
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    @InjectMocks
+    private DescriptionSuggestionIndex descriptionSuggestionIndex;
+
+    private final LocalDate today = LocalDate.of(2024, 10, 6);
+
+    @BeforeEach
+    void setUp() {
+        List<Object[]> rows = new ArrayList<>();
+        rows.add(new Object[]{"Walmart groceries", today.minusDays(3), 4L});
+        rows.add(new Object[]{"Walgreens", today.minusDays(1), 1L});
+        rows.add(new Object[]{"Wall Street Deli", today.minusYears(2), 30L});
+        rows.add(new Object[]{"Uber trip", today, 2L});
+        lenient().when(transactionRepository.findDescriptionUsageByUserId(1L)).thenReturn(rows);
+    }
+
+    @Test
+    void suggest_RanksByFrequencyAndRecency() {
+        // Act
+        List<String> suggestions = descriptionSuggestionIndex.suggest(1L, "wal", 10);
+
+        // Assert - frequent but two years old ranks below recent entries
+        assertEquals(List.of("Walmart groceries", "Walgreens", "Wall Street Deli"), suggestions);
+    }
+
+    @Test
+    void suggest_NormalizesCaseAndWhitespaceAndRespectsLimit() {
+        // Act & Assert
+        assertEquals(List.of("Walmart groceries"), descriptionSuggestionIndex.suggest(1L, "  WALMART   gro", 10));
+        assertEquals(List.of("Walmart groceries"), descriptionSuggestionIndex.suggest(1L, "wal", 1));
+        assertTrue(descriptionSuggestionIndex.suggest(1L, "xyz", 10).isEmpty());
+    }
+
+    @Test
+    void suggest_WarmTrieDoesNotQueryDatabase() {
+        // Act
+        descriptionSuggestionIndex.suggest(1L, "wal", 5);
+        descriptionSuggestionIndex.suggest(1L, "ub", 5);
+
+        // Assert
+        verify(transactionRepository, times(1)).findDescriptionUsageByUserId(1L);
+    }
+
+    @Test
+    void suggest_BlankPrefixDoesNotLoadTrie() {
+        // Act
+        List<String> suggestions = descriptionSuggestionIndex.suggest(1L, "   ", 5);
+
+        // Assert
+        assertTrue(suggestions.isEmpty());
+        verifyNoInteractions(transactionRepository);
+    }
+
+    @Test
+    void recordAndUnrecord_UpdateLoadedTrie() {
+        // Arrange
+        descriptionSuggestionIndex.suggest(1L, "wal", 5);
+
+        // Act
+        for (int i = 0; i < 10; i++) {
+            descriptionSuggestionIndex.record(1L, "Walgreens", today);
+        }
+        descriptionSuggestionIndex.record(1L, "Waitrose", today);
+        descriptionSuggestionIndex.unrecord(1L, "Uber trip", today);
+        descriptionSuggestionIndex.unrecord(1L, "Uber trip", today);
+
+        // Assert
+        assertEquals("Walgreens", descriptionSuggestionIndex.suggest(1L, "wal", 5).get(0));
+        assertEquals(List.of("Waitrose"), descriptionSuggestionIndex.suggest(1L, "wai", 5));
+        assertTrue(descriptionSuggestionIndex.suggest(1L, "ub", 5).isEmpty());
+    }
+}
@@ -0,0 +1,109 @@
+package com.expense.tracker.service;
+
+import com.expense.tracker.repository.TransactionRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for DuplicateTransactionDetector
+ */
+@ExtendWith(MockitoExtension.class)
+class DuplicateTransactionDetectorTest {
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    @InjectMocks
+    private DuplicateTransactionDetector duplicateTransactionDetector;
+
+    private final LocalDate today = LocalDate.now();
+
+    @Test
+    void fingerprint_IgnoresCaseWhitespaceAndAmountScale() {
+        // Act
+        long first = DuplicateTransactionDetector.fingerprint(1L, today, new BigDecimal("12.50"), "Coffee  Shop ", "Cash");
+        long second = DuplicateTransactionDetector.fingerprint(1L, today, new BigDecimal("12.5"), "coffee shop", "CASH");
+        long otherUser = DuplicateTransactionDetector.fingerprint(2L, today, new BigDecimal("12.50"), "Coffee Shop", "Cash");
+        long otherDay = DuplicateTransactionDetector.fingerprint(1L, today.minusDays(1), new BigDecimal("12.50"), "Coffee Shop", "Cash");
+
+        // Assert
+        assertEquals(first, second);
+        assertNotEquals(first, otherUser);
+        assertNotEquals(first, otherDay);
+    }
+
+    @Test
+    void checkAndRegister_FindsRecentDuplicateWithoutPerInsertQuery() {
+        // Arrange
+        when(transactionRepository.findFingerprintsByUserIdSince(eq(1L), any())).thenReturn(List.of(42L));
+
+        // Act & Assert
+        assertTrue(duplicateTransactionDetector.checkAndRegister(1L, 42L, today, true));
+        assertFalse(duplicateTransactionDetector.checkAndRegister(1L, 43L, today, true));
+        assertTrue(duplicateTransactionDetector.checkAndRegister(1L, 43L, today, true));
+
+        verify(transactionRepository, times(1)).findFingerprintsByUserIdSince(eq(1L), any());
+        verify(transactionRepository, never()).existsByUserIdAndFingerprintAndIsDeletedFalse(anyLong(), anyLong());
+    }
+
+    @Test
+    void checkAndRegister_KeptDuplicateCountsSoReleaseIsExact() {
+        // Arrange
+        when(transactionRepository.findFingerprintsByUserIdSince(eq(1L), any())).thenReturn(List.of(42L));
+
+        // Act - the copy is flagged but kept
+        assertTrue(duplicateTransactionDetector.checkAndRegister(1L, 42L, today, false));
+        duplicateTransactionDetector.release(1L, 42L);
+
+        // Assert - one copy is left
+        assertTrue(duplicateTransactionDetector.checkAndRegister(1L, 42L, today, true));
+
+        // Act
+        duplicateTransactionDetector.release(1L, 42L);
+
+        // Assert
+        assertFalse(duplicateTransactionDetector.checkAndRegister(1L, 42L, today, true));
+    }
+
+    @Test
+    void checkAndRegister_RejectedDuplicateIsNotRegistered() {
+        // Arrange
+        when(transactionRepository.findFingerprintsByUserIdSince(eq(1L), any())).thenReturn(List.of(42L));
+
+        // Act
+        assertTrue(duplicateTransactionDetector.checkAndRegister(1L, 42L, today, true));
+        duplicateTransactionDetector.release(1L, 42L);
+
+        // Assert - the rejected copy did not add to the count
+        assertFalse(duplicateTransactionDetector.checkAndRegister(1L, 42L, today, true));
+    }
+
+    @Test
+    void checkAndRegister_OldDatesFallBackToFingerprintColumn() {
+        // Arrange
+        LocalDate oldDate = today.minusYears(1);
+        when(transactionRepository.findFingerprintsByUserIdSince(eq(1L), any())).thenReturn(List.of());
+        when(transactionRepository.existsByUserIdAndFingerprintAndIsDeletedFalse(1L, 7L)).thenReturn(true);
+        when(transactionRepository.existsByUserIdAndFingerprintAndIsDeletedFalse(1L, 8L)).thenReturn(false);
+
+        // Act & Assert
+        assertTrue(duplicateTransactionDetector.checkAndRegister(1L, 7L, oldDate, true));
+        assertFalse(duplicateTransactionDetector.checkAndRegister(1L, 8L, oldDate, true));
+        // Second copy within the same import is caught in memory
+        assertTrue(duplicateTransactionDetector.checkAndRegister(1L, 8L, oldDate, true));
+        verify(transactionRepository, times(1)).existsByUserIdAndFingerprintAndIsDeletedFalse(1L, 8L);
+    }
+}
@@ -0,0 +1,47 @@
+package com.expense.tracker.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for InMemoryDataVersionStore
+ */
+class InMemoryDataVersionStoreTest {
+
+    private final InMemoryDataVersionStore dataVersionStore = new InMemoryDataVersionStore();
+
+    @Test
+    void increment_ChangesOnlyThatUsersVersion() {
+        // Arrange
+        String alice = dataVersionStore.getVersion("alice@example.com");
+        String bob = dataVersionStore.getVersion("bob@example.com");
+
+        // Act
+        dataVersionStore.increment("alice@example.com");
+
+        // Assert
+        assertNotEquals(alice, dataVersionStore.getVersion("alice@example.com"));
+        assertEquals(bob, dataVersionStore.getVersion("bob@example.com"));
+    }
+
+    @Test
+    void eviction_NeverReusesAnEarlierVersion() {
+        // Arrange
+        ReflectionTestUtils.setField(dataVersionStore, "maxUsers", 1);
+        Set<String> seen = new HashSet<>();
+        seen.add(dataVersionStore.getVersion("alice@example.com"));
+        dataVersionStore.increment("alice@example.com");
+        seen.add(dataVersionStore.getVersion("alice@example.com"));
+
+        // Act: bob's write evicts alice
+        dataVersionStore.increment("bob@example.com");
+
+        // Assert
+        assertTrue(seen.add(dataVersionStore.getVersion("alice@example.com")));
+    }
+}
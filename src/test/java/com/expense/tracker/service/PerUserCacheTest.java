@@ -0,0 +1,72 @@
+package com.expense.tracker.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for PerUserCache
+ */
+class PerUserCacheTest {
+
+    @Test
+    void getOrLoad_EvictsLeastRecentlyUsedBeyondMaxEntries() {
+        // Arrange
+        PerUserCache<Long, String> cache = new PerUserCache<>(() -> 2);
+        cache.getOrLoad(1L, id -> "one");
+        cache.getOrLoad(2L, id -> "two");
+
+        // Act: touch 1, so 2 is the eldest when 3 arrives
+        cache.getOrLoad(1L, id -> "reloaded");
+        cache.getOrLoad(3L, id -> "three");
+
+        // Assert
+        assertEquals("one", cache.getIfPresent(1L));
+        assertNull(cache.getIfPresent(2L));
+        assertEquals("three", cache.getIfPresent(3L));
+    }
+
+    @Test
+    void update_UserNotLoaded_ConcurrentLoadNotKept() {
+        // Arrange
+        PerUserCache<Long, List<String>> cache = new PerUserCache<>(() -> 10);
+        AtomicInteger loads = new AtomicInteger();
+
+        // Act: a committed write lands while the load is reading
+        List<String> stale = cache.getOrLoad(1L, id -> {
+            loads.incrementAndGet();
+            cache.update(1L, values -> values.add("missed"));
+            return new ArrayList<>();
+        });
+        List<String> fresh = cache.getOrLoad(1L, id -> {
+            loads.incrementAndGet();
+            return new ArrayList<>(List.of("written"));
+        });
+        cache.update(1L, values -> values.add("next"));
+
+        // Assert
+        assertTrue(stale.isEmpty());
+        assertEquals(List.of("written", "next"), cache.getIfPresent(1L));
+        assertSame(fresh, cache.getIfPresent(1L));
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void getOrLoad_UnusableEntryReplaced() {
+        // Arrange
+        PerUserCache<String, String> cache = new PerUserCache<>(() -> 10);
+        cache.getOrLoad("a@example.com", email -> "expired");
+
+        // Act
+        String value = cache.getOrLoad("a@example.com", cached -> !"expired".equals(cached), email -> "current");
+
+        // Assert
+        assertEquals("current", value);
+        assertEquals("current", cache.getIfPresent("a@example.com"));
+        assertNull(cache.getOrLoad("b@example.com", email -> null));
+    }
+}
@@ -0,0 +1,101 @@
+package com.expense.tracker.service;
+
+import com.expense.tracker.config.ProfilingProperties;
+import com.expense.tracker.dto.response.ProfileSummaryResponse;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for ProfilingService with short real JFR recordings of the test JVM
+ */
+class ProfilingServiceTest {
+
+    private final ProfilingProperties properties = new ProfilingProperties();
+    private final ProfilingService profilingService = new ProfilingService(properties);
+
+    @Test
+    void duration_DefaultedAndBounded() {
+        // Arrange
+        properties.setDefaultDuration(Duration.ofSeconds(30));
+        properties.setMaxDuration(Duration.ofSeconds(60));
+
+        // Act & Assert
+        assertEquals(Duration.ofSeconds(30), profilingService.duration(null));
+        assertEquals(Duration.ofSeconds(10), profilingService.duration(10));
+        assertEquals(Duration.ofSeconds(60), profilingService.duration(3600));
+        assertEquals(Duration.ofSeconds(1), profilingService.duration(-5));
+    }
+
+    @Test
+    void record_WritesJfrFileWithoutProcessDetails() throws Exception {
+        // Act
+        Path file = profilingService.record(Duration.ofSeconds(1));
+
+        // Assert
+        try {
+            assertTrue(Files.size(file) > 0);
+            assertTrue(file.getFileName().toString().endsWith(".jfr"));
+            assertTrue(RecordingFile.readAllEvents(file).stream()
+                    .noneMatch(event -> ProfilingService.DISABLED_EVENTS.contains(event.getEventType().getName())));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    void summarize_FindsBusyApplicationMethod() {
+        // Arrange
+        AtomicBoolean running = new AtomicBoolean(true);
+        CompletableFuture<Long> busy = CompletableFuture.supplyAsync(() -> spin(running));
+
+        // Act
+        ProfileSummaryResponse summary;
+        try {
+            summary = profilingService.summarize(Duration.ofSeconds(2));
+        } finally {
+            running.set(false);
+        }
+
+        // Assert
+        busy.join();
+        assertTrue(summary.getExecutionSamples() > 0);
+        assertTrue(summary.getHotMethods().stream()
+                .anyMatch(method -> method.getMethod().equals(ProfilingServiceTest.class.getName() + ".spin")));
+        assertTrue(summary.getHotMethods().stream().allMatch(method -> method.getMethod().startsWith("com.expense.tracker.")));
+    }
+
+    @Test
+    void record_WhileRecording_Rejected() {
+        // Arrange
+        CompletableFuture<Path> first = CompletableFuture.supplyAsync(() -> profilingService.record(Duration.ofSeconds(2)));
+        waitUntilStarted();
+
+        // Act & Assert
+        assertThrows(IllegalStateException.class, () -> profilingService.record(Duration.ofSeconds(1)));
+        assertDoesNotThrow(() -> Files.deleteIfExists(first.join()));
+    }
+
+    private static long spin(AtomicBoolean running) {
+        long value = 0;
+        while (running.get()) {
+            value += Long.toString(value).hashCode();
+        }
+        return value;
+    }
+
+    private static void waitUntilStarted() {
+        try {
+            Thread.sleep(500);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.expense.tracker.service;
+
+import com.expense.tracker.config.ShardingProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for RecurringTransactionScheduler
+ */
+@ExtendWith(MockitoExtension.class)
+class RecurringTransactionSchedulerTest {
+
+    @Mock
+    private RecurringTransactionService recurringTransactionService;
+
+    private RecurringTransactionScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        scheduler = new RecurringTransactionScheduler(recurringTransactionService, new ShardRouter(new ShardingProperties()));
+    }
+
+    @Test
+    void materializeDue_SkipsFailingRuleAndKeepsGoing() {
+        // Arrange: the first batch fails because of rule 2; once it is skipped nothing is left
+        LocalDate today = LocalDate.now();
+        when(recurringTransactionService.materializeDue(eq(today), anyInt(), any()))
+                .thenThrow(new IllegalStateException("corrupt rule"))
+                .thenReturn(0);
+        when(recurringTransactionService.findDueIds(eq(today), anyInt(), any())).thenReturn(List.of(1L, 2L, 3L));
+        when(recurringTransactionService.materializeOne(anyLong(), eq(today))).thenAnswer(invocation -> {
+            if (invocation.getArgument(0, Long.class) == 2L) {
+                throw new IllegalStateException("corrupt rule");
+            }
+            return 1;
+        });
+
+        // Act
+        scheduler.materializeDue();
+
+        // Assert
+        verify(recurringTransactionService).materializeOne(1L, today);
+        verify(recurringTransactionService).materializeOne(3L, today);
+        verify(recurringTransactionService, times(2)).materializeDue(eq(today), anyInt(), eq(Set.of(2L)));
+    }
+}
@@ -0,0 +1,219 @@
+package com.expense.tracker.service;
+
+import com.expense.tracker.dto.request.RecurringTransactionRequest;
+import com.expense.tracker.dto.response.RecurringTransactionResponse;
+import com.expense.tracker.enums.CategoryType;
+import com.expense.tracker.enums.RecurrenceFrequency;
+import com.expense.tracker.enums.TransactionType;
+import com.expense.tracker.exception.InvalidRequestException;
+import com.expense.tracker.model.Category;
+import com.expense.tracker.model.RecurringTransaction;
+import com.expense.tracker.model.User;
+import com.expense.tracker.repository.CategoryRepository;
+import com.expense.tracker.repository.RecurringTransactionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for RecurringTransactionService
+ */
+@ExtendWith(MockitoExtension.class)
+class RecurringTransactionServiceTest {
+
+    @Mock
+    private RecurringTransactionRepository recurringTransactionRepository;
+
+    @Mock
+    private CategoryRepository categoryRepository;
+
+    @Mock
+    private CategoryCache categoryCache;
+
+    @Mock
+    private TransactionService transactionService;
+
+    @InjectMocks
+    private RecurringTransactionService recurringTransactionService;
+
+    private User testUser;
+    private Category rentCategory;
+
+    @BeforeEach
+    void setUp() {
+        testUser = User.builder()
+                .id(1L)
+                .name("Test User")
+                .email("test@example.com")
+                .build();
+
+        rentCategory = new Category();
+        rentCategory.setId(5L);
+        rentCategory.setName("Rent");
+        rentCategory.setType(CategoryType.EXPENSE);
+    }
+
+    @Test
+    void occurrenceDate_MonthlyFromMonthEndDoesNotDrift() {
+        // Arrange
+        LocalDate start = LocalDate.of(2024, 1, 31);
+
+        // Act & Assert
+        assertEquals(LocalDate.of(2024, 2, 29), RecurringTransactionService.occurrenceDate(RecurrenceFrequency.MONTHLY, 1, start, 1));
+        assertEquals(LocalDate.of(2024, 3, 31), RecurringTransactionService.occurrenceDate(RecurrenceFrequency.MONTHLY, 1, start, 2));
+        assertEquals(LocalDate.of(2024, 7, 31), RecurringTransactionService.occurrenceDate(RecurrenceFrequency.MONTHLY, 3, start, 2));
+        assertEquals(LocalDate.of(2024, 2, 14), RecurringTransactionService.occurrenceDate(RecurrenceFrequency.WEEKLY, 2, start, 1));
+    }
+
+    @Test
+    void createRecurringTransaction_StartsAtStartDate() {
+        // Arrange
+        RecurringTransactionRequest request = request(LocalDate.now().plusDays(3));
+        when(categoryCache.findAvailableToUser(5L, 1L)).thenReturn(Optional.of(cached(rentCategory)));
+        when(categoryRepository.getReferenceById(5L)).thenReturn(rentCategory);
+        when(recurringTransactionRepository.save(any(RecurringTransaction.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        RecurringTransactionResponse response = recurringTransactionService.createRecurringTransaction(request, testUser);
+
+        // Assert
+        assertEquals(request.getStartDate(), response.getNextOccurrenceDate());
+        assertEquals("Rent", response.getCategoryName());
+        assertTrue(response.getActive());
+    }
+
+    @Test
+    void createRecurringTransaction_PastStartDateRejected() {
+        // Arrange
+        RecurringTransactionRequest request = request(LocalDate.now().minusDays(1));
+
+        // Act & Assert
+        assertThrows(InvalidRequestException.class, () -> {
+            recurringTransactionService.createRecurringTransaction(request, testUser);
+        });
+        verify(recurringTransactionRepository, never()).save(any());
+    }
+
+    @Test
+    void materializeDue_CatchesUpMissedOccurrencesAndStopsAtEndDate() {
+        // Arrange
+        RecurringTransaction rent = recurringTransaction(LocalDate.of(2024, 1, 31), LocalDate.of(2024, 4, 30));
+        when(recurringTransactionRepository.findDue(eq(LocalDate.of(2024, 6, 1)), any())).thenReturn(List.of(rent));
+
+        // Act
+        int processed = recurringTransactionService.materializeDue(LocalDate.of(2024, 6, 1), 100, Set.of());
+
+        // Assert
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<LocalDate>> dates = ArgumentCaptor.forClass(List.class);
+        verify(transactionService).saveRecurringOccurrences(eq(rent), dates.capture());
+        assertEquals(1, processed);
+        assertEquals(List.of(
+            LocalDate.of(2024, 1, 31),
+            LocalDate.of(2024, 2, 29),
+            LocalDate.of(2024, 3, 31),
+            LocalDate.of(2024, 4, 30)
+        ), dates.getValue());
+        assertEquals(4, rent.getOccurrenceCount());
+        assertNull(rent.getNextOccurrenceDate());
+    }
+
+    @Test
+    void materializeDue_OnlyRecordsOccurrencesUpToDate() {
+        // Arrange
+        RecurringTransaction rent = recurringTransaction(LocalDate.of(2024, 1, 15), null);
+        when(recurringTransactionRepository.findDue(eq(LocalDate.of(2024, 2, 20)), any())).thenReturn(List.of(rent));
+
+        // Act
+        recurringTransactionService.materializeDue(LocalDate.of(2024, 2, 20), 100, Set.of());
+
+        // Assert
+        verify(transactionService).saveRecurringOccurrences(rent, List.of(LocalDate.of(2024, 1, 15), LocalDate.of(2024, 2, 15)));
+        assertEquals(LocalDate.of(2024, 3, 15), rent.getNextOccurrenceDate());
+    }
+
+    @Test
+    void updateRecurringTransaction_ScheduleLockedAfterFirstOccurrence() {
+        // Arrange
+        RecurringTransaction rent = recurringTransaction(LocalDate.now(), null);
+        rent.setOccurrenceCount(1);
+        when(recurringTransactionRepository.findByIdAndUserId(9L, 1L)).thenReturn(Optional.of(rent));
+        RecurringTransactionRequest request = request(LocalDate.now());
+        request.setFrequency(RecurrenceFrequency.WEEKLY);
+
+        // Act & Assert
+        assertThrows(InvalidRequestException.class, () -> {
+            recurringTransactionService.updateRecurringTransaction(9L, request, testUser);
+        });
+    }
+
+    @Test
+    void updateRecurringTransaction_ResumeSkipsOccurrencesMissedWhilePaused() {
+        // Arrange
+        LocalDate start = LocalDate.now().minusDays(10);
+        RecurringTransaction daily = recurringTransaction(start, null);
+        daily.setFrequency(RecurrenceFrequency.DAILY);
+        daily.setOccurrenceCount(2);
+        daily.setNextOccurrenceDate(start.plusDays(2));
+        daily.setIsActive(false);
+        when(recurringTransactionRepository.findByIdAndUserId(9L, 1L)).thenReturn(Optional.of(daily));
+        when(categoryCache.findAvailableToUser(5L, 1L)).thenReturn(Optional.of(cached(rentCategory)));
+        when(recurringTransactionRepository.save(daily)).thenReturn(daily);
+        RecurringTransactionRequest request = request(start);
+        request.setFrequency(RecurrenceFrequency.DAILY);
+        request.setActive(true);
+
+        // Act
+        RecurringTransactionResponse response = recurringTransactionService.updateRecurringTransaction(9L, request, testUser);
+
+        // Assert: only today's occurrence is recorded
+        verify(transactionService).saveRecurringOccurrences(daily, List.of(LocalDate.now()));
+        assertEquals(LocalDate.now().plusDays(1), response.getNextOccurrenceDate());
+        assertEquals(11, daily.getOccurrenceCount());
+    }
+
+    private RecurringTransactionRequest request(LocalDate startDate) {
+        RecurringTransactionRequest request = new RecurringTransactionRequest();
+        request.setType(TransactionType.EXPENSE);
+        request.setCategoryId(5L);
+        request.setAmount(new BigDecimal("1200.00"));
+        request.setDescription("Rent");
+        request.setFrequency(RecurrenceFrequency.MONTHLY);
+        request.setStartDate(startDate);
+        return request;
+    }
+
+    private RecurringTransaction recurringTransaction(LocalDate startDate, LocalDate endDate) {
+        RecurringTransaction recurringTransaction = new RecurringTransaction();
+        recurringTransaction.setId(9L);
+        recurringTransaction.setUser(testUser);
+        recurringTransaction.setCategory(rentCategory);
+        recurringTransaction.setType(TransactionType.EXPENSE);
+        recurringTransaction.setAmount(new BigDecimal("1200.00"));
+        recurringTransaction.setFrequency(RecurrenceFrequency.MONTHLY);
+        recurringTransaction.setInterval(1);
+        recurringTransaction.setStartDate(startDate);
+        recurringTransaction.setEndDate(endDate);
+        recurringTransaction.setOccurrenceCount(0);
+        recurringTransaction.setNextOccurrenceDate(startDate);
+        return recurringTransaction;
+    }
+
+    private static CategoryCache.CachedCategory cached(Category category) {
+        return new CategoryCache.CachedCategory(category.getId(), category.getType(), category.getName());
+    }
+}
@@ -157,7 +157,7 @@ class ReportServiceTest {
                 .thenReturn(java.util.Arrays.asList(categoryData1, categoryData2));
 
         // Act
-        var response = reportService.getCategoryWiseReport(testUser, month, year);
+        var response = reportService.getCategoryWiseReport(testUser, month, year, null);
 
         // Assert
         assertNotNull(response);
@@ -167,6 +167,37 @@ class ReportServiceTest {
         assertEquals(2, response.getCategories().size());
     }
 
+    @Test
+    void getCategoryWiseReport_RolledUpToDepth() {
+        // Arrange
+        Object[] rolledUp = new Object[]{
+            6L,
+            "Food & Dining",
+            new BigDecimal("1500.00"),
+            4L
+        };
+
+        when(transactionRepository.getCategoryWiseExpenseReportAtDepth(1L, 10, 2024, 0))
+                .thenReturn(java.util.Collections.singletonList(rolledUp));
+
+        // Act
+        var response = reportService.getCategoryWiseReport(testUser, 10, 2024, 0);
+
+        // Assert
+        assertEquals(new BigDecimal("1500.00"), response.getTotalExpenses());
+        assertEquals(1, response.getCategories().size());
+        assertEquals(100.0, response.getCategories().get(0).getPercentageOfTotal());
+        verify(transactionRepository, never()).getCategoryWiseExpenseReport(anyLong(), anyInt(), anyInt());
+    }
+
+    @Test
+    void getCategoryWiseReport_NegativeDepth() {
+        // Act & Assert
+        assertThrows(InvalidRequestException.class, () -> {
+            reportService.getCategoryWiseReport(testUser, 10, 2024, -1);
+        });
+    }
+
     @Test
     void getTrends_Success() {
         // Arrange
@@ -0,0 +1,259 @@
+package com.expense.tracker.service;
+
+import com.expense.tracker.config.ShardRoutingDataSource;
+import com.expense.tracker.config.ShardingProperties;
+import com.expense.tracker.dto.response.ShardStatisticsResponse;
+import com.expense.tracker.exception.UserMigratingException;
+import com.expense.tracker.service.ShardDirectory.Assignment;
+import com.expense.tracker.service.ShardMigrationService.MigrationResult;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for sharding (directory, routing, scatter-gather and moving users), with
+ * in-memory H2 databases standing in for the global database and two shards
+ */
+class ShardMigrationServiceTest {
+
+    private static final String SCHEMA = """
+        CREATE TABLE users (id BIGINT PRIMARY KEY, name VARCHAR(100), email VARCHAR(255) UNIQUE,
+            password VARCHAR(255), created_at TIMESTAMP, updated_at TIMESTAMP, is_active BOOLEAN);
+        CREATE TABLE categories (id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY, name VARCHAR(100),
+            user_id BIGINT REFERENCES users, parent_id BIGINT REFERENCES categories);
+        CREATE TABLE category_closure (ancestor_id BIGINT, descendant_id BIGINT, depth INT,
+            PRIMARY KEY (ancestor_id, descendant_id));
+        CREATE TABLE recurring_transactions (id BIGINT PRIMARY KEY, user_id BIGINT REFERENCES users);
+        CREATE TABLE transactions (id BIGINT PRIMARY KEY, user_id BIGINT REFERENCES users,
+            category_id BIGINT REFERENCES categories, type VARCHAR(20), amount DECIMAL(15, 2), is_deleted BOOLEAN);
+        CREATE TABLE budgets (id BIGINT PRIMARY KEY, user_id BIGINT REFERENCES users);
+        CREATE TABLE categorization_rules (id BIGINT PRIMARY KEY, user_id BIGINT REFERENCES users);
+        CREATE TABLE sync_tombstones (id BIGINT PRIMARY KEY, user_id BIGINT);
+        CREATE TABLE transaction_archive_segments (id BIGINT PRIMARY KEY, user_id BIGINT);
+        CREATE TABLE shard_directory (user_id BIGINT PRIMARY KEY, shard_id VARCHAR(64) NOT NULL,
+            migrating BOOLEAN NOT NULL, version BIGINT NOT NULL, assigned_at TIMESTAMP NOT NULL);
+        CREATE TABLE shard_fences (user_id BIGINT PRIMARY KEY, version BIGINT NOT NULL);
+        """;
+
+    private JdbcTemplate global;
+    private ShardRoutingDataSource routingDataSource;
+    private Map<String, JdbcTemplate> shardTemplates;
+    private ShardRouter shardRouter;
+    private ShardDirectory shardDirectory;
+    private ShardMigrationService shardMigrationService;
+    private ShardStatisticsService shardStatisticsService;
+
+    @BeforeEach
+    void setUp() {
+        ShardingProperties properties = new ShardingProperties();
+        properties.setEnabled(true);
+        properties.setDirectoryCacheTtl(Duration.ZERO);
+        properties.getShards().put("shard-a", new ShardingProperties.Shard());
+        properties.getShards().put("shard-b", new ShardingProperties.Shard());
+        shardRouter = new ShardRouter(properties);
+
+        DataSource globalDataSource = database("global");
+        Map<String, DataSource> shards = new LinkedHashMap<>();
+        shardTemplates = new LinkedHashMap<>();
+        for (String shardId : properties.getShards().keySet()) {
+            DataSource dataSource = database(shardId);
+            shards.put(shardId, dataSource);
+            shardTemplates.put(shardId, new JdbcTemplate(dataSource));
+        }
+        routingDataSource = new ShardRoutingDataSource(globalDataSource, shards, shardRouter);
+        routingDataSource.afterPropertiesSet();
+
+        global = new JdbcTemplate(globalDataSource);
+        shardDirectory = new ShardDirectory(globalDataSource, routingDataSource, shardRouter, properties);
+        shardMigrationService = new ShardMigrationService(shardDirectory, routingDataSource, shardRouter);
+        shardStatisticsService = new ShardStatisticsService(new JdbcTemplate(routingDataSource), shardRouter);
+
+        global.update("INSERT INTO users VALUES (1, 'Alice', 'alice@example.com', 'x', NOW(), NOW(), TRUE)");
+        global.update("INSERT INTO users VALUES (2, 'Bob', 'bob@example.com', 'x', NOW(), NOW(), TRUE)");
+    }
+
+    @AfterEach
+    void tearDown() {
+        shardRouter.shutdown();
+    }
+
+    @Test
+    void resolve_PinsUserToRingPlacementWithCopyOfUserRow() {
+        // Act
+        Assignment assignment = shardDirectory.resolve("alice@example.com").orElseThrow();
+
+        // Assert
+        assertEquals(shardRouter.placementOf(1L), assignment.shardId());
+        assertEquals(assignment, shardDirectory.find(1L).orElseThrow());
+        assertEquals("Alice", shardTemplates.get(assignment.shardId())
+                .queryForObject("SELECT name FROM users WHERE id = 1", String.class));
+        assertTrue(shardDirectory.resolve("nobody@example.com").isEmpty());
+    }
+
+    @Test
+    void routing_WritesGoToBoundShardOnly() {
+        // Arrange
+        String shardId = shardDirectory.resolve("alice@example.com").orElseThrow().shardId();
+        String otherShard = other(shardId);
+
+        // Act
+        shardRouter.runOn(shardId, () -> addTransaction(shardId, 10L, 1L, "EXPENSE", "25.00"));
+
+        // Assert
+        assertEquals(1, count(shardId, "transactions"));
+        assertEquals(0, count(otherShard, "transactions"));
+        assertEquals(0, global.queryForObject("SELECT COUNT(*) FROM transactions", Integer.class));
+    }
+
+    @Test
+    void moveUser_CopiesRowsWithTheirIdsAndRepointsDirectory() {
+        // Arrange
+        String source = shardDirectory.resolve("alice@example.com").orElseThrow().shardId();
+        String target = other(source);
+        JdbcTemplate sourceShard = shardTemplates.get(source);
+        sourceShard.update("INSERT INTO categories (id, name, user_id, parent_id) VALUES (100, 'Home', 1, NULL)");
+        sourceShard.update("INSERT INTO categories (id, name, user_id, parent_id) VALUES (101, 'Rent', 1, 100)");
+        sourceShard.update("INSERT INTO category_closure VALUES (100, 100, 0), (101, 101, 0), (100, 101, 1)");
+        addTransaction(source, 500L, 1L, "EXPENSE", "900.00");
+        sourceShard.update("UPDATE transactions SET category_id = 101 WHERE id = 500");
+        sourceShard.update("INSERT INTO budgets VALUES (7, 1)");
+
+        // Act
+        MigrationResult result = shardMigrationService.moveUser(1L, target);
+
+        // Assert
+        assertEquals(source, result.fromShard());
+        assertEquals(2, result.rowsCopied().get("categories"));
+        assertEquals(3, result.rowsCopied().get("category_closure"));
+        JdbcTemplate targetShard = shardTemplates.get(target);
+        assertEquals(100L, targetShard.queryForObject("SELECT parent_id FROM categories WHERE id = 101", Long.class));
+        assertEquals(101L, targetShard.queryForObject("SELECT category_id FROM transactions WHERE id = 500", Long.class));
+        assertEquals(1, count(target, "budgets"));
+        assertEquals(0, count(source, "transactions") + count(source, "categories") + count(source, "users"));
+        Assignment assignment = shardDirectory.find(1L).orElseThrow();
+        assertEquals(target, assignment.shardId());
+        assertFalse(assignment.migrating());
+        assertEquals(2L, assignment.version());
+        assertEquals(1L, sourceShard.queryForObject("SELECT version FROM shard_fences WHERE user_id = 1", Long.class));
+    }
+
+    @Test
+    void writeFence_RejectsWritesRoutedBeforeTheMove() {
+        // Arrange: a node routes alice's writes with the assignment it has cached
+        Assignment cached = shardDirectory.resolve("alice@example.com").orElseThrow();
+        ShardWriteFence fence = new ShardWriteFence(routingDataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(routingDataSource);
+        transactionManager.addListener(fence);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        JdbcTemplate routed = new JdbcTemplate(routingDataSource);
+        Runnable write = () -> transactionTemplate.executeWithoutResult(status -> routed.update(
+                "INSERT INTO transactions (id, user_id, type, amount, is_deleted) VALUES (?, 1, 'EXPENSE', 5.00, FALSE)",
+                System.nanoTime()));
+
+        try (ShardRouter.Binding binding = shardRouter.bind(cached.shardId());
+             ShardRouter.Binding fenced = fence.bind(1L, cached.version())) {
+            write.run();
+
+            // Act: a move freezes alice and raises her fence on the source
+            long version = shardDirectory.setMigrating(1L, true);
+            shardDirectory.raiseFence(1L, cached.shardId(), version);
+
+            // Assert
+            assertThrows(UserMigratingException.class, write::run);
+        }
+        assertEquals(1, count(cached.shardId(), "transactions"));
+    }
+
+    @Test
+    void refreshUser_CopiesProfileChangesToShards() {
+        // Arrange
+        String shardId = shardDirectory.resolve("alice@example.com").orElseThrow().shardId();
+        global.update("UPDATE users SET name = 'Alicia', password = 'new-hash' WHERE id = 1");
+
+        // Act
+        shardDirectory.refreshUser(1L);
+
+        // Assert
+        Map<String, Object> copy = shardTemplates.get(shardId).queryForMap("SELECT name, password FROM users WHERE id = 1");
+        assertEquals("Alicia", copy.get("name"));
+        assertEquals("new-hash", copy.get("password"));
+        assertEquals(0, count(other(shardId), "users"));
+    }
+
+    @Test
+    void moveUser_FailedCopyLeavesUserOnSource() {
+        // Arrange
+        String source = shardDirectory.resolve("alice@example.com").orElseThrow().shardId();
+        String target = other(source);
+        addTransaction(source, 500L, 1L, "EXPENSE", "900.00");
+        // Another user's row already holds the ID on the target
+        global.update("INSERT INTO users VALUES (3, 'Carol', 'carol@example.com', 'x', NOW(), NOW(), TRUE)");
+        shardDirectory.copyUser(3L, target);
+        addTransaction(target, 500L, 3L, "EXPENSE", "1.00");
+
+        // Act & Assert
+        assertThrows(DuplicateKeyException.class, () -> shardMigrationService.moveUser(1L, target));
+        Assignment assignment = shardDirectory.find(1L).orElseThrow();
+        assertEquals(source, assignment.shardId());
+        assertFalse(assignment.migrating());
+        assertEquals(1, count(source, "transactions"));
+        assertEquals(0, shardTemplates.get(target).queryForObject("SELECT COUNT(*) FROM users WHERE id = 1", Integer.class));
+    }
+
+    @Test
+    void getStatistics_SumsTotalsOfAllShards() {
+        // Arrange
+        shardDirectory.assign(1L, "shard-a");
+        shardDirectory.assign(2L, "shard-b");
+        addTransaction("shard-a", 1L, 1L, "INCOME", "1000.00");
+        addTransaction("shard-a", 2L, 1L, "EXPENSE", "40.00");
+        addTransaction("shard-b", 3L, 2L, "EXPENSE", "60.00");
+
+        // Act
+        ShardStatisticsResponse statistics = shardStatisticsService.getStatistics();
+
+        // Assert
+        assertEquals(2, statistics.getShards().size());
+        assertEquals("shard-a", statistics.getShards().get(0).getShardId());
+        assertEquals(2L, statistics.getShards().get(0).getTransactions());
+        assertEquals(2L, statistics.getTotal().getUsers());
+        assertEquals(3L, statistics.getTotal().getTransactions());
+        assertEquals(0, new BigDecimal("1000.00").compareTo(statistics.getTotal().getTotalIncome()));
+        assertEquals(0, new BigDecimal("100.00").compareTo(statistics.getTotal().getTotalExpense()));
+    }
+
+    private void addTransaction(String shardId, Long id, Long userId, String type, String amount) {
+        shardTemplates.get(shardId).update(
+                "INSERT INTO transactions (id, user_id, type, amount, is_deleted) VALUES (?, ?, ?, ?, FALSE)",
+                id, userId, type, new BigDecimal(amount));
+    }
+
+    private int count(String shardId, String table) {
+        return shardTemplates.get(shardId).queryForObject("SELECT COUNT(*) FROM " + table, Integer.class);
+    }
+
+    private String other(String shardId) {
+        return shardId.equals("shard-a") ? "shard-b" : "shard-a";
+    }
+
+    private static DataSource database(String name) {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:sharding-" + name + "-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        new JdbcTemplate(dataSource).execute(SCHEMA);
+        return dataSource;
+    }
+}
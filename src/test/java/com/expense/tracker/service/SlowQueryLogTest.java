@@ -0,0 +1,179 @@
+package com.expense.tracker.service;
+
+import com.expense.tracker.config.ShardRoutingDataSource;
+import com.expense.tracker.config.ShardingProperties;
+import com.expense.tracker.config.SlowQueryProperties;
+import com.expense.tracker.dto.response.SlowQueryLogResponse;
+import com.expense.tracker.dto.response.SlowQueryLogResponse.SlowQuery;
+import com.expense.tracker.metrics.SlowQueryAspect;
+import com.expense.tracker.metrics.SlowQueryDataSourcePostProcessor;
+import com.expense.tracker.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for SlowQueryLog, fed by the DataSource wrapper of SlowQueryDataSourcePostProcessor
+ * over an in-memory H2 database, with a zero threshold so every statement is slow
+ */
+class SlowQueryLogTest {
+
+    private final SlowQueryProperties properties = new SlowQueryProperties();
+    private SlowQueryLog slowQueryLog;
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        properties.setThreshold(Duration.ZERO);
+        DataSource database = new DriverManagerDataSource("jdbc:h2:mem:slowquery;DB_CLOSE_DELAY=-1", "sa", "");
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerSingleton("dataSource", database);
+        slowQueryLog = new SlowQueryLog(properties, beanFactory.getBeanProvider(DataSource.class),
+                new ShardRouter(new ShardingProperties()));
+        beanFactory.registerSingleton("slowQueryLog", slowQueryLog);
+
+        DataSource dataSource = (DataSource) new SlowQueryDataSourcePostProcessor(
+                beanFactory.getBeanProvider(SlowQueryLog.class)).postProcessAfterInitialization(database, "dataSource");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS account (id BIGINT PRIMARY KEY, email VARCHAR(100))");
+        jdbcTemplate.update("DELETE FROM account");
+        jdbcTemplate.update("INSERT INTO account VALUES (1, 'a@example.com'), (2, 'b@example.com'), (3, 'c@example.com')");
+    }
+
+    @AfterEach
+    void tearDown() {
+        slowQueryLog.shutdown();
+    }
+
+    @Test
+    void repositoryStatements_RecordedWithTypesRowsAndPlan() throws InterruptedException {
+        // Arrange
+        UserRepository target = mock(UserRepository.class);
+        when(target.count()).thenAnswer(invocation -> (long) jdbcTemplate.queryForList(
+                "SELECT email FROM account WHERE id >= ? AND email <> ?", String.class, 2L, "x").size());
+        UserRepository repository = tracked(target);
+
+        // Act
+        long count = repository.count();
+
+        // Assert
+        assertEquals(2, count);
+        SlowQuery query = awaitPlan();
+        assertEquals("UserRepository.count", query.getRepository());
+        assertEquals("SELECT email FROM account WHERE id >= ? AND email <> ?", query.getSql());
+        assertEquals(List.of("Long", "String"), query.getParameterTypes());
+        assertEquals(2, query.getMaxRows());
+        assertEquals(1, query.getExecutions());
+        assertTrue(String.join("\n", query.getPlan()).contains("ACCOUNT"));
+        assertEquals(1, slowQueryLog.snapshot().getRecent().size());
+    }
+
+    @Test
+    void statementsOutsideRepositories_NotRecorded() {
+        // Act
+        jdbcTemplate.queryForList("SELECT email FROM account", String.class);
+
+        // Assert
+        assertTrue(slowQueryLog.snapshot().getSlowest().isEmpty());
+    }
+
+    @Test
+    void inListsOfAnyLength_ShareFingerprint() {
+        // Act
+        slowQueryLog.record("UserRepository.findAllById", "SELECT * FROM account WHERE id IN (?, ?)",
+                List.of("Long", "Long"), List.of(1L, 2L), 1_000_000, 2);
+        slowQueryLog.record("UserRepository.findAllById", "SELECT *  FROM account WHERE id IN (?,?,?)",
+                List.of("Long", "Long", "Long"), List.of(1L, 2L, 3L), 3_000_000, 3);
+
+        // Assert
+        List<SlowQuery> slowest = slowQueryLog.snapshot().getSlowest();
+        assertEquals(1, slowest.size());
+        assertEquals("SELECT * FROM account WHERE id IN (?...)", slowest.get(0).getSql());
+        assertEquals(2, slowest.get(0).getExecutions());
+        assertEquals(3.0, slowest.get(0).getMaxMillis());
+        assertEquals(2.0, slowest.get(0).getAverageMillis());
+    }
+
+    @Test
+    void beyondTop_FastestStatementEvicted() {
+        // Arrange
+        properties.setTop(2);
+        properties.setRecent(2);
+        properties.setExplain(false);
+
+        // Act
+        slowQueryLog.record("UserRepository.a", "SELECT 1", List.of(), List.of(), 5_000_000, 1);
+        slowQueryLog.record("UserRepository.b", "SELECT 2", List.of(), List.of(), 1_000_000, 1);
+        slowQueryLog.record("UserRepository.c", "SELECT 3", List.of(), List.of(), 3_000_000, 1);
+
+        // Assert
+        SlowQueryLogResponse snapshot = slowQueryLog.snapshot();
+        assertEquals(List.of("SELECT 1", "SELECT 3"), snapshot.getSlowest().stream().map(SlowQuery::getSql).toList());
+        assertEquals(List.of("UserRepository.c", "UserRepository.b"),
+                snapshot.getRecent().stream().map(SlowQueryLogResponse.SlowExecution::getRepository).toList());
+    }
+
+    @Test
+    void explain_RunsOnTheShardTheStatementRanOn() throws InterruptedException {
+        // Arrange: the table only exists on shard-b
+        ShardingProperties sharding = new ShardingProperties();
+        sharding.setEnabled(true);
+        sharding.getShards().put("shard-a", new ShardingProperties.Shard());
+        sharding.getShards().put("shard-b", new ShardingProperties.Shard());
+        ShardRouter shardRouter = new ShardRouter(sharding);
+        Map<String, DataSource> shards = new LinkedHashMap<>();
+        for (String shardId : sharding.getShards().keySet()) {
+            shards.put(shardId, new DriverManagerDataSource("jdbc:h2:mem:slowquery-" + shardId + ";DB_CLOSE_DELAY=-1", "sa", ""));
+        }
+        new JdbcTemplate(shards.get("shard-b")).execute("CREATE TABLE IF NOT EXISTS shard_only (id BIGINT PRIMARY KEY)");
+        ShardRoutingDataSource routingDataSource = new ShardRoutingDataSource(
+                new DriverManagerDataSource("jdbc:h2:mem:slowquery-global;DB_CLOSE_DELAY=-1", "sa", ""), shards, shardRouter);
+        routingDataSource.afterPropertiesSet();
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerSingleton("dataSource", routingDataSource);
+        slowQueryLog.shutdown();
+        slowQueryLog = new SlowQueryLog(properties, beanFactory.getBeanProvider(DataSource.class), shardRouter);
+
+        // Act
+        shardRouter.runOn("shard-b", () -> slowQueryLog.record("UserRepository.findById",
+                "SELECT id FROM shard_only WHERE id = ?", List.of("Long"), List.of(1L), 1_000_000, 0));
+
+        // Assert
+        String plan = String.join("\n", awaitPlan().getPlan());
+        assertFalse(plan.startsWith("EXPLAIN failed"), plan);
+        assertTrue(plan.contains("SHARD_ONLY"), plan);
+        shardRouter.shutdown();
+    }
+
+    private static UserRepository tracked(UserRepository target) {
+        AspectJProxyFactory proxyFactory = new AspectJProxyFactory(target);
+        proxyFactory.setInterfaces(UserRepository.class);
+        proxyFactory.addAspect(new SlowQueryAspect());
+        return proxyFactory.getProxy();
+    }
+
+    private SlowQuery awaitPlan() throws InterruptedException {
+        for (int attempt = 0; attempt < 100; attempt++) {
+            List<SlowQuery> slowest = slowQueryLog.snapshot().getSlowest();
+            if (!slowest.isEmpty() && slowest.get(0).getPlan() != null) {
+                return slowest.get(0);
+            }
+            Thread.sleep(50);
+        }
+        return fail("No plan captured");
+    }
+}
@@ -0,0 +1,199 @@
+package com.expense.tracker.service;
+
+import com.expense.tracker.dto.response.TransactionResponse;
+import com.expense.tracker.enums.SyncEntityType;
+import com.expense.tracker.enums.TransactionType;
+import com.expense.tracker.exception.InvalidRequestException;
+import com.expense.tracker.model.SyncTombstone;
+import com.expense.tracker.model.Transaction;
+import com.expense.tracker.model.TransactionArchiveSegment;
+import com.expense.tracker.repository.BudgetRepository;
+import com.expense.tracker.repository.CategoryRepository;
+import com.expense.tracker.repository.SyncTombstoneRepository;
+import com.expense.tracker.repository.TransactionRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for SyncService
+ */
+@ExtendWith(MockitoExtension.class)
+class SyncServiceTest {
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    @Mock
+    private BudgetRepository budgetRepository;
+
+    @Mock
+    private CategoryRepository categoryRepository;
+
+    @Mock
+    private SyncTombstoneRepository syncTombstoneRepository;
+
+    @Mock
+    private TransactionService transactionService;
+
+    @Mock
+    private TransactionArchiveService transactionArchiveService;
+
+    @Mock
+    private BudgetService budgetService;
+
+    @Mock
+    private CategoryService categoryService;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    @InjectMocks
+    private SyncService syncService;
+
+    @Test
+    void parseToken_RoundTripsWatermark() {
+        // Arrange
+        LocalDateTime watermark = LocalDateTime.of(2024, 10, 15, 10, 30, 0, 123_000_000);
+
+        // Act & Assert
+        assertEquals(watermark, syncService.parseToken(SyncService.toToken(watermark)));
+        assertNull(syncService.parseToken(null));
+        assertNull(syncService.parseToken(" "));
+    }
+
+    @Test
+    void parseToken_RejectsGarbage() {
+        // Act & Assert
+        assertThrows(InvalidRequestException.class, () -> syncService.parseToken("not a token!"));
+        assertThrows(InvalidRequestException.class, () -> syncService.parseToken("bm90LWEtZGF0ZQ"));
+    }
+
+    @Test
+    void writeChanges_SplitsSoftDeletedTransactionsAndReportsTombstones() throws Exception {
+        // Arrange
+        LocalDateTime since = LocalDateTime.now().minusDays(1);
+        Transaction active = transaction(1L, false);
+        Transaction deleted = transaction(2L, true);
+        TransactionResponse activeResponse = new TransactionResponse();
+        activeResponse.setId(1L);
+        when(transactionRepository.streamChangedSince(1L, since)).thenReturn(Stream.of(active, deleted));
+        when(transactionService.mapToResponse(active)).thenReturn(activeResponse);
+        when(syncTombstoneRepository.findByUserIdAndDeletedAtGreaterThanEqualOrderByDeletedAt(1L, since))
+                .thenReturn(List.of(
+                    new SyncTombstone(1L, SyncEntityType.BUDGET, 7L),
+                    new SyncTombstone(1L, SyncEntityType.CATEGORY, 9L)
+                ));
+        when(budgetRepository.findChangedSince(1L, since)).thenReturn(List.of());
+        when(categoryRepository.findChangedSince(1L, since)).thenReturn(List.of());
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        // Act
+        syncService.writeChanges(1L, since, output);
+
+        // Assert
+        JsonNode json = objectMapper.readTree(output.toByteArray());
+        assertFalse(json.get("fullSync").asBoolean());
+        assertEquals(1, json.get("transactions").size());
+        assertEquals(1L, json.get("transactions").get(0).get("id").asLong());
+        assertEquals(2L, json.get("deletedTransactionIds").get(0).asLong());
+        assertEquals(7L, json.get("deletedBudgetIds").get(0).asLong());
+        assertEquals(9L, json.get("deletedCategoryIds").get(0).asLong());
+        assertTrue(syncService.parseToken(json.get("nextToken").asText()).isBefore(LocalDateTime.now()));
+        verify(entityManager, times(2)).detach(any(Transaction.class));
+    }
+
+    @Test
+    void writeChanges_FullSyncSkipsTombstones() throws Exception {
+        // Arrange
+        when(transactionRepository.streamChangedSince(1L, null)).thenReturn(Stream.empty());
+        when(budgetRepository.findChangedSince(1L, null)).thenReturn(List.of());
+        when(categoryRepository.findChangedSince(1L, null)).thenReturn(List.of());
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        // Act
+        syncService.writeChanges(1L, null, output);
+
+        // Assert
+        JsonNode json = objectMapper.readTree(output.toByteArray());
+        assertTrue(json.get("fullSync").asBoolean());
+        assertEquals(0, json.get("transactions").size());
+        verifyNoInteractions(syncTombstoneRepository);
+    }
+
+    @Test
+    void writeChanges_IncludesArchivedTransactionsChangedSinceToken() throws Exception {
+        // Arrange: a segment archived since the token, with one row changed before it and one after
+        LocalDateTime since = LocalDateTime.now().minusDays(1);
+        TransactionArchiveSegment segment = new TransactionArchiveSegment();
+        TransactionArchive.ArchivedTransaction unchanged = archived(3L, since.minusDays(30));
+        TransactionArchive.ArchivedTransaction changed = archived(4L, since.plusHours(1));
+        TransactionResponse changedResponse = new TransactionResponse();
+        changedResponse.setId(4L);
+        when(transactionRepository.streamChangedSince(1L, since)).thenReturn(Stream.empty());
+        when(transactionArchiveService.findSegmentsArchivedSince(1L, since)).thenReturn(List.of(segment));
+        when(transactionArchiveService.readArchived(segment, null, null)).thenReturn(List.of(unchanged, changed));
+        when(transactionService.mapToResponse(changed, 1L)).thenReturn(changedResponse);
+        when(budgetRepository.findChangedSince(1L, since)).thenReturn(List.of());
+        when(categoryRepository.findChangedSince(1L, since)).thenReturn(List.of());
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        // Act
+        syncService.writeChanges(1L, since, output);
+
+        // Assert
+        JsonNode json = objectMapper.readTree(output.toByteArray());
+        assertEquals(1, json.get("transactions").size());
+        assertEquals(4L, json.get("transactions").get(0).get("id").asLong());
+        verify(transactionService, never()).mapToResponse(unchanged, 1L);
+    }
+
+    @Test
+    void writeChanges_TokenOlderThanTombstoneRetentionGetsFullSync() throws Exception {
+        // Arrange
+        LocalDateTime since = LocalDateTime.now().minusDays(91);
+        when(transactionRepository.streamChangedSince(1L, null)).thenReturn(Stream.empty());
+        when(budgetRepository.findChangedSince(1L, null)).thenReturn(List.of());
+        when(categoryRepository.findChangedSince(1L, null)).thenReturn(List.of());
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        // Act
+        syncService.writeChanges(1L, since, output);
+
+        // Assert
+        JsonNode json = objectMapper.readTree(output.toByteArray());
+        assertTrue(json.get("fullSync").asBoolean());
+        verifyNoInteractions(syncTombstoneRepository);
+    }
+
+    private static Transaction transaction(Long id, boolean deleted) {
+        Transaction transaction = new Transaction();
+        transaction.setId(id);
+        transaction.setIsDeleted(deleted);
+        return transaction;
+    }
+
+    private static TransactionArchive.ArchivedTransaction archived(Long id, LocalDateTime updatedAt) {
+        return new TransactionArchive.ArchivedTransaction(id, 1L, 5L, TransactionType.EXPENSE, new BigDecimal("10.00"),
+                LocalDate.of(2019, 3, 1), "Archived", null, null, null, false, updatedAt.minusDays(1), updatedAt);
+    }
+}
@@ -0,0 +1,154 @@
+package com.expense.tracker.service;
+
+import com.expense.tracker.config.ShardingProperties;
+import com.expense.tracker.config.SyntheticDataProperties;
+import com.expense.tracker.service.SyntheticDataGenerator.GenerationResult;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for SyntheticDataGenerator, writing to in-memory H2 databases
+ */
+class SyntheticDataGeneratorTest {
+
+    private static final String SCHEMA = """
+        CREATE TABLE users (id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY, name VARCHAR(100),
+            email VARCHAR(255) UNIQUE, password VARCHAR(255), is_active BOOLEAN,
+            created_at TIMESTAMP, updated_at TIMESTAMP);
+        CREATE TABLE categories (id BIGINT PRIMARY KEY, name VARCHAR(100), type VARCHAR(20), user_id BIGINT);
+        CREATE TABLE recurring_transactions (id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+            user_id BIGINT REFERENCES users, category_id BIGINT REFERENCES categories, type VARCHAR(20),
+            amount DECIMAL(15, 2), description VARCHAR(500), payment_method VARCHAR(50), frequency VARCHAR(20),
+            repeat_interval INT, start_date DATE, end_date DATE, occurrence_count INT, next_occurrence_date DATE,
+            is_active BOOLEAN, version BIGINT, created_at TIMESTAMP, updated_at TIMESTAMP);
+        CREATE TABLE transactions (id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+            user_id BIGINT REFERENCES users, category_id BIGINT REFERENCES categories, type VARCHAR(20),
+            amount DECIMAL(15, 2), transaction_date DATE, description VARCHAR(500), payment_method VARCHAR(50),
+            fingerprint BIGINT, recurring_transaction_id BIGINT, is_deleted BOOLEAN,
+            created_at TIMESTAMP, updated_at TIMESTAMP);
+        CREATE TABLE budgets (id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+            user_id BIGINT REFERENCES users, category_id BIGINT REFERENCES categories,
+            budget_amount DECIMAL(15, 2), "month" INT, "year" INT, created_at TIMESTAMP, updated_at TIMESTAMP,
+            UNIQUE (user_id, category_id, "month", "year"));
+        INSERT INTO categories VALUES (1, 'Salary', 'INCOME', NULL), (2, 'Freelance', 'INCOME', NULL),
+            (6, 'Food & Dining', 'EXPENSE', NULL), (8, 'Housing', 'EXPENSE', NULL),
+            (9, 'Utilities', 'EXPENSE', NULL), (12, 'Shopping', 'EXPENSE', NULL), (14, 'Insurance', 'EXPENSE', NULL);
+        """;
+
+    private static final String CONTENT_QUERY = """
+        SELECT u.email, t.type, t.category_id, t.amount, t.transaction_date, t.description, t.payment_method
+        FROM transactions t JOIN users u ON u.id = t.user_id
+        ORDER BY u.email, t.transaction_date, t.created_at, t.amount, t.description
+        """;
+
+    @Test
+    void generate_WritesUsersWithSalariesTransactionsAndBudgets() {
+        // Arrange
+        JdbcTemplate jdbcTemplate = database();
+        SyntheticDataProperties properties = properties(42, 1, 2);
+
+        // Act
+        GenerationResult result = generator(jdbcTemplate, false).generate(properties);
+
+        // Assert
+        assertEquals(3, result.users());
+        assertEquals(3, count(jdbcTemplate, "users"));
+        assertEquals(3, result.recurringTransactions());
+        assertEquals(result.transactions(), count(jdbcTemplate, "transactions"));
+        assertTrue(result.transactions() > 3 * 3 * 5);
+        // Two spending categories exist, each budgeted every month
+        assertEquals(3 * 3 * 2, result.budgets());
+        assertEquals(result.budgets(), count(jdbcTemplate, "budgets"));
+
+        // Every salary occurrence belongs to the user's recurring salary, as many as it says
+        List<Map<String, Object>> salaries = jdbcTemplate.queryForList("""
+            SELECT r.occurrence_count, COUNT(t.id) AS occurrences FROM recurring_transactions r
+            LEFT JOIN transactions t ON t.recurring_transaction_id = r.id AND t.user_id = r.user_id
+            GROUP BY r.id, r.occurrence_count
+            """);
+        salaries.forEach(salary -> assertEquals(((Number) salary.get("occurrence_count")).longValue(),
+                ((Number) salary.get("occurrences")).longValue()));
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM transactions WHERE fingerprint IS NULL", Integer.class));
+        assertEquals("synthetic-user-0@example.com",
+                jdbcTemplate.queryForObject("SELECT MIN(email) FROM users", String.class));
+    }
+
+    @Test
+    void generate_SameSeedGivesSameDataWhateverTheThreads() {
+        // Arrange
+        JdbcTemplate sequential = database();
+        JdbcTemplate parallel = database();
+        JdbcTemplate otherSeed = database();
+
+        // Act
+        generator(sequential, false).generate(properties(42, 1, 1));
+        generator(parallel, false).generate(properties(42, 4, 2));
+        generator(otherSeed, false).generate(properties(7, 1, 1));
+
+        // Assert
+        List<Map<String, Object>> expected = sequential.queryForList(CONTENT_QUERY);
+        assertEquals(expected, parallel.queryForList(CONTENT_QUERY));
+        assertNotEquals(expected, otherSeed.queryForList(CONTENT_QUERY));
+    }
+
+    @Test
+    void generate_RefusesToRunWithSharding() {
+        // Arrange
+        JdbcTemplate jdbcTemplate = database();
+        SyntheticDataGenerator generator = generator(jdbcTemplate, true);
+
+        // Act & Assert
+        assertThrows(IllegalStateException.class, () -> generator.generate(properties(42, 1, 1)));
+        assertEquals(0, count(jdbcTemplate, "users"));
+    }
+
+    private static SyntheticDataProperties properties(long seed, int threads, int usersPerChunk) {
+        SyntheticDataProperties properties = new SyntheticDataProperties();
+        properties.setUsers(3);
+        properties.setMonthsOfHistory(3);
+        properties.setTransactionsPerMonth(10);
+        properties.setBudgetCategories(5);
+        properties.setSeed(seed);
+        properties.setThreads(threads);
+        properties.setUsersPerChunk(usersPerChunk);
+        properties.setBatchSize(7);
+        return properties;
+    }
+
+    private static SyntheticDataGenerator generator(JdbcTemplate jdbcTemplate, boolean sharding) {
+        ShardingProperties shardingProperties = new ShardingProperties();
+        if (sharding) {
+            shardingProperties.setEnabled(true);
+            shardingProperties.getShards().put("shard-a", new ShardingProperties.Shard());
+        }
+        return new SyntheticDataGenerator(jdbcTemplate,
+                new DataSourceTransactionManager(jdbcTemplate.getDataSource()),
+                new BCryptPasswordEncoder(4), new ShardRouter(shardingProperties));
+    }
+
+    private static JdbcTemplate database() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        for (String statement : SCHEMA.split(";")) {
+            if (!statement.isBlank()) {
+                jdbcTemplate.execute(statement);
+            }
+        }
+        return jdbcTemplate;
+    }
+
+    private static long count(JdbcTemplate jdbcTemplate, String table) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table, Long.class);
+    }
+}
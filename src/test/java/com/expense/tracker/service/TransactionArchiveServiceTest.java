@@ -0,0 +1,208 @@
+package com.expense.tracker.service;
+
+import com.expense.tracker.config.ShardingProperties;
+import com.expense.tracker.dto.response.ArchiveRestoreResponse;
+import com.expense.tracker.enums.TransactionType;
+import com.expense.tracker.model.Category;
+import com.expense.tracker.model.Transaction;
+import com.expense.tracker.model.TransactionArchiveSegment;
+import com.expense.tracker.model.User;
+import com.expense.tracker.repository.TransactionArchiveSegmentRepository;
+import com.expense.tracker.repository.TransactionRepository;
+import com.expense.tracker.service.TransactionArchive.ArchivedTransaction;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for TransactionArchiveService (with a real TransactionArchive in a temporary directory)
+ */
+@ExtendWith(MockitoExtension.class)
+class TransactionArchiveServiceTest {
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    @Mock
+    private TransactionArchiveSegmentRepository segmentRepository;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private TransactionSearchIndex transactionSearchIndex;
+
+    @Mock
+    private DescriptionSuggestionIndex descriptionSuggestionIndex;
+
+    @Mock
+    private DataVersionTracker dataVersionTracker;
+
+    @TempDir
+    Path archiveDirectory;
+
+    private TransactionArchive transactionArchive;
+    private TransactionArchiveService transactionArchiveService;
+    private User alice;
+    private User bob;
+    private Category category;
+
+    @BeforeEach
+    void setUp() {
+        transactionArchive = new TransactionArchive(new ObjectMapper().findAndRegisterModules());
+        ReflectionTestUtils.setField(transactionArchive, "directory", archiveDirectory.toString());
+        transactionArchiveService = new TransactionArchiveService(transactionRepository, segmentRepository,
+            transactionArchive, jdbcTemplate, transactionSearchIndex, descriptionSuggestionIndex, dataVersionTracker,
+            new ShardRouter(new ShardingProperties()));
+
+        alice = User.builder().id(1L).name("Alice").email("alice@example.com").password("password").build();
+        bob = User.builder().id(2L).name("Bob").email("bob@example.com").password("password").build();
+        category = new Category();
+        category.setId(6L);
+    }
+
+    @Test
+    void archiveBatch_WritesOneSegmentPerUserAndDeletesRows() {
+        // Arrange
+        Transaction deleted = transaction(10L, alice, LocalDate.of(2025, 1, 5), true);
+        Transaction aged = transaction(11L, alice, LocalDate.of(2019, 3, 2), false);
+        Transaction other = transaction(12L, bob, LocalDate.of(2025, 2, 1), true);
+        when(transactionRepository.findArchivable(any(), any(), any(Pageable.class))).thenReturn(List.of(deleted, aged, other));
+
+        // Act
+        int archived = transactionArchiveService.archiveBatch(LocalDateTime.now(), LocalDate.of(2020, 1, 1), 100);
+
+        // Assert
+        assertEquals(3, archived);
+        ArgumentCaptor<TransactionArchiveSegment> segments = ArgumentCaptor.forClass(TransactionArchiveSegment.class);
+        verify(segmentRepository, times(2)).save(segments.capture());
+        TransactionArchiveSegment aliceSegment = segments.getAllValues().get(0);
+        assertEquals(1L, aliceSegment.getUserId());
+        assertEquals(LocalDate.of(2019, 3, 2), aliceSegment.getFromDate());
+        assertEquals(LocalDate.of(2025, 1, 5), aliceSegment.getToDate());
+        assertEquals(1, aliceSegment.getActiveRowCount());
+        assertEquals(List.of(10L, 11L), transactionArchive.readSegment(aliceSegment.getFileName()).stream()
+            .map(ArchivedTransaction::id).toList());
+        verify(transactionRepository).deleteAllByIdInBatch(List.of(10L, 11L, 12L));
+        // Only Alice lost an active transaction
+        verify(dataVersionTracker).bump("alice@example.com");
+        verify(dataVersionTracker, never()).bump("bob@example.com");
+        verify(transactionSearchIndex).evictUser(1L);
+    }
+
+    @Test
+    void archiveBatch_NothingDue() {
+        // Arrange
+        when(transactionRepository.findArchivable(any(), any(), any(Pageable.class))).thenReturn(List.of());
+
+        // Act
+        int archived = transactionArchiveService.archiveBatch(LocalDateTime.now(), null, 100);
+
+        // Assert
+        assertEquals(0, archived);
+        verify(transactionRepository, never()).deleteAllByIdInBatch(anyList());
+        verifyNoInteractions(segmentRepository);
+    }
+
+    @Test
+    void readArchived_ReturnsActiveTransactionsInRange() {
+        // Arrange
+        String fileName = transactionArchive.writeSegment(1L, List.of(
+            ArchivedTransaction.from(transaction(10L, alice, LocalDate.of(2025, 1, 5), true)),
+            ArchivedTransaction.from(transaction(11L, alice, LocalDate.of(2025, 1, 20), false)),
+            ArchivedTransaction.from(transaction(12L, alice, LocalDate.of(2025, 3, 1), false))));
+        TransactionArchiveSegment segment = new TransactionArchiveSegment(1L, fileName,
+            LocalDate.of(2025, 1, 5), LocalDate.of(2025, 3, 1), 3, 2);
+
+        // Act
+        List<ArchivedTransaction> result = transactionArchiveService.readArchived(segment,
+            LocalDate.of(2025, 1, 1), LocalDate.of(2025, 1, 31));
+
+        // Assert
+        assertEquals(List.of(11L), result.stream().map(ArchivedTransaction::id).toList());
+        assertEquals(new BigDecimal("25.00"), result.get(0).amount());
+    }
+
+    @Test
+    void removeOrphanedSegments_DeletesOnlyOldUnindexedFiles() throws Exception {
+        // Arrange
+        String indexed = transactionArchive.writeSegment(1L,
+            List.of(ArchivedTransaction.from(transaction(10L, alice, LocalDate.of(2025, 1, 5), true))));
+        String orphaned = transactionArchive.writeSegment(1L,
+            List.of(ArchivedTransaction.from(transaction(11L, alice, LocalDate.of(2025, 1, 6), true))));
+        String inProgress = transactionArchive.writeSegment(2L,
+            List.of(ArchivedTransaction.from(transaction(12L, bob, LocalDate.of(2025, 1, 7), true))));
+        FileTime twoHoursAgo = FileTime.from(Instant.now().minus(Duration.ofHours(2)));
+        Files.setLastModifiedTime(archiveDirectory.resolve(indexed), twoHoursAgo);
+        Files.setLastModifiedTime(archiveDirectory.resolve(orphaned), twoHoursAgo);
+        when(segmentRepository.findFileNamesIn(List.of(indexed, orphaned))).thenReturn(List.of(indexed));
+
+        // Act
+        int removed = transactionArchiveService.removeOrphanedSegments(Duration.ofHours(1));
+
+        // Assert
+        assertEquals(1, removed);
+        assertTrue(Files.exists(archiveDirectory.resolve(indexed)));
+        assertFalse(Files.exists(archiveDirectory.resolve(orphaned)));
+        assertTrue(Files.exists(archiveDirectory.resolve(inProgress)));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void restore_InsertsRowsAndRemovesSegments() {
+        // Arrange
+        String fileName = transactionArchive.writeSegment(1L, List.of(
+            ArchivedTransaction.from(transaction(10L, alice, LocalDate.of(2025, 1, 5), false)),
+            ArchivedTransaction.from(transaction(11L, alice, LocalDate.of(2025, 1, 20), true))));
+        TransactionArchiveSegment segment = new TransactionArchiveSegment(1L, fileName,
+            LocalDate.of(2025, 1, 5), LocalDate.of(2025, 1, 20), 2, 1);
+        when(segmentRepository.findOverlapping(1L, null, null)).thenReturn(List.of(segment));
+
+        // Act
+        ArchiveRestoreResponse response = transactionArchiveService.restore(null, null, alice);
+
+        // Assert
+        assertEquals(1, response.getSegmentsRestored());
+        assertEquals(2, response.getTransactionsRestored());
+        ArgumentCaptor<List<ArchivedTransaction>> rows = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(anyString(), rows.capture(), anyInt(), any(ParameterizedPreparedStatementSetter.class));
+        assertEquals(List.of(10L, 11L), rows.getValue().stream().map(ArchivedTransaction::id).toList());
+        verify(segmentRepository).deleteAllInBatch(List.of(segment));
+        assertFalse(Files.exists(archiveDirectory.resolve(fileName)));
+        verify(dataVersionTracker).bump("alice@example.com");
+    }
+
+    private Transaction transaction(Long id, User user, LocalDate date, boolean deleted) {
+        Transaction transaction = new Transaction(user, category, TransactionType.EXPENSE,
+            new BigDecimal("25.00"), date, "Archived " + id, "Card");
+        transaction.setId(id);
+        transaction.setIsDeleted(deleted);
+        return transaction;
+    }
+}
@@ -0,0 +1,59 @@
+package com.expense.tracker.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for TransactionPartitionMaintenance
+ */
+class TransactionPartitionMaintenanceTest {
+
+    @Test
+    void missingPartitions_ContinuesAfterLatestMonthlyPartition() {
+        // Arrange
+        List<String> existing = List.of("p202608", "p202610", "p202609", "p_future");
+
+        // Act
+        List<YearMonth> missing = TransactionPartitionMaintenance.missingPartitions(existing, YearMonth.of(2026, 10), 3);
+
+        // Assert
+        assertEquals(List.of(YearMonth.of(2026, 11), YearMonth.of(2026, 12), YearMonth.of(2027, 1)), missing);
+    }
+
+    @Test
+    void missingPartitions_NoneWhenAlreadyFarEnoughAhead() {
+        // Act
+        List<YearMonth> missing = TransactionPartitionMaintenance.missingPartitions(
+                List.of("p202701", "p_future"), YearMonth.of(2026, 10), 3);
+
+        // Assert
+        assertTrue(missing.isEmpty());
+    }
+
+    @Test
+    void missingPartitions_StartsAtCurrentMonthWithoutMonthlyPartitions() {
+        // Act
+        List<YearMonth> missing = TransactionPartitionMaintenance.missingPartitions(
+                List.of("p_future"), YearMonth.of(2026, 10), 1);
+
+        // Assert
+        assertEquals(List.of(YearMonth.of(2026, 10), YearMonth.of(2026, 11)), missing);
+    }
+
+    @Test
+    void reorganizeStatement_SplitsMonthsOffFuturePartition() {
+        // Act
+        String sql = TransactionPartitionMaintenance.reorganizeStatement(
+                List.of(YearMonth.of(2026, 11), YearMonth.of(2026, 12)));
+
+        // Assert
+        assertEquals("ALTER TABLE transactions REORGANIZE PARTITION p_future INTO ("
+                + "PARTITION p202611 VALUES LESS THAN ('2026-12-01'), "
+                + "PARTITION p202612 VALUES LESS THAN ('2027-01-01'), "
+                + "PARTITION p_future VALUES LESS THAN (MAXVALUE))", sql);
+    }
+}
@@ -0,0 +1,121 @@
+package com.expense.tracker.service;
+
+import com.expense.tracker.repository.TransactionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for TransactionSearchIndex
+ */
+@ExtendWith(MockitoExtension.class)
+class TransactionSearchIndexTest {
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    @InjectMocks
+    private TransactionSearchIndex transactionSearchIndex;
+
+    @BeforeEach
+    void setUp() {
+        List<Object[]> rows = new ArrayList<>();
+        rows.add(new Object[]{1L, "Walmart groceries", "Credit Card"});
+        rows.add(new Object[]{2L, "Uber trip to airport", "Cash"});
+        rows.add(new Object[]{3L, "Walgreens pharmacy", "Debit Card"});
+        rows.add(new Object[]{300L, "Monthly rent", null});
+        lenient().when(transactionRepository.findSearchableTextByUserId(1L)).thenReturn(rows);
+    }
+
+    @Test
+    void search_MatchesTokensByPrefixCaseInsensitive() {
+        // Act & Assert
+        assertArrayEquals(new long[]{1L, 3L}, transactionSearchIndex.search(1L, "WAL"));
+        assertArrayEquals(new long[]{2L}, transactionSearchIndex.search(1L, "air"));
+        assertArrayEquals(new long[]{300L}, transactionSearchIndex.search(1L, "rent"));
+    }
+
+    @Test
+    void search_RequiresEveryTermAndCoversPaymentMethod() {
+        // Act & Assert
+        assertArrayEquals(new long[]{1L, 3L}, transactionSearchIndex.search(1L, "card"));
+        assertArrayEquals(new long[]{3L}, transactionSearchIndex.search(1L, "wal debit"));
+        assertArrayEquals(new long[0], transactionSearchIndex.search(1L, "uber card"));
+    }
+
+    @Test
+    void search_BlankQueryDoesNotBuildIndex() {
+        // Act
+        long[] ids = transactionSearchIndex.search(1L, "  -- ");
+
+        // Assert
+        assertEquals(0, ids.length);
+        verifyNoInteractions(transactionRepository);
+    }
+
+    @Test
+    void search_BuildsIndexOncePerUser() {
+        // Act
+        transactionSearchIndex.search(1L, "walmart");
+        transactionSearchIndex.search(1L, "uber");
+
+        // Assert
+        verify(transactionRepository, times(1)).findSearchableTextByUserId(1L);
+    }
+
+    @Test
+    void indexAndRemove_UpdateBuiltIndexIncrementally() {
+        // Arrange
+        transactionSearchIndex.search(1L, "walmart");
+
+        // Act
+        transactionSearchIndex.index(1L, 2L, "Uber eats", "Cash");
+        transactionSearchIndex.index(1L, 301L, "Walmart electronics", "Cash");
+        transactionSearchIndex.remove(1L, 1L, "Walmart groceries", "Credit Card");
+
+        // Assert
+        assertArrayEquals(new long[]{301L}, transactionSearchIndex.search(1L, "walmart"));
+        assertArrayEquals(new long[]{2L}, transactionSearchIndex.search(1L, "eats"));
+        assertArrayEquals(new long[]{2L, 301L}, transactionSearchIndex.search(1L, "cash"));
+        verify(transactionRepository, times(1)).findSearchableTextByUserId(1L);
+    }
+
+    @Test
+    void evictUser_RebuildsFromDatabase() {
+        // Arrange
+        transactionSearchIndex.search(1L, "walmart");
+
+        // Act
+        transactionSearchIndex.evictUser(1L);
+        transactionSearchIndex.search(1L, "walmart");
+
+        // Assert
+        verify(transactionRepository, times(2)).findSearchableTextByUserId(1L);
+    }
+
+    @Test
+    void postingList_KeepsIdsSortedAcrossOutOfOrderInsertsAndLargeGaps() {
+        // Arrange
+        TransactionSearchIndex.PostingList list = new TransactionSearchIndex.PostingList();
+
+        // Act
+        list.add(10L);
+        list.add(5_000_000_000L);
+        list.add(3L);
+        list.add(128L);
+        list.add(10L);
+        list.remove(5_000_000_000L);
+
+        // Assert
+        assertArrayEquals(new long[]{3L, 10L, 128L}, list.toArray());
+    }
+}
@@ -3,10 +3,12 @@ package com.expense.tracker.service;
 import com.expense.tracker.dto.request.TransactionRequest;
 import com.expense.tracker.enums.CategoryType;
 import com.expense.tracker.enums.TransactionType;
+import com.expense.tracker.exception.DuplicateResourceException;
 import com.expense.tracker.exception.InvalidRequestException;
 import com.expense.tracker.exception.ResourceNotFoundException;
 import com.expense.tracker.model.Category;
 import com.expense.tracker.model.Transaction;
+import com.expense.tracker.model.TransactionArchiveSegment;
 import com.expense.tracker.model.User;
 import com.expense.tracker.repository.CategoryRepository;
 import com.expense.tracker.repository.TransactionRepository;
@@ -16,13 +18,22 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.LongStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 /**
@@ -37,6 +48,27 @@ class TransactionServiceTest {
     @Mock
     private CategoryRepository categoryRepository;
 
+    @Mock
+    private CategoryCache categoryCache;
+
+    @Mock
+    private CategorizationRuleService categorizationRuleService;
+
+    @Mock
+    private TransactionSearchIndex transactionSearchIndex;
+
+    @Mock
+    private DescriptionSuggestionIndex descriptionSuggestionIndex;
+
+    @Mock
+    private DuplicateTransactionDetector duplicateTransactionDetector;
+
+    @Mock
+    private DataVersionTracker dataVersionTracker;
+
+    @Mock
+    private TransactionArchiveService transactionArchiveService;
+
     @InjectMocks
     private TransactionService transactionService;
 
@@ -70,13 +102,15 @@ class TransactionServiceTest {
     @Test
     void createTransaction_Success() {
         // Arrange
-        when(categoryRepository.findByIdAndAvailableToUser(1L, 1L))
-                .thenReturn(Optional.of(testCategory));
+        when(categoryCache.findAvailableToUser(1L, 1L))
+                .thenReturn(Optional.of(cached(testCategory)));
+        when(categoryRepository.getReferenceById(1L)).thenReturn(testCategory);
         when(transactionRepository.save(any(Transaction.class))).thenAnswer(invocation -> {
             Transaction t = invocation.getArgument(0);
             t.setId(1L);
             return t;
         });
+        when(duplicateTransactionDetector.checkAndRegister(anyLong(), anyLong(), any(), anyBoolean())).thenReturn(false);
 
         // Act
         var response = transactionService.createTransaction(validRequest, testUser);
@@ -85,13 +119,15 @@ class TransactionServiceTest {
         assertNotNull(response);
         assertEquals(TransactionType.EXPENSE, response.getType());
         assertEquals(new BigDecimal("100.00"), response.getAmount());
+        assertEquals("Food & Dining", response.getCategoryName());
         verify(transactionRepository, times(1)).save(any(Transaction.class));
+        verify(categoryRepository, never()).findByIdAndAvailableToUser(any(), any());
     }
 
     @Test
     void createTransaction_CategoryNotFound() {
         // Arrange
-        when(categoryRepository.findByIdAndAvailableToUser(1L, 1L))
+        when(categoryCache.findAvailableToUser(1L, 1L))
                 .thenReturn(Optional.empty());
 
         // Act & Assert
@@ -104,8 +140,8 @@ class TransactionServiceTest {
     void createTransaction_FutureDate() {
         // Arrange
         validRequest.setTransactionDate(LocalDate.now().plusDays(1));
-        when(categoryRepository.findByIdAndAvailableToUser(1L, 1L))
-                .thenReturn(Optional.of(testCategory));
+        when(categoryCache.findAvailableToUser(1L, 1L))
+                .thenReturn(Optional.of(cached(testCategory)));
 
         // Act & Assert
         assertThrows(InvalidRequestException.class, () -> {
@@ -117,14 +153,302 @@ class TransactionServiceTest {
     void createTransaction_CategoryTypeMismatch() {
         // Arrange
         testCategory.setType(CategoryType.INCOME);
-        when(categoryRepository.findByIdAndAvailableToUser(1L, 1L))
-                .thenReturn(Optional.of(testCategory));
+        when(categoryCache.findAvailableToUser(1L, 1L))
+                .thenReturn(Optional.of(cached(testCategory)));
 
         // Act & Assert
         assertThrows(InvalidRequestException.class, () -> {
             transactionService.createTransaction(validRequest, testUser);
         });
     }
-}
 
+    @Test
+    void createTransaction_AutoCategorized() {
+        // Arrange
+        validRequest.setCategoryId(null);
+        validRequest.setDescription("Walmart groceries");
+        when(categorizationRuleService.classify(1L, TransactionType.EXPENSE, new BigDecimal("100.00"),
+                "Walmart groceries", null)).thenReturn(Optional.of(1L));
+        when(categoryCache.findAvailableToUser(1L, 1L))
+                .thenReturn(Optional.of(cached(testCategory)));
+        when(categoryRepository.getReferenceById(1L)).thenReturn(testCategory);
+        when(transactionRepository.save(any(Transaction.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(duplicateTransactionDetector.checkAndRegister(anyLong(), anyLong(), any(), anyBoolean())).thenReturn(false);
+
+        // Act
+        var response = transactionService.createTransaction(validRequest, testUser);
+
+        // Assert
+        assertEquals(1L, response.getCategoryId());
+        assertEquals("Food & Dining", response.getCategoryName());
+    }
+
+    @Test
+    void createTransaction_NoCategoryAndNoMatchingRule() {
+        // Arrange
+        validRequest.setCategoryId(null);
+        when(categorizationRuleService.classify(any(), any(), any(), any(), any())).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThrows(InvalidRequestException.class, () -> {
+            transactionService.createTransaction(validRequest, testUser);
+        });
 
+        verify(transactionRepository, never()).save(any(Transaction.class));
+    }
+
+    @Test
+    void updateTransaction_KeepsCategoryWhenOmitted() {
+        // Arrange
+        Transaction existing = new Transaction();
+        existing.setId(5L);
+        existing.setUser(testUser);
+        existing.setCategory(testCategory);
+        validRequest.setCategoryId(null);
+        when(transactionRepository.findByIdAndUserIdAndIsDeletedFalse(5L, 1L)).thenReturn(Optional.of(existing));
+        when(categoryCache.findAvailableToUser(1L, 1L))
+                .thenReturn(Optional.of(cached(testCategory)));
+        when(categoryRepository.getReferenceById(1L)).thenReturn(testCategory);
+        when(transactionRepository.save(any(Transaction.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(duplicateTransactionDetector.checkAndRegister(anyLong(), anyLong(), any(), anyBoolean())).thenReturn(false);
+
+        // Act
+        var response = transactionService.updateTransaction(5L, validRequest, testUser);
+
+        // Assert
+        assertEquals(1L, response.getCategoryId());
+        verify(categorizationRuleService, never()).classify(any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void createTransactions_Success() {
+        // Arrange
+        when(categoryCache.findAvailableToUser(1L, 1L))
+                .thenReturn(Optional.of(cached(testCategory)));
+        when(categoryRepository.getReferenceById(1L)).thenReturn(testCategory);
+        when(transactionRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(duplicateTransactionDetector.checkAndRegister(anyLong(), anyLong(), any(), anyBoolean())).thenReturn(false);
+
+        // Act
+        var responses = transactionService.createTransactions(List.of(validRequest, validRequest), false, testUser);
+
+        // Assert
+        assertEquals(2, responses.size());
+        verify(transactionRepository, times(1)).saveAll(anyList());
+        verify(transactionRepository, never()).save(any(Transaction.class));
+    }
+
+    @Test
+    void createTransactions_RejectsWholeBatchOnInvalidItem() {
+        // Arrange
+        TransactionRequest futureRequest = new TransactionRequest();
+        futureRequest.setType(TransactionType.EXPENSE);
+        futureRequest.setCategoryId(1L);
+        futureRequest.setAmount(new BigDecimal("10.00"));
+        futureRequest.setTransactionDate(LocalDate.now().plusDays(1));
+        when(categoryCache.findAvailableToUser(1L, 1L))
+                .thenReturn(Optional.of(cached(testCategory)));
+        when(categoryRepository.getReferenceById(1L)).thenReturn(testCategory);
+        when(duplicateTransactionDetector.checkAndRegister(anyLong(), anyLong(), any(), anyBoolean())).thenReturn(false);
+
+        // Act & Assert
+        InvalidRequestException exception = assertThrows(InvalidRequestException.class, () -> {
+            transactionService.createTransactions(List.of(validRequest, futureRequest), false, testUser);
+        });
+
+        assertTrue(exception.getMessage().startsWith("Transaction 1:"));
+        verify(transactionRepository, never()).saveAll(anyList());
+    }
+
+    @Test
+    void createTransaction_DuplicateKeptAndFlagged() {
+        // Arrange
+        when(categoryCache.findAvailableToUser(1L, 1L))
+                .thenReturn(Optional.of(cached(testCategory)));
+        when(categoryRepository.getReferenceById(1L)).thenReturn(testCategory);
+        when(duplicateTransactionDetector.checkAndRegister(anyLong(), anyLong(), any(), eq(false))).thenReturn(true);
+        when(transactionRepository.save(any(Transaction.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        var response = transactionService.createTransaction(validRequest, testUser);
+
+        // Assert
+        assertTrue(response.isPossibleDuplicate());
+        verify(transactionRepository, times(1)).save(any(Transaction.class));
+    }
+
+    @Test
+    void createTransaction_DuplicateRejectedOnRequest() {
+        // Arrange
+        validRequest.setRejectDuplicate(true);
+        when(categoryCache.findAvailableToUser(1L, 1L))
+                .thenReturn(Optional.of(cached(testCategory)));
+        when(categoryRepository.getReferenceById(1L)).thenReturn(testCategory);
+        when(duplicateTransactionDetector.checkAndRegister(anyLong(), anyLong(), any(), eq(true))).thenReturn(true);
+
+        // Act & Assert
+        assertThrows(DuplicateResourceException.class, () -> {
+            transactionService.createTransaction(validRequest, testUser);
+        });
+
+        verify(transactionRepository, never()).save(any(Transaction.class));
+    }
+
+    @Test
+    void createTransactions_SkipDuplicates() {
+        // Arrange
+        when(categoryCache.findAvailableToUser(1L, 1L))
+                .thenReturn(Optional.of(cached(testCategory)));
+        when(categoryRepository.getReferenceById(1L)).thenReturn(testCategory);
+        when(duplicateTransactionDetector.checkAndRegister(anyLong(), anyLong(), any(), anyBoolean()))
+                .thenReturn(false)
+                .thenReturn(true);
+        when(transactionRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        var responses = transactionService.createTransactions(List.of(validRequest, validRequest), true, testUser);
+
+        // Assert
+        assertEquals(1, responses.size());
+    }
+
+    @Test
+    void getTransactions_TextSearchRestrictsToIndexMatches() {
+        // Arrange
+        Transaction transaction = new Transaction(testUser, testCategory, TransactionType.EXPENSE,
+            new BigDecimal("100.00"), LocalDate.now(), "Walmart groceries", null);
+        transaction.setId(5L);
+        when(transactionSearchIndex.search(1L, "walm")).thenReturn(new long[]{5L, 9L});
+        when(transactionRepository.findTransactionsWithFiltersAndIds(eq(1L), eq(List.of(5L, 9L)), any(), any(), any(),
+                any(), any(), any(), any(Pageable.class))).thenReturn(new PageImpl<>(List.of(transaction)));
+
+        // Act
+        var response = transactionService.getTransactions(null, null, null, null, null, null, "walm",
+            "transactionDate", "desc", 0, 20, testUser);
+
+        // Assert
+        assertEquals(1, response.getContent().size());
+        verify(transactionRepository, never()).findTransactionsWithFilters(any(), any(), any(), any(), any(),
+            any(), any(), any(Pageable.class));
+    }
+
+    @Test
+    void getTransactions_BroadTextSearchPagedAcrossIdChunks() {
+        // Arrange: 2500 matches are bound as three chunks; the rows of the last two are newest
+        long[] ids = new long[2500];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = i + 1;
+        }
+        when(transactionSearchIndex.search(1L, "Card pay")).thenReturn(ids);
+        when(transactionRepository.findTransactionsWithFiltersAndIds(eq(1L), anyList(), any(), any(), any(),
+                any(), any(), any(), any(Pageable.class))).thenAnswer(invocation -> {
+                    List<Long> chunk = invocation.getArgument(1);
+                    Pageable chunkPageable = invocation.getArgument(8);
+                    assertTrue(chunk.size() <= 1000);
+                    assertEquals(2, chunkPageable.getPageSize());
+                    Transaction transaction = new Transaction(testUser, testCategory, TransactionType.EXPENSE,
+                        new BigDecimal("10.00"), LocalDate.of(2025, 1, chunk.get(0) == 1L ? 1 : 2),
+                        "Card payment", "Card");
+                    transaction.setId(chunk.get(0));
+                    return new PageImpl<>(List.of(transaction), chunkPageable, 10);
+                });
+
+        // Act: the second row of the listing
+        var response = transactionService.getTransactions(null, null, null, null, null, null, "Card pay",
+            "transactionDate", "desc", 1, 1, testUser);
+
+        // Assert: the rows of the last two chunks tie on date and are ordered by ID, descending
+        verify(transactionRepository, times(3)).findTransactionsWithFiltersAndIds(eq(1L), anyList(), any(), any(),
+            any(), any(), any(), any(), any(Pageable.class));
+        assertEquals(1, response.getContent().size());
+        assertEquals(1001L, response.getContent().get(0).getId());
+        assertEquals(30, response.getTotalElements());
+    }
+
+    @Test
+    void getTransactions_TextSearchWithoutMatchesSkipsQuery() {
+        // Arrange
+        when(transactionSearchIndex.search(1L, "nothing")).thenReturn(new long[0]);
+
+        // Act
+        var response = transactionService.getTransactions(null, null, null, null, null, null, "nothing",
+            "transactionDate", "desc", 0, 20, testUser);
+
+        // Assert
+        assertTrue(response.getContent().isEmpty());
+        verifyNoInteractions(transactionRepository);
+    }
+
+    @Test
+    void getTransactions_IncludeArchivedMergesInSortOrder() {
+        // Arrange
+        Transaction recent = new Transaction(testUser, testCategory, TransactionType.EXPENSE,
+            new BigDecimal("30.00"), LocalDate.of(2026, 3, 1), "Lunch", null);
+        recent.setId(20L);
+        Transaction older = new Transaction(testUser, testCategory, TransactionType.EXPENSE,
+            new BigDecimal("40.00"), LocalDate.of(2025, 6, 1), "Dinner", null);
+        older.setId(15L);
+        TransactionArchive.ArchivedTransaction archived = new TransactionArchive.ArchivedTransaction(
+            3L, 1L, 1L, TransactionType.EXPENSE, new BigDecimal("50.00"), LocalDate.of(2025, 9, 1),
+            "Old groceries", null, null, null, false, null, null);
+        TransactionArchive.ArchivedTransaction otherType = new TransactionArchive.ArchivedTransaction(
+            4L, 1L, 2L, TransactionType.INCOME, new BigDecimal("900.00"), LocalDate.of(2025, 9, 2),
+            "Salary", null, null, null, false, null, null);
+        TransactionArchiveSegment segment = new TransactionArchiveSegment(1L, "1/transactions-3-4.jsonl.gz",
+            LocalDate.of(2025, 9, 1), LocalDate.of(2025, 9, 2), 2, 2);
+        when(transactionArchiveService.findSegments(1L, null, null)).thenReturn(List.of(segment));
+        when(transactionArchiveService.readArchived(segment, null, null)).thenReturn(List.of(archived, otherType));
+        when(categoryCache.findAvailableToUser(1L, 1L)).thenReturn(Optional.of(cached(testCategory)));
+        when(transactionRepository.findTransactionsWithFilters(eq(1L), eq(TransactionType.EXPENSE), any(), any(), any(),
+                any(), any(), any(Pageable.class))).thenReturn(new PageImpl<>(List.of(recent, older)));
+
+        // Act
+        var response = transactionService.getTransactions(TransactionType.EXPENSE, null, null, null, null, null, null,
+            "transactionDate", "desc", 0, 2, true, testUser);
+
+        // Assert
+        assertEquals(List.of(20L, 3L), response.getContent().stream().map(t -> t.getId()).toList());
+        assertEquals(3L, response.getTotalElements());
+        assertEquals("Food & Dining", response.getContent().get(1).getCategoryName());
+    }
+
+    @Test
+    void getTransactions_IncludeArchivedSkipsSegmentsBeforeThePage() {
+        // Arrange: one active transaction in 2026, five archived in October 2025 and three in January 2024
+        Transaction newest = new Transaction(testUser, testCategory, TransactionType.EXPENSE,
+            new BigDecimal("10.00"), LocalDate.of(2026, 1, 10), "Coffee", null);
+        newest.setId(100L);
+        TransactionArchiveSegment october = new TransactionArchiveSegment(1L, "1/transactions-1-5.jsonl.gz",
+            LocalDate.of(2025, 10, 1), LocalDate.of(2025, 10, 31), 5, 5);
+        TransactionArchiveSegment january = new TransactionArchiveSegment(1L, "1/transactions-6-8.jsonl.gz",
+            LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 31), 3, 3);
+        List<TransactionArchive.ArchivedTransaction> octoberRows = LongStream.rangeClosed(1, 5)
+            .mapToObj(id -> new TransactionArchive.ArchivedTransaction(id, 1L, 1L, TransactionType.EXPENSE,
+                new BigDecimal("5.00"), LocalDate.of(2025, 10, (int) id), "Groceries " + id, null, null, null, false, null, null))
+            .toList();
+        when(transactionArchiveService.findSegments(1L, null, null)).thenReturn(List.of(january, october));
+        when(transactionArchiveService.readArchived(october, null, null)).thenReturn(octoberRows);
+        when(categoryCache.findAvailableToUser(1L, 1L)).thenReturn(Optional.of(cached(testCategory)));
+        // Counts of the active rows listed before each segment boundary
+        when(transactionRepository.findTransactionsWithFilters(eq(1L), isNull(), isNull(), eq(LocalDate.of(2025, 11, 1)),
+                isNull(), isNull(), isNull(), any(Pageable.class))).thenReturn(new PageImpl<>(List.of(newest)));
+        when(transactionRepository.findTransactionsWithFilters(eq(1L), isNull(), isNull(), eq(LocalDate.of(2024, 2, 1)),
+                isNull(), isNull(), isNull(), any(Pageable.class))).thenReturn(new PageImpl<>(List.of(newest)));
+        // Active rows from the October boundary on
+        when(transactionRepository.findTransactionsWithFilters(eq(1L), isNull(), isNull(), isNull(),
+                eq(LocalDate.of(2025, 10, 31)), isNull(), isNull(), any(Pageable.class))).thenReturn(Page.empty());
+
+        // Act: third page of two, after the 2026 transaction and two October ones
+        var response = transactionService.getTransactions(null, null, null, null, null, null, null,
+            "transactionDate", "desc", 2, 2, true, testUser);
+
+        // Assert
+        assertEquals(List.of(2L, 1L), response.getContent().stream().map(t -> t.getId()).toList());
+        assertEquals(9L, response.getTotalElements());
+        verify(transactionArchiveService, never()).readArchived(eq(january), any(), any());
+    }
+
+    private static CategoryCache.CachedCategory cached(Category category) {
+        return new CategoryCache.CachedCategory(category.getId(), category.getType(), category.getName());
+    }
+}
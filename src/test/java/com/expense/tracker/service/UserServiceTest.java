@@ -11,6 +11,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 import java.time.LocalDateTime;
@@ -32,6 +33,9 @@ class UserServiceTest {
     @Mock
     private PasswordEncoder passwordEncoder;
 
+    @Mock
+    private ObjectProvider<ShardDirectory> shardDirectory;
+
     @InjectMocks
     private UserService userService;
 
@@ -110,6 +114,7 @@ class UserServiceTest {
         assertNotNull(response);
         verify(passwordEncoder, times(1)).encode("newPassword123");
         verify(userRepository, times(1)).save(testUser);
+        verify(shardDirectory, times(1)).ifAvailable(any());
     }
 
     @Test
@@ -0,0 +1,45 @@
+package com.expense.tracker.support;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Records the SQL Hibernate prepares while recording is on, from any thread (streamed
+ * responses are written on another one). Registered through
+ * spring.jpa.properties.hibernate.session_factory.statement_inspector; SQL issued
+ * through JdbcTemplate bypasses Hibernate and is not seen.
+ */
+public class SqlStatementRecorder implements StatementInspector {
+
+    private static final List<String> STATEMENTS = new ArrayList<>();
+    private static boolean recording;
+
+    @Override
+    public String inspect(String sql) {
+        synchronized (STATEMENTS) {
+            if (recording) {
+                STATEMENTS.add(sql);
+            }
+        }
+        return sql;
+    }
+
+    public static void start() {
+        synchronized (STATEMENTS) {
+            STATEMENTS.clear();
+            recording = true;
+        }
+    }
+
+    /**
+     * Stop recording and return the statements recorded since start()
+     */
+    public static List<String> stop() {
+        synchronized (STATEMENTS) {
+            recording = false;
+            return new ArrayList<>(STATEMENTS);
+        }
+    }
+}